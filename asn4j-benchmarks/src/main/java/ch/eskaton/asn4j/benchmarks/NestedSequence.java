@@ -0,0 +1,82 @@
+/*
+ *
+ *  *  Copyright (c) 2015, Adrian Moser
+ *  *  All rights reserved.
+ *  *
+ *  *  Redistribution and use in source and binary forms, with or without
+ *  *  modification, are permitted provided that the following conditions are met:
+ *  *  * Redistributions of source code must retain the above copyright
+ *  *  notice, this list of conditions and the following disclaimer.
+ *  *  * Redistributions in binary form must reproduce the above copyright
+ *  *  notice, this list of conditions and the following disclaimer in the
+ *  *  documentation and/or other materials provided with the distribution.
+ *  *  * Neither the name of the author nor the
+ *  *  names of its contributors may be used to endorse or promote products
+ *  *  derived from this software without specific prior written permission.
+ *  *
+ *  *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  *  DISCLAIMED. IN NO EVENT SHALL AUTHOR BE LIABLE FOR ANY
+ *  *  DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *  *  ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package ch.eskaton.asn4j.benchmarks;
+
+import ch.eskaton.asn4j.runtime.Clazz;
+import ch.eskaton.asn4j.runtime.annotations.ASN1Component;
+import ch.eskaton.asn4j.runtime.annotations.ASN1Tag;
+import ch.eskaton.asn4j.runtime.annotations.ASN1Tags;
+import ch.eskaton.asn4j.runtime.types.ASN1OctetString;
+import ch.eskaton.asn4j.runtime.types.ASN1Sequence;
+
+/**
+ * NestedSequence ::= SEQUENCE {
+ *     payload OCTET STRING,
+ *     child [0] IMPLICIT NestedSequence OPTIONAL
+ * }
+ */
+@ASN1Tags(tags = { @ASN1Tag(tag = 16, clazz = Clazz.UNIVERSAL) })
+public class NestedSequence extends ASN1Sequence {
+
+    @ASN1Tags(tags = { @ASN1Tag(tag = 4, clazz = Clazz.UNIVERSAL) })
+    @ASN1Component
+    private ASN1OctetString payload;
+
+    @ASN1Tags(tags = { @ASN1Tag(tag = 0, clazz = Clazz.CONTEXT_SPECIFIC) })
+    @ASN1Component(optional = true)
+    private NestedSequence child;
+
+    public NestedSequence() {
+    }
+
+    public NestedSequence(ASN1OctetString payload, NestedSequence child) {
+        this.payload = payload;
+        this.child = child;
+    }
+
+    public static NestedSequence of(int depth, int payloadSize) {
+        NestedSequence value = null;
+
+        for (var i = 0; i < depth; i++) {
+            value = new NestedSequence(new ASN1OctetString(new byte[payloadSize]), value);
+        }
+
+        return value;
+    }
+
+    public ASN1OctetString getPayload() {
+        return payload;
+    }
+
+    public NestedSequence getChild() {
+        return child;
+    }
+
+}
@@ -0,0 +1,95 @@
+/*
+ *
+ *  *  Copyright (c) 2015, Adrian Moser
+ *  *  All rights reserved.
+ *  *
+ *  *  Redistribution and use in source and binary forms, with or without
+ *  *  modification, are permitted provided that the following conditions are met:
+ *  *  * Redistributions of source code must retain the above copyright
+ *  *  notice, this list of conditions and the following disclaimer.
+ *  *  * Redistributions in binary form must reproduce the above copyright
+ *  *  notice, this list of conditions and the following disclaimer in the
+ *  *  documentation and/or other materials provided with the distribution.
+ *  *  * Neither the name of the author nor the
+ *  *  names of its contributors may be used to endorse or promote products
+ *  *  derived from this software without specific prior written permission.
+ *  *
+ *  *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  *  DISCLAIMED. IN NO EVENT SHALL AUTHOR BE LIABLE FOR ANY
+ *  *  DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *  *  ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package ch.eskaton.asn4j.benchmarks;
+
+import ch.eskaton.asn4j.runtime.BEREncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the BER encoding of deeply nested SEQUENCEs. Run with:
+ *
+ * <pre>
+ * mvn -P benchmarks package
+ * java -jar asn4j-benchmarks/target/benchmarks.jar NestedSequenceBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NestedSequenceBenchmark {
+
+    @Param({ "1", "16", "64", "256" })
+    private int depth;
+
+    @Param({ "64" })
+    private int payloadSize;
+
+    private BEREncoder encoder;
+
+    private NestedSequence value;
+
+    private ByteBuffer buffer;
+
+    @Setup
+    public void setup() {
+        encoder = new BEREncoder();
+        value = NestedSequence.of(depth, payloadSize);
+        buffer = ByteBuffer.allocateDirect(encoder.encode(value).length);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return encoder.encode(value);
+    }
+
+    @Benchmark
+    public int encodeToDirectBuffer() {
+        buffer.clear();
+
+        return encoder.encode(value, buffer);
+    }
+
+}
@@ -37,6 +37,12 @@ public class CompilerConfig {
 
     private boolean generateSource = true;
 
+    private boolean generateBERDecoders = false;
+
+    private boolean generateBEREncoders = false;
+
+    private boolean generateLazyGetters = false;
+
     public String getModule() {
         return module;
     }
@@ -93,4 +99,46 @@ public class CompilerConfig {
         return this;
     }
 
+    public boolean isGenerateBERDecoders() {
+        return generateBERDecoders;
+    }
+
+    public void setGenerateBERDecoders(boolean generateBERDecoders) {
+        this.generateBERDecoders = generateBERDecoders;
+    }
+
+    public CompilerConfig generateBERDecoders(boolean generateBERDecoders) {
+        setGenerateBERDecoders(generateBERDecoders);
+
+        return this;
+    }
+
+    public boolean isGenerateBEREncoders() {
+        return generateBEREncoders;
+    }
+
+    public void setGenerateBEREncoders(boolean generateBEREncoders) {
+        this.generateBEREncoders = generateBEREncoders;
+    }
+
+    public CompilerConfig generateBEREncoders(boolean generateBEREncoders) {
+        setGenerateBEREncoders(generateBEREncoders);
+
+        return this;
+    }
+
+    public boolean isGenerateLazyGetters() {
+        return generateLazyGetters;
+    }
+
+    public void setGenerateLazyGetters(boolean generateLazyGetters) {
+        this.generateLazyGetters = generateLazyGetters;
+    }
+
+    public CompilerConfig generateLazyGetters(boolean generateLazyGetters) {
+        setGenerateLazyGetters(generateLazyGetters);
+
+        return this;
+    }
+
 }
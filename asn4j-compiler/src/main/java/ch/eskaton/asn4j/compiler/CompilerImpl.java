@@ -126,7 +126,7 @@ public class CompilerImpl {
     private void generateJavaClasses() {
         var modules = compilerContext.getCompiledModules();
         var structs = new HashMap<String, JavaStructure>();
-        var javaCompiler = new JavaCompiler();
+        var javaCompiler = new JavaCompiler(config);
 
 
         if (config.isGenerateSource()) {
@@ -37,10 +37,7 @@ import ch.eskaton.asn4j.compiler.constraints.expr.CollectionValueExpressionBuild
 import ch.eskaton.asn4j.compiler.constraints.expr.WithComponentsExpressionBuilder;
 import ch.eskaton.asn4j.compiler.constraints.optimizer.CollectionConstraintOptimizingVisitor;
 import ch.eskaton.asn4j.compiler.il.BooleanExpression;
-import ch.eskaton.asn4j.compiler.il.Expression;
 import ch.eskaton.asn4j.compiler.il.FunctionCall;
-import ch.eskaton.asn4j.compiler.il.ILBuiltinType;
-import ch.eskaton.asn4j.compiler.il.ILMapValue;
 import ch.eskaton.asn4j.compiler.il.ILParameterizedType;
 import ch.eskaton.asn4j.compiler.il.ILType;
 import ch.eskaton.asn4j.compiler.il.ILValue;
@@ -50,7 +47,6 @@ import ch.eskaton.asn4j.compiler.il.NegationExpression;
 import ch.eskaton.asn4j.compiler.il.Variable;
 import ch.eskaton.asn4j.compiler.il.builder.FunctionBuilder;
 import ch.eskaton.asn4j.compiler.results.CompiledCollectionType;
-import ch.eskaton.asn4j.compiler.results.CompiledComponent;
 import ch.eskaton.asn4j.compiler.results.CompiledType;
 import ch.eskaton.asn4j.parser.ast.constraints.ContainedSubtype;
 import ch.eskaton.asn4j.parser.ast.constraints.SingleValueConstraint;
@@ -58,11 +54,8 @@ import ch.eskaton.asn4j.parser.ast.types.BitString;
 import ch.eskaton.asn4j.parser.ast.types.CollectionOfType;
 import ch.eskaton.asn4j.parser.ast.types.Type;
 import ch.eskaton.asn4j.parser.ast.values.CollectionValue;
-import ch.eskaton.asn4j.runtime.types.ASN1Type;
 import ch.eskaton.asn4j.runtime.types.TypeName;
-import ch.eskaton.commons.collections.Tuple2;
 
-import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -73,12 +66,11 @@ import static ch.eskaton.asn4j.compiler.constraints.Constants.GET_UNUSED_BITS;
 import static ch.eskaton.asn4j.compiler.constraints.Constants.GET_VALUE;
 import static ch.eskaton.asn4j.compiler.constraints.Constants.GET_VALUES;
 import static ch.eskaton.asn4j.compiler.constraints.Constants.VAR_OBJ;
+import static ch.eskaton.asn4j.compiler.constraints.Constants.VAR_THIS;
 import static ch.eskaton.asn4j.compiler.constraints.Constants.VAR_VALUE;
-import static ch.eskaton.asn4j.compiler.constraints.ConstraintUtils.getMapParameter;
+import static ch.eskaton.asn4j.compiler.constraints.ConstraintUtils.getValuesParameter;
 import static ch.eskaton.asn4j.compiler.il.ILBuiltinType.BOOLEAN;
 import static ch.eskaton.asn4j.compiler.il.ILBuiltinType.CUSTOM;
-import static ch.eskaton.commons.utils.StringUtils.initCap;
-import static java.util.Collections.singletonList;
 import static java.util.Optional.of;
 
 public abstract class AbstractCollectionConstraintCompiler extends AbstractConstraintCompiler {
@@ -109,7 +101,7 @@ public abstract class AbstractCollectionConstraintCompiler extends AbstractConst
 
         List<String> typeParameter = ctx.getTypeParameter(compiledBaseType.getType());
 
-        FunctionBuilder builder = generateCheckConstraintValue(module, getMapParameter());
+        FunctionBuilder builder = generateCheckConstraintValue(module, getValuesParameter(ctx, compiledType));
 
         addConstraintCondition(compiledType, typeParameter, definition, builder, module);
 
@@ -131,16 +123,7 @@ public abstract class AbstractCollectionConstraintCompiler extends AbstractConst
     }
 
     protected FunctionCall generateCheckConstraintCall(CompiledCollectionType compiledType) {
-        Set<Tuple2<Expression, Expression>> associations = new HashSet<>();
-
-        compiledType.getComponents().stream()
-                .map(CompiledComponent::getName)
-                .map(n -> new Tuple2(ILValue.of(n), new FunctionCall(of("get" + initCap(n)))))
-                .forEach(associations::add);
-
-        return new FunctionCall(of(FUNC_CHECK_CONSTRAINT_VALUE),
-                new ILMapValue(ILType.of(ILBuiltinType.STRING),
-                        ILParameterizedType.of(CUSTOM, singletonList(ASN1Type.class.getSimpleName())), associations));
+        return new FunctionCall(of(FUNC_CHECK_CONSTRAINT_VALUE), Variable.of(VAR_THIS));
     }
 
     protected void addConstraintCondition(CompiledType compiledType, List<String> typeParameter, ConstraintDefinition definition,
@@ -203,7 +186,8 @@ public abstract class AbstractCollectionConstraintCompiler extends AbstractConst
         }
 
         return switch (node.getType()) {
-            case VALUE -> new CollectionValueExpressionBuilder(ctx).build(compiledType, (CollectionValueNode) node);
+            case VALUE -> new CollectionValueExpressionBuilder(ctx, module)
+                    .build(compiledType, (CollectionValueNode) node);
             case WITH_COMPONENTS -> new WithComponentsExpressionBuilder(ctx)
                     .build(module, compiledType, (WithComponentsNode) node);
             default -> super.buildExpression(module, compiledType, node);
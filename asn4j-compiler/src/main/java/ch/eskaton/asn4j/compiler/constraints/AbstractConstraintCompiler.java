@@ -37,14 +37,18 @@ import ch.eskaton.asn4j.compiler.constraints.ast.ComponentNode;
 import ch.eskaton.asn4j.compiler.constraints.ast.Node;
 import ch.eskaton.asn4j.compiler.constraints.ast.NodeType;
 import ch.eskaton.asn4j.compiler.constraints.ast.OpNode;
+import ch.eskaton.asn4j.compiler.constraints.ast.SizeNode;
 import ch.eskaton.asn4j.compiler.constraints.ast.WithComponentsNode;
 import ch.eskaton.asn4j.compiler.constraints.elements.ElementSetCompiler;
 import ch.eskaton.asn4j.compiler.constraints.elements.ObjectSetElementsCompiler;
+import ch.eskaton.asn4j.compiler.constraints.expr.IntegerRangeExpressionBuilder;
 import ch.eskaton.asn4j.compiler.il.BinaryBooleanExpression;
 import ch.eskaton.asn4j.compiler.il.BinaryOperator;
 import ch.eskaton.asn4j.compiler.il.BooleanExpression;
+import ch.eskaton.asn4j.compiler.il.Expression;
 import ch.eskaton.asn4j.compiler.il.FunctionCall;
 import ch.eskaton.asn4j.compiler.il.ILType;
+import ch.eskaton.asn4j.compiler.il.ILValue;
 import ch.eskaton.asn4j.compiler.il.ILVisibility;
 import ch.eskaton.asn4j.compiler.il.Module;
 import ch.eskaton.asn4j.compiler.il.NegationExpression;
@@ -85,6 +89,7 @@ import static ch.eskaton.asn4j.compiler.constraints.Constants.GET_VALUE;
 import static ch.eskaton.asn4j.compiler.constraints.ConstraintUtils.throwUnimplementedNodeType;
 import static ch.eskaton.asn4j.compiler.constraints.ast.NodeType.INTERSECTION;
 import static ch.eskaton.asn4j.compiler.il.ILBuiltinType.BOOLEAN;
+import static ch.eskaton.asn4j.compiler.il.ILBuiltinType.PRIMITIVE_BOOLEAN;
 import static java.util.Optional.of;
 
 public abstract class AbstractConstraintCompiler {
@@ -370,7 +375,7 @@ public abstract class AbstractConstraintCompiler {
     protected FunctionBuilder generateCheckConstraintValue(Module module, Parameter... parameters) {
         FunctionBuilder builder = module.function()
                 .name(FUNC_CHECK_CONSTRAINT_VALUE)
-                .returnType(ILType.of(BOOLEAN));
+                .returnType(ILType.of(PRIMITIVE_BOOLEAN));
 
         Arrays.stream(parameters).forEach(builder::parameter);
 
@@ -382,6 +387,10 @@ public abstract class AbstractConstraintCompiler {
     }
 
     protected void generateDoCheckConstraint(Module module) {
+        generateDoCheckConstraint(module, generateCheckConstraintCall());
+    }
+
+    protected void generateDoCheckConstraint(Module module, Expression expression) {
         // @formatter:off
         module.function()
                 .name(FUNC_DO_CHECK_CONSTRAINT)
@@ -389,7 +398,7 @@ public abstract class AbstractConstraintCompiler {
                 .visibility(ILVisibility.PUBLIC)
                 .returnType(ILType.of(BOOLEAN))
                 .statements()
-                    .returnExpression(generateCheckConstraintCall())
+                    .returnExpression(expression)
                     .build()
                 .build();
         // @formatter:on
@@ -399,6 +408,61 @@ public abstract class AbstractConstraintCompiler {
         return new FunctionCall(of(FUNC_CHECK_CONSTRAINT_VALUE), new FunctionCall(of(GET_VALUE)));
     }
 
+    /**
+     * Returns true if the constraint can be checked by {@link #buildSizeExpression(ConstraintDefinition, Expression)},
+     * i.e. if it restricts nothing but the size of a value.
+     */
+    protected boolean isSizeConstraint(ConstraintDefinition definition) {
+        return definition.isExtensible() || isSizeConstraint(definition.getRoots());
+    }
+
+    private boolean isSizeConstraint(Node node) {
+        return switch (node.getType()) {
+            case SIZE, ALL_VALUES -> true;
+            case UNION, INTERSECTION, COMPLEMENT ->
+                    isSizeConstraint(((BinOpNode) node).getLeft()) && isSizeConstraint(((BinOpNode) node).getRight());
+            case NEGATION -> isSizeConstraint(((OpNode) node).getNode());
+            default -> false;
+        };
+    }
+
+    /**
+     * Builds an expression which checks a size constraint against {@code size}, which allows to check the size of a
+     * value without accessing the value itself.
+     */
+    protected Expression buildSizeExpression(ConstraintDefinition definition, Expression size) {
+        if (!definition.isExtensible()) {
+            var expression = buildSizeExpression(definition.getRoots(), size);
+
+            if (expression.isPresent()) {
+                return expression.get();
+            }
+        }
+
+        return ILValue.of(Boolean.TRUE);
+    }
+
+    private Optional<BooleanExpression> buildSizeExpression(Node node, Expression size) {
+        return switch (node.getType()) {
+            case SIZE -> new IntegerRangeExpressionBuilder(size).build(((SizeNode) node).getSize());
+            case ALL_VALUES -> Optional.empty();
+            case UNION -> OptionalUtils.combine(
+                    buildSizeExpression(((BinOpNode) node).getLeft(), size),
+                    buildSizeExpression(((BinOpNode) node).getRight(), size),
+                    getBinOperation(BinaryOperator.OR));
+            case INTERSECTION -> OptionalUtils.combine(
+                    buildSizeExpression(((BinOpNode) node).getLeft(), size),
+                    buildSizeExpression(((BinOpNode) node).getRight(), size),
+                    getBinOperation(BinaryOperator.AND));
+            case COMPLEMENT -> OptionalUtils.combine(
+                    buildSizeExpression(((BinOpNode) node).getLeft(), size),
+                    buildSizeExpression(((BinOpNode) node).getRight(), size).map(this::negate),
+                    getBinOperation(BinaryOperator.AND));
+            case NEGATION -> buildSizeExpression(((OpNode) node).getNode(), size).map(this::negate);
+            default -> throwUnimplementedNodeType(node);
+        };
+    }
+
     protected Optional<BooleanExpression> buildExpression(Module module, CompiledType compiledType, Node node) {
         switch (node.getType()) {
             case ALL_VALUES:
@@ -55,6 +55,7 @@ import java.util.List;
 import java.util.Optional;
 
 import static ch.eskaton.asn4j.compiler.constraints.Constants.FUNC_CHECK_CONSTRAINT_VALUE;
+import static ch.eskaton.asn4j.compiler.constraints.Constants.GET_SIZE;
 import static ch.eskaton.asn4j.compiler.constraints.Constants.GET_UNUSED_BITS;
 import static ch.eskaton.asn4j.compiler.constraints.Constants.GET_VALUE;
 import static ch.eskaton.asn4j.compiler.constraints.Constants.VAR_UNUSED_BITS;
@@ -95,6 +96,12 @@ public class BitStringConstraintCompiler extends AbstractConstraintCompiler {
 
     @Override
     public void addConstraint(CompiledType type, Module module, ConstraintDefinition definition) {
+        if (isSizeConstraint(definition)) {
+            generateDoCheckConstraint(module, buildSizeExpression(definition, new FunctionCall(of(GET_SIZE))));
+
+            return;
+        }
+
         generateDoCheckConstraint(module);
 
         FunctionBuilder builder = generateCheckConstraintValue(module,
@@ -38,39 +38,29 @@ import ch.eskaton.asn4j.compiler.constraints.elements.SingleValueCompiler;
 import ch.eskaton.asn4j.compiler.constraints.expr.ChoiceValueExpressionBuilder;
 import ch.eskaton.asn4j.compiler.constraints.expr.ChoiceWithComponentsExpressionBuilder;
 import ch.eskaton.asn4j.compiler.il.BooleanExpression;
-import ch.eskaton.asn4j.compiler.il.Expression;
 import ch.eskaton.asn4j.compiler.il.FunctionCall;
-import ch.eskaton.asn4j.compiler.il.ILBuiltinType;
-import ch.eskaton.asn4j.compiler.il.ILMapValue;
-import ch.eskaton.asn4j.compiler.il.ILParameterizedType;
 import ch.eskaton.asn4j.compiler.il.ILType;
-import ch.eskaton.asn4j.compiler.il.ILValue;
 import ch.eskaton.asn4j.compiler.il.ILVisibility;
 import ch.eskaton.asn4j.compiler.il.Module;
+import ch.eskaton.asn4j.compiler.il.Variable;
 import ch.eskaton.asn4j.compiler.il.builder.FunctionBuilder;
 import ch.eskaton.asn4j.compiler.results.CompiledChoiceType;
-import ch.eskaton.asn4j.compiler.results.CompiledComponent;
 import ch.eskaton.asn4j.compiler.results.CompiledType;
 import ch.eskaton.asn4j.parser.ast.constraints.ContainedSubtype;
 import ch.eskaton.asn4j.parser.ast.constraints.MultipleTypeConstraints;
 import ch.eskaton.asn4j.parser.ast.constraints.SingleValueConstraint;
 import ch.eskaton.asn4j.parser.ast.values.ChoiceValue;
-import ch.eskaton.asn4j.runtime.types.ASN1Type;
 import ch.eskaton.asn4j.runtime.types.TypeName;
-import ch.eskaton.commons.collections.Tuple2;
 
-import java.util.HashSet;
 import java.util.Optional;
 import java.util.Set;
 
 import static ch.eskaton.asn4j.compiler.constraints.Constants.FUNC_CHECK_CONSTRAINT_VALUE;
 import static ch.eskaton.asn4j.compiler.constraints.Constants.FUNC_DO_CHECK_CONSTRAINT;
-import static ch.eskaton.asn4j.compiler.constraints.ConstraintUtils.getMapParameter;
+import static ch.eskaton.asn4j.compiler.constraints.Constants.VAR_THIS;
+import static ch.eskaton.asn4j.compiler.constraints.ConstraintUtils.getValuesParameter;
 import static ch.eskaton.asn4j.compiler.constraints.ast.NodeType.UNION;
 import static ch.eskaton.asn4j.compiler.il.ILBuiltinType.BOOLEAN;
-import static ch.eskaton.asn4j.compiler.il.ILBuiltinType.CUSTOM;
-import static ch.eskaton.commons.utils.StringUtils.initCap;
-import static java.util.Collections.singletonList;
 import static java.util.Optional.of;
 
 public class ChoiceConstraintCompiler extends AbstractConstraintCompiler {
@@ -94,7 +84,7 @@ public class ChoiceConstraintCompiler extends AbstractConstraintCompiler {
     protected void addConstraint(CompiledType compiledType, Module module, ConstraintDefinition definition) {
         generateDoCheckConstraint((CompiledChoiceType) compiledType, module);
 
-        FunctionBuilder builder = generateCheckConstraintValue(module, getMapParameter());
+        FunctionBuilder builder = generateCheckConstraintValue(module, getValuesParameter(ctx, compiledType));
 
         addConstraintCondition(compiledType, definition, builder, module);
 
@@ -121,16 +111,7 @@ public class ChoiceConstraintCompiler extends AbstractConstraintCompiler {
     }
 
     protected FunctionCall generateCheckConstraintCall(CompiledChoiceType compiledType) {
-        Set<Tuple2<Expression, Expression>> associations = new HashSet<>();
-
-        compiledType.getComponents().stream()
-                .map(CompiledComponent::getName)
-                .map(n -> new Tuple2(ILValue.of(n), new FunctionCall(of("get" + initCap(n)))))
-                .forEach(associations::add);
-
-        return new FunctionCall(of(FUNC_CHECK_CONSTRAINT_VALUE),
-                new ILMapValue(ILType.of(ILBuiltinType.STRING),
-                        ILParameterizedType.of(CUSTOM, singletonList(ASN1Type.class.getSimpleName())), associations));
+        return new FunctionCall(of(FUNC_CHECK_CONSTRAINT_VALUE), Variable.of(VAR_THIS));
     }
 
     private void addConstraintCondition(CompiledType compiledType, ConstraintDefinition definition,
@@ -156,7 +137,8 @@ public class ChoiceConstraintCompiler extends AbstractConstraintCompiler {
         }
 
         return switch (node.getType()) {
-            case VALUE -> new ChoiceValueExpressionBuilder(ctx).build(compiledType, (ValueNode<Set<ChoiceValue>>) node);
+            case VALUE -> new ChoiceValueExpressionBuilder(ctx, module)
+                    .build(compiledType, (ValueNode<Set<ChoiceValue>>) node);
             case WITH_COMPONENTS -> new ChoiceWithComponentsExpressionBuilder(ctx)
                     .build(module, compiledType, (WithComponentsNode) node);
             default -> super.buildExpression(module, compiledType, node);
@@ -35,14 +35,24 @@ public final class Constants {
 
     public static final String VAR_VALUES = "values";
 
+    public static final String VAR_THIS = "this";
+
     public static final String VAR_UNUSED_BITS = "unusedBits";
 
     public static final String GET_VALUE = "getValue";
 
     public static final String GET_VALUES = "getValues";
 
+    public static final String IS_LONG = "isLong";
+
+    public static final String LONG_VALUE = "longValue";
+
     public static final String GET_UNUSED_BITS = "getUnusedBits";
 
+    public static final String GET_LENGTH = "getLength";
+
+    public static final String GET_SIZE = "getSize";
+
     public static final String FUNC_EXPRESSION = "_expression";
 
     public static final String FUNC_CHECK_CONSTRAINT = "_checkConstraint";
@@ -27,12 +27,16 @@
 
 package ch.eskaton.asn4j.compiler.constraints;
 
+import ch.eskaton.asn4j.compiler.CompilerContext;
 import ch.eskaton.asn4j.compiler.IllegalCompilerStateException;
 import ch.eskaton.asn4j.compiler.constraints.ast.Node;
 import ch.eskaton.asn4j.compiler.il.ILBuiltinType;
 import ch.eskaton.asn4j.compiler.il.ILParameterizedType;
 import ch.eskaton.asn4j.compiler.il.Parameter;
-import ch.eskaton.asn4j.runtime.types.ASN1Type;
+import ch.eskaton.asn4j.compiler.results.CompiledType;
+
+import java.util.LinkedList;
+import java.util.stream.Collectors;
 
 import static ch.eskaton.asn4j.compiler.constraints.Constants.VAR_VALUES;
 import static java.util.Collections.singletonList;
@@ -46,10 +50,34 @@ public class ConstraintUtils {
         throw new IllegalCompilerStateException("Unimplemented node type: %s", node.getType());
     }
 
-    public static Parameter getMapParameter() {
-        return Parameter.of(ILParameterizedType.of(ILBuiltinType.MAP,
-                singletonList(String.class.getSimpleName()),
-                singletonList(ASN1Type.class.getSimpleName())), VAR_VALUES);
+    /**
+     * Returns the parameter through which a SEQUENCE, SET or CHOICE value is passed to its constraint checks.
+     */
+    public static Parameter getValuesParameter(CompilerContext ctx, CompiledType compiledType) {
+        return Parameter.of(ILParameterizedType.of(ILBuiltinType.CUSTOM, singletonList(getTypeName(ctx, compiledType))),
+                VAR_VALUES);
+    }
+
+    /**
+     * Returns the name of the Java class of a type as seen from within the class of its outermost parent.
+     */
+    public static String getTypeName(CompilerContext ctx, CompiledType compiledType) {
+        if (compiledType.getName() == null) {
+            // anonymous types, e.g. actual parameters, don't get a class of their own
+            return ctx.getRuntimeTypeName(compiledType.getType());
+        } else if (ctx.isRuntimeType(compiledType.getName()) || compiledType.getParent() == null) {
+            return compiledType.getName();
+        } else {
+            var parent = compiledType;
+            var names = new LinkedList<String>();
+
+            while (parent != null) {
+                names.addFirst(parent.getName());
+                parent = parent.getParent();
+            }
+
+            return names.stream().skip(1).collect(Collectors.joining("."));
+        }
     }
 
 }
@@ -36,9 +36,13 @@ import ch.eskaton.asn4j.compiler.constraints.elements.IntegerValueRangeCompiler;
 import ch.eskaton.asn4j.compiler.constraints.expr.IntegerRangeExpressionBuilder;
 import ch.eskaton.asn4j.compiler.constraints.optimizer.IntegerConstraintOptimizingVisitor;
 import ch.eskaton.asn4j.compiler.constraints.optimizer.IntegerValueBoundsVisitor;
+import ch.eskaton.asn4j.compiler.il.BinaryBooleanExpression;
+import ch.eskaton.asn4j.compiler.il.BinaryOperator;
 import ch.eskaton.asn4j.compiler.il.BooleanExpression;
+import ch.eskaton.asn4j.compiler.il.FunctionCall;
 import ch.eskaton.asn4j.compiler.il.ILType;
 import ch.eskaton.asn4j.compiler.il.Module;
+import ch.eskaton.asn4j.compiler.il.NegationExpression;
 import ch.eskaton.asn4j.compiler.il.Parameter;
 import ch.eskaton.asn4j.compiler.il.builder.FunctionBuilder;
 import ch.eskaton.asn4j.compiler.results.CompiledType;
@@ -49,11 +53,16 @@ import ch.eskaton.asn4j.runtime.types.TypeName;
 
 import java.util.Optional;
 
+import static ch.eskaton.asn4j.compiler.constraints.Constants.FUNC_CHECK_CONSTRAINT_VALUE;
+import static ch.eskaton.asn4j.compiler.constraints.Constants.IS_LONG;
+import static ch.eskaton.asn4j.compiler.constraints.Constants.LONG_VALUE;
 import static ch.eskaton.asn4j.compiler.constraints.Constants.VAR_VALUE;
 import static ch.eskaton.asn4j.compiler.constraints.ast.IntegerRange.getLowerBound;
 import static ch.eskaton.asn4j.compiler.constraints.ast.IntegerRange.getUpperBound;
 import static ch.eskaton.asn4j.compiler.il.ILBuiltinType.BIG_INTEGER;
+import static ch.eskaton.asn4j.compiler.il.ILBuiltinType.LONG;
 import static java.util.Collections.emptyList;
+import static java.util.Optional.of;
 
 public class IntegerConstraintCompiler extends AbstractConstraintCompiler {
 
@@ -79,11 +88,56 @@ public class IntegerConstraintCompiler extends AbstractConstraintCompiler {
         return TypeName.INTEGER;
     }
 
+    /**
+     * Returns the bounds of a constraint if they prove that every permitted value fits into a {@code long}.
+     */
+    public static Optional<IntegerValueBounds> getPrimitiveBounds(Optional<ConstraintDefinition> definition) {
+        return definition
+                .filter(d -> !d.isExtensible() && d.getRoots() instanceof IntegerRangeValueNode)
+                .map(d -> ((IntegerRangeValueNode) d.getRoots()).getValue())
+                .filter(r -> !r.isEmpty() && getLowerBound(r) != Long.MIN_VALUE && getUpperBound(r) != Long.MAX_VALUE)
+                .map(r -> new IntegerValueBounds(getLowerBound(r), getUpperBound(r)));
+    }
+
+    /**
+     * Returns true if the constraint consists of integer ranges only. Such a constraint can be checked on a value
+     * stored as a {@code long} without converting it, even if a range is unbounded.
+     */
+    private static boolean isRangeConstraint(ConstraintDefinition definition) {
+        return !definition.isExtensible() && definition.getRoots() instanceof IntegerRangeValueNode
+                && !((IntegerRangeValueNode) definition.getRoots()).getValue().isEmpty();
+    }
+
     @Override
     public void addConstraint(CompiledType type, Module module, ConstraintDefinition definition) {
-        generateDoCheckConstraint(module);
+        FunctionBuilder builder;
+
+        if (getPrimitiveBounds(Optional.of(definition)).isPresent()) {
+            generateDoCheckConstraint(module, new BinaryBooleanExpression(BinaryOperator.AND,
+                    new FunctionCall(of(IS_LONG)),
+                    new FunctionCall(of(FUNC_CHECK_CONSTRAINT_VALUE), new FunctionCall(of(LONG_VALUE)))));
+
+            builder = generateCheckConstraintValue(module, new Parameter(ILType.of(LONG), VAR_VALUE));
+        } else if (isRangeConstraint(definition)) {
+            // Values outside the range of a long are checked as BigInteger
+            generateDoCheckConstraint(module, new BinaryBooleanExpression(BinaryOperator.OR,
+                    new BinaryBooleanExpression(BinaryOperator.AND, new FunctionCall(of(IS_LONG)),
+                            new FunctionCall(of(FUNC_CHECK_CONSTRAINT_VALUE), new FunctionCall(of(LONG_VALUE)))),
+                    new BinaryBooleanExpression(BinaryOperator.AND,
+                            new NegationExpression(new FunctionCall(of(IS_LONG))), generateCheckConstraintCall())));
+
+            var longBuilder = generateCheckConstraintValue(module, new Parameter(ILType.of(LONG), VAR_VALUE));
+
+            addConstraintCondition(type, definition, longBuilder);
+
+            longBuilder.build();
+
+            builder = generateCheckConstraintValue(module, new Parameter(ILType.of(BIG_INTEGER), VAR_VALUE));
+        } else {
+            generateDoCheckConstraint(module);
 
-        FunctionBuilder builder = generateCheckConstraintValue(module, new Parameter(ILType.of(BIG_INTEGER), VAR_VALUE));
+            builder = generateCheckConstraintValue(module, new Parameter(ILType.of(BIG_INTEGER), VAR_VALUE));
+        }
 
         addConstraintCondition(type, definition, builder);
 
@@ -39,6 +39,7 @@ import ch.eskaton.asn4j.compiler.constraints.expr.OctetStringValueExpressionBuil
 import ch.eskaton.asn4j.compiler.constraints.optimizer.OctetStringConstraintOptimizingVisitor;
 import ch.eskaton.asn4j.compiler.constraints.optimizer.SizeBoundsVisitor;
 import ch.eskaton.asn4j.compiler.il.BooleanExpression;
+import ch.eskaton.asn4j.compiler.il.FunctionCall;
 import ch.eskaton.asn4j.compiler.il.ILType;
 import ch.eskaton.asn4j.compiler.il.Module;
 import ch.eskaton.asn4j.compiler.il.Parameter;
@@ -53,11 +54,13 @@ import ch.eskaton.asn4j.runtime.types.TypeName;
 import java.util.List;
 import java.util.Optional;
 
+import static ch.eskaton.asn4j.compiler.constraints.Constants.GET_LENGTH;
 import static ch.eskaton.asn4j.compiler.constraints.Constants.VAR_VALUE;
 import static ch.eskaton.asn4j.compiler.constraints.ast.IntegerRange.getLowerBound;
 import static ch.eskaton.asn4j.compiler.constraints.ast.IntegerRange.getUpperBound;
 import static ch.eskaton.asn4j.compiler.il.ILBuiltinType.BYTE_ARRAY;
 import static java.util.Collections.emptyList;
+import static java.util.Optional.of;
 
 public class OctetStringConstraintCompiler extends AbstractConstraintCompiler {
 
@@ -88,6 +91,12 @@ public class OctetStringConstraintCompiler extends AbstractConstraintCompiler {
 
     @Override
     public void addConstraint(CompiledType type, Module module, ConstraintDefinition definition) {
+        if (isSizeConstraint(definition)) {
+            generateDoCheckConstraint(module, buildSizeExpression(definition, new FunctionCall(of(GET_LENGTH))));
+
+            return;
+        }
+
         generateDoCheckConstraint(module);
 
         FunctionBuilder builder = generateCheckConstraintValue(module, new Parameter(ILType.of(BYTE_ARRAY), VAR_VALUE));
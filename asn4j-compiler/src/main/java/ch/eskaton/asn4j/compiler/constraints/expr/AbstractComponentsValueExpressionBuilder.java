@@ -0,0 +1,109 @@
+/*
+ *  Copyright (c) 2015, Adrian Moser
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  * Redistributions of source code must retain the above copyright
+ *  notice, this list of conditions and the following disclaimer.
+ *  * Redistributions in binary form must reproduce the above copyright
+ *  notice, this list of conditions and the following disclaimer in the
+ *  documentation and/or other materials provided with the distribution.
+ *  * Neither the name of the author nor the
+ *  names of its contributors may be used to endorse or promote products
+ *  derived from this software without specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL AUTHOR BE LIABLE FOR ANY
+ *  DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *  ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package ch.eskaton.asn4j.compiler.constraints.expr;
+
+import ch.eskaton.asn4j.compiler.CompilerContext;
+import ch.eskaton.asn4j.compiler.CompilerUtils;
+import ch.eskaton.asn4j.compiler.constraints.ast.ValueNode;
+import ch.eskaton.asn4j.compiler.il.BinaryBooleanExpression;
+import ch.eskaton.asn4j.compiler.il.BinaryOperator;
+import ch.eskaton.asn4j.compiler.il.BooleanExpression;
+import ch.eskaton.asn4j.compiler.il.BooleanFunctionCall;
+import ch.eskaton.asn4j.compiler.il.Constant;
+import ch.eskaton.asn4j.compiler.il.FunctionCall;
+import ch.eskaton.asn4j.compiler.il.ILParameterizedType;
+import ch.eskaton.asn4j.compiler.il.ILValue;
+import ch.eskaton.asn4j.compiler.il.Module;
+import ch.eskaton.asn4j.compiler.il.Variable;
+import ch.eskaton.asn4j.compiler.results.CompiledCollectionComponent;
+import ch.eskaton.asn4j.compiler.results.CompiledComponent;
+import ch.eskaton.asn4j.compiler.results.HasComponents;
+import ch.eskaton.asn4j.parser.ast.values.Value;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static ch.eskaton.asn4j.compiler.constraints.Constants.VAR_VALUES;
+import static ch.eskaton.asn4j.compiler.il.ILBuiltinType.CUSTOM;
+import static ch.eskaton.commons.utils.StringUtils.initCap;
+import static java.util.Collections.singletonList;
+import static java.util.Optional.of;
+
+/**
+ * Compares the components of a SEQUENCE, SET or CHOICE value one by one with values which are kept in constants.
+ */
+public abstract class AbstractComponentsValueExpressionBuilder<V, N extends ValueNode<? extends Collection<V>>>
+        extends VectorValueExpressionBuilder<V, N> {
+
+    private static final String CONST_VALUE = "VALUE";
+
+    private final Module module;
+
+    protected AbstractComponentsValueExpressionBuilder(CompilerContext ctx, Module module) {
+        super(ctx);
+
+        this.module = module;
+    }
+
+    protected BooleanExpression buildComponentsExpression(HasComponents<? extends CompiledComponent> compiledType,
+            Map<String, Value> values) {
+        var expressions = compiledType.getComponents().stream()
+                .map(component -> buildComponentExpression(component, values.get(component.getName())))
+                .collect(Collectors.toList());
+
+        return new BinaryBooleanExpression(BinaryOperator.AND, expressions);
+    }
+
+    private BooleanExpression buildComponentExpression(CompiledComponent component, Value value) {
+        var accessor = new FunctionCall(of("get" + initCap(CompilerUtils.formatName(component.getName()))),
+                of(Variable.of(VAR_VALUES)));
+
+        // the getter of an absent component with a default value returns the default value
+        if (value == null && component instanceof CompiledCollectionComponent) {
+            var defaultValue = ((CompiledCollectionComponent) component).getDefaultValue();
+
+            if (defaultValue.isPresent()) {
+                value = defaultValue.get().getValue();
+            }
+        }
+
+        if (value == null) {
+            return new BinaryBooleanExpression(BinaryOperator.EQ, accessor, new ILValue(null));
+        }
+
+        var typeName = component.getCompiledType().getName();
+        var constantSym = module.generateSymbol(CONST_VALUE);
+
+        module.addConstant(new Constant(ILParameterizedType.of(CUSTOM, singletonList(typeName)), constantSym,
+                ILValue.of(typeName, value)));
+
+        return new BooleanFunctionCall.ObjectEquals(accessor, Variable.of(constantSym));
+    }
+
+}
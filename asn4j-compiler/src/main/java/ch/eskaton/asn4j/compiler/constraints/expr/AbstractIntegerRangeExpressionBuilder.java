@@ -51,12 +51,21 @@ public abstract class AbstractIntegerRangeExpressionBuilder {
 
     protected final Function<List<Expression>, BooleanExpression> checkEq;
 
+    protected final Expression value;
+
     protected AbstractIntegerRangeExpressionBuilder(Function<List<Expression>, BooleanExpression> checkMin,
             Function<List<Expression>, BooleanExpression> checkMax,
             Function<List<Expression>, BooleanExpression> checkEq) {
+        this(checkMin, checkMax, checkEq, new Variable(VAR_VALUE));
+    }
+
+    protected AbstractIntegerRangeExpressionBuilder(Function<List<Expression>, BooleanExpression> checkMin,
+            Function<List<Expression>, BooleanExpression> checkMax,
+            Function<List<Expression>, BooleanExpression> checkEq, Expression value) {
         this.checkMin = checkMin;
         this.checkMax = checkMax;
         this.checkEq = checkEq;
+        this.value = value;
     }
 
     public Optional<BooleanExpression> build(List<IntegerRange> ranges) {
@@ -87,9 +96,9 @@ public abstract class AbstractIntegerRangeExpressionBuilder {
 
     protected BooleanExpression buildExpression(long value, BinaryOperator operator) {
         return switch (operator) {
-            case GE -> checkMin.apply(List.of(new Variable(VAR_VALUE), new ILValue(value)));
-            case LE -> checkMax.apply(List.of(new Variable(VAR_VALUE), new ILValue(value)));
-            case EQ -> checkEq.apply(List.of(new Variable(VAR_VALUE), new ILValue(value)));
+            case GE -> checkMin.apply(List.of(this.value, new ILValue(value)));
+            case LE -> checkMax.apply(List.of(this.value, new ILValue(value)));
+            case EQ -> checkEq.apply(List.of(this.value, new ILValue(value)));
             default -> throw new IllegalCompilerStateException("Illegal operator: %s", operator);
         };
     }
@@ -30,47 +30,26 @@ package ch.eskaton.asn4j.compiler.constraints.expr;
 import ch.eskaton.asn4j.compiler.CompilerContext;
 import ch.eskaton.asn4j.compiler.constraints.ast.ValueNode;
 import ch.eskaton.asn4j.compiler.il.BooleanExpression;
-import ch.eskaton.asn4j.compiler.il.BooleanFunctionCall;
-import ch.eskaton.asn4j.compiler.il.Expression;
-import ch.eskaton.asn4j.compiler.il.ILBuiltinType;
-import ch.eskaton.asn4j.compiler.il.ILMapValue;
-import ch.eskaton.asn4j.compiler.il.ILParameterizedType;
-import ch.eskaton.asn4j.compiler.il.ILType;
-import ch.eskaton.asn4j.compiler.il.ILValue;
-import ch.eskaton.asn4j.compiler.il.Variable;
+import ch.eskaton.asn4j.compiler.il.Module;
 import ch.eskaton.asn4j.compiler.results.CompiledChoiceType;
 import ch.eskaton.asn4j.compiler.results.CompiledType;
 import ch.eskaton.asn4j.parser.ast.values.ChoiceValue;
-import ch.eskaton.asn4j.runtime.types.ASN1Type;
-import ch.eskaton.commons.collections.Tuple2;
 
-import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
-import static ch.eskaton.asn4j.compiler.constraints.Constants.VAR_VALUES;
-import static ch.eskaton.asn4j.compiler.il.ILBuiltinType.CUSTOM;
-import static java.util.Collections.singletonList;
-
 public class ChoiceValueExpressionBuilder
-        extends VectorValueExpressionBuilder<ChoiceValue, ValueNode<Set<ChoiceValue>>> {
+        extends AbstractComponentsValueExpressionBuilder<ChoiceValue, ValueNode<Set<ChoiceValue>>> {
 
-    public ChoiceValueExpressionBuilder(CompilerContext ctx) {
-        super(ctx);
+    public ChoiceValueExpressionBuilder(CompilerContext ctx, Module module) {
+        super(ctx, module);
     }
 
     @Override
     protected BooleanExpression buildExpression(CompiledType compiledType, ChoiceValue choiceValue) {
         var compiledBaseType = (CompiledChoiceType) ctx.getCompiledBaseType(compiledType);
-        var associations = new HashSet<Tuple2<Expression, Expression>>();
-
-        compiledBaseType.getComponents().stream().forEach(c -> {
-            var value = c.getName().equals(choiceValue.getId()) ? choiceValue.getValue() : null;
-
-            associations.add(Tuple2.of(ILValue.of(c.getName()), ILValue.of(c.getCompiledType().getName(), value)));
-        });
 
-        return new BooleanFunctionCall.MapEquals(Variable.of(VAR_VALUES), new ILMapValue(ILType.of(ILBuiltinType.STRING),
-                ILParameterizedType.of(CUSTOM, singletonList(ASN1Type.class.getSimpleName())), associations));
+        return buildComponentsExpression(compiledBaseType, Map.of(choiceValue.getId(), choiceValue.getValue()));
     }
 
 }
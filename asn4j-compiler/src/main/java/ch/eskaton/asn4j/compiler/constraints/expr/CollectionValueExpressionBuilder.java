@@ -30,48 +30,28 @@ package ch.eskaton.asn4j.compiler.constraints.expr;
 import ch.eskaton.asn4j.compiler.CompilerContext;
 import ch.eskaton.asn4j.compiler.constraints.ast.CollectionValueNode;
 import ch.eskaton.asn4j.compiler.il.BooleanExpression;
-import ch.eskaton.asn4j.compiler.il.BooleanFunctionCall;
-import ch.eskaton.asn4j.compiler.il.Expression;
-import ch.eskaton.asn4j.compiler.il.ILBuiltinType;
-import ch.eskaton.asn4j.compiler.il.ILMapValue;
-import ch.eskaton.asn4j.compiler.il.ILParameterizedType;
-import ch.eskaton.asn4j.compiler.il.ILType;
-import ch.eskaton.asn4j.compiler.il.ILValue;
-import ch.eskaton.asn4j.compiler.il.Variable;
+import ch.eskaton.asn4j.compiler.il.Module;
 import ch.eskaton.asn4j.compiler.results.CompiledCollectionType;
 import ch.eskaton.asn4j.compiler.results.CompiledType;
 import ch.eskaton.asn4j.parser.ast.values.CollectionValue;
-import ch.eskaton.asn4j.runtime.types.ASN1Type;
-import ch.eskaton.commons.collections.Tuple2;
-import ch.eskaton.commons.utils.StreamsUtils;
+import ch.eskaton.asn4j.parser.ast.values.NamedValue;
 
-import java.util.HashSet;
-
-import static ch.eskaton.asn4j.compiler.constraints.Constants.VAR_VALUES;
-import static ch.eskaton.asn4j.compiler.il.ILBuiltinType.CUSTOM;
-import static java.util.Collections.singletonList;
+import java.util.stream.Collectors;
 
 public class CollectionValueExpressionBuilder
-        extends VectorValueExpressionBuilder<CollectionValue, CollectionValueNode> {
+        extends AbstractComponentsValueExpressionBuilder<CollectionValue, CollectionValueNode> {
 
-    public CollectionValueExpressionBuilder(CompilerContext ctx) {
-        super(ctx);
+    public CollectionValueExpressionBuilder(CompilerContext ctx, Module module) {
+        super(ctx, module);
     }
 
     @Override
     protected BooleanExpression buildExpression(CompiledType compiledType, CollectionValue collectionValue) {
         var compiledBaseType = (CompiledCollectionType) ctx.getCompiledBaseType(compiledType);
-        var typeStream = compiledBaseType.getComponents().stream().map(c -> c.getCompiledType().getName());
-        var valueStream = collectionValue.getValues().stream();
-        var associations = new HashSet<Tuple2<Expression, Expression>>();
-
-        StreamsUtils.zip(typeStream, valueStream)
-                .map(t -> new Tuple2<Expression, Expression>(ILValue.of(t.get_2().getName()),
-                        ILValue.of(t.get_1(), t.get_2().getValue())))
-                .forEach(associations::add);
+        var values = collectionValue.getValues().stream()
+                .collect(Collectors.toMap(NamedValue::getName, NamedValue::getValue));
 
-        return new BooleanFunctionCall.MapEquals(Variable.of(VAR_VALUES), new ILMapValue(ILType.of(ILBuiltinType.STRING),
-                ILParameterizedType.of(CUSTOM, singletonList(ASN1Type.class.getSimpleName())), associations));
+        return buildComponentsExpression(compiledBaseType, values);
     }
 
 }
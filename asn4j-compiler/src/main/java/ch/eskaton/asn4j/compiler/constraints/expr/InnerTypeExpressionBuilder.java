@@ -37,7 +37,7 @@ import ch.eskaton.asn4j.compiler.il.Parameter;
 import java.util.List;
 
 import static ch.eskaton.asn4j.compiler.constraints.Constants.VAR_VALUE;
-import static ch.eskaton.asn4j.compiler.il.ILBuiltinType.BOOLEAN;
+import static ch.eskaton.asn4j.compiler.il.ILBuiltinType.PRIMITIVE_BOOLEAN;
 import static java.util.Collections.singletonList;
 
 public class InnerTypeExpressionBuilder {
@@ -52,7 +52,7 @@ public class InnerTypeExpressionBuilder {
             List<Parameter> parameterDefinition) {
         // @formatter:off
         module.function()
-                .returnType(ILType.of(BOOLEAN))
+                .returnType(ILType.of(PRIMITIVE_BOOLEAN))
                 .name(functionName)
                 .parameters(parameterDefinition)
                 .statements()
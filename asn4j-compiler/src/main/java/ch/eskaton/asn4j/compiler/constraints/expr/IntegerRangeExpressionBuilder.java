@@ -26,6 +26,8 @@
  */
 package ch.eskaton.asn4j.compiler.constraints.expr;
 
+import ch.eskaton.asn4j.compiler.il.Expression;
+
 import static ch.eskaton.asn4j.compiler.il.BooleanFunctionCall.CheckEquals;
 import static ch.eskaton.asn4j.compiler.il.BooleanFunctionCall.CheckLowerBound;
 import static ch.eskaton.asn4j.compiler.il.BooleanFunctionCall.CheckUpperBound;
@@ -36,4 +38,8 @@ public class IntegerRangeExpressionBuilder extends AbstractIntegerRangeExpressio
         super(CheckLowerBound::new, CheckUpperBound::new, CheckEquals::new);
     }
 
+    public IntegerRangeExpressionBuilder(Expression value) {
+        super(CheckLowerBound::new, CheckUpperBound::new, CheckEquals::new, value);
+    }
+
 }
@@ -33,124 +33,117 @@ import ch.eskaton.asn4j.compiler.constraints.ast.OpNode;
 import ch.eskaton.asn4j.compiler.constraints.ast.StringRange;
 import ch.eskaton.asn4j.compiler.constraints.ast.StringValueNode;
 import ch.eskaton.asn4j.compiler.constraints.ast.StringValueOrRange;
-import ch.eskaton.asn4j.compiler.il.BinaryBooleanExpression;
-import ch.eskaton.asn4j.compiler.il.BinaryOperator;
 import ch.eskaton.asn4j.compiler.il.BooleanExpression;
-import ch.eskaton.asn4j.compiler.il.BooleanFunctionCall;
-import ch.eskaton.asn4j.compiler.il.FunctionCall;
+import ch.eskaton.asn4j.compiler.il.BooleanFunctionCall.CheckAlphabet;
+import ch.eskaton.asn4j.compiler.il.Constant;
 import ch.eskaton.asn4j.compiler.il.ILBuiltinType;
 import ch.eskaton.asn4j.compiler.il.ILType;
 import ch.eskaton.asn4j.compiler.il.ILValue;
 import ch.eskaton.asn4j.compiler.il.Module;
-import ch.eskaton.asn4j.compiler.il.NegationExpression;
 import ch.eskaton.asn4j.compiler.il.Variable;
 import ch.eskaton.commons.utils.OptionalUtils;
 
+import java.util.BitSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.stream.IntStream;
 
 import static ch.eskaton.asn4j.compiler.constraints.ConstraintUtils.throwUnimplementedNodeType;
 
+/**
+ * Folds a permitted alphabet constraint into a constant with the sorted code point ranges of the alphabet, which
+ * is checked in a single pass over the value.
+ */
 public class StringPermittedAlphabetExpressionBuilder {
 
-    private static final String FUNC_CHECK_ALPHABET = "checkPermittedAlphabet";
-
-    private static final String FUNC_GET_CHARS = "getChars";
+    private static final String CONST_PERMITTED_ALPHABET = "PERMITTED_ALPHABET";
 
     private static final String VAR_VALUE = "value";
 
-    private static final String VAR_CHR = "chr";
+    private static final int ALPHABET_SIZE = Character.MAX_CODE_POINT + 1;
 
     public Optional<BooleanExpression> build(Module module, Node node) {
-        var expression = buildExpression(node);
-        var expressionSym = module.generateSymbol(FUNC_CHECK_ALPHABET);
-
-        if (expression.isPresent()) {
-            // @formatter:off
-            module.function()
-                    .name(expressionSym)
-                    .returnType(ILType.of(ILBuiltinType.BOOLEAN))
-                    .parameter(ILType.of(ILBuiltinType.INTEGER), VAR_CHR)
-                    .statements()
-                        .returnExpression(expression.get())
-                        .build()
-                    .build();
-
-            module.function()
-                    .name(expressionSym)
-                    .returnType(ILType.of(ILBuiltinType.BOOLEAN))
-                    .parameter(ILType.of(ILBuiltinType.STRING), VAR_VALUE)
-                    .statements()
-                        .foreach(ILType.of(ILBuiltinType.INTEGER), Variable.of(VAR_CHR),
-                                new FunctionCall(Optional.of(FUNC_GET_CHARS), new Variable(VAR_VALUE)))
-                            .statements()
-                                .conditions()
-                                    .condition(new NegationExpression(new BooleanFunctionCall(
-                                            Optional.of(expressionSym), new Variable(VAR_CHR))))
-                                        .statements()
-                                            .returnValue(Boolean.FALSE)
-                                            .build()
-                                        .build()
-                                    .build()
-                                .build()
-                            .build()
-                            .returnValue(Boolean.TRUE)
-                        .build()
-                    .build();
-            // @formatter:on
-
-            return Optional.of(new BooleanFunctionCall(Optional.of(expressionSym), new Variable(VAR_VALUE)));
+        var alphabet = buildAlphabet(node);
+
+        if (alphabet.isPresent()) {
+            var constantSym = module.generateSymbol(CONST_PERMITTED_ALPHABET);
+
+            module.addConstant(new Constant(ILType.of(ILBuiltinType.INTEGER_ARRAY), constantSym,
+                    new ILValue(toRanges(alphabet.get()))));
+
+            return Optional.of(new CheckAlphabet(List.of(new Variable(VAR_VALUE), new Variable(constantSym))));
         }
 
         return Optional.empty();
     }
 
-    protected Optional<BooleanExpression> buildExpression(Node node) {
+    protected Optional<BitSet> buildAlphabet(Node node) {
         switch (node.getType()) {
             case UNION:
                 return OptionalUtils.combine(
-                        buildExpression(((BinOpNode) node).getLeft()),
-                        buildExpression(((BinOpNode) node).getRight()),
-                        getBinOperation(BinaryOperator.OR));
+                        buildAlphabet(((BinOpNode) node).getLeft()),
+                        buildAlphabet(((BinOpNode) node).getRight()),
+                        getBinOperation(BitSet::or));
             case INTERSECTION:
                 return OptionalUtils.combine(
-                        buildExpression(((BinOpNode) node).getLeft()),
-                        buildExpression(((BinOpNode) node).getRight()),
-                        getBinOperation(BinaryOperator.AND));
+                        buildAlphabet(((BinOpNode) node).getLeft()),
+                        buildAlphabet(((BinOpNode) node).getRight()),
+                        getBinOperation(BitSet::and));
             case COMPLEMENT:
                 return OptionalUtils.combine(
-                        buildExpression(((BinOpNode) node).getLeft()),
-                        buildExpression(((BinOpNode) node).getRight()).map(this::negate),
-                        getBinOperation(BinaryOperator.AND));
+                        buildAlphabet(((BinOpNode) node).getLeft()),
+                        buildAlphabet(((BinOpNode) node).getRight()),
+                        getBinOperation(BitSet::andNot));
             case NEGATION:
-                return buildExpression(((OpNode) node).getNode()).map(this::negate);
+                return buildAlphabet(((OpNode) node).getNode()).map(this::negate);
             case VALUE:
-                return buildExpression(((StringValueNode) node).getValue());
+                return buildAlphabet(((StringValueNode) node).getValue());
             default:
                 return throwUnimplementedNodeType(node);
         }
     }
 
-    private Optional<BooleanExpression> buildExpression(List<StringValueOrRange> value) {
-        return value.stream().map(this::buildExpression).reduce(union());
+    private Optional<BitSet> buildAlphabet(List<StringValueOrRange> value) {
+        return value.stream().map(this::buildAlphabet).reduce(getBinOperation(BitSet::and));
     }
 
-    private java.util.function.BinaryOperator<BooleanExpression> union() {
-        return getBinOperation(BinaryOperator.AND);
+    private BitSet buildAlphabet(StringValueOrRange value) {
+        var alphabet = new BitSet();
+        var range = (StringRange) value;
+
+        alphabet.set(range.getLower().codePointAt(0), range.getUpper().codePointAt(0) + 1);
+
+        return alphabet;
     }
 
-    private BooleanExpression buildExpression(StringValueOrRange value) {
-        return new BooleanFunctionCall(Optional.of(FUNC_CHECK_ALPHABET),
-                new Variable(VAR_CHR),
-                new ILValue(((StringRange) value).getLower()), new ILValue(((StringRange) value).getUpper()));
+    private BitSet negate(BitSet alphabet) {
+        alphabet.flip(0, ALPHABET_SIZE);
+
+        return alphabet;
     }
 
-    private BooleanExpression negate(BooleanExpression expr) {
-        return new NegationExpression(expr);
+    private int[] toRanges(BitSet alphabet) {
+        var ranges = IntStream.builder();
+
+        for (var lower = alphabet.nextSetBit(0); lower >= 0; ) {
+            var upper = alphabet.nextClearBit(lower);
+
+            ranges.add(lower).add(upper - 1);
+
+            lower = alphabet.nextSetBit(upper);
+        }
+
+        return ranges.build().toArray();
     }
 
-    private java.util.function.BinaryOperator<BooleanExpression> getBinOperation(BinaryOperator operator) {
-        return (BooleanExpression a, BooleanExpression b) -> new BinaryBooleanExpression(operator, a, b);
+    private BinaryOperator<BitSet> getBinOperation(BiConsumer<BitSet, BitSet> operation) {
+        return (BitSet a, BitSet b) -> {
+            operation.accept(a, b);
+
+            return a;
+        };
     }
 
 }
@@ -35,20 +35,14 @@ import ch.eskaton.asn4j.compiler.il.BooleanFunctionCall;
 import ch.eskaton.asn4j.compiler.il.Expression;
 import ch.eskaton.asn4j.compiler.il.FunctionCall;
 import ch.eskaton.asn4j.compiler.il.ILBuiltinType;
-import ch.eskaton.asn4j.compiler.il.ILMapValue;
 import ch.eskaton.asn4j.compiler.il.ILParameterizedType;
 import ch.eskaton.asn4j.compiler.il.ILType;
-import ch.eskaton.asn4j.compiler.il.ILValue;
 import ch.eskaton.asn4j.compiler.il.Module;
 import ch.eskaton.asn4j.compiler.il.NegationExpression;
 import ch.eskaton.asn4j.compiler.il.Parameter;
 import ch.eskaton.asn4j.compiler.il.Variable;
-import ch.eskaton.asn4j.compiler.results.CompiledChoiceType;
 import ch.eskaton.asn4j.compiler.results.CompiledCollectionOfType;
-import ch.eskaton.asn4j.compiler.results.CompiledCollectionType;
-import ch.eskaton.asn4j.compiler.results.CompiledComponent;
 import ch.eskaton.asn4j.compiler.results.CompiledType;
-import ch.eskaton.asn4j.compiler.results.HasComponents;
 import ch.eskaton.asn4j.runtime.types.ASN1BMPString;
 import ch.eskaton.asn4j.runtime.types.ASN1BitString;
 import ch.eskaton.asn4j.runtime.types.ASN1Boolean;
@@ -76,11 +70,8 @@ import ch.eskaton.asn4j.runtime.types.ASN1UTF8String;
 import ch.eskaton.asn4j.runtime.types.ASN1UniversalString;
 import ch.eskaton.asn4j.runtime.types.ASN1VideotexString;
 import ch.eskaton.asn4j.runtime.types.ASN1VisibleString;
-import ch.eskaton.commons.collections.Tuple2;
 import ch.eskaton.commons.utils.Dispatcher;
 
-import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Supplier;
@@ -94,7 +85,7 @@ import static ch.eskaton.asn4j.compiler.constraints.Constants.GET_VALUES;
 import static ch.eskaton.asn4j.compiler.constraints.Constants.VAR_UNUSED_BITS;
 import static ch.eskaton.asn4j.compiler.constraints.Constants.VAR_VALUE;
 import static ch.eskaton.asn4j.compiler.constraints.Constants.VAR_VALUES;
-import static ch.eskaton.asn4j.compiler.constraints.ConstraintUtils.getMapParameter;
+import static ch.eskaton.asn4j.compiler.constraints.ConstraintUtils.getValuesParameter;
 import static ch.eskaton.asn4j.compiler.il.ILBuiltinType.BIG_INTEGER;
 import static ch.eskaton.asn4j.compiler.il.ILBuiltinType.BOOLEAN;
 import static ch.eskaton.asn4j.compiler.il.ILBuiltinType.BYTE_ARRAY;
@@ -102,9 +93,9 @@ import static ch.eskaton.asn4j.compiler.il.ILBuiltinType.CUSTOM;
 import static ch.eskaton.asn4j.compiler.il.ILBuiltinType.INTEGER;
 import static ch.eskaton.asn4j.compiler.il.ILBuiltinType.INTEGER_ARRAY;
 import static ch.eskaton.asn4j.compiler.il.ILBuiltinType.NULL;
+import static ch.eskaton.asn4j.compiler.il.ILBuiltinType.PRIMITIVE_BOOLEAN;
 import static ch.eskaton.asn4j.compiler.il.ILBuiltinType.STRING;
 import static ch.eskaton.asn4j.compiler.il.ILBuiltinType.STRING_ARRAY;
-import static ch.eskaton.commons.utils.StringUtils.initCap;
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static java.util.Optional.of;
@@ -143,11 +134,11 @@ public class WithComponentExpressionBuilder extends InnerTypeExpressionBuilder {
                 .withCase(ASN1UniversalString.class, getStringValue)
                 .withCase(ASN1UTF8String.class, getStringValue)
                 .withCase(ASN1BMPString.class, getStringValue)
-                .withCase(ASN1Sequence.class, args -> getCollectionParameters((CompiledCollectionType) args.get()))
-                .withCase(ASN1Set.class, args -> getCollectionParameters((CompiledCollectionType) args.get()))
+                .withCase(ASN1Sequence.class, () -> singletonList(new Variable(VAR_VALUE)))
+                .withCase(ASN1Set.class, () -> singletonList(new Variable(VAR_VALUE)))
                 .withCase(ASN1SequenceOf.class, () -> singletonList(getGetValuesCall()))
                 .withCase(ASN1SetOf.class, () -> singletonList(getGetValuesCall()))
-                .withCase(ASN1Choice.class, args -> getCollectionParameters((CompiledChoiceType) args.get()));
+                .withCase(ASN1Choice.class, () -> singletonList(new Variable(VAR_VALUE)));
     }
 
     private final Dispatcher<String, Class<? extends ASN1Type>, CompiledType, List<Parameter>> parameterDefinitionDispatcher =
@@ -175,11 +166,11 @@ public class WithComponentExpressionBuilder extends InnerTypeExpressionBuilder {
                     .withCase(ASN1UniversalString.class, args -> getValueParameter(STRING))
                     .withCase(ASN1UTF8String.class, args -> getValueParameter(STRING))
                     .withCase(ASN1BMPString.class, args -> getValueParameter(STRING))
-                    .withCase(ASN1Sequence.class, () -> singletonList(getMapParameter()))
-                    .withCase(ASN1Set.class, () -> singletonList(getMapParameter()))
+                    .withCase(ASN1Sequence.class, args -> getContentValuesParameter(args.get()))
+                    .withCase(ASN1Set.class, args -> getContentValuesParameter(args.get()))
                     .withCase(ASN1SequenceOf.class, args -> getCollectionOfParameter(args.get()))
                     .withCase(ASN1SetOf.class, args -> getCollectionOfParameter(args.get()))
-                    .withCase(ASN1Choice.class, args -> singletonList(getMapParameter()));
+                    .withCase(ASN1Choice.class, args -> getContentValuesParameter(args.get()));
 
     public WithComponentExpressionBuilder(CompilerContext ctx) {
         super(ctx);
@@ -204,7 +195,7 @@ public class WithComponentExpressionBuilder extends InnerTypeExpressionBuilder {
 
         // @formatter:off
         module.function()
-                .returnType(ILType.of(BOOLEAN))
+                .returnType(ILType.of(PRIMITIVE_BOOLEAN))
                 .name(checkSym)
                 .parameter(new Parameter(new ILParameterizedType(ILBuiltinType.LIST, parameterizedType), VAR_VALUES))
                 .statements()
@@ -262,17 +253,10 @@ public class WithComponentExpressionBuilder extends InnerTypeExpressionBuilder {
         return singletonList(new Parameter(new ILParameterizedType(ILBuiltinType.LIST, typeParameter), VAR_VALUES));
     }
 
-    private List<Expression> getCollectionParameters(HasComponents<? extends CompiledComponent> compiledContentType) {
-        var associations = new HashSet<Tuple2<Expression, Expression>>();
-
-        compiledContentType.getComponents().stream()
-                .map(CompiledComponent::getName)
-                .map(n -> new Tuple2<Expression, Expression>(ILValue.of(n),
-                        new FunctionCall(of("get" + initCap(n)), of(Variable.of(VAR_VALUE)))))
-                .forEach(associations::add);
+    private List<Parameter> getContentValuesParameter(CompiledType compiledType) {
+        var compiledBaseType = (CompiledCollectionOfType) ctx.getCompiledBaseType(compiledType);
 
-        return Collections.singletonList(new ILMapValue(ILType.of(ILBuiltinType.STRING),
-                ILParameterizedType.of(CUSTOM, singletonList(ASN1Type.class.getSimpleName())), associations));
+        return singletonList(getValuesParameter(ctx, ctx.getCompiledBaseType(compiledBaseType.getContentType())));
     }
 
     private FunctionCall getGetValueCall() {
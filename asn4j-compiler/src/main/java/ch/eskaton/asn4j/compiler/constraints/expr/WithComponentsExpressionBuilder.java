@@ -28,6 +28,7 @@
 package ch.eskaton.asn4j.compiler.constraints.expr;
 
 import ch.eskaton.asn4j.compiler.CompilerContext;
+import ch.eskaton.asn4j.compiler.CompilerUtils;
 import ch.eskaton.asn4j.compiler.CompilerException;
 import ch.eskaton.asn4j.compiler.IllegalCompilerStateException;
 import ch.eskaton.asn4j.compiler.constraints.ast.ComponentNode;
@@ -39,7 +40,6 @@ import ch.eskaton.asn4j.compiler.il.BooleanFunctionCall;
 import ch.eskaton.asn4j.compiler.il.Expression;
 import ch.eskaton.asn4j.compiler.il.FunctionCall;
 import ch.eskaton.asn4j.compiler.il.ILBuiltinType;
-import ch.eskaton.asn4j.compiler.il.ILMapValue;
 import ch.eskaton.asn4j.compiler.il.ILParameterizedType;
 import ch.eskaton.asn4j.compiler.il.ILType;
 import ch.eskaton.asn4j.compiler.il.ILValue;
@@ -84,12 +84,9 @@ import ch.eskaton.commons.collections.Tuple2;
 import ch.eskaton.commons.utils.Dispatcher;
 import ch.eskaton.commons.utils.OptionalUtils;
 
-import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static ch.eskaton.asn4j.compiler.constraints.Constants.FUNC_CHECK_CONSTRAINT;
@@ -100,11 +97,10 @@ import static ch.eskaton.asn4j.compiler.constraints.Constants.GET_VALUES;
 import static ch.eskaton.asn4j.compiler.constraints.Constants.VAR_UNUSED_BITS;
 import static ch.eskaton.asn4j.compiler.constraints.Constants.VAR_VALUE;
 import static ch.eskaton.asn4j.compiler.constraints.Constants.VAR_VALUES;
-import static ch.eskaton.asn4j.compiler.constraints.ConstraintUtils.getMapParameter;
+import static ch.eskaton.asn4j.compiler.constraints.ConstraintUtils.getValuesParameter;
 import static ch.eskaton.asn4j.compiler.il.ILBuiltinType.BIG_INTEGER;
 import static ch.eskaton.asn4j.compiler.il.ILBuiltinType.BOOLEAN;
 import static ch.eskaton.asn4j.compiler.il.ILBuiltinType.BYTE_ARRAY;
-import static ch.eskaton.asn4j.compiler.il.ILBuiltinType.CUSTOM;
 import static ch.eskaton.asn4j.compiler.il.ILBuiltinType.INTEGER;
 import static ch.eskaton.asn4j.compiler.il.ILBuiltinType.INTEGER_ARRAY;
 import static ch.eskaton.asn4j.compiler.il.ILBuiltinType.NULL;
@@ -142,53 +138,50 @@ public class WithComponentsExpressionBuilder extends InnerTypeExpressionBuilder
                     .withCase(ASN1UniversalString.class, args -> getValueParameter(STRING))
                     .withCase(ASN1UTF8String.class, args -> getValueParameter(STRING))
                     .withCase(ASN1BMPString.class, args -> getValueParameter(STRING))
-                    .withCase(ASN1Sequence.class, args -> singletonList(getMapParameter()))
-                    .withCase(ASN1Set.class, args -> singletonList(getMapParameter()))
+                    .withCase(ASN1Sequence.class, args -> singletonList(getValuesParameter(ctx, args.get())))
+                    .withCase(ASN1Set.class, args -> singletonList(getValuesParameter(ctx, args.get())))
                     .withCase(ASN1SequenceOf.class, args -> getCollectionOfParameterDefinition(args.get()))
                     .withCase(ASN1SetOf.class, args -> getCollectionOfParameterDefinition(args.get()))
-                    .withCase(ASN1Choice.class, args -> singletonList(getMapParameter()));
+                    .withCase(ASN1Choice.class, args -> singletonList(getValuesParameter(ctx, args.get())));
 
     protected final Dispatcher<String, Class<? extends ASN1Type>, Tuple2<ComponentNode, CompiledType>, List<Expression>> parametersDispatcher =
             new Dispatcher<String, Class<? extends ASN1Type>, Tuple2<ComponentNode, CompiledType>, List<Expression>>()
                     .withComparator((t, u) -> t.equals(u.getSimpleName()))
-                    .withCase(ASN1Integer.class, args -> singletonList(getMapValueAccessor(args, GET_VALUE)))
-                    .withCase(ASN1Boolean.class, args -> singletonList(getMapValueAccessor(args, GET_VALUE)))
-                    .withCase(ASN1EnumeratedType.class, args -> singletonList(getMapValueAccessor(args, GET_VALUE)))
-                    .withCase(ASN1Null.class, args -> singletonList(getMapValueAccessor(args, GET_VALUE)))
+                    .withCase(ASN1Integer.class, args -> singletonList(getComponentAccessor(args, GET_VALUE)))
+                    .withCase(ASN1Boolean.class, args -> singletonList(getComponentAccessor(args, GET_VALUE)))
+                    .withCase(ASN1EnumeratedType.class, args -> singletonList(getComponentAccessor(args, GET_VALUE)))
+                    .withCase(ASN1Null.class, args -> singletonList(getComponentAccessor(args, GET_VALUE)))
                     .withCase(ASN1ObjectIdentifier.class, args ->
                             singletonList(new FunctionCall.ToArray(ILType.of(INTEGER),
-                                    getMapValueAccessor(args, GET_VALUE))))
+                                    getComponentAccessor(args, GET_VALUE))))
                     .withCase(ASN1RelativeOID.class, args ->
                             singletonList(new FunctionCall.ToArray(ILType.of(INTEGER),
-                                    getMapValueAccessor(args, GET_VALUE))))
+                                    getComponentAccessor(args, GET_VALUE))))
                     .withCase(ASN1IRI.class, args ->
                             singletonList(new FunctionCall.ToArray(ILType.of(STRING),
-                                    getMapValueAccessor(args, GET_VALUE))))
+                                    getComponentAccessor(args, GET_VALUE))))
                     .withCase(ASN1RelativeIRI.class, args ->
                             singletonList(new FunctionCall.ToArray(ILType.of(STRING),
-                                    getMapValueAccessor(args, GET_VALUE))))
-                    .withCase(ASN1BitString.class, args -> List.of(getMapValueAccessor(args, GET_VALUE),
-                            getMapValueAccessor(args, GET_UNUSED_BITS)))
-                    .withCase(ASN1OctetString.class, args -> singletonList(getMapValueAccessor(args, GET_VALUE)))
-                    .withCase(ASN1VisibleString.class, args -> singletonList(getMapValueAccessor(args, GET_VALUE)))
-                    .withCase(ASN1NumericString.class, args -> singletonList(getMapValueAccessor(args, GET_VALUE)))
-                    .withCase(ASN1PrintableString.class, args -> singletonList(getMapValueAccessor(args, GET_VALUE)))
-                    .withCase(ASN1IA5String.class, args -> singletonList(getMapValueAccessor(args, GET_VALUE)))
-                    .withCase(ASN1GraphicString.class, args -> singletonList(getMapValueAccessor(args, GET_VALUE)))
-                    .withCase(ASN1GeneralString.class, args -> singletonList(getMapValueAccessor(args, GET_VALUE)))
-                    .withCase(ASN1TeletexString.class, args -> singletonList(getMapValueAccessor(args, GET_VALUE)))
-                    .withCase(ASN1VideotexString.class, args -> singletonList(getMapValueAccessor(args, GET_VALUE)))
-                    .withCase(ASN1UniversalString.class, args -> singletonList(getMapValueAccessor(args, GET_VALUE)))
-                    .withCase(ASN1UTF8String.class, args -> singletonList(getMapValueAccessor(args, GET_VALUE)))
-                    .withCase(ASN1BMPString.class, args -> singletonList(getMapValueAccessor(args, GET_VALUE)))
-                    .withCase(ASN1Sequence.class, args -> getComponentsParameters(args.get().get_2(),
-                            acc -> getMapValueAccessor(args, acc)))
-                    .withCase(ASN1Set.class, args -> getComponentsParameters(args.get().get_2(),
-                            acc -> getMapValueAccessor(args, acc)))
-                    .withCase(ASN1SequenceOf.class, args -> singletonList(getMapValueAccessor(args, GET_VALUES)))
-                    .withCase(ASN1SetOf.class, args -> singletonList(getMapValueAccessor(args, GET_VALUES)))
-                    .withCase(ASN1Choice.class, args -> getComponentsParameters(args.get().get_2(),
-                            acc -> getMapValueAccessor(args, acc)));
+                                    getComponentAccessor(args, GET_VALUE))))
+                    .withCase(ASN1BitString.class, args -> List.of(getComponentAccessor(args, GET_VALUE),
+                            getComponentAccessor(args, GET_UNUSED_BITS)))
+                    .withCase(ASN1OctetString.class, args -> singletonList(getComponentAccessor(args, GET_VALUE)))
+                    .withCase(ASN1VisibleString.class, args -> singletonList(getComponentAccessor(args, GET_VALUE)))
+                    .withCase(ASN1NumericString.class, args -> singletonList(getComponentAccessor(args, GET_VALUE)))
+                    .withCase(ASN1PrintableString.class, args -> singletonList(getComponentAccessor(args, GET_VALUE)))
+                    .withCase(ASN1IA5String.class, args -> singletonList(getComponentAccessor(args, GET_VALUE)))
+                    .withCase(ASN1GraphicString.class, args -> singletonList(getComponentAccessor(args, GET_VALUE)))
+                    .withCase(ASN1GeneralString.class, args -> singletonList(getComponentAccessor(args, GET_VALUE)))
+                    .withCase(ASN1TeletexString.class, args -> singletonList(getComponentAccessor(args, GET_VALUE)))
+                    .withCase(ASN1VideotexString.class, args -> singletonList(getComponentAccessor(args, GET_VALUE)))
+                    .withCase(ASN1UniversalString.class, args -> singletonList(getComponentAccessor(args, GET_VALUE)))
+                    .withCase(ASN1UTF8String.class, args -> singletonList(getComponentAccessor(args, GET_VALUE)))
+                    .withCase(ASN1BMPString.class, args -> singletonList(getComponentAccessor(args, GET_VALUE)))
+                    .withCase(ASN1Sequence.class, args -> singletonList(getComponent(args)))
+                    .withCase(ASN1Set.class, args -> singletonList(getComponent(args)))
+                    .withCase(ASN1SequenceOf.class, args -> singletonList(getComponentAccessor(args, GET_VALUES)))
+                    .withCase(ASN1SetOf.class, args -> singletonList(getComponentAccessor(args, GET_VALUES)))
+                    .withCase(ASN1Choice.class, args -> singletonList(getComponent(args)));
 
     public WithComponentsExpressionBuilder(CompilerContext ctx) {
         super(ctx);
@@ -225,7 +218,7 @@ public class WithComponentsExpressionBuilder extends InnerTypeExpressionBuilder
                 .map(Optional::get).collect(Collectors.toList());
 
         var checkSym = module.generateSymbol(FUNC_CHECK_CONSTRAINT);
-        var parameterDefinition = getMapParameter();
+        var parameterDefinition = getValuesParameter(ctx, compiledType);
 
         if (!expressionCalls.isEmpty()) {
             var expression = new BinaryBooleanExpression(getOperator(), expressionCalls);
@@ -295,48 +288,17 @@ public class WithComponentsExpressionBuilder extends InnerTypeExpressionBuilder
         return parametersDispatcher.execute(runtimeType, Tuple2.of(component, compiledType));
     }
 
-    private FunctionCall getMapValueAccessor(Optional<Tuple2<ComponentNode, CompiledType>> args, String accessor) {
-        if (args.isEmpty()) {
-            throw new IllegalCompilerStateException("Empty arguments not allowed");
-        }
-
-        return getMapValueAccessor(args.get().get_1(), args.get().get_2(), accessor);
+    private FunctionCall getComponentAccessor(Optional<Tuple2<ComponentNode, CompiledType>> args, String accessor) {
+        return new FunctionCall(of(accessor), of(getComponent(args)));
     }
 
-    private FunctionCall getMapValueAccessor(ComponentNode component, CompiledType compiledType, String accessor) {
-        return new FunctionCall(of(accessor),
-                of(new FunctionCall.GetMapValue(Variable.of(VAR_VALUES),
-                        ILValue.of(component.getName()),
-                        ILParameterizedType.of(CUSTOM, singletonList(getTypeName(compiledType))))));
-    }
-
-    private String getTypeName(CompiledType compiledType) {
-        if (ctx.isRuntimeType(compiledType.getName())) {
-            return compiledType.getName();
-        } else {
-            var parent = compiledType;
-            var names = new LinkedList<String>();
-
-            while (parent != null) {
-                names.addFirst(parent.getName());
-                parent = parent.getParent();
-            }
-
-            return names.stream().skip(1).collect(Collectors.joining("."));
+    private FunctionCall getComponent(Optional<Tuple2<ComponentNode, CompiledType>> args) {
+        if (args.isEmpty()) {
+            throw new IllegalCompilerStateException("Empty arguments not allowed");
         }
-    }
-
-    private List<Expression> getComponentsParameters(CompiledType compiledType,
-            Function<String, FunctionCall> getCall) {
-        var associations = new HashSet<Tuple2<Expression, Expression>>();
-        var compiledBaseType = (HasComponents<? extends CompiledComponent>) ctx.getCompiledBaseType(compiledType);
-
-        compiledBaseType.getComponents().stream().map(CompiledComponent::getName)
-                .map(n -> new Tuple2(ILValue.of(n), getCall.apply("get" + initCap(n))))
-                .forEach(associations::add);
 
-        return singletonList(new ILMapValue(ILType.of(ILBuiltinType.STRING),
-                ILParameterizedType.of(CUSTOM, singletonList(ASN1Type.class.getSimpleName())), associations));
+        return new FunctionCall(of("get" + initCap(CompilerUtils.formatName(args.get().get_1().getName()))),
+                of(Variable.of(VAR_VALUES)));
     }
 
     protected Tuple2<String, String> buildExpressionFunction(Module module, CompiledType compiledType,
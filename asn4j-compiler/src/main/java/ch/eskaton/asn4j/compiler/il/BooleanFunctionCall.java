@@ -63,9 +63,9 @@ public class BooleanFunctionCall extends FunctionCall implements BooleanExpressi
 
     }
 
-    public static class MapEquals extends BooleanFunctionCall {
+    public static class ObjectEquals extends BooleanFunctionCall {
 
-        public MapEquals(Expression argument1, Expression argument2) {
+        public ObjectEquals(Expression argument1, Expression argument2) {
             super(Optional.empty(), argument1, argument2);
         }
 
@@ -223,4 +223,12 @@ public class BooleanFunctionCall extends FunctionCall implements BooleanExpressi
 
     }
 
+    public static class CheckAlphabet extends BooleanFunctionCall {
+
+        public CheckAlphabet(List<Expression> arguments) {
+            super(Optional.empty(), arguments);
+        }
+
+    }
+
 }
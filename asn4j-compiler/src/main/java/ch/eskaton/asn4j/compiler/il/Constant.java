@@ -28,33 +28,30 @@
 package ch.eskaton.asn4j.compiler.il;
 
 import ch.eskaton.asn4j.runtime.utils.ToString;
-import ch.eskaton.commons.collections.Tuple2;
 
-import java.util.Collection;
+public class Constant {
 
-public class ILMapValue implements Expression {
+    private ILType type;
 
-    private ILType keyType;
+    private String name;
 
-    private ILType valueType;
+    private Expression value;
 
-    private Collection<Tuple2<Expression, Expression>> value;
-
-    public ILMapValue(ILType keyType, ILType valueType, Collection<Tuple2<Expression, Expression>> value) {
-        this.keyType = keyType;
-        this.valueType = valueType;
+    public Constant(ILType type, String name, Expression value) {
+        this.type = type;
+        this.name = name;
         this.value = value;
     }
 
-    public ILType getKeyType() {
-        return keyType;
+    public ILType getType() {
+        return type;
     }
 
-    public ILType getValueType() {
-        return valueType;
+    public String getName() {
+        return name;
     }
 
-    public Collection<Tuple2<Expression, Expression>> getValue() {
+    public Expression getValue() {
         return value;
     }
 
@@ -97,25 +97,4 @@ public class FunctionCall implements Expression {
 
     }
 
-    public static class GetMapValue extends FunctionCall {
-
-        private ILType type;
-
-        public GetMapValue(Expression map, ILValue key, ILType type) {
-            super(Optional.empty(), Optional.of(map), key);
-
-            this.type = type;
-        }
-
-        public ILType getType() {
-            return type;
-        }
-
-        @Override
-        public String toString() {
-            return ToString.get(this);
-        }
-
-    }
-
 }
@@ -29,6 +29,7 @@ package ch.eskaton.asn4j.compiler.il;
 
 public enum ILBuiltinType {
 
-    BOOLEAN, BIG_INTEGER, BYTE_ARRAY, INTEGER, INTEGER_ARRAY, LIST, MAP, NULL, SET, STRING, STRING_ARRAY, CUSTOM
+    BOOLEAN, BIG_INTEGER, BYTE_ARRAY, INTEGER, INTEGER_ARRAY, LIST, LONG, MAP, NULL, PRIMITIVE_BOOLEAN, SET, STRING,
+    STRING_ARRAY, CUSTOM
 
 }
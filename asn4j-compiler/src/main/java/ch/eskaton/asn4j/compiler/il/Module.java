@@ -42,6 +42,8 @@ public class Module implements Builder<Module> {
 
     private List<Function> functions = new LinkedList<>();
 
+    private List<Constant> constants = new LinkedList<>();
+
     public FunctionBuilder function() {
         return new FunctionBuilder(this);
     }
@@ -54,6 +56,14 @@ public class Module implements Builder<Module> {
         return functions;
     }
 
+    public void addConstant(Constant constant) {
+        constants.add(constant);
+    }
+
+    public List<Constant> getConstants() {
+        return constants;
+    }
+
     public String generateSymbol(String prefix) {
         int symbolId = symbolIds.getOrDefault(prefix, 1);
 
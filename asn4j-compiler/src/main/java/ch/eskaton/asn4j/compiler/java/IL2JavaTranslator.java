@@ -35,20 +35,19 @@ import ch.eskaton.asn4j.compiler.il.BinaryBooleanExpression;
 import ch.eskaton.asn4j.compiler.il.BooleanExpression;
 import ch.eskaton.asn4j.compiler.il.BooleanFunctionCall;
 import ch.eskaton.asn4j.compiler.il.BooleanFunctionCall.ArrayEquals;
-import ch.eskaton.asn4j.compiler.il.BooleanFunctionCall.MapEquals;
+import ch.eskaton.asn4j.compiler.il.BooleanFunctionCall.ObjectEquals;
 import ch.eskaton.asn4j.compiler.il.BooleanFunctionCall.SetEquals;
 import ch.eskaton.asn4j.compiler.il.BooleanFunctionCall.StringEquals;
 import ch.eskaton.asn4j.compiler.il.Condition;
 import ch.eskaton.asn4j.compiler.il.Conditions;
+import ch.eskaton.asn4j.compiler.il.Constant;
 import ch.eskaton.asn4j.compiler.il.Declaration;
 import ch.eskaton.asn4j.compiler.il.Expression;
 import ch.eskaton.asn4j.compiler.il.Foreach;
 import ch.eskaton.asn4j.compiler.il.Function;
 import ch.eskaton.asn4j.compiler.il.FunctionCall;
-import ch.eskaton.asn4j.compiler.il.FunctionCall.GetMapValue;
 import ch.eskaton.asn4j.compiler.il.FunctionCall.ToArray;
 import ch.eskaton.asn4j.compiler.il.ILListValue;
-import ch.eskaton.asn4j.compiler.il.ILMapValue;
 import ch.eskaton.asn4j.compiler.il.ILParameterizedType;
 import ch.eskaton.asn4j.compiler.il.ILType;
 import ch.eskaton.asn4j.compiler.il.ILValue;
@@ -63,7 +62,6 @@ import ch.eskaton.asn4j.compiler.java.objs.JavaVisibility;
 import ch.eskaton.asn4j.parser.ast.values.Value;
 import ch.eskaton.asn4j.runtime.types.ASN1Null;
 import ch.eskaton.asn4j.runtime.utils.ConstraintChecks;
-import ch.eskaton.commons.collections.Maps;
 import ch.eskaton.commons.utils.StreamsUtils;
 import ch.eskaton.commons.utils.StringUtils;
 
@@ -71,6 +69,7 @@ import java.math.BigInteger;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -95,6 +94,17 @@ public class IL2JavaTranslator {
         }
     }
 
+    public void translateConstant(CompilerContext ctx, JavaClass javaClass, Constant constant) {
+        javaClass.field()
+                .modifier(JavaVisibility.PRIVATE)
+                .asStatic()
+                .asFinal()
+                .type(toJavaType(javaClass, constant.getType()))
+                .name(constant.getName())
+                .initializer(translateExpression(ctx, javaClass, constant.getValue()))
+                .build();
+    }
+
     public void translateFunction(CompilerContext ctx, JavaClass javaClass, Function function) {
         JavaClass.MethodBuilder method = javaClass.method()
                 .modifier(translateVisibility(function.getVisibility()))
@@ -221,15 +231,6 @@ public class IL2JavaTranslator {
             javaClass.addStaticImport(Arrays.class, "asList");
 
             return "asList(" + initString + ")";
-        } else if (expression instanceof ILMapValue) {
-            var keyType = toJavaType(javaClass, ((ILMapValue) expression).getKeyType());
-            var valueType = toJavaType(javaClass, ((ILMapValue) expression).getValueType());
-            var associations = ((ILMapValue) expression).getValue();
-
-            return "Maps.<%s, %s>builder()".formatted(keyType, valueType) + associations.stream()
-                    .map(t -> ".put(" + translateExpression(ctx, javaClass, t.get_1()) + ", " +
-                            translateExpression(ctx, javaClass, t.get_2()) + ")")
-                    .collect(Collectors.joining("")) + ".build()";
         } else if (expression instanceof FunctionCall) {
             FunctionCall functionCall = (FunctionCall) expression;
             String function;
@@ -254,14 +255,6 @@ public class IL2JavaTranslator {
                         throw new IllegalCompilerStateException("Unsupported type %s in ToString function",
                                 type.getBaseType());
                 }
-            } else if (functionCall instanceof GetMapValue) {
-                var type = toJavaType(javaClass, ((GetMapValue) functionCall).getType());
-                function = "get";
-                object = ofNullable(translateExpression(ctx, javaClass,
-                        functionCall.getObject().orElseThrow(() -> new CompilerException("object must not be null"))));
-                arguments = translateExpression(ctx, javaClass, functionCall.getArguments().get(0));
-
-                return "((" + type + ")" + object.map(o -> o + ".").orElse("") + function + "(" + arguments + "))";
             } else {
                 function = functionCall.getFunction()
                         .orElseThrow(() -> new CompilerException("Undefined function of type %s",
@@ -333,8 +326,13 @@ public class IL2JavaTranslator {
                 javaClass.addImport(Arrays.class);
 
                 return "Arrays.equals(" + arguments + ")";
-            } else if (functionCall instanceof SetEquals || functionCall instanceof MapEquals ||
-                    functionCall instanceof StringEquals) {
+            } else if (functionCall instanceof ObjectEquals) {
+                String arguments = argumentsToString(ctx, javaClass, functionCall);
+
+                javaClass.addImport(Objects.class);
+
+                return "Objects.equals(" + arguments + ")";
+            } else if (functionCall instanceof SetEquals || functionCall instanceof StringEquals) {
                 String object = translateArg(ctx, javaClass, functionCall, 0);
                 String argument = translateArg(ctx, javaClass, functionCall, 1);
 
@@ -375,6 +373,8 @@ public class IL2JavaTranslator {
                 return getCheckCall(ctx, javaClass, functionCall, "checkMaxSize");
             } else if (functionCall instanceof BooleanFunctionCall.CheckCollectionSizeEquals) {
                 return getCheckCall(ctx, javaClass, functionCall, "checkSizeEquals");
+            } else if (functionCall instanceof BooleanFunctionCall.CheckAlphabet) {
+                return getCheckCall(ctx, javaClass, functionCall, "checkAlphabet");
             } else {
                 String function = functionCall.getFunction()
                         .orElseThrow(() -> new CompilerException("Undefined function of type %s",
@@ -426,8 +426,12 @@ public class IL2JavaTranslator {
                 return int[].class.getSimpleName();
             case LIST:
                 return typeWithImport(javaClass, List.class) + getTypeParameter(type);
+            case LONG:
+                return long.class.getSimpleName();
+            case PRIMITIVE_BOOLEAN:
+                return boolean.class.getSimpleName();
             case MAP:
-                return typeWithImport(javaClass, Map.class, Maps.class) + getTypeParameter(type);
+                return typeWithImport(javaClass, Map.class) + getTypeParameter(type);
             case SET:
                 return typeWithImport(javaClass, Set.class) + getTypeParameter(type);
             case STRING:
@@ -0,0 +1,231 @@
+/*
+ *  Copyright (c) 2015, Adrian Moser
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  * Redistributions of source code must retain the above copyright
+ *  notice, this list of conditions and the following disclaimer.
+ *  * Redistributions in binary form must reproduce the above copyright
+ *  notice, this list of conditions and the following disclaimer in the
+ *  documentation and/or other materials provided with the distribution.
+ *  * Neither the name of the author nor the
+ *  names of its contributors may be used to endorse or promote products
+ *  derived from this software without specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL AUTHOR BE LIABLE FOR ANY
+ *  DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *  ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package ch.eskaton.asn4j.compiler.java;
+
+import ch.eskaton.asn4j.compiler.CompilerContext;
+import ch.eskaton.asn4j.compiler.java.objs.JavaClass;
+import ch.eskaton.asn4j.compiler.results.CompiledChoiceType;
+import ch.eskaton.asn4j.compiler.results.CompiledCollectionComponent;
+import ch.eskaton.asn4j.compiler.results.CompiledComponent;
+import ch.eskaton.asn4j.compiler.results.CompiledType;
+import ch.eskaton.asn4j.parser.ast.types.OpenType;
+import ch.eskaton.asn4j.runtime.Decoder;
+import ch.eskaton.asn4j.runtime.DecoderStates;
+import ch.eskaton.asn4j.runtime.TagId;
+import ch.eskaton.asn4j.runtime.decoders.DecodingPlan;
+import ch.eskaton.asn4j.runtime.exceptions.DecodingException;
+import ch.eskaton.commons.utils.StringUtils;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static ch.eskaton.asn4j.compiler.CompilerUtils.formatName;
+import static ch.eskaton.asn4j.compiler.java.objs.JavaVisibility.PRIVATE;
+import static ch.eskaton.asn4j.compiler.java.objs.JavaVisibility.PUBLIC;
+
+/**
+ * Generates static {@code decodeBER} methods which decode the components of SEQUENCE, SET and CHOICE types
+ * without reflection. The runtime falls back to the reflective decoders for classes without such a method.
+ */
+public class JavaBERDecoderBuilder {
+
+    private static final String TAGS_PREFIX = "$tags_";
+
+    private final CompilerContext ctx;
+
+    private final JavaClass javaClass;
+
+    public JavaBERDecoderBuilder(CompilerContext ctx, JavaClass javaClass) {
+        this.ctx = ctx;
+        this.javaClass = javaClass;
+    }
+
+    public void buildSequenceDecoder(List<CompiledCollectionComponent> components) {
+        var body = startMethod(false);
+
+        if (!components.isEmpty()) {
+            body.nl();
+        }
+
+        for (var component : components) {
+            var fieldName = formatName(component.getName());
+            var optional = component.isOptional() || component.getDefaultValue().isPresent();
+
+            body.append("obj.%s = %s;".formatted(fieldName, decodeComponent(component, fieldName, optional)));
+        }
+
+        body.nl().append("return obj;").finish().build();
+    }
+
+    public void buildSetDecoder(List<CompiledCollectionComponent> components) {
+        if (!hasDistinctTags(components)) {
+            return;
+        }
+
+        var body = startMethod(false);
+
+        body.nl().append("for (var tag = decoder.peekTag(states); tag != -1; tag = decoder.peekTag(states)) {")
+                .append("\tswitch (tag) {");
+
+        for (var component : components) {
+            var fieldName = formatName(component.getName());
+
+            body.append("\t" + caseLabel(component))
+                    .append("\t\t\tif (obj.%s == null) {".formatted(fieldName))
+                    .append("\t\t\t\tobj.%s = %s;".formatted(fieldName, decodeComponent(component, fieldName, false)))
+                    .append("\t\t\t\tcontinue;")
+                    .append("\t\t\t}")
+                    .nl()
+                    .append("\t\t\tbreak;");
+        }
+
+        body.append("\t}").nl().append("\tbreak;").append("}");
+
+        for (var component : components) {
+            if (!component.isOptional() && component.getDefaultValue().isEmpty()) {
+                var fieldName = formatName(component.getName());
+
+                body.nl()
+                        .append("if (obj.%s == null) {".formatted(fieldName))
+                        .append("\tthrow new %s(\"Mandatory fields missing: %s.%s\");"
+                                .formatted(DecodingException.class.getSimpleName(), javaClass.getName(), fieldName))
+                        .append("}");
+            }
+        }
+
+        body.nl().append("return obj;").finish().build();
+    }
+
+    public void buildChoiceDecoder(List<CompiledComponent> components) {
+        if (!hasDistinctTags(components)) {
+            return;
+        }
+
+        var body = startMethod(true);
+
+        body.nl().append("switch (decoder.peekTag(states)) {");
+
+        for (var component : components) {
+            var fieldName = formatName(component.getName());
+            var setter = "set" + StringUtils.initCap(fieldName);
+
+            body.append(caseLabel(component))
+                    .append("\t\tobj.%s(%s);".formatted(setter, decodeComponent(component, fieldName, false)))
+                    .nl()
+                    .append("\t\treturn obj;");
+        }
+
+        body.append("}")
+                .nl()
+                .append("if (optional) {")
+                .append("\treturn null;")
+                .append("}")
+                .nl()
+                .append("throw new %s(\"Empty choice\");".formatted(DecodingException.class.getSimpleName()));
+
+        body.finish().build();
+    }
+
+    private JavaClass.BodyBuilder startMethod(boolean choice) {
+        javaClass.addImport(Decoder.class, DecoderStates.class, TagId.class, DecodingException.class, List.class);
+
+        var method = javaClass.method()
+                .modifier(PUBLIC)
+                .asStatic()
+                .returnType(javaClass.getName())
+                .name(DecodingPlan.DECODE_METHOD)
+                .parameter(Decoder.class.getSimpleName(), "decoder")
+                .parameter(DecoderStates.class.getSimpleName(), "states");
+
+        if (choice) {
+            method.parameter("boolean", "optional");
+        }
+
+        return method.body().append("var obj = new %s();".formatted(javaClass.getName()));
+    }
+
+    private String decodeComponent(CompiledComponent component, String fieldName, boolean optional) {
+        var compiledType = component.getCompiledType();
+        var tagsField = TAGS_PREFIX + fieldName;
+        var tags = getTags(compiledType).stream()
+                .map(tag -> "new %s(Clazz.%s, %d)".formatted(TagId.class.getSimpleName(), tag.getClazz(),
+                        tag.getTag()))
+                .collect(Collectors.joining(", "));
+
+        javaClass.field()
+                .modifier(PRIVATE)
+                .asStatic()
+                .asFinal()
+                .type("List<%s>".formatted(TagId.class.getSimpleName()))
+                .name(tagsField)
+                .initializer("List.of(%s)".formatted(tags))
+                .build();
+
+        return "decoder.decodeComponent(%s.class, states, %s, %s)".formatted(compiledType.getName(), tagsField,
+                optional);
+    }
+
+    private String caseLabel(CompiledComponent component) {
+        var tag = getTags(component.getCompiledType()).get(0);
+
+        return "\tcase %d: // %s %d".formatted(tag.getKey(), tag.getClazz(), tag.getTag());
+    }
+
+    private List<TagId> getTags(CompiledType compiledType) {
+        return compiledType.getTags().orElse(List.of());
+    }
+
+    /**
+     * SET and CHOICE decoders dispatch on the outermost tag of a component. This is only possible if every
+     * component has a tag of its own and the tags are distinct.
+     */
+    private boolean hasDistinctTags(List<? extends CompiledComponent> components) {
+        var keys = new HashSet<Integer>();
+
+        for (var component : components) {
+            var compiledType = component.getCompiledType();
+            var tags = getTags(compiledType);
+
+            if (tags.isEmpty() || isChoiceOrOpenType(compiledType) || !keys.add(tags.get(0).getKey())) {
+                return false;
+            }
+        }
+
+        return !keys.isEmpty();
+    }
+
+    private boolean isChoiceOrOpenType(CompiledType compiledType) {
+        var baseType = Optional.ofNullable(ctx.getCompiledBaseType(compiledType));
+
+        return baseType.filter(CompiledChoiceType.class::isInstance).isPresent() ||
+                baseType.map(CompiledType::getType).filter(OpenType.class::isInstance).isPresent();
+    }
+
+}
@@ -0,0 +1,194 @@
+/*
+ *  Copyright (c) 2015, Adrian Moser
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  * Redistributions of source code must retain the above copyright
+ *  notice, this list of conditions and the following disclaimer.
+ *  * Redistributions in binary form must reproduce the above copyright
+ *  notice, this list of conditions and the following disclaimer in the
+ *  documentation and/or other materials provided with the distribution.
+ *  * Neither the name of the author nor the
+ *  names of its contributors may be used to endorse or promote products
+ *  derived from this software without specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL AUTHOR BE LIABLE FOR ANY
+ *  DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *  ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package ch.eskaton.asn4j.compiler.java;
+
+import ch.eskaton.asn4j.compiler.CompilerUtils;
+import ch.eskaton.asn4j.compiler.java.objs.JavaClass;
+import ch.eskaton.asn4j.compiler.results.CompiledCollectionComponent;
+import ch.eskaton.asn4j.compiler.results.CompiledComponent;
+import ch.eskaton.asn4j.runtime.Encoder;
+import ch.eskaton.asn4j.runtime.EncodingResult;
+import ch.eskaton.asn4j.runtime.TagId;
+import ch.eskaton.asn4j.runtime.exceptions.EncodingException;
+import ch.eskaton.asn4j.runtime.utils.TLVUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static ch.eskaton.asn4j.compiler.CompilerUtils.formatName;
+import static ch.eskaton.asn4j.compiler.java.objs.JavaVisibility.PRIVATE;
+import static ch.eskaton.asn4j.compiler.java.objs.JavaVisibility.PUBLIC;
+
+/**
+ * Generates static {@code encodeBER} methods which encode the components of SEQUENCE, SET, CHOICE, SEQUENCE OF
+ * and SET OF types without reflection. The tags of the components are precomputed and emitted as constants. The
+ * runtime falls back to the reflective encoders for classes without such a method.
+ */
+public class JavaBEREncoderBuilder {
+
+    public static final String ENCODE_METHOD = "encodeBER";
+
+    private static final String TAG_BYTES_PREFIX = "$tagBytes_";
+
+    private final JavaClass javaClass;
+
+    public JavaBEREncoderBuilder(JavaClass javaClass) {
+        this.javaClass = javaClass;
+    }
+
+    public void buildCollectionEncoder(List<CompiledCollectionComponent> components) {
+        var body = startMethod();
+
+        if (javaClass.isLazy()) {
+            body.append("obj.resolveComponents();").nl();
+        }
+
+        body.append("var components = new ArrayList<%s>(%d);"
+                .formatted(EncodingResult.class.getSimpleName(), components.size()));
+
+        for (var component : components) {
+            var fieldName = formatName(component.getName());
+            var encode = "components.add(%s);".formatted(encodeComponent(component, fieldName));
+
+            body.nl();
+
+            if (component.isOptional() || component.getDefaultValue().isPresent()) {
+                body.append("if (obj.%s != null) {".formatted(fieldName))
+                        .append("\t" + encode)
+                        .append("}");
+            } else {
+                body.append("if (obj.%s == null) {".formatted(fieldName))
+                        .append("\tthrow new %s(\"Value for %s.%s missing\");"
+                                .formatted(EncodingException.class.getSimpleName(), javaClass.getName(), fieldName))
+                        .append("}")
+                        .nl()
+                        .append(encode);
+            }
+        }
+
+        body.nl()
+                .append("return %s.of(components, true);".formatted(EncodingResult.class.getSimpleName()))
+                .finish()
+                .build();
+    }
+
+    public void buildChoiceEncoder(List<CompiledComponent> components, String choiceField) {
+        var body = startMethod().append("if (obj.%s != null) {".formatted(choiceField))
+                .append("\tswitch (obj.%s) {".formatted(choiceField));
+
+        for (var component : components) {
+            var fieldName = formatName(component.getName());
+
+            body.append("\t\tcase %s:".formatted(CompilerUtils.formatConstant(component.getName())))
+                    .append("\t\t\treturn %s.of(List.of(%s), false);".formatted(EncodingResult.class.getSimpleName(),
+                            encodeComponent(component, fieldName)));
+        }
+
+        body.append("\t}")
+                .append("}")
+                .nl()
+                .append("throw new %s(\"No alternative of %s selected\");"
+                        .formatted(EncodingException.class.getSimpleName(), javaClass.getName()))
+                .finish()
+                .build();
+    }
+
+    public void buildCollectionOfEncoder() {
+        startMethod().append("var components = new ArrayList<%s>();".formatted(EncodingResult.class.getSimpleName()))
+                .append("var values = obj.getValues();")
+                .nl()
+                .append("if (values != null) {")
+                .append("\tfor (var value : values) {")
+                .append("\t\tcomponents.add(encoder.encodeComponent(value, null));")
+                .append("\t}")
+                .append("}")
+                .nl()
+                .append("return %s.of(components, true);".formatted(EncodingResult.class.getSimpleName()))
+                .finish()
+                .build();
+    }
+
+    private JavaClass.BodyBuilder startMethod() {
+        javaClass.addImport(Encoder.class, EncodingResult.class, EncodingException.class, ArrayList.class,
+                List.class);
+
+        return javaClass.method()
+                .modifier(PUBLIC)
+                .asStatic()
+                .returnType(EncodingResult.class.getSimpleName())
+                .name(ENCODE_METHOD)
+                .parameter(Encoder.class.getSimpleName(), "encoder")
+                .parameter(javaClass.getName(), "obj")
+                .body();
+    }
+
+    /**
+     * Components without tags of their own, i.e. untagged CHOICE and open types, are encoded with the tags of the
+     * value's class. For all others the tag bytes are precomputed.
+     */
+    private String encodeComponent(CompiledComponent component, String fieldName) {
+        var tags = component.getCompiledType().getTags().orElse(List.of());
+
+        if (tags.isEmpty()) {
+            return "encoder.encodeComponent(obj.%s, null)".formatted(fieldName);
+        }
+
+        var tagBytesField = TAG_BYTES_PREFIX + fieldName;
+
+        javaClass.field()
+                .modifier(PRIVATE)
+                .asStatic()
+                .asFinal()
+                .type("byte[][]")
+                .name(tagBytesField)
+                .initializer("new byte[][] { %s }".formatted(getTagBytes(tags)))
+                .build();
+
+        return "encoder.encodeComponent(obj.%s, %s)".formatted(fieldName, tagBytesField);
+    }
+
+    private String getTagBytes(List<TagId> tags) {
+        var lastIndex = tags.size() - 1;
+        var tagBytes = new ArrayList<String>();
+
+        for (var i = 0; i <= lastIndex; i++) {
+            var tag = tags.get(i);
+            var bytes = TLVUtils.getTag(tag.getClazz(), tag.getTag(), i != lastIndex);
+            var formattedBytes = new ArrayList<String>();
+
+            for (var b : bytes) {
+                formattedBytes.add("(byte) 0x%02x".formatted(b & 0xff));
+            }
+
+            tagBytes.add("{ %s }".formatted(String.join(", ", formattedBytes)));
+        }
+
+        return String.join(", ", tagBytes);
+    }
+
+}
@@ -92,6 +92,14 @@ public class JavaChoiceCompiler extends AbstractJavaTypeCompiler<CompiledChoiceT
 
         addClearFieldsMethod(javaClass, fieldNames);
 
+        if (compiler.getConfig().isGenerateBERDecoders()) {
+            new JavaBERDecoderBuilder(ctx, javaClass).buildChoiceDecoder(compiledType.getComponents());
+        }
+
+        if (compiler.getConfig().isGenerateBEREncoders()) {
+            new JavaBEREncoderBuilder(javaClass).buildChoiceEncoder(compiledType.getComponents(), CHOICE_FIELD);
+        }
+
         compiledType.getComponents().forEach(component -> {
             var compiledComponent = component.getCompiledType();
 
@@ -106,7 +114,7 @@ public class JavaChoiceCompiler extends AbstractJavaTypeCompiler<CompiledChoiceT
         var compiledType = compiledComponent.getCompiledType();
         var tags = compiledType.getTags();
         var javaTypeName = compiledType.getName();
-        var javaFieldName = compiledComponent.getName();
+        var javaFieldName = CompilerUtils.formatName(compiledComponent.getName());
         var qualifiedConstant = CHOICE_ENUM + "." + typeConstant;
         var field = new JavaDefinedField(javaTypeName, javaFieldName);
         var javaSetter = new JavaTypedSetter(javaTypeName, javaFieldName, CHOICE_FIELD, qualifiedConstant, beforeCode);
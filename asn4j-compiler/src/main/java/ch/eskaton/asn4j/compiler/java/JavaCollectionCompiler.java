@@ -39,6 +39,7 @@ import ch.eskaton.asn4j.compiler.java.objs.JavaVisibility;
 import ch.eskaton.asn4j.compiler.results.CompiledCollectionComponent;
 import ch.eskaton.asn4j.compiler.results.CompiledCollectionType;
 import ch.eskaton.asn4j.parser.ast.types.Choice;
+import ch.eskaton.asn4j.parser.ast.types.SetType;
 import ch.eskaton.asn4j.runtime.annotations.ASN1Component;
 
 import java.util.Deque;
@@ -54,6 +55,8 @@ public class JavaCollectionCompiler extends AbstractJavaTypeCompiler<CompiledCol
             Map<String, JavaStructure> compiledClasses, CompiledCollectionType compiledType, JavaClass javaClass) {
         var name = compiledType.getName();
 
+        javaClass.setLazy(compiler.getConfig().isGenerateLazyGetters());
+
         createJavaConstructors(name, compiledType, javaClass);
 
         compiledType.getComponents().forEach(component -> {
@@ -65,6 +68,20 @@ public class JavaCollectionCompiler extends AbstractJavaTypeCompiler<CompiledCol
                 compiler.compileType(ctx, classStack, compiledClasses, javaClass.getPkg(), compiledComponent);
             }
         });
+
+        if (compiler.getConfig().isGenerateBERDecoders()) {
+            var decoderBuilder = new JavaBERDecoderBuilder(ctx, javaClass);
+
+            if (compiledType.getType() instanceof SetType) {
+                decoderBuilder.buildSetDecoder(compiledType.getComponents());
+            } else {
+                decoderBuilder.buildSequenceDecoder(compiledType.getComponents());
+            }
+        }
+
+        if (compiler.getConfig().isGenerateBEREncoders()) {
+            new JavaBEREncoderBuilder(javaClass).buildCollectionEncoder(compiledType.getComponents());
+        }
     }
 
     private void createJavaConstructors(String name, CompiledCollectionType compiledType, JavaClass javaClass) {
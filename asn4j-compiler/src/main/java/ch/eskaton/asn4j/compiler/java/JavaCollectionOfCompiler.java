@@ -56,6 +56,10 @@ public class JavaCollectionOfCompiler extends AbstractJavaTypeCompiler<CompiledC
         if (contentType.isSubtype()) {
             compiler.compileType(ctx, classStack, compiledClasses, javaClass.getPkg(), contentType);
         }
+
+        if (compiler.getConfig().isGenerateBEREncoders()) {
+            new JavaBEREncoderBuilder(javaClass).buildCollectionOfEncoder();
+        }
     }
 
 }
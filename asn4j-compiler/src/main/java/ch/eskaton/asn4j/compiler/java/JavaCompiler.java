@@ -27,6 +27,7 @@
 
 package ch.eskaton.asn4j.compiler.java;
 
+import ch.eskaton.asn4j.compiler.CompilerConfig;
 import ch.eskaton.asn4j.compiler.CompilerContext;
 import ch.eskaton.asn4j.compiler.CompilerException;
 import ch.eskaton.asn4j.compiler.java.objs.JavaClass;
@@ -72,6 +73,20 @@ public class JavaCompiler {
                 maybeArgs -> callWithConsumer(args -> compiler.accept(args.get_1(), args.get_2(), args.get_3(), args.get_4(), args.get_5(), (T) args.get_6()), maybeArgs.get(), true));
     }
 
+    private final CompilerConfig config;
+
+    public JavaCompiler() {
+        this(new CompilerConfig());
+    }
+
+    public JavaCompiler(CompilerConfig config) {
+        this.config = config;
+    }
+
+    public CompilerConfig getConfig() {
+        return config;
+    }
+
     public Map<String, JavaStructure> compile(CompilerContext ctx, Map<String, CompiledType> compiledTypes,
             String pkg) {
         var compiledClasses = new HashMap<String, JavaStructure>();
@@ -43,6 +43,7 @@ import java.util.Deque;
 import java.util.Map;
 import java.util.Optional;
 
+import static ch.eskaton.asn4j.compiler.constraints.IntegerConstraintCompiler.getPrimitiveBounds;
 import static ch.eskaton.asn4j.compiler.java.objs.JavaVisibility.PUBLIC;
 import static java.util.Collections.singletonList;
 
@@ -86,12 +87,36 @@ public class JavaIntegerCompiler extends AbstractJavaTypeCompiler<CompiledIntege
         javaClass.addImport(BigInteger.class, ConstraintViolatedException.class);
 
         addJavaConstructor(javaClass, name);
+
+        getPrimitiveBounds(compiledType.getConstraintDefinition())
+                .filter(b -> b.getMinValue() >= Integer.MIN_VALUE && b.getMaxValue() <= Integer.MAX_VALUE)
+                .ifPresent(b -> addIntAccessors(javaClass));
+    }
+
+    private void addIntAccessors(JavaClass javaClass) {
+        javaClass.method()
+                .modifier(PUBLIC)
+                .returnType(int.class.getSimpleName())
+                .name("intValue")
+                .body()
+                .append("return Math.toIntExact(longValue());")
+                .finish()
+                .build();
+
+        javaClass.method()
+                .modifier(PUBLIC)
+                .name("setValue")
+                .parameter(int.class.getSimpleName(), "value")
+                .body()
+                .append("super.setValue(value);")
+                .finish()
+                .build();
     }
 
     private void addJavaConstructor(JavaClass javaClass, String name) {
         var parameters = singletonList(new JavaParameter("long", "value"));
         var exceptions = singletonList(ConstraintViolatedException.class.getName());
-        var body = Optional.of("\t\tsuper.setValue(BigInteger.valueOf(value));");
+        var body = Optional.of("\t\tsuper.setValue(value);");
         var javaConstructor = new JavaConstructor(JavaVisibility.PROTECTED, name, parameters, body, exceptions);
 
         javaClass.addMethod(javaConstructor);
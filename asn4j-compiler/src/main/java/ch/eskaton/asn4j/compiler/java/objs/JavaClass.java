@@ -29,11 +29,13 @@ package ch.eskaton.asn4j.compiler.java.objs;
 
 import ch.eskaton.asn4j.compiler.CompilerContext;
 import ch.eskaton.asn4j.compiler.CompilerUtils;
+import ch.eskaton.asn4j.compiler.il.Constant;
 import ch.eskaton.asn4j.compiler.il.Function;
 import ch.eskaton.asn4j.compiler.il.Module;
 import ch.eskaton.asn4j.compiler.java.IL2JavaTranslator;
 import ch.eskaton.asn4j.runtime.Clazz;
 import ch.eskaton.asn4j.runtime.TagId;
+import ch.eskaton.asn4j.runtime.annotations.ASN1Lazy;
 import ch.eskaton.commons.utils.CollectionUtils;
 import ch.eskaton.commons.utils.StringUtils;
 
@@ -91,6 +93,10 @@ public class JavaClass implements JavaStructure {
 
     private List<TagId> tags;
 
+    private boolean lazy;
+
+    private int componentCount;
+
     private Optional<List<String>> typeParameter = Optional.empty();
 
     public JavaClass(String pkg, String name, List<TagId> tags, String parent) {
@@ -124,6 +130,18 @@ public class JavaClass implements JavaStructure {
         this.interf = interf;
     }
 
+    public boolean isLazy() {
+        return lazy;
+    }
+
+    /**
+     * Marks the class as a SEQUENCE or SET whose components may be decoded on first access. The getters and setters
+     * of the fields added afterwards, equals and hashCode resolve the deferred components.
+     */
+    public void setLazy(boolean lazy) {
+        this.lazy = lazy;
+    }
+
     public void typeParameter(List<String> typeParameter) {
         this.typeParameter = Optional.ofNullable(typeParameter);
     }
@@ -166,13 +184,14 @@ public class JavaClass implements JavaStructure {
 
     public void addField(JavaDefinedField field, boolean hasGetter, boolean hasSetter) {
         String typeName = field.getTypeName();
+        int index = lazy && (hasGetter || hasSetter) ? componentCount++ : -1;
 
         if (hasSetter) {
-            addMethod(new JavaSetter(typeName, field.getName()));
+            addMethod(new JavaSetter(typeName, field.getName(), index));
         }
 
         if (hasGetter) {
-            addMethod(new JavaGetter(typeName, field.getName(), field.hasDefault()));
+            addMethod(new JavaGetter(typeName, field.getName(), field.hasDefault(), index));
         }
 
         fields.add(field);
@@ -220,6 +239,10 @@ public class JavaClass implements JavaStructure {
     public void addModule(CompilerContext ctx, Module module) {
         IL2JavaTranslator translator = new IL2JavaTranslator();
 
+        for (Constant constant : module.getConstants()) {
+            translator.translateConstant(ctx, this, constant);
+        }
+
         for (Function function : module.getFunctions()) {
             translator.translateFunction(ctx, this, function);
         }
@@ -296,6 +319,10 @@ public class JavaClass implements JavaStructure {
             CompilerUtils.getTagsAnnotation(tags).write(writer, "");
         }
 
+        if (lazy) {
+            new JavaAnnotation(ASN1Lazy.class).write(writer, "");
+        }
+
         List<String> clazzDeclaration = new ArrayList<>();
 
         if (!StringUtils.isEmpty(prefix)) {
@@ -355,8 +382,8 @@ public class JavaClass implements JavaStructure {
             }
         }
 
-        addMethod(new JavaEquals(getName(), fieldNames));
-        addMethod(new JavaHashCode(fieldNames));
+        addMethod(new JavaEquals(getName(), fieldNames, lazy));
+        addMethod(new JavaHashCode(fieldNames, lazy));
     }
 
     public MethodBuilder method() {
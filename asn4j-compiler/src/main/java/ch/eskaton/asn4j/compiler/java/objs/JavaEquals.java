@@ -40,9 +40,16 @@ public class JavaEquals implements JavaMethod {
 
     private String className;
 
+    private boolean lazy;
+
     public JavaEquals(String className, List<String> fieldNames) {
+        this(className, fieldNames, false);
+    }
+
+    public JavaEquals(String className, List<String> fieldNames, boolean lazy) {
         this.className = className;
         this.fieldNames = fieldNames;
+        this.lazy = lazy;
     }
 
     public void write(BufferedWriter writer, String prefix) throws IOException {
@@ -65,6 +72,14 @@ public class JavaEquals implements JavaMethod {
         if (!fieldNames.isEmpty()) {
             writer.write(prefix);
             writer.write(StringUtils.concat("\t\t", className, " other = (", className, ") obj;\n\n"));
+
+            if (lazy) {
+                writer.write(prefix);
+                writer.write("\t\tresolveComponents();\n");
+                writer.write(prefix);
+                writer.write("\t\tother.resolveComponents();\n\n");
+            }
+
             writer.write(prefix);
             writer.write("\t\treturn ");
             writer.write(fieldNames.stream()
@@ -41,20 +41,34 @@ public class JavaGetter implements JavaMethod {
 
     private boolean hasDefault;
 
+    private int componentIndex;
+
     public JavaGetter(String typeName, String name) {
         this(typeName, name, false);
     }
 
     public JavaGetter(String typeName, String name, boolean hasDefault) {
+        this(typeName, name, hasDefault, -1);
+    }
+
+    /**
+     * Creates a getter which resolves the lazily decoded component at {@code componentIndex}, unless it's -1.
+     */
+    public JavaGetter(String typeName, String name, boolean hasDefault, int componentIndex) {
         this.typeName = typeName;
         this.name = name;
         this.hasDefault = hasDefault;
+        this.componentIndex = componentIndex;
     }
 
     public void write(BufferedWriter writer, String prefix) throws IOException {
         writer.write(StringUtils.concat(prefix, "\tpublic ", typeName, " get",
                 StringUtils.initCap(name) + "() {\n"));
 
+        if (componentIndex != -1) {
+            writer.write(StringUtils.concat(prefix, "\t\tresolveComponent(", String.valueOf(componentIndex), ");\n\n"));
+        }
+
         if (hasDefault) {
             writer.write(StringUtils.concat(prefix, "\t\tif (", name, " != null) {\n"));
             writer.write(StringUtils.concat(prefix, "\t\t\treturn ", name, ";\n"));
@@ -35,13 +35,26 @@ public class JavaHashCode implements JavaMethod {
 
     private List<String> fieldNames;
 
+    private boolean lazy;
+
     public JavaHashCode(List<String> fieldNames) {
-    	this.fieldNames = fieldNames;
+    	this(fieldNames, false);
+    }
+
+    public JavaHashCode(List<String> fieldNames, boolean lazy) {
+        this.fieldNames = fieldNames;
+        this.lazy = lazy;
     }
 
     public void write(BufferedWriter writer, String prefix) throws IOException {
         writer.write(prefix);
         writer.write("\tpublic int hashCode() {\n");
+
+        if (lazy) {
+            writer.write(prefix);
+            writer.write("\t\tresolveComponents();\n\n");
+        }
+
         writer.write(prefix);
         writer.write("\t\treturn Objects.hash(");
 
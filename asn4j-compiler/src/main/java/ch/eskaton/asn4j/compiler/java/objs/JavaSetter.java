@@ -38,14 +38,29 @@ public class JavaSetter implements JavaMethod {
 
     private String name;
 
+    private int componentIndex;
+
     public JavaSetter(String typeName, String name) {
+        this(typeName, name, -1);
+    }
+
+    /**
+     * Creates a setter which discards the lazily decoded component at {@code componentIndex}, unless it's -1.
+     */
+    public JavaSetter(String typeName, String name, int componentIndex) {
         this.typeName = typeName;
         this.name = name;
+        this.componentIndex = componentIndex;
     }
 
     public void write(BufferedWriter writer, String prefix) throws IOException {
         writer.write(StringUtils.concat(prefix, "\tpublic void set", StringUtils
                 .initCap(name) + "(" + typeName + " " + name + ") {\n"));
+
+        if (componentIndex != -1) {
+            writer.write(StringUtils.concat(prefix, "\t\tdiscardComponent(", String.valueOf(componentIndex), ");\n"));
+        }
+
         writer.write(StringUtils.concat(prefix, "\t\tthis.", name, " = ", name, ";\n"));
         writer.write(prefix);
         writer.write("\t}\n");
@@ -87,6 +87,27 @@ public class ASN4JCompile extends AbstractMojo {
      */
     private List<String> includePaths;
 
+    /**
+     * Generate static decodeBER methods for SEQUENCE, SET and CHOICE types.
+     *
+     * @parameter default-value="false"
+     */
+    private boolean generateBERDecoders;
+
+    /**
+     * Generate static encodeBER methods for SEQUENCE, SET, CHOICE, SEQUENCE OF and SET OF types.
+     *
+     * @parameter default-value="false"
+     */
+    private boolean generateBEREncoders;
+
+    /**
+     * Generate SEQUENCE and SET types whose components are decoded on first access by a lazy decoder.
+     *
+     * @parameter default-value="false"
+     */
+    private boolean generateLazyGetters;
+
     /**
      * Executes the mojo.
      */
@@ -106,8 +127,13 @@ public class ASN4JCompile extends AbstractMojo {
         getLog().info("- ASN.1 module include path = " + paths.toString());
         getLog().info("- Java package = " + pkg);
         getLog().info("- Output directory = " + outputDirectory);
+        getLog().info("- Generate BER decoders = " + generateBERDecoders);
+        getLog().info("- Generate BER encoders = " + generateBEREncoders);
+        getLog().info("- Generate lazy getters = " + generateLazyGetters);
 
-        var config = new CompilerConfig().module(module).pkg(pkg).outputDir(outputDirectory);
+        var config = new CompilerConfig().module(module).pkg(pkg).outputDir(outputDirectory)
+                .generateBERDecoders(generateBERDecoders).generateBEREncoders(generateBEREncoders)
+                .generateLazyGetters(generateLazyGetters);
         var compiler = new CompilerImpl(config, new FileModuleSource(paths.toString()));
 
         try {
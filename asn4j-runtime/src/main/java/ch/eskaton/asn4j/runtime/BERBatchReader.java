@@ -0,0 +1,233 @@
+/*
+ *  Copyright (c) 2015, Adrian Moser
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  * Redistributions of source code must retain the above copyright
+ *  notice, this list of conditions and the following disclaimer.
+ *  * Redistributions in binary form must reproduce the above copyright
+ *  notice, this list of conditions and the following disclaimer in the
+ *  documentation and/or other materials provided with the distribution.
+ *  * Neither the name of the author nor the
+ *  names of its contributors may be used to endorse or promote products
+ *  derived from this software without specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL AUTHOR BE LIABLE FOR ANY
+ *  DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *  ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package ch.eskaton.asn4j.runtime;
+
+import ch.eskaton.asn4j.runtime.exceptions.DecodingException;
+import ch.eskaton.asn4j.runtime.exceptions.PrematureEndOfInputException;
+import ch.eskaton.asn4j.runtime.types.ASN1Type;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Decodes a file of concatenated BER encoded values of the same type. The file is memory-mapped and the boundaries of
+ * the values are determined upfront by parsing their headers only. The values are exposed as a splittable
+ * {@link Spliterator}, so that they can be decoded on several threads with {@link #parallelStream()}.
+ * <p>
+ * Files larger than 2 GB are mapped in several regions, which start at value boundaries. A single value must not
+ * exceed 2 GB. Values decoded with a zero-copy decoder refer to the mapped file.
+ */
+public class BERBatchReader<T extends ASN1Type> {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final Class<T> type;
+
+    private final BERDecoder decoder;
+
+    private final List<ByteBuffer> regions = new ArrayList<>();
+
+    private int[] regionIndexes = new int[INITIAL_CAPACITY];
+
+    private int[] offsets = new int[INITIAL_CAPACITY];
+
+    private int[] lengths = new int[INITIAL_CAPACITY];
+
+    private int count;
+
+    public BERBatchReader(Class<T> type, Path path) throws IOException {
+        this(type, path, new BERDecoder());
+    }
+
+    public BERBatchReader(Class<T> type, Path path, BERDecoder decoder) throws IOException {
+        this(type, path, decoder, Integer.MAX_VALUE);
+    }
+
+    BERBatchReader(Class<T> type, Path path, BERDecoder decoder, int maxRegionSize) throws IOException {
+        this.type = type;
+        this.decoder = decoder;
+
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            scan(channel, maxRegionSize);
+        }
+    }
+
+    /**
+     * Returns the number of values in the file.
+     */
+    public int size() {
+        return count;
+    }
+
+    public Spliterator<T> spliterator() {
+        return new ValueSpliterator(0, count);
+    }
+
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    public Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    private void scan(FileChannel channel, int maxRegionSize) throws IOException {
+        var fileSize = channel.size();
+        var regionStart = 0L;
+        var tlv = new TLV();
+
+        while (regionStart < fileSize) {
+            var regionSize = (int) Math.min(maxRegionSize, fileSize - regionStart);
+            var region = channel.map(FileChannel.MapMode.READ_ONLY, regionStart, regionSize);
+            var input = DecoderInput.of(region);
+            var lastRegion = regionStart + regionSize == fileSize;
+            var pos = 0;
+
+            while (pos < regionSize) {
+                var next = getNextValue(input, pos, regionSize, tlv);
+
+                if (next == -1) {
+                    if (lastRegion) {
+                        throw new PrematureEndOfInputException();
+                    } else if (pos == 0) {
+                        throw new DecodingException("Value at offset %d exceeds the maximum size of %d bytes",
+                                regionStart, maxRegionSize);
+                    }
+
+                    break;
+                } else if (next <= pos) {
+                    throw new DecodingException("Invalid value at offset %d", regionStart + pos);
+                }
+
+                add(regions.size(), pos, next - pos);
+
+                pos = next;
+            }
+
+            regions.add(region);
+            regionStart += pos;
+        }
+    }
+
+    /**
+     * Returns the position after the value at {@code pos} or -1 if the value isn't complete.
+     */
+    private static int getNextValue(DecoderInput input, int pos, int end, TLV tlv) {
+        try {
+            TLV.getTLV(input, pos, end - pos, tlv);
+        } catch (IOException e) {
+            return -1;
+        }
+
+        return tlv.nextTlv > end ? -1 : tlv.nextTlv;
+    }
+
+    private void add(int regionIndex, int offset, int length) {
+        if (count == offsets.length) {
+            regionIndexes = Arrays.copyOf(regionIndexes, count * 2);
+            offsets = Arrays.copyOf(offsets, count * 2);
+            lengths = Arrays.copyOf(lengths, count * 2);
+        }
+
+        regionIndexes[count] = regionIndex;
+        offsets[count] = offset;
+        lengths[count] = length;
+        count++;
+    }
+
+    private T decode(int index) {
+        return decoder.decode(type, regions.get(regionIndexes[index]).slice(offsets[index], lengths[index]));
+    }
+
+    private class ValueSpliterator implements Spliterator<T> {
+
+        private int index;
+
+        private final int end;
+
+        ValueSpliterator(int index, int end) {
+            this.index = index;
+            this.end = end;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (index >= end) {
+                return false;
+            }
+
+            action.accept(decode(index++));
+
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            while (index < end) {
+                action.accept(decode(index++));
+            }
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            var mid = (index + end) >>> 1;
+
+            if (mid <= index) {
+                return null;
+            }
+
+            var prefix = new ValueSpliterator(index, mid);
+
+            index = mid;
+
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return (long) end - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+        }
+
+    }
+
+}
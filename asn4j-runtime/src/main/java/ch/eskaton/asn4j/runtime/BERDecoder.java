@@ -32,6 +32,7 @@ import ch.eskaton.asn4j.runtime.decoders.BMPStringDecoder;
 import ch.eskaton.asn4j.runtime.decoders.BitStringDecoder;
 import ch.eskaton.asn4j.runtime.decoders.BooleanDecoder;
 import ch.eskaton.asn4j.runtime.decoders.ChoiceDecoder;
+import ch.eskaton.asn4j.runtime.decoders.DecodingPlan;
 import ch.eskaton.asn4j.runtime.decoders.EnumeratedTypeDecoder;
 import ch.eskaton.asn4j.runtime.decoders.GeneralStringDecoder;
 import ch.eskaton.asn4j.runtime.decoders.GraphicStringDecoder;
@@ -56,9 +57,11 @@ import ch.eskaton.asn4j.runtime.decoders.UTF8StringDecoder;
 import ch.eskaton.asn4j.runtime.decoders.UniversalStringDecoder;
 import ch.eskaton.asn4j.runtime.decoders.VideotexStringDecoder;
 import ch.eskaton.asn4j.runtime.decoders.VisibleStringDecoder;
+import ch.eskaton.asn4j.runtime.exceptions.ConstraintViolatedException;
 import ch.eskaton.asn4j.runtime.exceptions.DecodingException;
 import ch.eskaton.asn4j.runtime.exceptions.PrematureEndOfInputException;
 import ch.eskaton.asn4j.runtime.exceptions.UnexpectedTagException;
+import ch.eskaton.asn4j.runtime.exceptions.ValidationException;
 import ch.eskaton.asn4j.runtime.types.ASN1BMPString;
 import ch.eskaton.asn4j.runtime.types.ASN1BitString;
 import ch.eskaton.asn4j.runtime.types.ASN1Boolean;
@@ -69,12 +72,10 @@ import ch.eskaton.asn4j.runtime.types.ASN1GraphicString;
 import ch.eskaton.asn4j.runtime.types.ASN1IA5String;
 import ch.eskaton.asn4j.runtime.types.ASN1IRI;
 import ch.eskaton.asn4j.runtime.types.ASN1Integer;
-import ch.eskaton.asn4j.runtime.types.ASN1NamedInteger;
 import ch.eskaton.asn4j.runtime.types.ASN1Null;
 import ch.eskaton.asn4j.runtime.types.ASN1NumericString;
 import ch.eskaton.asn4j.runtime.types.ASN1ObjectIdentifier;
 import ch.eskaton.asn4j.runtime.types.ASN1OctetString;
-import ch.eskaton.asn4j.runtime.types.ASN1OpenType;
 import ch.eskaton.asn4j.runtime.types.ASN1PrintableString;
 import ch.eskaton.asn4j.runtime.types.ASN1Real;
 import ch.eskaton.asn4j.runtime.types.ASN1RelativeIRI;
@@ -89,17 +90,18 @@ import ch.eskaton.asn4j.runtime.types.ASN1UTF8String;
 import ch.eskaton.asn4j.runtime.types.ASN1UniversalString;
 import ch.eskaton.asn4j.runtime.types.ASN1VideotexString;
 import ch.eskaton.asn4j.runtime.types.ASN1VisibleString;
+import ch.eskaton.asn4j.runtime.types.AbstractASN1Collection;
 import ch.eskaton.asn4j.runtime.types.HasConstraint;
-import ch.eskaton.asn4j.runtime.utils.RuntimeUtils;
 import ch.eskaton.commons.collections.Maps;
 import ch.eskaton.commons.utils.CollectionUtils;
-import ch.eskaton.commons.utils.ReflectionUtils;
 import ch.eskaton.commons.utils.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -109,6 +111,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.BiPredicate;
 import java.util.stream.Collectors;
 
 import static ch.eskaton.asn4j.runtime.Assert.notEmpty;
@@ -118,7 +121,7 @@ public class BERDecoder implements Decoder {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(BERDecoder.class);
 
-    private Map<Class<? extends ASN1Type>, TypeDecoder<? extends ASN1Type>> decoders =
+    private static final Map<Class<? extends ASN1Type>, TypeDecoder<? extends ASN1Type>> DECODERS =
             Maps.<Class<? extends ASN1Type>, TypeDecoder<? extends ASN1Type>>builder()
                     .put(ASN1BitString.class, new BitStringDecoder())
                     .put(ASN1Boolean.class, new BooleanDecoder())
@@ -143,31 +146,105 @@ public class BERDecoder implements Decoder {
                     .put(ASN1BMPString.class, new BMPStringDecoder())
                     .build();
 
-    private ChoiceDecoder choiceDecoder = new ChoiceDecoder();
+    private static final ChoiceDecoder CHOICE_DECODER = new ChoiceDecoder();
 
-    private OpenTypeDecoder openTypeDecoder = new OpenTypeDecoder();
+    private static final OpenTypeDecoder OPEN_TYPE_DECODER = new OpenTypeDecoder();
 
-    private SequenceDecoder sequenceDecoder = new SequenceDecoder();
+    private static final SequenceDecoder SEQUENCE_DECODER = new SequenceDecoder();
 
-    private SequenceOfDecoder sequenceOfDecoder = new SequenceOfDecoder();
+    private static final SequenceOfDecoder SEQUENCE_OF_DECODER = new SequenceOfDecoder();
 
-    private SetDecoder setDecoder = new SetDecoder();
+    private static final SetDecoder SET_DECODER = new SetDecoder();
 
-    private SetOfDecoder setOfDecoder = new SetOfDecoder();
+    private static final SetOfDecoder SET_OF_DECODER = new SetOfDecoder();
+
+    private static final ClassValue<ValueDecoder> VALUE_DECODERS = new ClassValue<>() {
+
+        @Override
+        protected ValueDecoder computeValue(Class<?> type) {
+            return getValueDecoder(type);
+        }
+
+    };
+
+    private final boolean zeroCopy;
+
+    private final boolean lazy;
+
+    private final int parallelThreshold;
+
+    private final ValidationPolicy validationPolicy;
+
+    public BERDecoder() {
+        this(new Builder());
+    }
+
+    private BERDecoder(Builder builder) {
+        this.zeroCopy = builder.zeroCopy;
+        this.lazy = builder.lazy;
+        this.parallelThreshold = builder.parallelThreshold;
+        this.validationPolicy = builder.validationPolicy;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public boolean isZeroCopy() {
+        return zeroCopy;
+    }
+
+    public boolean isLazy() {
+        return lazy;
+    }
+
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    public ValidationPolicy getValidationPolicy() {
+        return validationPolicy;
+    }
 
     @Override
     public <T extends ASN1Type> T decode(Class<T> type, byte[] buf) {
+        return decode(type, DecoderInput.of(buf));
+    }
+
+    /**
+     * Decodes the value between the position and the limit of {@code buffer} without copying it first. The position
+     * of the buffer isn't changed. A {@code MemorySegment} can be decoded through {@code asByteBuffer()}.
+     */
+    @Override
+    public <T extends ASN1Type> T decode(Class<T> type, ByteBuffer buffer) {
+        return decode(type, DecoderInput.of(buffer));
+    }
+
+    private <T extends ASN1Type> T decode(Class<T> type, DecoderInput input) {
         DecoderStates states = new DecoderStates();
-        DecoderState state = new DecoderState(0, buf.length);
-        states.buf = buf;
+        DecoderState state = new DecoderState(0, input.length());
+        states.input = input;
+        states.zeroCopy = zeroCopy;
+        states.lazy = lazy;
+        states.parallelThreshold = parallelThreshold;
+        states.validate = validationPolicy.isEager();
         states.push(state);
         DecodingResult<T> result = decode(type, states);
+
+        if (validationPolicy.isSelected()) {
+            try {
+                ConstraintValidator.validate(result.getObj());
+            } catch (ConstraintViolatedException | ValidationException e) {
+                throw new DecodingException(e);
+            }
+        }
+
         return result.getObj();
     }
 
     @Override
     public <T extends ASN1Type> DecodingResult<T> decode(Class<T> type, DecoderStates states) {
-        return decode(type, states, RuntimeUtils.getTags(type), false);
+        return decode(type, states, DecodingPlan.of(type).getTags(), false);
     }
 
     @Override
@@ -188,6 +265,18 @@ public class BERDecoder implements Decoder {
         return null;
     }
 
+    /**
+     * Consumes {@code tags} and decodes a value of {@code type} from their contents, like
+     * {@link #decode(DecoderStates, Map)} does for the tags which match. Returns null if the tags don't match.
+     */
+    @Override
+    public <T extends ASN1Type> DecodingResult<T> decodeTagged(Class<T> type, DecoderStates states,
+            List<ASN1Tag> tags) {
+        var state = consumeTags(states, tags, true);
+
+        return state != null ? decodeState(type, states, state) : null;
+    }
+
     @Override
     public DecoderState decode(DecoderStates states) {
         return consumeTags(states, new AnyTagsMatcher());
@@ -195,17 +284,18 @@ public class BERDecoder implements Decoder {
 
     @Override
     public <T extends ASN1Type> DecodingResult<T> decode(Type type, DecoderStates states, boolean optional) {
-        return decode(type, states, RuntimeUtils.getTags(toClass(type)), optional);
+        return decode(type, states, DecodingPlan.of(toClass(type)).getTags(), optional);
     }
 
     @Override
     public <T extends ASN1Type> DecodingResult<T> decode(Type type, DecoderStates states, List<ASN1Tag> tags,
             boolean optional) {
         Class clazz = toClass(type);
+        var plan = DecodingPlan.of(clazz);
 
-        if (ReflectionUtils.extendsClazz(clazz, ASN1Choice.class)) {
+        if (plan.isChoice()) {
             return decodeChoice(clazz, states, optional);
-        } else if (ReflectionUtils.extendsClazz(clazz, ASN1OpenType.class)) {
+        } else if (plan.isOpenType()) {
             return new DecodingResult<>(List.of(), decodeOpenType(states, states.peek(), optional));
         }
 
@@ -229,9 +319,15 @@ public class BERDecoder implements Decoder {
     }
 
     private <T extends ASN1Choice> DecodingResult<T> decodeChoice(Class<T> type, DecoderStates states, boolean optional) {
-        var obj = ReflectionUtils.getInstance(type, DecodingException::new);
+        var plan = DecodingPlan.of(type);
+        T obj;
 
-        obj = choiceDecoder.decode(this, states, obj, optional);
+        if (plan.hasDecoder()) {
+            obj = (T) plan.decode(this, states, optional);
+        } else {
+            obj = (T) plan.newInstance();
+            obj = CHOICE_DECODER.decode(this, states, obj, optional);
+        }
 
         return new DecodingResult<>(Collections.emptyList(), obj);
     }
@@ -239,15 +335,53 @@ public class BERDecoder implements Decoder {
     @Override
     public <T extends ASN1Type> T decodeOpenType(DecoderStates states, DecoderState state,
             boolean optional) {
-        T obj = openTypeDecoder.decode(this, states, state, optional);
+        T obj = OPEN_TYPE_DECODER.decode(this, states, state, optional);
 
         states.back();
 
         return obj;
     }
 
+    @Override
+    public <T extends ASN1Type> T decodeComponent(Class<T> type, DecoderStates states, List<TagId> tags,
+            boolean optional) {
+        DecodingResult<? extends ASN1Type> result;
+        var plan = DecodingPlan.of(type);
+
+        if (plan.isChoice()) {
+            result = decodeChoice((Class<? extends ASN1Choice>) type, states, optional);
+        } else if (plan.isOpenType()) {
+            result = new DecodingResult<>(List.of(), decodeOpenType(states, states.peek(), optional));
+        } else {
+            result = decodeState(type, states, consumeTags(states, tags, TLV::matches, optional));
+        }
+
+        var obj = result != null ? (T) result.getObj() : null;
+
+        if (obj == null && !optional) {
+            throw new DecodingException("Mandatory component of type " + type.getSimpleName() + " missing");
+        }
+
+        return obj;
+    }
+
+    @Override
+    public int peekTag(DecoderStates states) {
+        var state = states.peek();
+
+        if (state.length <= 0) {
+            return -1;
+        }
+
+        try {
+            return states.getTLV(state.pos, state.length).getKey();
+        } catch (IOException e) {
+            throw new DecodingException(e);
+        }
+    }
+
     public <T extends ASN1Type, C extends TypeDecoder<T>> C getDecoder(Class<T> clazz) {
-        TypeDecoder<?> decoder = decoders.get(clazz);
+        TypeDecoder<?> decoder = DECODERS.get(clazz);
 
         if (decoder == null) {
             throw new DecodingException("No decoder for node-type " + clazz.getSimpleName());
@@ -263,11 +397,13 @@ public class BERDecoder implements Decoder {
         }
 
         T obj;
+        Class<T> clazz = toClass(type);
+        var plan = DecodingPlan.of((Class<? extends ASN1Type>) clazz);
 
-        if (type instanceof Class && ASN1OpenType.class.isAssignableFrom((Class) type)) {
+        if (plan.isOpenType()) {
             obj = decodeOpenType(states, state, false);
 
-            if (obj instanceof HasConstraint) {
+            if (states.validate && obj instanceof HasConstraint) {
                 ((HasConstraint) obj).checkConstraint();
             }
 
@@ -279,64 +415,14 @@ public class BERDecoder implements Decoder {
         }
 
         try {
-            Class<T> clazz = toClass(type);
+            if (plan.hasDecoder() && !(states.lazy && plan.isLazy())) {
+                obj = (T) plan.decode(this, states);
+            } else {
+                var value = plan.newInstance();
 
-            obj = clazz.getDeclaredConstructor().newInstance();
+                VALUE_DECODERS.get(clazz).decode(this, type, states, state, value);
 
-            if (obj instanceof ASN1Boolean) {
-                getDecoder(ASN1Boolean.class).decode(states, state, (ASN1Boolean) obj);
-            } else if (obj instanceof ASN1BitString) {
-                getDecoder(ASN1BitString.class).decode(states, state, (ASN1BitString) obj);
-            } else if (obj instanceof ASN1EnumeratedType) {
-                getDecoder(ASN1EnumeratedType.class).decode(states, state, (ASN1EnumeratedType) obj);
-            } else if (obj instanceof ASN1Null) {
-                // nothing to do
-            } else if (obj instanceof ASN1Sequence) {
-                sequenceDecoder.decode(this, states, type, (ASN1Sequence) obj);
-            } else if (obj instanceof ASN1SequenceOf) {
-                sequenceOfDecoder.decode(this, states, type, (ASN1SequenceOf) obj);
-            } else if (obj instanceof ASN1Set) {
-                setDecoder.decode(this, states, type, (ASN1Set) obj);
-            } else if (obj instanceof ASN1SetOf) {
-                setOfDecoder.decode(this, states, type, (ASN1SetOf) obj);
-            } else if (obj instanceof ASN1Integer || ReflectionUtils.extendsClazz(clazz, ASN1NamedInteger.class)) {
-                getDecoder(ASN1Integer.class).decode(states, state, (ASN1Integer) obj);
-            } else if (obj instanceof ASN1Real) {
-                getDecoder(ASN1Real.class).decode(states, state, (ASN1Real) obj);
-            } else if (obj instanceof ASN1OctetString) {
-                getDecoder(ASN1OctetString.class).decode(states, state, (ASN1OctetString) obj);
-            } else if (obj instanceof ASN1VisibleString) {
-                getDecoder(ASN1VisibleString.class).decode(states, state, (ASN1VisibleString) obj);
-            } else if (obj instanceof ASN1NumericString) {
-                getDecoder(ASN1NumericString.class).decode(states, state, (ASN1NumericString) obj);
-            } else if (obj instanceof ASN1GraphicString) {
-                getDecoder(ASN1GraphicString.class).decode(states, state, (ASN1GraphicString) obj);
-            } else if (obj instanceof ASN1GeneralString) {
-                getDecoder(ASN1GeneralString.class).decode(states, state, (ASN1GeneralString) obj);
-            } else if (obj instanceof ASN1PrintableString) {
-                getDecoder(ASN1PrintableString.class).decode(states, state, (ASN1PrintableString) obj);
-            } else if (obj instanceof ASN1IA5String) {
-                getDecoder(ASN1IA5String.class).decode(states, state, (ASN1IA5String) obj);
-            } else if (obj instanceof ASN1TeletexString) {
-                getDecoder(ASN1TeletexString.class).decode(states, state, (ASN1TeletexString) obj);
-            } else if (obj instanceof ASN1VideotexString) {
-                getDecoder(ASN1VideotexString.class).decode(states, state, (ASN1VideotexString) obj);
-            } else if (obj instanceof ASN1UniversalString) {
-                getDecoder(ASN1UniversalString.class).decode(states, state, (ASN1UniversalString) obj);
-            } else if (obj instanceof ASN1UTF8String) {
-                getDecoder(ASN1UTF8String.class).decode(states, state, (ASN1UTF8String) obj);
-            } else if (obj instanceof ASN1BMPString) {
-                getDecoder(ASN1BMPString.class).decode(states, state, (ASN1BMPString) obj);
-            } else if (obj instanceof ASN1ObjectIdentifier) {
-                getDecoder(ASN1ObjectIdentifier.class).decode(states, state, (ASN1ObjectIdentifier) obj);
-            } else if (obj instanceof ASN1RelativeOID) {
-                getDecoder(ASN1RelativeOID.class).decode(states, state, (ASN1RelativeOID) obj);
-            } else if (obj instanceof ASN1IRI) {
-                getDecoder(ASN1IRI.class).decode(states, state, (ASN1IRI) obj);
-            } else if (obj instanceof ASN1RelativeIRI) {
-                getDecoder(ASN1RelativeIRI.class).decode(states, state, (ASN1RelativeIRI) obj);
-            } else {
-                throw new DecodingException("Decoding of object " + obj.getClass().getName() + " not supported");
+                obj = (T) value;
             }
         } catch (Exception th) {
             if (DecodingException.class.isAssignableFrom(th.getClass())) {
@@ -348,24 +434,75 @@ public class BERDecoder implements Decoder {
             state = states.back();
         }
 
-        if (obj instanceof HasConstraint) {
+        if (states.validate && obj instanceof HasConstraint && !hasLazyComponents(obj)) {
             ((HasConstraint) obj).checkConstraint();
         }
 
         return new DecodingResult(state.getTagIds(), obj);
     }
 
+    /**
+     * Returns true if the decoding of components of {@code obj} has been deferred. The constraint of such a value is
+     * checked when the last of them is decoded.
+     */
+    private static boolean hasLazyComponents(Object obj) {
+        return obj instanceof AbstractASN1Collection && ((AbstractASN1Collection) obj).hasLazyComponents();
+    }
+
+    /**
+     * Resolves the decoder for the values of a class without a generated decoder. This is done once per class.
+     */
+    @SuppressWarnings("unchecked")
+    private static ValueDecoder getValueDecoder(Class<?> type) {
+        if (ASN1Null.class.isAssignableFrom(type)) {
+            return (decoder, valueType, states, state, obj) -> {
+                // nothing to do
+            };
+        } else if (ASN1Sequence.class.isAssignableFrom(type)) {
+            return (decoder, valueType, states, state, obj) ->
+                    SEQUENCE_DECODER.decode(decoder, states, valueType, (ASN1Sequence) obj);
+        } else if (ASN1SequenceOf.class.isAssignableFrom(type)) {
+            return (decoder, valueType, states, state, obj) ->
+                    SEQUENCE_OF_DECODER.decode(decoder, states, valueType, (ASN1SequenceOf) obj);
+        } else if (ASN1Set.class.isAssignableFrom(type)) {
+            return (decoder, valueType, states, state, obj) ->
+                    SET_DECODER.decode(decoder, states, valueType, (ASN1Set) obj);
+        } else if (ASN1SetOf.class.isAssignableFrom(type)) {
+            return (decoder, valueType, states, state, obj) ->
+                    SET_OF_DECODER.decode(decoder, states, valueType, (ASN1SetOf) obj);
+        }
+
+        for (var entry : DECODERS.entrySet()) {
+            if (entry.getKey().isAssignableFrom(type)) {
+                var typeDecoder = (TypeDecoder<ASN1Type>) entry.getValue();
+
+                return (decoder, valueType, states, state, obj) -> typeDecoder.decode(states, state, obj);
+            }
+        }
+
+        return (decoder, valueType, states, state, obj) -> {
+            throw new DecodingException("Decoding of object " + obj.getClass().getName() + " not supported");
+        };
+    }
+
     private DecoderState consumeMultipleTags(DecoderStates states, MultipleTagsMatcher matcher) {
         return consumeTags(states, matcher, true);
     }
 
     private DecoderState consumeTags(DecoderStates states, List<ASN1Tag> tags, boolean optional) {
-        return consumeTags(states, new SingleTagsMatcher(tags), optional);
+        return consumeTags(states, tags, TLV::matches, optional);
+    }
+
+    private <T> DecoderState consumeTags(DecoderStates states, List<T> tags, BiPredicate<TLV, T> matcher,
+            boolean optional) {
+        return checkConsumed(states, consumeTags(states, tags, matcher), optional);
     }
 
     private DecoderState consumeTags(DecoderStates states, TagsMatcher matcher, boolean optional) {
-        DecoderState state = consumeTags(states, matcher);
+        return checkConsumed(states, consumeTags(states, matcher), optional);
+    }
 
+    private DecoderState checkConsumed(DecoderStates states, DecoderState state, boolean optional) {
         if (state == null && !optional) {
             DecoderState lastState = states.peek();
 
@@ -379,6 +516,56 @@ public class BERDecoder implements Decoder {
         return state;
     }
 
+    /**
+     * Consumes a fixed list of tags without allocating a matcher. The headers are parsed into the shared lookahead
+     * of {@code states} and only the last one is copied into the pushed state.
+     */
+    private <T> DecoderState consumeTags(DecoderStates states, List<T> tags, BiPredicate<TLV, T> matcher) {
+        if (tags.isEmpty()) {
+            throw new DecodingException("Empty tag list");
+        }
+
+        TLV tlv = null;
+        DecoderState lastState = states.peek();
+        int pos = lastState.pos;
+        int length = lastState.length;
+        int nextTlv = -1;
+
+        try {
+            for (int i = 0; i < tags.size(); i++) {
+                if (length <= 0) {
+                    return null;
+                }
+
+                tlv = states.getTLV(pos, length);
+
+                if (!matcher.test(tlv, tags.get(i))) {
+                    return null;
+                }
+
+                if (i == 0) {
+                    nextTlv = tlv.nextTlv;
+                }
+
+                pos = tlv.pos;
+                length = tlv.length;
+
+                if (LOGGER.isTraceEnabled()) {
+                    LOGGER.trace(StringUtils.concat("Found: tag=", tlv.tag, ", class=", tlv.clazz,
+                            ", length=", tlv.length));
+                }
+            }
+
+            return push(states, tlv, pos, length, nextTlv);
+        } catch (DecodingException e) {
+            throw e;
+        } catch (IOException e) {
+            throw new PrematureEndOfInputException();
+        } catch (Exception th) {
+            throw new DecodingException(th);
+        }
+    }
+
     private DecoderState consumeTags(DecoderStates states, TagsMatcher tags) {
         if (!tags.hasNext()) {
             throw new DecodingException("Empty tag list");
@@ -388,6 +575,7 @@ public class BERDecoder implements Decoder {
         DecoderState lastState = states.peek();
         int pos = lastState.pos;
         int length = lastState.length;
+        int nextTlv = -1;
 
         try {
             while (tags.hasNext()) {
@@ -395,11 +583,17 @@ public class BERDecoder implements Decoder {
                     return null;
                 }
 
-                tlv = TLV.getTLV(states.buf, pos, length);
+                boolean outermost = tlv == null;
+
+                tlv = states.getTLV(pos, length);
 
                 if (!tags.accept(tlv)) {
                     return null;
                 } else {
+                    if (outermost) {
+                        nextTlv = tlv.nextTlv;
+                    }
+
                     pos = tlv.pos;
                     length = tlv.length;
                 }
@@ -410,14 +604,35 @@ public class BERDecoder implements Decoder {
                 }
             }
 
-            return states.push(new DecoderState(tlv, pos, length));
+            return push(states, tlv, pos, length, nextTlv);
         } catch (DecodingException e) {
             throw e;
+        } catch (IOException e) {
+            throw new PrematureEndOfInputException();
         } catch (Exception th) {
             throw new DecodingException(th);
         }
     }
 
+    /**
+     * Pushes the state of the innermost of the consumed tags. The state continues behind the outermost value, which
+     * may end with end-of-contents octets if its length is indefinite.
+     */
+    private DecoderState push(DecoderStates states, TLV tlv, int pos, int length, int nextTlv) {
+        var state = states.push(tlv, pos, length);
+
+        state.tlv.nextTlv = nextTlv;
+
+        return state;
+    }
+
+    @FunctionalInterface
+    private interface ValueDecoder {
+
+        void decode(BERDecoder decoder, Type type, DecoderStates states, DecoderState state, ASN1Type obj);
+
+    }
+
     private interface TagsMatcher {
 
         boolean hasNext();
@@ -463,7 +678,7 @@ public class BERDecoder implements Decoder {
                 LOGGER.trace("Trying: tag={}, class={}", tag.tag(), tag.clazz());
             }
 
-            return tlv.getTagId().equalsASN1Tag(tag);
+            return tlv.matches(tag);
         }
 
     }
@@ -583,7 +798,7 @@ public class BERDecoder implements Decoder {
                     LOGGER.trace("Trying: tag={}, class={}", childTag.tag(), childTag.clazz());
                 }
 
-                if (tlv.getTagId().equalsASN1Tag(childTag)) {
+                if (tlv.matches(childTag)) {
                     return child;
                 }
             }
@@ -633,4 +848,71 @@ public class BERDecoder implements Decoder {
 
     }
 
+    public static class Builder {
+
+        private boolean zeroCopy;
+
+        private boolean lazy;
+
+        private int parallelThreshold;
+
+        private ValidationPolicy validationPolicy = ValidationPolicy.EAGER;
+
+        private Builder() {
+        }
+
+        /**
+         * If {@code zeroCopy} is set, OCTET STRINGs, BIT STRINGs and open types are decoded into views of the input,
+         * which are only copied if their value is accessed as an array. The input must not be modified as long as
+         * such values are in use. SIZE constraints are checked without copying, but checking any other constraint on
+         * such a value copies it.
+         */
+        public Builder zeroCopy(boolean zeroCopy) {
+            this.zeroCopy = zeroCopy;
+
+            return this;
+        }
+
+        /**
+         * If {@code lazy} is set, only the headers of the components of SEQUENCEs and SETs annotated with
+         * {@link ch.eskaton.asn4j.runtime.annotations.ASN1Lazy} are parsed. A component is decoded when its getter is
+         * first called, which retains the input until all components of the value have been accessed. The constraint
+         * of such a value is checked when its last component has been decoded. Lazily decoded values aren't
+         * thread-safe until {@link ch.eskaton.asn4j.runtime.types.AbstractASN1Collection#resolveComponents()} has
+         * been called.
+         */
+        public Builder lazy(boolean lazy) {
+            this.lazy = lazy;
+
+            return this;
+        }
+
+        /**
+         * The elements of SEQUENCE OFs and SET OFs whose contents are at least {@code parallelThreshold} bytes long
+         * are decoded in parallel on the common {@link java.util.concurrent.ForkJoinPool}, after their boundaries
+         * have been determined by parsing their headers. A threshold of 0, the default, disables parallel decoding.
+         */
+        public Builder parallelThreshold(int parallelThreshold) {
+            this.parallelThreshold = parallelThreshold;
+
+            return this;
+        }
+
+        /**
+         * Checks constraints according to {@code validationPolicy}, {@link ValidationPolicy#EAGER} by default.
+         * Validating a whole message resolves its lazily decoded components. Violations are reported as
+         * {@link DecodingException}, as with eager validation.
+         */
+        public Builder validationPolicy(ValidationPolicy validationPolicy) {
+            this.validationPolicy = Objects.requireNonNull(validationPolicy, "validationPolicy");
+
+            return this;
+        }
+
+        public BERDecoder build() {
+            return new BERDecoder(this);
+        }
+
+    }
+
 }
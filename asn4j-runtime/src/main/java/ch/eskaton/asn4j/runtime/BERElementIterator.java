@@ -0,0 +1,229 @@
+/*
+ *  Copyright (c) 2015, Adrian Moser
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  * Redistributions of source code must retain the above copyright
+ *  notice, this list of conditions and the following disclaimer.
+ *  * Redistributions in binary form must reproduce the above copyright
+ *  notice, this list of conditions and the following disclaimer in the
+ *  documentation and/or other materials provided with the distribution.
+ *  * Neither the name of the author nor the
+ *  names of its contributors may be used to endorse or promote products
+ *  derived from this software without specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL AUTHOR BE LIABLE FOR ANY
+ *  DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *  ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package ch.eskaton.asn4j.runtime;
+
+import ch.eskaton.asn4j.runtime.annotations.ASN1Tag;
+import ch.eskaton.asn4j.runtime.decoders.ComponentScanner;
+import ch.eskaton.asn4j.runtime.decoders.DecodingPlan;
+import ch.eskaton.asn4j.runtime.exceptions.DecodingException;
+import ch.eskaton.asn4j.runtime.exceptions.PrematureEndOfInputException;
+import ch.eskaton.asn4j.runtime.exceptions.UnexpectedTagException;
+import ch.eskaton.asn4j.runtime.types.ASN1CollectionOf;
+import ch.eskaton.asn4j.runtime.types.ASN1Set;
+import ch.eskaton.asn4j.runtime.types.ASN1Type;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Decodes the elements of a SEQUENCE OF or SET OF one at a time. The collection is either the encoded value itself or
+ * a component of it, which is reached through a path of component names of nested SEQUENCEs and SETs. Only the
+ * headers on the path are parsed in advance. Every element is decoded when it's requested and isn't referenced by the
+ * iterator afterwards, so that collections of any size can be processed in constant memory.
+ */
+public class BERElementIterator<T extends ASN1Type> implements Iterator<T> {
+
+    private final BERDecoder decoder;
+
+    private final DecoderStates states = new DecoderStates();
+
+    private final Type elementType;
+
+    private T next;
+
+    private boolean eof;
+
+    public BERElementIterator(Class<? extends ASN1Type> type, byte[] buf, String... path) {
+        this(type, DecoderInput.of(buf), new BERDecoder(), path);
+    }
+
+    public BERElementIterator(Class<? extends ASN1Type> type, byte[] buf, BERDecoder decoder, String... path) {
+        this(type, DecoderInput.of(buf), decoder, path);
+    }
+
+    /**
+     * Decodes the elements between the position and the limit of {@code buffer} without copying it first.
+     */
+    public BERElementIterator(Class<? extends ASN1Type> type, ByteBuffer buffer, String... path) {
+        this(type, DecoderInput.of(buffer), new BERDecoder(), path);
+    }
+
+    public BERElementIterator(Class<? extends ASN1Type> type, ByteBuffer buffer, BERDecoder decoder, String... path) {
+        this(type, DecoderInput.of(buffer), decoder, path);
+    }
+
+    private BERElementIterator(Class<? extends ASN1Type> type, DecoderInput input, BERDecoder decoder,
+            String... path) {
+        this.decoder = decoder;
+
+        states.input = input;
+        states.zeroCopy = decoder.isZeroCopy();
+        states.lazy = decoder.isLazy();
+        states.parallelThreshold = decoder.getParallelThreshold();
+        states.validate = decoder.getValidationPolicy().isEager();
+
+        try {
+            this.elementType = locate(type, path);
+        } catch (IOException e) {
+            throw new DecodingException(e);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !eof) {
+            next = decodeNext();
+            eof = next == null;
+        }
+
+        return next != null;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        var value = next;
+
+        next = null;
+
+        return value;
+    }
+
+    /**
+     * Returns a sequential stream of the remaining elements.
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this,
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    private T decodeNext() {
+        DecodingResult<T> result = decoder.decode(elementType, states, true);
+
+        if (result == null) {
+            return null;
+        }
+
+        if (decoder.getValidationPolicy().isSelected()) {
+            ConstraintValidator.validate(result.getObj());
+        }
+
+        return result.getObj();
+    }
+
+    /**
+     * Follows {@code path} from the value of {@code type} to the collection and pushes a state for its contents.
+     * Returns the type of the elements.
+     */
+    private Type locate(Class<? extends ASN1Type> type, String... path) throws IOException {
+        var input = states.input;
+        var tlv = enter(input, DecodingPlan.of(type).getTags(), 0, input.length());
+        Type currentType = type;
+
+        for (var name : path) {
+            var clazz = toClass(currentType);
+            var plan = DecodingPlan.of(clazz);
+            var index = plan.getComponentIndex(name);
+
+            if (index == -1) {
+                throw new DecodingException("%s has no component %s", clazz.getSimpleName(), name);
+            }
+
+            var components = plan.getComponents();
+            var positions = new int[components.size()];
+            var lengths = new int[components.size()];
+            var set = ASN1Set.class.isAssignableFrom(clazz);
+
+            if (ComponentScanner.scan(input, tlv.pos, tlv.pos + tlv.length, components, set, positions,
+                    lengths) == -1) {
+                throw new DecodingException("Failed to determine the components of %s", clazz.getSimpleName());
+            } else if (positions[index] == -1) {
+                throw new DecodingException("Component %s of %s is absent", name, clazz.getSimpleName());
+            }
+
+            var component = components.get(index);
+            var tags = component.getTags() != null ? component.getTags() :
+                    DecodingPlan.of(toClass(component.getType())).getTags();
+
+            tlv = enter(input, tags, positions[index], positions[index] + lengths[index]);
+            currentType = component.getField().getGenericType();
+        }
+
+        if (!ASN1CollectionOf.class.isAssignableFrom(toClass(currentType))) {
+            throw new DecodingException("%s is not a SEQUENCE OF or SET OF", toClass(currentType).getSimpleName());
+        }
+
+        states.push(new DecoderState(tlv.pos, tlv.length));
+
+        return DecodingPlan.getElementType(currentType);
+    }
+
+    private static TLV enter(DecoderInput input, List<ASN1Tag> tags, int pos, int end) throws IOException {
+        var tlv = new TLV();
+
+        tlv.pos = pos;
+        tlv.length = end - pos;
+
+        for (var tag : tags) {
+            TLV.getTLV(input, pos, end - pos, tlv);
+
+            if (!tlv.matches(tag)) {
+                throw new UnexpectedTagException("Unexpected tag " + tlv.getTagId());
+            } else if (tlv.nextTlv == -1 || tlv.nextTlv > end) {
+                throw new PrematureEndOfInputException();
+            }
+
+            pos = tlv.pos;
+            end = tlv.pos + tlv.length;
+        }
+
+        return tlv;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Class<? extends ASN1Type> toClass(Type type) {
+        if (type instanceof ParameterizedType) {
+            return (Class<? extends ASN1Type>) ((ParameterizedType) type).getRawType();
+        }
+
+        return (Class<? extends ASN1Type>) type;
+    }
+
+}
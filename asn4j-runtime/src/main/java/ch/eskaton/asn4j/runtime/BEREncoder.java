@@ -31,8 +31,11 @@ import ch.eskaton.asn4j.runtime.annotations.ASN1Tag;
 import ch.eskaton.asn4j.runtime.encoders.BMPStringEncoder;
 import ch.eskaton.asn4j.runtime.encoders.BitStringEncoder;
 import ch.eskaton.asn4j.runtime.encoders.BooleanEncoder;
+import ch.eskaton.asn4j.runtime.encoders.ByteBufferSink;
+import ch.eskaton.asn4j.runtime.encoders.ChannelSink;
 import ch.eskaton.asn4j.runtime.encoders.ChoiceEncoder;
 import ch.eskaton.asn4j.runtime.encoders.DefaultStringEncoder;
+import ch.eskaton.asn4j.runtime.encoders.EncodingPlan;
 import ch.eskaton.asn4j.runtime.encoders.EnumeratedTypeEncoder;
 import ch.eskaton.asn4j.runtime.encoders.IRIEncoder;
 import ch.eskaton.asn4j.runtime.encoders.IntegerEncoder;
@@ -40,6 +43,7 @@ import ch.eskaton.asn4j.runtime.encoders.NullEncoder;
 import ch.eskaton.asn4j.runtime.encoders.ObjectIdentifierEncoder;
 import ch.eskaton.asn4j.runtime.encoders.OctetStringEncoder;
 import ch.eskaton.asn4j.runtime.encoders.OpenTypeEncoder;
+import ch.eskaton.asn4j.runtime.encoders.OutputStreamSink;
 import ch.eskaton.asn4j.runtime.encoders.RealEncoder;
 import ch.eskaton.asn4j.runtime.encoders.RelativeIRIEncoder;
 import ch.eskaton.asn4j.runtime.encoders.RelativeOIDEncoder;
@@ -49,7 +53,9 @@ import ch.eskaton.asn4j.runtime.encoders.SetEncoder;
 import ch.eskaton.asn4j.runtime.encoders.SetOfEncoder;
 import ch.eskaton.asn4j.runtime.encoders.TypeEncoder;
 import ch.eskaton.asn4j.runtime.encoders.UniversalStringEncoder;
+import ch.eskaton.asn4j.runtime.exceptions.ConstraintViolatedException;
 import ch.eskaton.asn4j.runtime.exceptions.EncodingException;
+import ch.eskaton.asn4j.runtime.exceptions.ValidationException;
 import ch.eskaton.asn4j.runtime.types.ASN1BMPString;
 import ch.eskaton.asn4j.runtime.types.ASN1BitString;
 import ch.eskaton.asn4j.runtime.types.ASN1Boolean;
@@ -86,17 +92,19 @@ import ch.eskaton.commons.utils.HexDump;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 public class BEREncoder implements Encoder {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(BEREncoder.class);
 
-    @SuppressWarnings("serial")
-    private Map<Class<? extends ASN1Type>, TypeEncoder<? extends ASN1Type>> encoders =
+    private static final Map<Class<? extends ASN1Type>, TypeEncoder<? extends ASN1Type>> ENCODERS =
             Maps.<Class<? extends ASN1Type>, TypeEncoder<? extends ASN1Type>>builder()
                     .put(ASN1BitString.class, new BitStringEncoder())
                     .put(ASN1Boolean.class, new BooleanEncoder())
@@ -110,15 +118,15 @@ public class BEREncoder implements Encoder {
                     .put(ASN1IRI.class, new IRIEncoder())
                     .put(ASN1RelativeIRI.class, new RelativeIRIEncoder())
                     .put(ASN1OctetString.class, new OctetStringEncoder())
-                    .put(ASN1VisibleString.class, new DefaultStringEncoder<>())
-                    .put(ASN1NumericString.class, new DefaultStringEncoder<>())
-                    .put(ASN1PrintableString.class, new DefaultStringEncoder<>())
-                    .put(ASN1IA5String.class, new DefaultStringEncoder<>())
-                    .put(ASN1GraphicString.class, new DefaultStringEncoder<>())
-                    .put(ASN1GeneralString.class, new DefaultStringEncoder<>())
-                    .put(ASN1TeletexString.class, new DefaultStringEncoder<>())
-                    .put(ASN1VideotexString.class, new DefaultStringEncoder<>())
-                    .put(ASN1UTF8String.class, new DefaultStringEncoder<>())
+                    .put(ASN1VisibleString.class, new DefaultStringEncoder<>(StandardCharsets.US_ASCII))
+                    .put(ASN1NumericString.class, new DefaultStringEncoder<>(StandardCharsets.US_ASCII))
+                    .put(ASN1PrintableString.class, new DefaultStringEncoder<>(StandardCharsets.US_ASCII))
+                    .put(ASN1IA5String.class, new DefaultStringEncoder<>(StandardCharsets.US_ASCII))
+                    .put(ASN1GraphicString.class, new DefaultStringEncoder<>(StandardCharsets.US_ASCII))
+                    .put(ASN1GeneralString.class, new DefaultStringEncoder<>(StandardCharsets.US_ASCII))
+                    .put(ASN1TeletexString.class, new DefaultStringEncoder<>(StandardCharsets.ISO_8859_1))
+                    .put(ASN1VideotexString.class, new DefaultStringEncoder<>(StandardCharsets.ISO_8859_1))
+                    .put(ASN1UTF8String.class, new DefaultStringEncoder<>(StandardCharsets.UTF_8))
                     .put(ASN1UniversalString.class, new UniversalStringEncoder())
                     .put(ASN1BMPString.class, new BMPStringEncoder())
                     .put(ASN1Sequence.class, new SequenceEncoder())
@@ -128,6 +136,40 @@ public class BEREncoder implements Encoder {
                     .put(ASN1OpenType.class, new OpenTypeEncoder())
                     .build();
 
+    private static final ClassValue<TypeEncoder<ASN1Type>> VALUE_ENCODERS = new ClassValue<>() {
+
+        @Override
+        protected TypeEncoder<ASN1Type> computeValue(Class<?> type) {
+            return getValueEncoder(type);
+        }
+
+    };
+
+    private final boolean segmented;
+
+    private final ValidationPolicy validationPolicy;
+
+    public BEREncoder() {
+        this(new Builder());
+    }
+
+    private BEREncoder(Builder builder) {
+        this.segmented = builder.segmented;
+        this.validationPolicy = builder.validationPolicy;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public boolean isSegmented() {
+        return segmented;
+    }
+
+    public ValidationPolicy getValidationPolicy() {
+        return validationPolicy;
+    }
+
     public byte[] encode(ASN1Type obj) {
         byte[] encoded = encode(obj, List.of());
 
@@ -140,7 +182,7 @@ public class BEREncoder implements Encoder {
 
     @SuppressWarnings("unchecked")
     public <T extends ASN1Type, C extends TypeEncoder<T>> C getEncoder(Class<T> clazz) {
-        TypeEncoder<?> encoder = encoders.get(clazz);
+        TypeEncoder<?> encoder = ENCODERS.get(clazz);
 
         if (encoder == null) {
             throw new EncodingException("No encoder for node-type " + clazz.getSimpleName());
@@ -154,105 +196,156 @@ public class BEREncoder implements Encoder {
         return encode(obj, List.of(tag));
     }
 
-    @SuppressWarnings("rawtypes")
     public byte[] encode(ASN1Type obj, List<ASN1Tag> tags) {
-        var baos = new ByteArrayOutputStream();
-        EncodingResult result;
+        if (tags != null && !tags.isEmpty()) {
+            return encode(obj, TLVUtils.getTags(tags));
+        }
+
+        return encode(obj, (byte[][]) null);
+    }
+
+    @Override
+    public byte[] encode(ASN1Type obj, byte[][] tags) {
+        var result = encodeMessage(obj, tags);
+        var encoded = new byte[result.getLength()];
+
+        result.write(encoded, 0);
+
+        return encoded;
+    }
+
+    /**
+     * Encodes a value into {@code buffer} at its current position and returns the number of bytes written. The buffer
+     * may be a heap or a direct buffer. Nothing is written if the remaining space is too small.
+     */
+    @Override
+    public int encode(ASN1Type obj, ByteBuffer buffer) {
+        var result = encodeMessage(obj, null);
+
+        if (buffer.remaining() < result.getLength()) {
+            throw new EncodingException("Buffer too small: %d bytes required, %d bytes remaining",
+                    result.getLength(), buffer.remaining());
+        }
+
+        result.write(new ByteBufferSink(buffer));
+
+        return result.getLength();
+    }
+
+    /**
+     * Encodes a value into {@code out} and returns the number of bytes written. The stream isn't flushed.
+     */
+    @Override
+    public int encode(ASN1Type obj, OutputStream out) {
+        var result = encodeMessage(obj, null);
+        var sink = new OutputStreamSink(out, result.getLength());
+
+        result.write(sink);
+        sink.flush();
+
+        return result.getLength();
+    }
+
+    /**
+     * Encodes a value into {@code channel} and returns the number of bytes written. Non-blocking channels aren't
+     * supported.
+     */
+    @Override
+    public int encode(ASN1Type obj, WritableByteChannel channel) {
+        var result = encodeMessage(obj, null);
+        var sink = new ChannelSink(channel, result.getLength());
+
+        result.write(sink);
+        sink.flush();
+
+        return result.getLength();
+    }
 
-        if (obj instanceof HasConstraint) {
+    /**
+     * Encodes an outermost value. If the validation policy selects the value, its constraints are checked in one pass
+     * before it is encoded. Violations are reported as {@link EncodingException}, as with eager validation.
+     */
+    EncodingResult encodeMessage(ASN1Type obj, byte[][] tags) {
+        if (validationPolicy.isSelected()) {
+            try {
+                ConstraintValidator.validate(obj);
+            } catch (ConstraintViolatedException | ValidationException e) {
+                throw new EncodingException(e);
+            }
+        }
+
+        return encodeComponent(obj, tags);
+    }
+
+    /**
+     * Encodes a value with precomputed tag bytes as returned by {@link TLVUtils#getTags(List)}. If {@code tags} is
+     * {@code null}, the tags of the value's class are used. The result isn't copied into a buffer, so that the
+     * components of a value are only written once into the buffer of the outermost value.
+     */
+    @Override
+    public EncodingResult encodeComponent(ASN1Type obj, byte[][] tags) {
+        if (validationPolicy.isEager() && obj instanceof HasConstraint) {
             ((HasConstraint) obj).checkConstraint();
         }
 
-        if (obj instanceof ASN1Boolean) {
-            result = this.<ASN1Boolean, BooleanEncoder>getEncoder(ASN1Boolean.class).encode(this, (ASN1Boolean) obj);
-        } else if (obj instanceof ASN1Integer) {
-            result = this.<ASN1Integer, IntegerEncoder>getEncoder(ASN1Integer.class).encode(this, (ASN1Integer) obj);
-        } else if (obj instanceof ASN1EnumeratedType) {
-            result = this.<ASN1EnumeratedType, EnumeratedTypeEncoder>getEncoder(ASN1EnumeratedType.class)
-                    .encode(this, (ASN1EnumeratedType) obj);
-        } else if (obj instanceof ASN1Real) {
-            result = this.<ASN1Real, RealEncoder>getEncoder(ASN1Real.class).encode(this, (ASN1Real) obj);
-        } else if (obj instanceof ASN1BitString) {
-            result = this.<ASN1BitString, BitStringEncoder>getEncoder(ASN1BitString.class)
-                    .encode(this, (ASN1BitString) obj);
-        } else if (obj instanceof ASN1OctetString) {
-            result = this.<ASN1OctetString, OctetStringEncoder>getEncoder(ASN1OctetString.class)
-                    .encode(this, (ASN1OctetString) obj);
-        } else if (obj instanceof ASN1VisibleString) {
-            result = this.<ASN1VisibleString, DefaultStringEncoder>getEncoder(ASN1VisibleString.class)
-                    .encode(this, (ASN1VisibleString) obj);
-        } else if (obj instanceof ASN1NumericString) {
-            result = this.<ASN1NumericString, DefaultStringEncoder>getEncoder(ASN1NumericString.class)
-                    .encode(this, (ASN1NumericString) obj);
-        } else if (obj instanceof ASN1PrintableString) {
-            result = this.<ASN1PrintableString, DefaultStringEncoder>getEncoder(ASN1PrintableString.class)
-                    .encode(this, (ASN1PrintableString) obj);
-        } else if (obj instanceof ASN1IA5String) {
-            result = this.<ASN1IA5String, DefaultStringEncoder>getEncoder(ASN1IA5String.class)
-                    .encode(this, (ASN1IA5String) obj);
-        } else if (obj instanceof ASN1GraphicString) {
-            result = this.<ASN1GraphicString, DefaultStringEncoder>getEncoder(ASN1GraphicString.class)
-                    .encode(this, (ASN1GraphicString) obj);
-        } else if (obj instanceof ASN1GeneralString) {
-            result = this.<ASN1GeneralString, DefaultStringEncoder>getEncoder(ASN1GeneralString.class)
-                    .encode(this, (ASN1GeneralString) obj);
-        } else if (obj instanceof ASN1TeletexString) {
-            result = this.<ASN1TeletexString, DefaultStringEncoder>getEncoder(ASN1TeletexString.class)
-                    .encode(this, (ASN1TeletexString) obj);
-        } else if (obj instanceof ASN1VideotexString) {
-            result = this.<ASN1VideotexString, DefaultStringEncoder>getEncoder(ASN1VideotexString.class)
-                    .encode(this, (ASN1VideotexString) obj);
-        } else if (obj instanceof ASN1UniversalString) {
-            result = this.getEncoder(ASN1UniversalString.class).encode(this, (ASN1UniversalString) obj);
-        } else if (obj instanceof ASN1UTF8String) {
-            result = this.<ASN1UTF8String, DefaultStringEncoder>getEncoder(ASN1UTF8String.class)
-                    .encode(this, (ASN1UTF8String) obj);
-        } else if (obj instanceof ASN1BMPString) {
-            result = this.getEncoder(ASN1BMPString.class).encode(this, (ASN1BMPString) obj);
-        } else if (obj instanceof ASN1Null) {
-            result = this.<ASN1Null, NullEncoder>getEncoder(ASN1Null.class).encode(this, (ASN1Null) obj);
-        } else if (obj instanceof ASN1ObjectIdentifier) {
-            result = this.<ASN1ObjectIdentifier, ObjectIdentifierEncoder>getEncoder(ASN1ObjectIdentifier.class)
-                    .encode(this, (ASN1ObjectIdentifier) obj);
-        } else if (obj instanceof ASN1RelativeOID) {
-            result = this.<ASN1RelativeOID, RelativeOIDEncoder>getEncoder(ASN1RelativeOID.class)
-                    .encode(this, (ASN1RelativeOID) obj);
-        } else if (obj instanceof ASN1IRI) {
-            result = this.<ASN1IRI, IRIEncoder>getEncoder(ASN1IRI.class).encode(this, (ASN1IRI) obj);
-        } else if (obj instanceof ASN1RelativeIRI) {
-            result = this.<ASN1RelativeIRI, RelativeIRIEncoder>getEncoder(ASN1RelativeIRI.class)
-                    .encode(this, (ASN1RelativeIRI) obj);
-        } else if (obj instanceof ASN1Sequence) {
-            result = this.<ASN1Sequence, SequenceEncoder>getEncoder(ASN1Sequence.class)
-                    .encode(this, (ASN1Sequence) obj);
-        } else if (obj instanceof ASN1Set) {
-            result = this.<ASN1Set, SetEncoder>getEncoder(ASN1Set.class).encode(this, (ASN1Set) obj);
-        } else if (obj instanceof ASN1SequenceOf) {
-            result = this.<ASN1SequenceOf, SequenceOfEncoder>getEncoder(ASN1SequenceOf.class)
-                    .encode(this, (ASN1SequenceOf) obj);
-        } else if (obj instanceof ASN1SetOf) {
-            result = this.<ASN1SetOf, SetOfEncoder>getEncoder(ASN1SetOf.class).encode(this, (ASN1SetOf) obj);
-        } else if (obj instanceof ASN1Choice) {
-            result = this.<ASN1Choice, ChoiceEncoder>getEncoder(ASN1Choice.class).encode(this, (ASN1Choice) obj);
-        } else if (obj instanceof ASN1OpenType) {
-            result = this.<ASN1OpenType, OpenTypeEncoder>getEncoder(ASN1OpenType.class).encode(this, (ASN1OpenType) obj);
-        } else {
+        var plan = EncodingPlan.of(obj.getClass());
+        var result = plan.hasEncoder() ? plan.encode(this, obj) :
+                VALUE_ENCODERS.get(obj.getClass()).encode(this, obj);
+        var tagLength = TLVUtils.getTagLength(tags != null ? tags : plan.getTags(), result.isConstructed(),
+                result.getLength(), result.isIndefinite());
+
+        return EncodingResult.of(tagLength, result);
+    }
+
+    /**
+     * Resolves the encoder for the values of a class without a generated encoder. This is done once per class.
+     */
+    @SuppressWarnings("unchecked")
+    private static TypeEncoder<ASN1Type> getValueEncoder(Class<?> type) {
+        for (var entry : ENCODERS.entrySet()) {
+            if (entry.getKey().isAssignableFrom(type)) {
+                return (TypeEncoder<ASN1Type>) entry.getValue();
+            }
+        }
+
+        return (encoder, obj) -> {
             throw new EncodingException("Unsupported type: %s", obj.getClass().getSimpleName());
+        };
+    }
+
+    public static class Builder {
+
+        private boolean segmented;
+
+        private ValidationPolicy validationPolicy = ValidationPolicy.EAGER;
+
+        private Builder() {
         }
 
-        try {
-            if (tags != null && !tags.isEmpty()) {
-                baos.write(TLVUtils.getTagLength(tags, result.isConstructed(), result.getLength()));
-            } else {
-                baos.write(TLVUtils.getTagLength(result.isConstructed(), obj, result.getLength()));
-            }
+        /**
+         * If {@code segmented} is set, OCTET STRINGs longer than {@link OctetStringEncoder#SEGMENT_SIZE} bytes are
+         * encoded as in CER: constructed, with an indefinite length and split into primitive segments of
+         * {@link OctetStringEncoder#SEGMENT_SIZE} bytes.
+         */
+        public Builder segmented(boolean segmented) {
+            this.segmented = segmented;
+
+            return this;
+        }
+
+        /**
+         * Checks constraints according to {@code validationPolicy}, {@link ValidationPolicy#EAGER} by default.
+         */
+        public Builder validationPolicy(ValidationPolicy validationPolicy) {
+            this.validationPolicy = Objects.requireNonNull(validationPolicy, "validationPolicy");
+
+            return this;
+        }
 
-            baos.write(result.getBuffer());
-        } catch (IOException e) {
-            throw new EncodingException(e);
+        public BEREncoder build() {
+            return new BEREncoder(this);
         }
 
-        return baos.toByteArray();
     }
 
 }
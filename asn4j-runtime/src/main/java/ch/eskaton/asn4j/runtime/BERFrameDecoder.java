@@ -0,0 +1,194 @@
+/*
+ *  Copyright (c) 2015, Adrian Moser
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  * Redistributions of source code must retain the above copyright
+ *  notice, this list of conditions and the following disclaimer.
+ *  * Redistributions in binary form must reproduce the above copyright
+ *  notice, this list of conditions and the following disclaimer in the
+ *  documentation and/or other materials provided with the distribution.
+ *  * Neither the name of the author nor the
+ *  names of its contributors may be used to endorse or promote products
+ *  derived from this software without specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL AUTHOR BE LIABLE FOR ANY
+ *  DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *  ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package ch.eskaton.asn4j.runtime;
+
+import ch.eskaton.asn4j.runtime.types.ASN1Type;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Push-style decoder for BER encoded values that arrive in arbitrary fragments, e.g. from a non-blocking channel.
+ * Each call to {@link #feed(ByteBuffer)} consumes the available bytes and returns the values which have been completed
+ * by them. The parse position within an incomplete value is kept between calls, so its headers are only parsed once.
+ * Complete values are decoded directly from the fed buffer. Only the bytes of an incomplete value are copied into
+ * an internal buffer.
+ */
+public class BERFrameDecoder<T extends ASN1Type> {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final Class<T> type;
+
+    private final BERDecoder decoder;
+
+    private final TLV tlv = new TLV();
+
+    private byte[] pending = new byte[INITIAL_CAPACITY];
+
+    private int pendingStart;
+
+    private int pendingLength;
+
+    private int scanPos;
+
+    private int depth;
+
+    public BERFrameDecoder(Class<T> type) {
+        this(type, new BERDecoder());
+    }
+
+    public BERFrameDecoder(Class<T> type, BERDecoder decoder) {
+        this.type = type;
+        this.decoder = decoder;
+    }
+
+    /**
+     * Consumes the remaining bytes of {@code data} and returns the values completed by them.
+     */
+    public List<T> feed(ByteBuffer data) {
+        return feed(data, this::decode);
+    }
+
+    /**
+     * Consumes the remaining bytes of {@code data} and returns the encodings of the values completed by them,
+     * including their headers. The returned buffers are read-only and are only valid until the next call, because
+     * they may share the bytes of {@code data} or of the internal buffer.
+     */
+    public List<ByteBuffer> feedFrames(ByteBuffer data) {
+        return feed(data, ByteBuffer::asReadOnlyBuffer);
+    }
+
+    /**
+     * Returns the number of bytes of an incomplete value. A non-zero value at the end of the input indicates a
+     * truncated value.
+     */
+    public int getPendingLength() {
+        return pendingLength;
+    }
+
+    private <R> List<R> feed(ByteBuffer data, Function<ByteBuffer, R> consumer) {
+        var values = new ArrayList<R>();
+
+        if (pendingLength > 0) {
+            // The frames returned by the previous call may be in use until now
+            System.arraycopy(pending, pendingStart, pending, 0, pendingLength);
+            append(data);
+
+            var frame = ByteBuffer.wrap(pending, 0, pendingLength);
+
+            readFrames(frame, consumer, values);
+
+            pendingStart = frame.position();
+            pendingLength = frame.remaining();
+        } else {
+            pendingStart = 0;
+            readFrames(data, consumer, values);
+            append(data);
+        }
+
+        return values;
+    }
+
+    private <R> void readFrames(ByteBuffer data, Function<ByteBuffer, R> consumer, List<R> values) {
+        while (data.hasRemaining()) {
+            var frameLength = scan(DecoderInput.of(data));
+
+            if (frameLength == -1) {
+                return;
+            }
+
+            values.add(consumer.apply(data.slice(data.position(), frameLength)));
+
+            data.position(data.position() + frameLength);
+            scanPos = 0;
+            depth = 0;
+        }
+    }
+
+    /**
+     * Continues parsing the headers of the value at the start of {@code input}. Returns the length of the value if
+     * it's complete or -1 if more input is needed.
+     */
+    private int scan(DecoderInput input) {
+        do {
+            try {
+                TLV.getHeader(input, scanPos, tlv);
+            } catch (IOException e) {
+                return -1;
+            }
+
+            if (tlv.indefinite) {
+                depth++;
+                scanPos = tlv.pos;
+            } else if (depth > 0 && tlv.isEndOfContents()) {
+                depth--;
+                scanPos = tlv.pos;
+            } else {
+                var end = (long) tlv.pos + tlv.length;
+
+                if (end > input.length()) {
+                    return -1;
+                }
+
+                scanPos = (int) end;
+            }
+        } while (depth > 0);
+
+        return scanPos;
+    }
+
+    private T decode(ByteBuffer frame) {
+        // Values decoded without copying reference the frame, which is only valid until the next call
+        if (decoder.isZeroCopy() || decoder.isLazy()) {
+            var copy = new byte[frame.remaining()];
+
+            frame.get(frame.position(), copy);
+
+            return decoder.decode(type, copy);
+        }
+
+        return decoder.decode(type, frame);
+    }
+
+    private void append(ByteBuffer data) {
+        var length = data.remaining();
+
+        if (pendingLength + length > pending.length) {
+            pending = Arrays.copyOf(pending, Math.max(pending.length * 2, pendingLength + length));
+        }
+
+        data.get(pending, pendingLength, length);
+        pendingLength += length;
+    }
+
+}
@@ -0,0 +1,265 @@
+/*
+ *  Copyright (c) 2015, Adrian Moser
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  * Redistributions of source code must retain the above copyright
+ *  notice, this list of conditions and the following disclaimer.
+ *  * Redistributions in binary form must reproduce the above copyright
+ *  notice, this list of conditions and the following disclaimer in the
+ *  documentation and/or other materials provided with the distribution.
+ *  * Neither the name of the author nor the
+ *  names of its contributors may be used to endorse or promote products
+ *  derived from this software without specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL AUTHOR BE LIABLE FOR ANY
+ *  DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *  ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package ch.eskaton.asn4j.runtime;
+
+import ch.eskaton.asn4j.runtime.exceptions.DecodingException;
+import ch.eskaton.asn4j.runtime.exceptions.PrematureEndOfInputException;
+import ch.eskaton.asn4j.runtime.types.ASN1Type;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Decodes a sequence of concatenated BER encoded values of the same type from a stream. The headers are parsed while
+ * reading, so that exactly one value is buffered at a time. Values with definite and indefinite lengths are
+ * supported.
+ */
+public class BERStreamDecoder<T extends ASN1Type> implements Iterator<T>, Closeable {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private final Class<T> type;
+
+    private final InputStream input;
+
+    private final BERDecoder decoder;
+
+    private byte[] buffer = new byte[INITIAL_CAPACITY];
+
+    private int length;
+
+    private T next;
+
+    private boolean eof;
+
+    public BERStreamDecoder(Class<T> type, InputStream input) {
+        this(type, input, new BERDecoder());
+    }
+
+    public BERStreamDecoder(Class<T> type, InputStream input, BERDecoder decoder) {
+        this.type = type;
+        this.input = input instanceof BufferedInputStream ? input : new BufferedInputStream(input);
+        this.decoder = decoder;
+    }
+
+    public BERStreamDecoder(Class<T> type, ReadableByteChannel channel) {
+        this(type, channel, new BERDecoder());
+    }
+
+    public BERStreamDecoder(Class<T> type, ReadableByteChannel channel, BERDecoder decoder) {
+        this(type, Channels.newInputStream(channel), decoder);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !eof) {
+            next = readNext();
+            eof = next == null;
+        }
+
+        return next != null;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        var value = next;
+
+        next = null;
+
+        return value;
+    }
+
+    /**
+     * Returns a sequential stream of the remaining values. Closing the stream closes the underlying input.
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this,
+                Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> {
+                    try {
+                        close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    @Override
+    public void close() throws IOException {
+        input.close();
+    }
+
+    private T readNext() {
+        length = 0;
+
+        try {
+            if (!readTLV()) {
+                return null;
+            }
+        } catch (IOException e) {
+            throw new DecodingException(e);
+        }
+
+        // Values decoded without copying reference the buffer, so it can only be reused if they are copied
+        var pdu = decoder.isZeroCopy() || decoder.isLazy() ? Arrays.copyOf(buffer, length) : buffer;
+
+        return decoder.decode(type, ByteBuffer.wrap(pdu, 0, length));
+    }
+
+    /**
+     * Appends the next value including its header to the buffer. Returns false if the input ends before the first
+     * byte of a value at the top level. Nested values with indefinite length are tracked by their depth, which is
+     * limited to {@link TLV#MAX_INDEFINITE_DEPTH}.
+     */
+    private boolean readTLV() throws IOException {
+        var depth = 0;
+
+        do {
+            var id = input.read();
+
+            if (id == -1) {
+                if (length == 0) {
+                    return false;
+                }
+
+                throw new PrematureEndOfInputException();
+            }
+
+            append(id);
+
+            if ((id & 0x1f) == 0x1f) {
+                int b;
+
+                do {
+                    b = readByte();
+                } while ((b & 0x80) != 0);
+            }
+
+            var lengthOctet = readByte();
+
+            if (lengthOctet == 0x80) {
+                if ((id & 0x20) == 0) {
+                    throw new DecodingException("Indefinite length of a primitive value");
+                } else if (++depth > TLV.MAX_INDEFINITE_DEPTH) {
+                    throw new DecodingException("Indefinite lengths nested deeper than %d levels",
+                            TLV.MAX_INDEFINITE_DEPTH);
+                }
+            } else if (depth > 0 && id == 0 && lengthOctet == 0) {
+                depth--;
+            } else if (lengthOctet == 0xFF) {
+                throw new DecodingException("Reserved length octet");
+            } else if ((lengthOctet & 0x80) != 0) {
+                var sizeLength = lengthOctet & 0x7f;
+                long contentLength = 0;
+
+                for (var i = 0; i < sizeLength; i++) {
+                    contentLength = (contentLength << 8) | readByte();
+
+                    if (contentLength > Integer.MAX_VALUE) {
+                        throw new DecodingException("Unsupported length exceeding %d", Integer.MAX_VALUE);
+                    }
+                }
+
+                readContent(contentLength);
+            } else {
+                readContent(lengthOctet);
+            }
+        } while (depth > 0);
+
+        return true;
+    }
+
+    private int readByte() throws IOException {
+        var b = input.read();
+
+        if (b == -1) {
+            throw new PrematureEndOfInputException();
+        }
+
+        append(b);
+
+        return b;
+    }
+
+    /**
+     * Reads the contents in chunks, so that a corrupt length doesn't allocate more than the input provides.
+     */
+    private void readContent(long contentLength) throws IOException {
+        if (contentLength > Integer.MAX_VALUE - 8 - length) {
+            throw new DecodingException("Value of %d bytes is too large", contentLength);
+        }
+
+        var remaining = (int) contentLength;
+
+        while (remaining > 0) {
+            var chunk = Math.min(remaining, CHUNK_SIZE);
+
+            ensureCapacity(length + chunk);
+
+            if (input.readNBytes(buffer, length, chunk) < chunk) {
+                throw new PrematureEndOfInputException();
+            }
+
+            length += chunk;
+            remaining -= chunk;
+        }
+    }
+
+    private void append(int b) {
+        ensureCapacity(length + 1);
+
+        buffer[length++] = (byte) b;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > buffer.length) {
+            buffer = Arrays.copyOf(buffer, (int) Math.min(Math.max((long) buffer.length * 2, capacity),
+                    Integer.MAX_VALUE - 8));
+        }
+    }
+
+}
@@ -0,0 +1,165 @@
+/*
+ *  Copyright (c) 2015, Adrian Moser
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  * Redistributions of source code must retain the above copyright
+ *  notice, this list of conditions and the following disclaimer.
+ *  * Redistributions in binary form must reproduce the above copyright
+ *  notice, this list of conditions and the following disclaimer in the
+ *  documentation and/or other materials provided with the distribution.
+ *  * Neither the name of the author nor the
+ *  names of its contributors may be used to endorse or promote products
+ *  derived from this software without specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL AUTHOR BE LIABLE FOR ANY
+ *  DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *  ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package ch.eskaton.asn4j.runtime;
+
+import ch.eskaton.asn4j.runtime.encoders.BufferedSink;
+import ch.eskaton.asn4j.runtime.encoders.ChannelSink;
+import ch.eskaton.asn4j.runtime.encoders.EncodingPlan;
+import ch.eskaton.asn4j.runtime.encoders.OutputStreamSink;
+import ch.eskaton.asn4j.runtime.types.ASN1CollectionOf;
+import ch.eskaton.asn4j.runtime.types.ASN1Type;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.WritableByteChannel;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Encodes values into a stream or channel. The elements of a SEQUENCE OF or SET OF are taken from an iterator or a
+ * stream and written one at a time, enclosed by a constructed header with an indefinite length and the
+ * end-of-contents octets, as in CER. Thus, only the encoding of the current element is held in memory. By default,
+ * long OCTET STRINGs are split into segments as well (see {@link BEREncoder.Builder#segmented(boolean)}).
+ */
+public class BERStreamEncoder implements Flushable, Closeable {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final byte INDEFINITE_LENGTH = (byte) 0x80;
+
+    private static final byte[] END_OF_CONTENTS = new byte[2];
+
+    private final BufferedSink sink;
+
+    private final Closeable target;
+
+    private final BEREncoder encoder;
+
+    public BERStreamEncoder(OutputStream out) {
+        this(out, BEREncoder.builder().segmented(true).build());
+    }
+
+    public BERStreamEncoder(OutputStream out, BEREncoder encoder) {
+        this(new OutputStreamSink(out, BUFFER_SIZE), out, encoder);
+    }
+
+    /**
+     * Creates an encoder which writes to {@code channel}, which must be in blocking mode.
+     */
+    public BERStreamEncoder(WritableByteChannel channel) {
+        this(channel, BEREncoder.builder().segmented(true).build());
+    }
+
+    public BERStreamEncoder(WritableByteChannel channel, BEREncoder encoder) {
+        this(new ChannelSink(channel, BUFFER_SIZE), channel, encoder);
+    }
+
+    private BERStreamEncoder(BufferedSink sink, Closeable target, BEREncoder encoder) {
+        this.sink = sink;
+        this.target = target;
+        this.encoder = encoder;
+    }
+
+    /**
+     * Encodes a single value and returns the number of bytes written.
+     */
+    public long write(ASN1Type value) {
+        var result = encoder.encodeMessage(value, null);
+
+        result.write(sink);
+
+        return result.getLength();
+    }
+
+    /**
+     * Encodes a value of the SEQUENCE OF or SET OF {@code type} with the elements returned by {@code values} and
+     * returns the number of bytes written. Constraints on the collection itself, e.g. size constraints, aren't
+     * checked, because the number of elements isn't known in advance. The elements of a SET OF are written in the
+     * order they are returned.
+     */
+    public <T extends ASN1Type> long write(Class<? extends ASN1CollectionOf<?, T>> type,
+            Iterator<? extends T> values) {
+        var tags = EncodingPlan.of(type).getTags();
+        var length = 0L;
+
+        for (var tag : tags) {
+            var constructedTag = tag.clone();
+
+            constructedTag[0] |= 0x20;
+
+            sink.write(constructedTag);
+            sink.write(INDEFINITE_LENGTH);
+
+            length += constructedTag.length + 1;
+        }
+
+        while (values.hasNext()) {
+            length += write(values.next());
+        }
+
+        for (var i = 0; i < tags.length; i++) {
+            sink.write(END_OF_CONTENTS);
+
+            length += END_OF_CONTENTS.length;
+        }
+
+        return length;
+    }
+
+    /**
+     * Encodes a value of the SEQUENCE OF or SET OF {@code type} with the elements of {@code values}. The stream is
+     * consumed lazily, but isn't closed.
+     */
+    public <T extends ASN1Type> long write(Class<? extends ASN1CollectionOf<?, T>> type, Stream<? extends T> values) {
+        return write(type, values.iterator());
+    }
+
+    /**
+     * Writes the buffered output to the underlying stream or channel.
+     */
+    @Override
+    public void flush() throws IOException {
+        sink.flush();
+
+        if (target instanceof Flushable) {
+            ((Flushable) target).flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            target.close();
+        }
+    }
+
+}
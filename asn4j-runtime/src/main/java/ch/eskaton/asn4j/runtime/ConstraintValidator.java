@@ -0,0 +1,118 @@
+/*
+ *
+ *  *  Copyright (c) 2015, Adrian Moser
+ *  *  All rights reserved.
+ *  *
+ *  *  Redistribution and use in source and binary forms, with or without
+ *  *  modification, are permitted provided that the following conditions are met:
+ *  *  * Redistributions of source code must retain the above copyright
+ *  *  notice, this list of conditions and the following disclaimer.
+ *  *  * Redistributions in binary form must reproduce the above copyright
+ *  *  notice, this list of conditions and the following disclaimer in the
+ *  *  documentation and/or other materials provided with the distribution.
+ *  *  * Neither the name of the author nor the
+ *  *  names of its contributors may be used to endorse or promote products
+ *  *  derived from this software without specific prior written permission.
+ *  *
+ *  *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  *  DISCLAIMED. IN NO EVENT SHALL AUTHOR BE LIABLE FOR ANY
+ *  *  DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *  *  ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package ch.eskaton.asn4j.runtime;
+
+import ch.eskaton.asn4j.runtime.annotations.ASN1Component;
+import ch.eskaton.asn4j.runtime.exceptions.ValidationException;
+import ch.eskaton.asn4j.runtime.types.ASN1Choice;
+import ch.eskaton.asn4j.runtime.types.ASN1CollectionOf;
+import ch.eskaton.asn4j.runtime.types.ASN1OpenType;
+import ch.eskaton.asn4j.runtime.types.ASN1Type;
+import ch.eskaton.asn4j.runtime.types.AbstractASN1Collection;
+import ch.eskaton.asn4j.runtime.types.HasConstraint;
+import ch.eskaton.asn4j.runtime.utils.RuntimeUtils;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+
+/**
+ * Checks the constraints of a value and all its components in a single pass.
+ */
+public class ConstraintValidator {
+
+    private static final ClassValue<Field[]> COMPONENTS = new ClassValue<>() {
+
+        @Override
+        @SuppressWarnings({ "unchecked", "squid:S3011" })
+        protected Field[] computeValue(Class<?> type) {
+            var components = new ArrayList<Field>();
+
+            for (var field : RuntimeUtils.getComponents((Class<? extends ASN1Type>) type)) {
+                if (field.isAnnotationPresent(ASN1Component.class)) {
+                    field.setAccessible(true);
+                    components.add(field);
+                }
+            }
+
+            return components.toArray(new Field[0]);
+        }
+
+    };
+
+    private ConstraintValidator() {
+    }
+
+    /**
+     * Validates {@code value}. Components are checked before the values which contain them. Lazily decoded
+     * components are resolved.
+     *
+     * @param value a value, may be null
+     * @throws ch.eskaton.asn4j.runtime.exceptions.ConstraintViolatedException if a constraint isn't satisfied
+     */
+    public static void validate(ASN1Type value) {
+        if (value == null) {
+            return;
+        }
+
+        if (value instanceof AbstractASN1Collection) {
+            validateComponents((AbstractASN1Collection) value);
+        } else if (value instanceof ASN1Choice) {
+            validate(((ASN1Choice) value).getValue());
+        } else if (value instanceof ASN1CollectionOf) {
+            var values = ((ASN1CollectionOf<?, ?>) value).getValues();
+
+            if (values != null) {
+                for (var element : values) {
+                    validate(element);
+                }
+            }
+        } else if (value instanceof ASN1OpenType) {
+            validate(((ASN1OpenType) value).getValue());
+        }
+
+        if (value instanceof HasConstraint) {
+            ((HasConstraint) value).checkConstraint();
+        }
+    }
+
+    private static void validateComponents(AbstractASN1Collection collection) {
+        collection.resolveComponents();
+
+        for (var field : COMPONENTS.get(collection.getClass())) {
+            try {
+                validate((ASN1Type) field.get(collection));
+            } catch (IllegalAccessException e) {
+                throw new ValidationException(String.format("Failed to access component %s.%s: %s",
+                        collection.getClass().getSimpleName(), field.getName(), e.getMessage()));
+            }
+        }
+    }
+
+}
@@ -31,6 +31,7 @@ import ch.eskaton.asn4j.runtime.annotations.ASN1Tag;
 import ch.eskaton.asn4j.runtime.types.ASN1Type;
 
 import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.Map;
 
@@ -38,6 +39,8 @@ public interface Decoder {
 
     <T extends ASN1Type> T decode(Class<T> type, byte[] buf);
 
+    <T extends ASN1Type> T decode(Class<T> type, ByteBuffer buffer);
+
     <T extends ASN1Type> DecodingResult<T> decode(Class<T> type, DecoderStates states);
 
     DecoderState decode(DecoderStates states);
@@ -48,6 +51,12 @@ public interface Decoder {
 
     DecodingResult<? extends ASN1Type> decode(DecoderStates states, Map<List<ASN1Tag>, Class<? extends ASN1Type>> tags);
 
+    <T extends ASN1Type> DecodingResult<T> decodeTagged(Class<T> type, DecoderStates states, List<ASN1Tag> tags);
+
     <T extends ASN1Type> T decodeOpenType(DecoderStates states, DecoderState state, boolean optional);
 
+    <T extends ASN1Type> T decodeComponent(Class<T> type, DecoderStates states, List<TagId> tags, boolean optional);
+
+    int peekTag(DecoderStates states);
+
 }
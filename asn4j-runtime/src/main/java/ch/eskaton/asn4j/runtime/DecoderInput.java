@@ -0,0 +1,179 @@
+/*
+ *  Copyright (c) 2015, Adrian Moser
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  * Redistributions of source code must retain the above copyright
+ *  notice, this list of conditions and the following disclaimer.
+ *  * Redistributions in binary form must reproduce the above copyright
+ *  notice, this list of conditions and the following disclaimer in the
+ *  documentation and/or other materials provided with the distribution.
+ *  * Neither the name of the author nor the
+ *  names of its contributors may be used to endorse or promote products
+ *  derived from this software without specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL AUTHOR BE LIABLE FOR ANY
+ *  DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *  ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package ch.eskaton.asn4j.runtime;
+
+import ch.eskaton.asn4j.runtime.utils.ToString;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Input of the decoder. The input is either a {@code byte[]} or the window between the position and the limit of a
+ * {@link ByteBuffer}, which may be a direct or a memory-mapped buffer. The input isn't copied, positions are relative
+ * to the start of the window.
+ */
+public final class DecoderInput {
+
+    private final byte[] array;
+
+    private final ByteBuffer buffer;
+
+    private final int offset;
+
+    private final int length;
+
+    private volatile Map<Integer, Integer> endsOfContents;
+
+    private DecoderInput(byte[] array, ByteBuffer buffer, int offset, int length) {
+        this.array = array;
+        this.buffer = buffer;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    public static DecoderInput of(byte[] buf) {
+        return new DecoderInput(buf, null, 0, buf.length);
+    }
+
+    public static DecoderInput of(ByteBuffer buffer) {
+        if (buffer.hasArray()) {
+            return new DecoderInput(buffer.array(), null, buffer.arrayOffset() + buffer.position(),
+                    buffer.remaining());
+        }
+
+        return new DecoderInput(null, buffer, buffer.position(), buffer.remaining());
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public byte get(int pos) {
+        if (pos < 0 || pos >= length) {
+            throw new IndexOutOfBoundsException(pos);
+        }
+
+        return array != null ? array[offset + pos] : buffer.get(offset + pos);
+    }
+
+    public byte[] getBytes(int pos, int length) {
+        var buf = new byte[length];
+
+        getBytes(pos, buf, 0, length);
+
+        return buf;
+    }
+
+    public void getBytes(int pos, byte[] dst, int dstOffset, int length) {
+        if (pos < 0 || length < 0 || pos > this.length - length) {
+            throw new IndexOutOfBoundsException(pos);
+        }
+
+        if (array != null) {
+            System.arraycopy(array, offset + pos, dst, dstOffset, length);
+        } else {
+            buffer.get(offset + pos, dst, dstOffset, length);
+        }
+    }
+
+    /**
+     * Decodes {@code length} bytes at {@code pos} as a string. Bytes in an array are decoded in place.
+     */
+    public String getString(int pos, int length, Charset charset) {
+        if (pos < 0 || length < 0 || pos > this.length - length) {
+            throw new IndexOutOfBoundsException(pos);
+        }
+
+        if (array != null) {
+            return new String(array, offset + pos, length, charset);
+        }
+
+        return new String(getBytes(pos, length), charset);
+    }
+
+    /**
+     * Returns the position of the end-of-contents octets of the indefinite length value whose contents start at
+     * {@code pos} or -1 if it isn't known yet.
+     */
+    int getEndOfContents(int pos) {
+        var ends = endsOfContents;
+
+        if (ends == null) {
+            return -1;
+        }
+
+        return ends.getOrDefault(pos, -1);
+    }
+
+    void putEndOfContents(int pos, int end) {
+        var ends = endsOfContents;
+
+        if (ends == null) {
+            synchronized (this) {
+                ends = endsOfContents;
+
+                if (ends == null) {
+                    ends = new ConcurrentHashMap<>();
+                    endsOfContents = ends;
+                }
+            }
+        }
+
+        ends.put(pos, end);
+    }
+
+    /**
+     * Returns a view of {@code length} bytes at {@code pos}. The bytes aren't copied.
+     */
+    public DecoderInput slice(int pos, int length) {
+        if (pos < 0 || length < 0 || pos > this.length - length) {
+            throw new IndexOutOfBoundsException(pos);
+        }
+
+        return new DecoderInput(array, buffer, offset + pos, length);
+    }
+
+    /**
+     * Returns a read-only buffer over the bytes of this input. The bytes aren't copied.
+     */
+    public ByteBuffer asByteBuffer() {
+        if (array != null) {
+            return ByteBuffer.wrap(array, offset, length).slice().asReadOnlyBuffer();
+        }
+
+        return buffer.slice(offset, length).asReadOnlyBuffer();
+    }
+
+    @Override
+    public String toString() {
+        return ToString.get(this, "offset", "length");
+    }
+
+}
@@ -52,6 +52,13 @@ public class DecoderState {
         this.length = length;
     }
 
+    void set(TLV tlv, int pos, int length) {
+        this.tlv.copyFrom(tlv);
+        this.pos = pos;
+        this.length = length;
+        this.tagIds = null;
+    }
+
     public List<TagId> getTagIds() {
         return tagIds;
     }
@@ -31,28 +31,81 @@ import ch.eskaton.asn4j.runtime.utils.ToString;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Deque;
-import java.util.LinkedList;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
 
 @SuppressWarnings("squid:ClassVariableVisibilityCheck")
 public class DecoderStates {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DecoderStates.class);
 
-    public byte[] buf;
+    private static final int INITIAL_DEPTH = 16;
 
-    private Deque<DecoderState> states = new LinkedList<>();
+    public DecoderInput input;
+
+    public boolean zeroCopy;
+
+    public boolean lazy;
+
+    public int parallelThreshold;
+
+    public boolean validate = true;
+
+    private DecoderState[] states = new DecoderState[INITIAL_DEPTH];
+
+    private DecoderState[] frames = new DecoderState[INITIAL_DEPTH];
+
+    private int size;
+
+    private final TLV lookahead = new TLV();
+
+    private DecoderInput lookaheadInput;
+
+    private int lookaheadPos;
+
+    private int lookaheadLength;
 
     public DecoderState push(DecoderState state) {
         LOGGER.trace("Pushing state: {}", state);
 
-        states.push(state);
+        ensureCapacity();
+
+        states[size++] = state;
+
+        return state;
+    }
+
+    /**
+     * Pushes the state of the value described by {@code tlv}. The frame allocated for the current depth by an
+     * earlier call is reused, so a state must not be retained after it has been popped.
+     */
+    public DecoderState push(TLV tlv, int pos, int length) {
+        ensureCapacity();
+
+        var state = frames[size];
+
+        if (state == null) {
+            state = new DecoderState(new TLV(), pos, length);
+            frames[size] = state;
+        }
+
+        state.set(tlv, pos, length);
+        states[size++] = state;
+
+        LOGGER.trace("Pushing state: {}", state);
 
         return state;
     }
 
     public DecoderState pop() {
-        DecoderState state = states.pop();
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+
+        DecoderState state = states[--size];
+
+        states[size] = null;
 
         LOGGER.trace("Popping state: {}", state);
 
@@ -60,11 +113,30 @@ public class DecoderStates {
     }
 
     public DecoderState peek() {
-        return states.peek();
+        return size > 0 ? states[size - 1] : null;
     }
 
     public int size() {
-        return states.size();
+        return size;
+    }
+
+    /**
+     * Returns the header at {@code pos}. The returned instance is shared and only valid until the next call for a
+     * different position. Looking up the same position again, e.g. while trying the optional components of a
+     * SEQUENCE, returns the header parsed before.
+     */
+    public TLV getTLV(int pos, int length) throws IOException {
+        if (lookaheadInput != input || lookaheadPos != pos || lookaheadLength != length) {
+            lookaheadInput = null;
+
+            TLV.getTLV(input, pos, length, lookahead);
+
+            lookaheadInput = input;
+            lookaheadPos = pos;
+            lookaheadLength = length;
+        }
+
+        return lookahead;
     }
 
     public DecoderState back() {
@@ -85,10 +157,16 @@ public class DecoderStates {
             }
         }
 
-
         return removedState;
     }
 
+    private void ensureCapacity() {
+        if (size == states.length) {
+            states = Arrays.copyOf(states, size * 2);
+            frames = Arrays.copyOf(frames, size * 2);
+        }
+    }
+
     @Override
     public String toString() {
         return ToString.get(this);
@@ -30,6 +30,9 @@ package ch.eskaton.asn4j.runtime;
 import ch.eskaton.asn4j.runtime.annotations.ASN1Tag;
 import ch.eskaton.asn4j.runtime.types.ASN1Type;
 
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
 import java.util.List;
 
 public interface Encoder {
@@ -40,4 +43,17 @@ public interface Encoder {
 
     byte[] encode(ASN1Type obj, List<ASN1Tag> tag);
 
+    byte[] encode(ASN1Type obj, byte[][] tags);
+
+    EncodingResult encodeComponent(ASN1Type obj, byte[][] tags);
+
+    int encode(ASN1Type obj, ByteBuffer buffer);
+
+    int encode(ASN1Type obj, OutputStream out);
+
+    /**
+     * Encodes {@code obj} into {@code channel}, which must be in blocking mode.
+     */
+    int encode(ASN1Type obj, WritableByteChannel channel);
+
 }
@@ -29,40 +29,180 @@
 
 package ch.eskaton.asn4j.runtime;
 
+import ch.eskaton.asn4j.runtime.encoders.ByteArraySink;
+import ch.eskaton.asn4j.runtime.encoders.EncodingSink;
 import ch.eskaton.asn4j.runtime.utils.ToString;
 import ch.eskaton.commons.utils.HexDump;
 
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * The encoded content of a value. A result is either backed by a buffer, by a writer which writes the content
+ * directly into a sink or it is composed of the results of its components. Lengths are known as soon as a result is
+ * created, so that an encoded value can be written into a single buffer or sink once it is complete, instead of being
+ * copied at every level of nesting.
+ */
 public class EncodingResult {
 
+    /**
+     * Primitive contents up to this length are copied into a single buffer together with their tags and length.
+     */
+    private static final int MERGE_THRESHOLD = 64;
+
+    private static final byte[] END_OF_CONTENTS = new byte[2];
+
     private final byte[] buffer;
 
+    private final Consumer<EncodingSink> writer;
+
+    private final List<EncodingResult> components;
+
+    private final int length;
+
     private final boolean constructed;
 
+    private final boolean indefinite;
+
     public EncodingResult(byte[] buffer, boolean constructed) {
         this.buffer = buffer;
+        this.writer = null;
+        this.components = null;
+        this.length = buffer.length;
+        this.constructed = constructed;
+        this.indefinite = false;
+    }
+
+    public EncodingResult(int length, Consumer<EncodingSink> writer, boolean constructed) {
+        this.buffer = null;
+        this.writer = writer;
+        this.components = null;
+        this.length = length;
         this.constructed = constructed;
+        this.indefinite = false;
+    }
+
+    public EncodingResult(List<EncodingResult> components, boolean constructed) {
+        this(components, constructed, false);
+    }
+
+    private EncodingResult(List<EncodingResult> components, boolean constructed, boolean indefinite) {
+        var length = indefinite ? END_OF_CONTENTS.length : 0;
+
+        for (var component : components) {
+            length += component.getLength();
+        }
+
+        this.buffer = null;
+        this.writer = null;
+        this.components = components;
+        this.length = length;
+        this.constructed = constructed;
+        this.indefinite = indefinite;
     }
 
     public static EncodingResult of(byte[] buf, boolean constructed) {
         return new EncodingResult(buf, constructed);
     }
 
+    /**
+     * Creates a result of {@code length} bytes, which are written by {@code writer} when the encoded value is written.
+     */
+    public static EncodingResult of(int length, Consumer<EncodingSink> writer, boolean constructed) {
+        return new EncodingResult(length, writer, constructed);
+    }
+
+    public static EncodingResult of(List<EncodingResult> components, boolean constructed) {
+        return new EncodingResult(components, constructed);
+    }
+
+    /**
+     * Creates a constructed result of the given components, which is encoded with an indefinite length. The length of
+     * the result includes the end-of-contents octets, which are written after the components.
+     */
+    public static EncodingResult indefinite(List<EncodingResult> components) {
+        return new EncodingResult(components, true, true);
+    }
+
+    /**
+     * Prepends the encoded tags and length to the content.
+     */
+    public static EncodingResult of(byte[] tagLength, EncodingResult content) {
+        if (content.buffer != null && content.length <= MERGE_THRESHOLD) {
+            var buf = new byte[tagLength.length + content.length];
+
+            System.arraycopy(tagLength, 0, buf, 0, tagLength.length);
+            System.arraycopy(content.buffer, 0, buf, tagLength.length, content.length);
+
+            return new EncodingResult(buf, content.isConstructed());
+        } else if (content.writer != null) {
+            var contentWriter = content.writer;
+
+            return new EncodingResult(tagLength.length + content.length, sink -> {
+                sink.write(tagLength);
+                contentWriter.accept(sink);
+            }, content.isConstructed());
+        }
+
+        return new EncodingResult(List.of(new EncodingResult(tagLength, false), content), content.isConstructed());
+    }
+
     public byte[] getBuffer() {
-        return buffer;
+        if (buffer != null) {
+            return buffer;
+        }
+
+        var buf = new byte[length];
+
+        write(buf, 0);
+
+        return buf;
+    }
+
+    /**
+     * Writes the encoded content to {@code buf} at {@code pos} and returns the position after the last written byte.
+     */
+    public int write(byte[] buf, int pos) {
+        var sink = new ByteArraySink(buf, pos);
+
+        write(sink);
+
+        return sink.getPosition();
+    }
+
+    public void write(EncodingSink sink) {
+        if (buffer != null) {
+            sink.write(buffer, 0, buffer.length);
+        } else if (writer != null) {
+            writer.accept(sink);
+        } else {
+            for (var component : components) {
+                component.write(sink);
+            }
+
+            if (indefinite) {
+                sink.write(END_OF_CONTENTS);
+            }
+        }
     }
 
     public boolean isConstructed() {
         return constructed;
     }
 
+    public boolean isIndefinite() {
+        return indefinite;
+    }
+
     public int getLength() {
-        return buffer.length;
+        return length;
     }
 
     @Override
     public String toString() {
         return ToString.builder(this)
-                .addAll()
+                .add("buffer", getBuffer())
+                .add("constructed", constructed)
                 .map("buffer", b -> HexDump.toHexString((byte[]) b))
                 .build();
     }
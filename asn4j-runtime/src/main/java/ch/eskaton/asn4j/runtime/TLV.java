@@ -27,13 +27,23 @@
 
 package ch.eskaton.asn4j.runtime;
 
+import ch.eskaton.asn4j.runtime.annotations.ASN1Tag;
+import ch.eskaton.asn4j.runtime.exceptions.DecodingException;
 import ch.eskaton.asn4j.runtime.utils.ToString;
 
 import java.io.IOException;
+import java.util.Arrays;
 
 @SuppressWarnings("squid:ClassVariableVisibilityCheck")
 public class TLV {
 
+    /**
+     * Maximum number of nested values with indefinite length.
+     */
+    static final int MAX_INDEFINITE_DEPTH = 1024;
+
+    private static final Clazz[] CLAZZES = Clazz.values();
+
     public int pos;
 
     public Clazz clazz;
@@ -44,22 +54,60 @@ public class TLV {
 
     public int length;
 
+    public boolean indefinite;
+
     public int nextTlv;
 
-    TLV() {
+    public TLV() {
     }
 
     public static TLV getTLV(byte[] buf, int pos, int length)
             throws IOException {
-        if (pos >= buf.length) {
-            return throwPrematureEndOfInput();
+        return getTLV(DecoderInput.of(buf), pos, length);
+    }
+
+    public static TLV getTLV(DecoderInput input, int pos, int length)
+            throws IOException {
+        return getTLV(input, pos, length, new TLV());
+    }
+
+    /**
+     * Parses the header at {@code pos} into {@code tlv}, which allows callers to reuse a single instance. The length
+     * of a value with indefinite length is determined by searching its end-of-contents octets, which aren't included
+     * in {@code length}, whereas {@code nextTlv} points behind them. The ends found are recorded in the input, so
+     * that nested values aren't searched again. If {@code length} is positive, the search doesn't go beyond
+     * {@code pos + length}.
+     */
+    public static TLV getTLV(DecoderInput input, int pos, int length, TLV tlv)
+            throws IOException {
+        getHeader(input, pos, tlv);
+
+        if (tlv.indefinite) {
+            var limit = length > 0 ? (int) Math.min((long) pos + length, input.length()) : input.length();
+            var end = findEndOfContents(input, tlv.pos, limit, tlv);
+
+            getHeader(input, pos, tlv);
+
+            tlv.length = end - tlv.pos;
+            tlv.nextTlv = end + 2;
+        } else if (length > 0 && tlv.length >= length) {
+            tlv.nextTlv = -1;
         }
 
-        int id = buf[pos++];
+        return tlv;
+    }
+
+    /**
+     * Parses only the header at {@code pos}. If the length is indefinite, {@code length} and {@code nextTlv} are -1.
+     */
+    public static TLV getHeader(DecoderInput input, int pos, TLV tlv) throws IOException {
+        if (pos >= input.length()) {
+            return throwPrematureEndOfInput();
+        }
 
-        TLV tlv = new TLV();
+        int id = input.get(pos++);
 
-        tlv.clazz = Clazz.values()[(id >> 6) & 0x3];
+        tlv.clazz = CLAZZES[(id >> 6) & 0x3];
         tlv.constructed = ((id >> 5) & 0x1) == 1;
         tlv.tag = id & 0x1f;
 
@@ -68,11 +116,11 @@ public class TLV {
             int c;
 
             do {
-                if (pos >= buf.length) {
+                if (pos >= input.length()) {
                     throwPrematureEndOfInput();
                 }
 
-                c = buf[pos++];
+                c = input.get(pos++);
 
                 longTag = (longTag << 7) | (c & 0x7F);
 
@@ -81,50 +129,166 @@ public class TLV {
             tlv.tag = longTag;
         }
 
-        if (pos >= buf.length) {
+        if (pos >= input.length()) {
             throwPrematureEndOfInput();
         }
 
-        tlv.length = buf[pos++] & 0xFF;
+        tlv.length = input.get(pos++) & 0xFF;
+        tlv.indefinite = tlv.length == 0x80;
 
-        if ((tlv.length & 0x80) != 0) {
+        if (tlv.length == 0xFF) {
+            throw new DecodingException("Reserved length octet");
+        } else if ((tlv.length & 0x80) != 0) {
             int sizeLen = tlv.length & 0x7F;
-            tlv.length = 0;
+            long longLength = 0;
 
+            // Leading zero octets are allowed in BER
             while (sizeLen-- > 0) {
-                if (pos >= buf.length) {
+                if (pos >= input.length()) {
                     throwPrematureEndOfInput();
                 }
 
-                int c = buf[pos++];
+                int c = input.get(pos++);
+
+                longLength = (longLength << 8) | (c & 0xFF);
 
-                tlv.length = (tlv.length << 8) | (c & 0xFF);
+                if (longLength > Integer.MAX_VALUE) {
+                    throw new DecodingException("Unsupported length exceeding %d", Integer.MAX_VALUE);
+                }
             }
+
+            tlv.length = (int) longLength;
         }
 
         tlv.pos = pos;
-        if (length > 0 && tlv.length >= length) {
+
+        if (tlv.indefinite) {
+            if (!tlv.constructed) {
+                throw new DecodingException("Indefinite length of a primitive value");
+            }
+
+            tlv.length = -1;
             tlv.nextTlv = -1;
         } else {
-            if (tlv.constructed && tlv.length == 0) {
-                tlv.length = -1;
-                tlv.nextTlv = -1;
-            } else {
-                tlv.nextTlv = pos + tlv.length;
+            if (tlv.length > input.length() - pos) {
+                throwPrematureEndOfInput();
             }
+
+            tlv.nextTlv = pos + tlv.length;
         }
 
         return tlv;
     }
 
+    /**
+     * Returns the position of the end-of-contents octets of the value whose contents start at {@code start} and
+     * which must not extend beyond {@code limit}. Nested values with indefinite length are tracked on an explicit
+     * stack. {@code tlv} is overwritten.
+     */
+    private static int findEndOfContents(DecoderInput input, int start, int limit, TLV tlv) throws IOException {
+        var end = input.getEndOfContents(start);
+
+        if (end != -1) {
+            checkLimit(end + 2, limit, start);
+
+            return end;
+        }
+
+        var starts = new int[8];
+        var depth = 0;
+        var pos = start;
+
+        starts[0] = start;
+
+        while (true) {
+            if (pos >= limit) {
+                if (limit == input.length()) {
+                    throwPrematureEndOfInput();
+                }
+
+                throw new DecodingException("Value at position %d exceeds its enclosing value", starts[depth]);
+            }
+
+            getHeader(input, pos, tlv);
+
+            if (tlv.isEndOfContents()) {
+                checkLimit(tlv.pos, limit, starts[depth]);
+                input.putEndOfContents(starts[depth], pos);
+
+                if (depth == 0) {
+                    return pos;
+                }
+
+                depth--;
+                pos = tlv.pos;
+            } else if (tlv.indefinite) {
+                end = input.getEndOfContents(tlv.pos);
+
+                if (end != -1) {
+                    checkLimit(end + 2, limit, tlv.pos);
+
+                    pos = end + 2;
+
+                    continue;
+                }
+
+                if (++depth >= MAX_INDEFINITE_DEPTH) {
+                    throw new DecodingException("Indefinite lengths nested deeper than %d levels",
+                            MAX_INDEFINITE_DEPTH);
+                } else if (depth == starts.length) {
+                    starts = Arrays.copyOf(starts, depth * 2);
+                }
+
+                starts[depth] = tlv.pos;
+                pos = tlv.pos;
+            } else {
+                checkLimit(tlv.nextTlv, limit, pos);
+
+                pos = tlv.nextTlv;
+            }
+        }
+    }
+
+    private static void checkLimit(int end, int limit, int pos) {
+        if (end > limit) {
+            throw new DecodingException("Value at position %d exceeds its enclosing value", pos);
+        }
+    }
+
     private static TLV throwPrematureEndOfInput() throws IOException {
         throw new IOException("Premature end of input");
     }
 
+    public boolean isEndOfContents() {
+        return tag == 0 && clazz == Clazz.UNIVERSAL && !constructed && length == 0;
+    }
+
     public TagId getTagId() {
         return new TagId(clazz, tag);
     }
 
+    public int getKey() {
+        return TagId.toKey(clazz, tag);
+    }
+
+    public boolean matches(ASN1Tag asn1Tag) {
+        return asn1Tag.tag() == tag && asn1Tag.clazz() == clazz;
+    }
+
+    public boolean matches(TagId tagId) {
+        return tagId.getTag() == tag && tagId.getClazz() == clazz;
+    }
+
+    void copyFrom(TLV tlv) {
+        this.pos = tlv.pos;
+        this.clazz = tlv.clazz;
+        this.constructed = tlv.constructed;
+        this.tag = tlv.tag;
+        this.length = tlv.length;
+        this.indefinite = tlv.indefinite;
+        this.nextTlv = tlv.nextTlv;
+    }
+
     @Override
     public String toString() {
         return ToString.get(this);
@@ -56,6 +56,10 @@ public class TagId {
         return tags.stream().map(TagId::fromTag).collect(toList());
     }
 
+    public static int toKey(Clazz clazz, int tag) {
+        return tag << 2 | clazz.ordinal();
+    }
+
     public Clazz getClazz() {
         return clazz;
     }
@@ -64,6 +68,10 @@ public class TagId {
         return tag;
     }
 
+    public int getKey() {
+        return toKey(clazz, tag);
+    }
+
     public boolean equalsASN1Tag(ASN1Tag asn1Tag) {
         return asn1Tag.clazz().equals(clazz) && asn1Tag.tag() == tag;
     }
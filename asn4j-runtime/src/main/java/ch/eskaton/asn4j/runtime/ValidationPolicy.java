@@ -0,0 +1,101 @@
+/*
+ *
+ *  *  Copyright (c) 2015, Adrian Moser
+ *  *  All rights reserved.
+ *  *
+ *  *  Redistribution and use in source and binary forms, with or without
+ *  *  modification, are permitted provided that the following conditions are met:
+ *  *  * Redistributions of source code must retain the above copyright
+ *  *  notice, this list of conditions and the following disclaimer.
+ *  *  * Redistributions in binary form must reproduce the above copyright
+ *  *  notice, this list of conditions and the following disclaimer in the
+ *  *  documentation and/or other materials provided with the distribution.
+ *  *  * Neither the name of the author nor the
+ *  *  names of its contributors may be used to endorse or promote products
+ *  *  derived from this software without specific prior written permission.
+ *  *
+ *  *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  *  DISCLAIMED. IN NO EVENT SHALL AUTHOR BE LIABLE FOR ANY
+ *  *  DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *  *  ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package ch.eskaton.asn4j.runtime;
+
+import ch.eskaton.asn4j.runtime.utils.ToString;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Determines when the constraints of the values which are encoded or decoded are checked. A message is the outermost
+ * value passed to or returned by an encoder or decoder.
+ */
+public final class ValidationPolicy {
+
+    /**
+     * Checks the constraints of every value as soon as it has been decoded or before it is encoded. This is the
+     * default.
+     */
+    public static final ValidationPolicy EAGER = new ValidationPolicy(true, 0);
+
+    /**
+     * Checks the constraints of every message once, in a single pass over the whole value after it has been decoded
+     * or before it is encoded.
+     */
+    public static final ValidationPolicy ONCE = new ValidationPolicy(false, 1);
+
+    /**
+     * Doesn't check any constraints. Meant for trusted input, e.g. values which have been built and validated by the
+     * application itself.
+     */
+    public static final ValidationPolicy NONE = new ValidationPolicy(false, 0);
+
+    private final boolean eager;
+
+    private final int interval;
+
+    private final AtomicLong messages = new AtomicLong();
+
+    private ValidationPolicy(boolean eager, int interval) {
+        this.eager = eager;
+        this.interval = interval;
+    }
+
+    /**
+     * Checks the constraints of every {@code interval}-th message like {@link #ONCE} and skips the others.
+     */
+    public static ValidationPolicy sampled(int interval) {
+        if (interval < 1) {
+            throw new IllegalArgumentException("Invalid interval: " + interval);
+        }
+
+        return new ValidationPolicy(false, interval);
+    }
+
+    /**
+     * Returns true if the constraints of each value are checked while it is encoded or decoded.
+     */
+    public boolean isEager() {
+        return eager;
+    }
+
+    /**
+     * Returns true if the next message has to be validated as a whole. Must be called exactly once per message.
+     */
+    public boolean isSelected() {
+        return interval == 1 || interval > 1 && messages.getAndIncrement() % interval == 0;
+    }
+
+    @Override
+    public String toString() {
+        return ToString.get(this);
+    }
+
+}
@@ -45,9 +45,9 @@ public abstract class AbstractOIDDecoder<T extends AbstractASN1OID> implements T
 
         for (int i = 0; i < state.length; i++) {
             component <<= 7;
-            component |= states.buf[state.pos + i] & 0x7F;
+            component |= states.input.get(state.pos + i) & 0x7F;
 
-            if ((states.buf[state.pos + i] & 0x80) == 0) {
+            if ((states.input.get(state.pos + i) & 0x80) == 0) {
                 decodeComponent(components, component);
                 component = 0;
             }
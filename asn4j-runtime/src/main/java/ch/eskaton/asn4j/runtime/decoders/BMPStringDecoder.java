@@ -32,7 +32,6 @@ import ch.eskaton.asn4j.runtime.DecoderStates;
 import ch.eskaton.asn4j.runtime.exceptions.ASN1RuntimeException;
 import ch.eskaton.asn4j.runtime.exceptions.DecodingException;
 import ch.eskaton.asn4j.runtime.types.ASN1BMPString;
-import ch.eskaton.asn4j.runtime.utils.RuntimeUtils;
 
 import java.nio.charset.StandardCharsets;
 
@@ -41,7 +40,7 @@ public class BMPStringDecoder implements TypeDecoder<ASN1BMPString> {
     @Override
     public void decode(DecoderStates states, DecoderState state, ASN1BMPString obj) {
         try {
-            obj.setValue(new String(RuntimeUtils.getValue(states, state), StandardCharsets.UTF_16));
+            obj.setValue(StringSegments.getString(states, state, StandardCharsets.UTF_16BE));
         } catch (ASN1RuntimeException e) {
             throw new DecodingException(e);
         }
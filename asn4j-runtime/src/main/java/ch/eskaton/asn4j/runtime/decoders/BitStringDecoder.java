@@ -37,21 +37,34 @@ public class BitStringDecoder implements TypeDecoder<ASN1BitString> {
 
     @Override
     public void decode(DecoderStates states, DecoderState state, ASN1BitString obj) {
-        byte unusedBits = states.buf[state.pos];
+        if (state.tlv.constructed) {
+            var segments = StringSegments.ofBitString(states, state);
+
+            if (states.zeroCopy && segments.getCount() <= 1) {
+                obj.setView(segments.getLastSegment(), segments.getUnusedBits());
+            } else {
+                obj.setValue(segments.copy(), segments.getUnusedBits());
+            }
+
+            return;
+        }
+
+        byte unusedBits = states.input.get(state.pos);
 
         if (state.length == 1) {
-            if (states.buf[state.pos] != 0) {
+            if (states.input.get(state.pos) != 0) {
                 throw new DecodingException("Unused bits must be 0 if content is empty");
             }
         } else {
-            if (states.buf.length - state.pos < state.length) {
+            if (states.input.length() - state.pos < state.length) {
                 throw new PrematureEndOfInputException();
             }
 
-            byte[] value = new byte[state.length - 1];
+            obj.setView(states.input.slice(state.pos + 1, state.length - 1), unusedBits);
 
-            System.arraycopy(states.buf, state.pos + 1, value, 0, state.length - 1);
-            obj.setValue(value, unusedBits);
+            if (!states.zeroCopy) {
+                obj.detach();
+            }
         }
     }
 
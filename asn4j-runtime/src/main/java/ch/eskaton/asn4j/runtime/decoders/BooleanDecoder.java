@@ -35,7 +35,7 @@ public class BooleanDecoder implements TypeDecoder<ASN1Boolean> {
 
     @Override
     public void decode(DecoderStates states, DecoderState state, ASN1Boolean obj) {
-        obj.setValue(states.buf[state.pos] != 0x00);
+        obj.setValue(states.input.get(state.pos) != 0x00);
     }
 
 }
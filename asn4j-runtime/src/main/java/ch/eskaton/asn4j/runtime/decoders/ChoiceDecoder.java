@@ -29,33 +29,27 @@ package ch.eskaton.asn4j.runtime.decoders;
 
 import ch.eskaton.asn4j.runtime.Decoder;
 import ch.eskaton.asn4j.runtime.DecoderStates;
-import ch.eskaton.asn4j.runtime.DecodingResult;
-import ch.eskaton.asn4j.runtime.annotations.ASN1Alternative;
-import ch.eskaton.asn4j.runtime.annotations.ASN1Tag;
 import ch.eskaton.asn4j.runtime.exceptions.DecodingException;
 import ch.eskaton.asn4j.runtime.types.ASN1Choice;
 import ch.eskaton.asn4j.runtime.types.ASN1OpenType;
 import ch.eskaton.asn4j.runtime.types.ASN1Type;
 
-import java.util.List;
-import java.util.Map;
-import java.util.function.Consumer;
+import java.util.function.BiConsumer;
 
 public class ChoiceDecoder {
 
     public <T extends ASN1Choice> T decode(Decoder decoder, DecoderStates states, T obj, boolean optional) {
-        FieldMetaData metaData = new FieldMetaData(obj, ASN1Alternative.class);
-        Map<List<ASN1Tag>, Class<? extends ASN1Type>> tagsToTypes = metaData.getTagsToTypes();
-        DecodingResult<? extends ASN1Type> result;
+        var metaData = DecodingPlan.of(obj.getClass()).getFieldMetaData();
+        var tagData = metaData.getTagData();
 
-        if (tagsToTypes.size() == 1 &&
-                ASN1OpenType.class.isAssignableFrom(tagsToTypes.values().stream().findFirst().get())) {
+        if (tagData.size() == 1 && ASN1OpenType.class.isAssignableFrom(tagData.get(0).getType())) {
             var value = decoder.decodeOpenType(states, states.peek(), true);
-            var setter = metaData.getTagData().get(0).getSetter();
 
-            setValue(value, setter);
+            setValue(obj, value, tagData.get(0).getSetter());
         } else {
-            result = decoder.decode(states, tagsToTypes);
+            var index = metaData.indexOf(decoder.peekTag(states));
+            var data = index >= 0 ? metaData.getTagData(index) : null;
+            var result = data != null ? decoder.decodeTagged(data.getType(), states, data.getTags()) : null;
 
             if (result == null) {
                 if (optional) {
@@ -65,20 +59,18 @@ public class ChoiceDecoder {
                 throw new DecodingException("Empty choice");
             }
 
-            var setter = metaData.getSetter(result.getTags());
-
-            setValue(result.getObj(), setter);
+            setValue(obj, result.getObj(), data.getSetter());
         }
 
         return obj;
     }
 
-    private void setValue(ASN1Type value, Consumer<ASN1Type> setter) {
+    private void setValue(ASN1Type obj, ASN1Type value, BiConsumer<ASN1Type, ASN1Type> setter) {
         if (setter == null) {
             throw new DecodingException("Failed to decode a value of the type " + value.getClass().getSimpleName());
         }
 
-        setter.accept(value);
+        setter.accept(obj, value);
     }
 
 }
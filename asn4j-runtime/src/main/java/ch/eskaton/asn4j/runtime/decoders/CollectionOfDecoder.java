@@ -30,36 +30,43 @@
 package ch.eskaton.asn4j.runtime.decoders;
 
 import ch.eskaton.asn4j.runtime.Decoder;
+import ch.eskaton.asn4j.runtime.DecoderState;
 import ch.eskaton.asn4j.runtime.DecoderStates;
 import ch.eskaton.asn4j.runtime.DecodingResult;
-import ch.eskaton.asn4j.runtime.exceptions.ASN1RuntimeException;
+import ch.eskaton.asn4j.runtime.TLV;
+import ch.eskaton.asn4j.runtime.exceptions.DecodingException;
 import ch.eskaton.asn4j.runtime.types.ASN1CollectionOf;
 import ch.eskaton.asn4j.runtime.types.ASN1Type;
 
-import java.lang.reflect.ParameterizedType;
+import java.io.IOException;
 import java.lang.reflect.Type;
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 public abstract class CollectionOfDecoder<T extends ASN1CollectionOf> implements CollectionDecoder<T> {
 
-    @SuppressWarnings("unchecked")
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /**
+     * Number of elements per task, relative to the parallelism of the pool.
+     */
+    private static final int TASKS_PER_THREAD = 4;
+
     public void decode(Decoder decoder, DecoderStates states, Type type, T obj) {
-        Type paramType;
+        var paramType = DecodingPlan.getElementType(type);
+        var state = states.peek();
 
-        if (type instanceof ParameterizedType) {
-            paramType = ((ParameterizedType) type).getActualTypeArguments()[0];
-        } else if (type instanceof Class) {
-            Class parent = (Class) type;
+        if (states.parallelThreshold > 0 && state.length >= states.parallelThreshold) {
+            var elements = decodeParallel(decoder, states, state, paramType);
 
-            while (!(parent.getGenericSuperclass() instanceof ParameterizedType)) {
-                parent = parent.getSuperclass();
-            }
+            if (elements != null) {
+                obj.setValues(elements);
 
-            ParameterizedType pt = (ParameterizedType) parent.getGenericSuperclass();
-            paramType = pt.getActualTypeArguments()[0];
-        } else {
-            throw new ASN1RuntimeException("Unsupported paramType");
+                return;
+            }
         }
 
         List<ASN1Type> elements = new LinkedList<>();
@@ -84,4 +91,121 @@ public abstract class CollectionOfDecoder<T extends ASN1CollectionOf> implements
         obj.setValues(elements);
     }
 
+    /**
+     * Determines the boundaries of the elements by parsing their headers and decodes them in parallel. Returns
+     * {@code null} without consuming anything if the boundaries can't be determined, so that the elements are decoded
+     * sequentially, which reports the error.
+     */
+    private List<ASN1Type> decodeParallel(Decoder decoder, DecoderStates states, DecoderState state, Type type) {
+        var positions = new int[INITIAL_CAPACITY];
+        var lengths = new int[INITIAL_CAPACITY];
+        var tlv = new TLV();
+        var pos = state.pos;
+        var end = state.pos + state.length;
+        var count = 0;
+
+        try {
+            while (pos < end) {
+                TLV.getTLV(states.input, pos, end - pos, tlv);
+
+                if (tlv.nextTlv == -1 || tlv.nextTlv > end) {
+                    return null;
+                }
+
+                if (count == positions.length) {
+                    positions = Arrays.copyOf(positions, count * 2);
+                    lengths = Arrays.copyOf(lengths, count * 2);
+                }
+
+                positions[count] = pos;
+                lengths[count] = tlv.nextTlv - pos;
+                count++;
+                pos = tlv.nextTlv;
+            }
+        } catch (IOException e) {
+            return null;
+        }
+
+        var elements = new ASN1Type[count];
+        var pool = ForkJoinPool.commonPool();
+        var batchSize = Math.max(1, count / (pool.getParallelism() * TASKS_PER_THREAD));
+
+        pool.invoke(new DecodeTask(decoder, states, type, positions, lengths, elements, 0, count, batchSize));
+
+        state.pos = end;
+        state.length = 0;
+
+        return Arrays.asList(elements);
+    }
+
+    private static class DecodeTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient Decoder decoder;
+
+        private final transient DecoderStates states;
+
+        private final transient Type type;
+
+        private final int[] positions;
+
+        private final int[] lengths;
+
+        private final transient ASN1Type[] elements;
+
+        private final int from;
+
+        private final int to;
+
+        private final int batchSize;
+
+        DecodeTask(Decoder decoder, DecoderStates states, Type type, int[] positions, int[] lengths,
+                ASN1Type[] elements, int from, int to, int batchSize) {
+            this.decoder = decoder;
+            this.states = states;
+            this.type = type;
+            this.positions = positions;
+            this.lengths = lengths;
+            this.elements = elements;
+            this.from = from;
+            this.to = to;
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= batchSize) {
+                for (var i = from; i < to; i++) {
+                    elements[i] = decode(i);
+                }
+            } else {
+                var mid = (from + to) >>> 1;
+
+                invokeAll(new DecodeTask(decoder, states, type, positions, lengths, elements, from, mid, batchSize),
+                        new DecodeTask(decoder, states, type, positions, lengths, elements, mid, to, batchSize));
+            }
+        }
+
+        private ASN1Type decode(int index) {
+            var elementStates = new DecoderStates();
+
+            elementStates.input = states.input;
+            elementStates.zeroCopy = states.zeroCopy;
+            elementStates.lazy = states.lazy;
+            elementStates.parallelThreshold = states.parallelThreshold;
+            elementStates.validate = states.validate;
+            elementStates.push(new DecoderState(positions[index], lengths[index]));
+
+            DecodingResult<ASN1Type> result = decoder.decode(type, elementStates, false);
+
+            if (result == null || result.getObj() == null) {
+                throw new DecodingException("Failed to decode element %d of %s", index, type.getTypeName());
+            }
+
+            return result.getObj();
+        }
+
+    }
+
 }
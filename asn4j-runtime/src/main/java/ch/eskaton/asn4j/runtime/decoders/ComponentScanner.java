@@ -0,0 +1,114 @@
+/*
+ *  Copyright (c) 2015, Adrian Moser
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  * Redistributions of source code must retain the above copyright
+ *  notice, this list of conditions and the following disclaimer.
+ *  * Redistributions in binary form must reproduce the above copyright
+ *  notice, this list of conditions and the following disclaimer in the
+ *  documentation and/or other materials provided with the distribution.
+ *  * Neither the name of the author nor the
+ *  names of its contributors may be used to endorse or promote products
+ *  derived from this software without specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL AUTHOR BE LIABLE FOR ANY
+ *  DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *  ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package ch.eskaton.asn4j.runtime.decoders;
+
+import ch.eskaton.asn4j.runtime.DecoderInput;
+import ch.eskaton.asn4j.runtime.TLV;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Assigns the headers of the encoded components of a SEQUENCE or SET to the components of its type without decoding
+ * them.
+ */
+public final class ComponentScanner {
+
+    private ComponentScanner() {
+    }
+
+    /**
+     * Parses the headers between {@code pos} and {@code end} and stores the position and the length of the encoding
+     * of each component in {@code positions} and {@code lengths}, or -1 for absent components. Returns the number of
+     * components found or -1 if a header can't be assigned to a component or a mandatory component is missing.
+     */
+    public static int scan(DecoderInput input, int pos, int end, List<DecodingPlan.Component> components,
+            boolean set, int[] positions, int[] lengths) throws IOException {
+        var tlv = new TLV();
+        var index = 0;
+        var count = 0;
+
+        Arrays.fill(positions, -1);
+
+        while (pos < end) {
+            TLV.getTLV(input, pos, end - pos, tlv);
+
+            if (tlv.nextTlv == -1 || tlv.nextTlv > end) {
+                return -1;
+            }
+
+            var key = tlv.getKey();
+
+            index = set ? findAny(components, positions, key) : findNext(components, index, key);
+
+            if (index == -1) {
+                return -1;
+            }
+
+            positions[index] = pos;
+            lengths[index] = tlv.nextTlv - pos;
+            count++;
+            pos = tlv.nextTlv;
+            index++;
+        }
+
+        for (var i = 0; i < components.size(); i++) {
+            if (positions[i] == -1 && !components.get(i).isOptional()) {
+                return -1;
+            }
+        }
+
+        return count;
+    }
+
+    private static int findNext(List<DecodingPlan.Component> components, int index, int key) {
+        for (var i = index; i < components.size(); i++) {
+            var component = components.get(i);
+
+            if (component.matches(key)) {
+                return i;
+            } else if (!component.isOptional()) {
+                return -1;
+            }
+        }
+
+        return -1;
+    }
+
+    private static int findAny(List<DecodingPlan.Component> components, int[] positions, int key) {
+        for (var i = 0; i < components.size(); i++) {
+            if (positions[i] == -1 && components.get(i).matches(key)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+}
@@ -0,0 +1,373 @@
+/*
+ *  Copyright (c) 2015, Adrian Moser
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  * Redistributions of source code must retain the above copyright
+ *  notice, this list of conditions and the following disclaimer.
+ *  * Redistributions in binary form must reproduce the above copyright
+ *  notice, this list of conditions and the following disclaimer in the
+ *  documentation and/or other materials provided with the distribution.
+ *  * Neither the name of the author nor the
+ *  names of its contributors may be used to endorse or promote products
+ *  derived from this software without specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL AUTHOR BE LIABLE FOR ANY
+ *  DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *  ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package ch.eskaton.asn4j.runtime.decoders;
+
+import ch.eskaton.asn4j.runtime.Decoder;
+import ch.eskaton.asn4j.runtime.DecoderStates;
+import ch.eskaton.asn4j.runtime.TagId;
+import ch.eskaton.asn4j.runtime.annotations.ASN1Alternative;
+import ch.eskaton.asn4j.runtime.annotations.ASN1Component;
+import ch.eskaton.asn4j.runtime.annotations.ASN1Lazy;
+import ch.eskaton.asn4j.runtime.annotations.ASN1Tag;
+import ch.eskaton.asn4j.runtime.annotations.ASN1Tags;
+import ch.eskaton.asn4j.runtime.exceptions.ASN1RuntimeException;
+import ch.eskaton.asn4j.runtime.exceptions.DecodingException;
+import ch.eskaton.asn4j.runtime.types.ASN1Choice;
+import ch.eskaton.asn4j.runtime.types.ASN1CollectionOf;
+import ch.eskaton.asn4j.runtime.types.ASN1OpenType;
+import ch.eskaton.asn4j.runtime.types.ASN1Sequence;
+import ch.eskaton.asn4j.runtime.types.ASN1Set;
+import ch.eskaton.asn4j.runtime.types.ASN1Type;
+import ch.eskaton.asn4j.runtime.utils.RuntimeUtils;
+import ch.eskaton.asn4j.runtime.utils.ToString;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-class decoding plan. The plan is computed once per generated class and cached, so that decoding a value
+ * doesn't have to inspect fields and annotations again. If the class provides a compiler-generated
+ * {@code decodeBER} method, the plan holds a handle to it and the reflective decoders aren't used.
+ */
+public class DecodingPlan {
+
+    public static final String DECODE_METHOD = "decodeBER";
+
+    private static final ClassValue<DecodingPlan> PLANS = new ClassValue<>() {
+
+        @Override
+        @SuppressWarnings("unchecked")
+        protected DecodingPlan computeValue(Class<?> type) {
+            return new DecodingPlan((Class<? extends ASN1Type>) type);
+        }
+
+    };
+
+    private final Class<? extends ASN1Type> type;
+
+    private final List<ASN1Tag> tags;
+
+    private final boolean choice;
+
+    private final boolean openType;
+
+    private final MethodHandle constructor;
+
+    private final List<Component> components;
+
+    private final Map<String, Integer> componentIndexes;
+
+    private final boolean lazy;
+
+    private final FieldMetaData fieldMetaData;
+
+    private final Type elementType;
+
+    private final MethodHandle decoder;
+
+    private DecodingPlan(Class<? extends ASN1Type> type) {
+        this.type = type;
+        this.tags = List.copyOf(RuntimeUtils.getTags(type));
+        this.choice = ASN1Choice.class.isAssignableFrom(type);
+        this.openType = ASN1OpenType.class.isAssignableFrom(type);
+        this.constructor = findConstructor(type);
+
+        if (ASN1Sequence.class.isAssignableFrom(type) || ASN1Set.class.isAssignableFrom(type)) {
+            this.components = Collections.unmodifiableList(buildComponents(type));
+        } else {
+            this.components = List.of();
+        }
+
+        this.componentIndexes = new HashMap<>();
+
+        for (var i = 0; i < components.size(); i++) {
+            componentIndexes.put(components.get(i).getField().getName(), i);
+        }
+
+        this.lazy = type.isAnnotationPresent(ASN1Lazy.class) && !components.isEmpty() &&
+                components.stream().allMatch(component -> component.getKeys().length > 0);
+
+        if (ASN1Set.class.isAssignableFrom(type)) {
+            this.fieldMetaData = new FieldMetaData(type, ASN1Component.class);
+        } else if (ASN1Choice.class.isAssignableFrom(type)) {
+            this.fieldMetaData = new FieldMetaData(type, ASN1Alternative.class);
+        } else {
+            this.fieldMetaData = null;
+        }
+
+        if (ASN1CollectionOf.class.isAssignableFrom(type)) {
+            this.elementType = resolveElementType(type);
+        } else {
+            this.elementType = null;
+        }
+
+        if (ASN1Choice.class.isAssignableFrom(type)) {
+            this.decoder = findDecoder(type, Decoder.class, DecoderStates.class, boolean.class);
+        } else {
+            this.decoder = findDecoder(type, Decoder.class, DecoderStates.class);
+        }
+    }
+
+    public static DecodingPlan of(Class<? extends ASN1Type> type) {
+        return PLANS.get(type);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static Type getElementType(Type type) {
+        if (type instanceof ParameterizedType) {
+            return ((ParameterizedType) type).getActualTypeArguments()[0];
+        } else if (type instanceof Class) {
+            var plan = of((Class<? extends ASN1Type>) type);
+
+            if (plan.elementType != null) {
+                return plan.elementType;
+            }
+        }
+
+        throw new ASN1RuntimeException("Unsupported paramType");
+    }
+
+    private static MethodHandle findDecoder(Class<? extends ASN1Type> type, Class<?>... parameterTypes) {
+        var methodType = MethodType.methodType(type, parameterTypes);
+
+        try {
+            return MethodHandles.publicLookup().findStatic(type, DECODE_METHOD, methodType)
+                    .asType(methodType.changeReturnType(ASN1Type.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    private static MethodHandle findConstructor(Class<? extends ASN1Type> type) {
+        if (Modifier.isAbstract(type.getModifiers())) {
+            return null;
+        }
+
+        try {
+            return MethodHandles.publicLookup().findConstructor(type, MethodType.methodType(void.class))
+                    .asType(MethodType.methodType(ASN1Type.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    private static Type resolveElementType(Class<?> type) {
+        Class<?> parent = type;
+
+        while (parent != null && !(parent.getGenericSuperclass() instanceof ParameterizedType)) {
+            parent = parent.getSuperclass();
+        }
+
+        if (parent == null) {
+            throw new ASN1RuntimeException("Unsupported paramType");
+        }
+
+        return ((ParameterizedType) parent.getGenericSuperclass()).getActualTypeArguments()[0];
+    }
+
+    private static List<Component> buildComponents(Class<? extends ASN1Type> type) {
+        var components = new ArrayList<Component>();
+
+        for (var field : RuntimeUtils.getComponents(type)) {
+            var annotation = field.getAnnotation(ASN1Component.class);
+
+            if (annotation != null) {
+                var tagsAnnotation = field.getAnnotation(ASN1Tags.class);
+                var tags = tagsAnnotation != null ? List.of(tagsAnnotation.tags()) : null;
+                var optional = annotation.optional() || annotation.hasDefault();
+
+                field.setAccessible(true);
+
+                components.add(new Component(field, tags, optional, getKeys(field, tags)));
+            }
+        }
+
+        return components;
+    }
+
+    /**
+     * Returns the keys of the outermost tags a component may start with or an empty array if they can't be determined
+     * without decoding the component, which is the case for untagged open types.
+     */
+    @SuppressWarnings("unchecked")
+    private static int[] getKeys(Field field, List<ASN1Tag> tags) {
+        var fieldType = (Class<? extends ASN1Type>) field.getType();
+
+        if (ASN1Choice.class.isAssignableFrom(fieldType)) {
+            var tagData = of(fieldType).getFieldMetaData().getTagData();
+
+            if (tagData.stream().anyMatch(data -> data.getKey() == -1)) {
+                return new int[0];
+            }
+
+            return tagData.stream().mapToInt(FieldMetaData.TagData::getKey).sorted().toArray();
+        } else if (ASN1OpenType.class.isAssignableFrom(fieldType) || tags == null || tags.isEmpty()) {
+            return new int[0];
+        }
+
+        return new int[] { TagId.fromTag(tags.get(0)).getKey() };
+    }
+
+    public List<ASN1Tag> getTags() {
+        return tags;
+    }
+
+    public List<Component> getComponents() {
+        return components;
+    }
+
+    /**
+     * Returns the index of the component {@code name} in {@link #getComponents()} or -1.
+     */
+    public int getComponentIndex(String name) {
+        return componentIndexes.getOrDefault(name, -1);
+    }
+
+    /**
+     * Returns true if the class is annotated with {@link ASN1Lazy} and the component of every header can be
+     * determined from its tag, so that the decoding of the components can be deferred.
+     */
+    public boolean isLazy() {
+        return lazy;
+    }
+
+    public FieldMetaData getFieldMetaData() {
+        return fieldMetaData;
+    }
+
+    public boolean isChoice() {
+        return choice;
+    }
+
+    public boolean isOpenType() {
+        return openType;
+    }
+
+    public ASN1Type newInstance() {
+        if (constructor == null) {
+            throw new DecodingException("No public default constructor in %s", type.getName());
+        }
+
+        try {
+            return (ASN1Type) constructor.invokeExact();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new DecodingException(e);
+        }
+    }
+
+    public boolean hasDecoder() {
+        return decoder != null;
+    }
+
+    public ASN1Type decode(Decoder decoder, DecoderStates states) {
+        try {
+            return (ASN1Type) this.decoder.invokeExact(decoder, states);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new DecodingException(e);
+        }
+    }
+
+    public ASN1Type decode(Decoder decoder, DecoderStates states, boolean optional) {
+        try {
+            return (ASN1Type) this.decoder.invokeExact(decoder, states, optional);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new DecodingException(e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return ToString.get(this);
+    }
+
+    public static class Component {
+
+        private final Field field;
+
+        private final List<ASN1Tag> tags;
+
+        private final boolean optional;
+
+        private final int[] keys;
+
+        Component(Field field, List<ASN1Tag> tags, boolean optional, int[] keys) {
+            this.field = field;
+            this.tags = tags;
+            this.optional = optional;
+            this.keys = keys;
+        }
+
+        public Field getField() {
+            return field;
+        }
+
+        public Class<?> getType() {
+            return field.getType();
+        }
+
+        public List<ASN1Tag> getTags() {
+            return tags;
+        }
+
+        public boolean isOptional() {
+            return optional;
+        }
+
+        boolean matches(int key) {
+            return Arrays.binarySearch(keys, key) >= 0;
+        }
+
+        int[] getKeys() {
+            return keys;
+        }
+
+        @Override
+        public String toString() {
+            return ToString.get(this);
+        }
+
+    }
+
+}
@@ -28,7 +28,6 @@
 package ch.eskaton.asn4j.runtime.decoders;
 
 import ch.eskaton.asn4j.runtime.TagId;
-import ch.eskaton.asn4j.runtime.annotations.ASN1Alternative;
 import ch.eskaton.asn4j.runtime.annotations.ASN1Component;
 import ch.eskaton.asn4j.runtime.annotations.ASN1Tag;
 import ch.eskaton.asn4j.runtime.annotations.ASN1Tags;
@@ -41,33 +40,85 @@ import ch.eskaton.asn4j.runtime.utils.ToString;
 import ch.eskaton.commons.utils.StringUtils;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.function.Consumer;
-import java.util.stream.Collectors;
-
-import static ch.eskaton.commons.utils.ReflectionUtils.getInstance;
+import java.util.function.BiConsumer;
 
 public class FieldMetaData {
 
-    private List<TagData> tagData;
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, ASN1Type.class, ASN1Type.class);
+
+    private final List<TagData> tagData;
+
+    private final Map<List<ASN1Tag>, Class<? extends ASN1Type>> tagsToTypes = new LinkedHashMap<>();
+
+    private final Map<List<ASN1Tag>, List<TagId>> tagsToTagIds = new HashMap<>();
+
+    private final Map<List<TagId>, TagData> tagIdsToTagData = new HashMap<>();
+
+    private final Set<List<TagId>> mandatoryFields = new HashSet<>();
+
+    private final List<Field> mandatoryComponents = new ArrayList<>();
+
+    private final int[] keys;
+
+    private final TagData[] keyedTagData;
 
     public FieldMetaData(ASN1Type type, Class<? extends Annotation> annotationClass) {
-        tagData = buildTagData(type, annotationClass);
+        this(type.getClass(), annotationClass);
+    }
+
+    @SuppressWarnings("squid:S3011")
+    public FieldMetaData(Class<? extends ASN1Type> type, Class<? extends Annotation> annotationClass) {
+        tagData = Collections.unmodifiableList(buildTagData(type, annotationClass));
+
+        for (var field : RuntimeUtils.getComponents(type)) {
+            var annotation = field.getAnnotation(annotationClass);
+
+            if (annotation instanceof ASN1Component && !((ASN1Component) annotation).optional() &&
+                    !((ASN1Component) annotation).hasDefault()) {
+                field.setAccessible(true);
+                mandatoryComponents.add(field);
+            }
+        }
+
+        for (var data : tagData) {
+            tagsToTypes.put(data.getTags(), (Class<? extends ASN1Type>) data.getField().getType());
+            tagsToTagIds.putIfAbsent(data.getTags(), data.getTagIds());
+            tagIdsToTagData.putIfAbsent(data.getTagIds(), data);
+
+            if (!data.isOptional()) {
+                mandatoryFields.add(data.getTagIds());
+            }
+        }
+
+        var keyed = tagData.stream()
+                .filter(data -> !data.getTagIds().isEmpty())
+                .sorted(Comparator.comparingInt(TagData::getKey))
+                .toArray(TagData[]::new);
+
+        keys = Arrays.stream(keyed).mapToInt(TagData::getKey).toArray();
+        keyedTagData = keyed;
     }
 
     public List<TagData> getTagData() {
-        return Collections.unmodifiableList(tagData);
+        return tagData;
     }
 
-    private List<TagData> buildTagData(ASN1Type type, Class<? extends Annotation> annotationClass) {
+    private List<TagData> buildTagData(Class<? extends ASN1Type> type, Class<? extends Annotation> annotationClass) {
         var tagData = new ArrayList<TagData>();
 
         for (Field field : RuntimeUtils.getComponents(type)) {
@@ -75,35 +126,38 @@ public class FieldMetaData {
 
             if (annotation != null) {
                 Class<ASN1Type> fieldType = (Class<ASN1Type>) field.getType();
+                var optional = isOptional(annotation);
 
                 if (ASN1Choice.class.isAssignableFrom(fieldType)) {
-                    var obj = getInstance(fieldType, DecodingException::new);
-                    var componentsTagData = buildTagData(obj, ASN1Alternative.class);
+                    var choiceSetter = getSetter(field, type);
+                    var choicePlan = DecodingPlan.of(fieldType);
+                    var alternatives = choicePlan.getFieldMetaData().getTagData();
 
-                    tagData.addAll(componentsTagData.stream().map(t -> {
-                        var oldSetter = t.setter;
+                    for (var alternative : alternatives) {
+                        var alternativeSetter = alternative.getSetter();
 
-                        t.setter = result -> {
-                            getSetter(field, type).accept(obj);
-                            oldSetter.accept(result);
-                        };
+                        tagData.add(new TagData(alternative.getTags(), alternative.getField(), true,
+                                (obj, value) -> {
+                                    var choice = choicePlan.newInstance();
 
-                        return t;
-                    }).collect(Collectors.toList()));
+                                    choiceSetter.accept(obj, choice);
+                                    alternativeSetter.accept(choice, value);
+                                }));
+                    }
                 } else if (ASN1OpenType.class.isAssignableFrom(fieldType)) {
                     var tagsAnnotation = field.getAnnotation(ASN1Tags.class);
                     var tags = tagsAnnotation != null ?
                             RuntimeUtils.getTags(fieldType, Arrays.asList(tagsAnnotation.tags())) :
                             List.<ASN1Tag>of();
 
-                    tagData.add(new TagData(tags, field, getSetter(field, type)));
+                    tagData.add(new TagData(tags, field, optional, getSetter(field, type)));
                 } else {
                     var tags = Optional.ofNullable(field.getAnnotation(ASN1Tags.class))
                             .map(ASN1Tags::tags)
                             .map(List::of)
                             .orElse(List.of());
 
-                    tagData.add(new TagData(tags, field, getSetter(field, type)));
+                    tagData.add(new TagData(tags, field, optional, getSetter(field, type)));
                 }
             }
         }
@@ -111,72 +165,122 @@ public class FieldMetaData {
         return tagData;
     }
 
-    private Consumer<ASN1Type> getSetter(Field field, ASN1Type obj) {
-        return value -> {
-            var setterName = "set" + StringUtils.initCap(field.getName());
+    private boolean isOptional(Annotation annotation) {
+        if (annotation instanceof ASN1Component) {
+            return ((ASN1Component) annotation).optional();
+        }
 
-            try {
-                var valueClass = value.getClass();
+        return true;
+    }
 
-                if (value instanceof ASN1OpenType) {
-                    valueClass = ASN1OpenType.class;
-                }
+    private BiConsumer<ASN1Type, ASN1Type> getSetter(Field field, Class<? extends ASN1Type> type) {
+        var setterName = "set" + StringUtils.initCap(field.getName());
+        var valueClass = ASN1OpenType.class.isAssignableFrom(field.getType()) ? ASN1OpenType.class : field.getType();
+        MethodHandle setter;
+
+        try {
+            var method = type.getDeclaredMethod(setterName, valueClass);
 
-                obj.getClass().getDeclaredMethod(setterName, valueClass).invoke(obj, value);
-            } catch (IllegalArgumentException | InvocationTargetException | IllegalAccessException e) {
+            method.setAccessible(true);
+
+            setter = MethodHandles.lookup().unreflect(method).asType(SETTER_TYPE);
+        } catch (NoSuchMethodException e) {
+            return (obj, value) -> {
+                throw new DecodingException("Setter '" + setterName + "' missing on type: " + type.getSimpleName());
+            };
+        } catch (IllegalAccessException e) {
+            throw new DecodingException(e);
+        }
+
+        return (obj, value) -> {
+            try {
+                setter.invokeExact(obj, value);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
                 throw new DecodingException(e);
-            } catch (NoSuchMethodException e) {
-                throw new DecodingException("Setter '" + setterName + "' missing on type: " +
-                        obj.getClass().getSimpleName());
             }
         };
     }
 
     public Map<List<ASN1Tag>, Class<? extends ASN1Type>> getTagsToTypes() {
-        return tagData.stream()
-                .collect(Collectors.toMap(TagData::getTags, t -> (Class<? extends ASN1Type>) t.getField().getType()));
+        return Collections.unmodifiableMap(tagsToTypes);
     }
 
     public Set<List<TagId>> getMandatoryFields() {
-        return tagData.stream()
-                .filter(this::isNotOptional)
-                .map(TagData::getTagIds)
-                .collect(Collectors.toSet());
+        return Collections.unmodifiableSet(mandatoryFields);
     }
 
-    private boolean isNotOptional(TagData tagData) {
-        var annotation = tagData.getField().getAnnotation(ASN1Component.class);
+    /**
+     * Returns the accessible fields of the components which are neither optional nor have a default value. A CHOICE
+     * is present if any of its alternatives is.
+     */
+    public List<Field> getMandatoryComponents() {
+        return Collections.unmodifiableList(mandatoryComponents);
+    }
 
-        if (annotation != null) {
-            return !annotation.optional();
-        }
+    /**
+     * Returns the number of components with tags, i.e. the components which can be looked up by their key.
+     */
+    public int getKeyCount() {
+        return keys.length;
+    }
 
-        return false;
+    /**
+     * Returns the index of the component whose outermost tag has the key {@code key} among the components sorted by
+     * their keys or a negative value if there is none.
+     */
+    public int indexOf(int key) {
+        return Arrays.binarySearch(keys, key);
+    }
+
+    /**
+     * Returns the component at {@code index} as returned by {@link #indexOf(int)}.
+     */
+    public TagData getTagData(int index) {
+        return keyedTagData[index];
     }
 
     protected String getFieldName(List<TagId> tags) {
-        return tagData.stream()
-                .filter(t -> t.getTagIds().equals(tags))
+        return Optional.ofNullable(tagIdsToTagData.get(tags))
                 .map(TagData::getField)
-                .findFirst()
                 .map(f -> f.getDeclaringClass().getSimpleName() + "." + f.getName())
                 .orElseThrow(() -> new DecodingException("Couldn't find field for tags: " + tags));
     }
 
-    public Consumer<ASN1Type> getSetter(List<TagId> tags) {
-        return tagData.stream()
-                .filter(t -> t.getTagIds().equals(tags))
-                .map(TagData::getSetter)
-                .findFirst()
-                .orElseThrow(() -> new DecodingException("Couldn't find setter for tags: " + tags));
+    public BiConsumer<ASN1Type, ASN1Type> getSetter(List<TagId> tags) {
+        var data = tagIdsToTagData.get(tags);
+
+        if (data == null) {
+            throw new DecodingException("Couldn't find setter for tags: " + tags);
+        }
+
+        return data.getSetter();
+    }
+
+    /**
+     * Returns the setter of the component whose outermost tag has the key {@code key} as returned by
+     * {@link TagId#toKey(ch.eskaton.asn4j.runtime.Clazz, int)}. The outermost tags of the components of a SET and the
+     * alternatives of a CHOICE are distinct, so the key identifies the component.
+     */
+    public BiConsumer<ASN1Type, ASN1Type> getSetter(int key) {
+        var index = Arrays.binarySearch(keys, key);
+
+        if (index < 0) {
+            throw new DecodingException("Couldn't find setter for tag key: " + key);
+        }
+
+        return keyedTagData[index].getSetter();
     }
 
     public List<TagId> getTagIds(List<ASN1Tag> tags) {
-        return tagData.stream()
-                .filter(t -> t.getTags().equals(tags))
-                .map(TagData::getTagIds)
-                .findAny()
-                .orElseThrow(() -> new DecodingException("Couldn't find tag ids for tags: " + tags));
+        var tagIds = tagsToTagIds.get(tags);
+
+        if (tagIds == null) {
+            throw new DecodingException("Couldn't find tag ids for tags: " + tags);
+        }
+
+        return tagIds;
     }
 
     @Override
@@ -186,19 +290,25 @@ public class FieldMetaData {
 
     static class TagData {
 
-        private List<ASN1Tag> tags;
+        private final List<ASN1Tag> tags;
+
+        private final List<TagId> tagIds;
 
-        private List<TagId> tagIds;
+        private final Field field;
 
-        private Field field;
+        private final boolean optional;
 
-        private Consumer<ASN1Type> setter;
+        private final BiConsumer<ASN1Type, ASN1Type> setter;
 
-        public TagData(List<ASN1Tag> tags, Field field, Consumer<ASN1Type> setter) {
+        private final int key;
+
+        public TagData(List<ASN1Tag> tags, Field field, boolean optional, BiConsumer<ASN1Type, ASN1Type> setter) {
             this.tags = tags;
-            this.tagIds = tags.stream().map(TagId::fromTag).collect(Collectors.toList());
+            this.tagIds = TagId.fromTags(tags);
             this.field = field;
+            this.optional = optional;
             this.setter = setter;
+            this.key = tagIds.isEmpty() ? -1 : tagIds.get(0).getKey();
         }
 
         public List<ASN1Tag> getTags() {
@@ -213,10 +323,23 @@ public class FieldMetaData {
             return field;
         }
 
-        public Consumer<ASN1Type> getSetter() {
+        @SuppressWarnings("unchecked")
+        public Class<? extends ASN1Type> getType() {
+            return (Class<? extends ASN1Type>) field.getType();
+        }
+
+        public boolean isOptional() {
+            return optional;
+        }
+
+        public BiConsumer<ASN1Type, ASN1Type> getSetter() {
             return setter;
         }
 
+        public int getKey() {
+            return key;
+        }
+
         @Override
         public String toString() {
             return ToString.get(this);
@@ -38,7 +38,20 @@ public class IntegerDecoder implements TypeDecoder<ASN1Integer> {
 
     @Override
     public void decode(DecoderStates states, DecoderState state, ASN1Integer obj) {
-        obj.setValue(new BigInteger(RuntimeUtils.getValue(states, state)));
+        var length = state.tlv.length;
+
+        if (length > 0 && length <= Long.BYTES) {
+            var pos = state.tlv.pos;
+            long value = states.input.get(pos);
+
+            for (var i = 1; i < length; i++) {
+                value = value << 8 | states.input.get(pos + i) & 0xFF;
+            }
+
+            obj.setValue(value);
+        } else {
+            obj.setValue(new BigInteger(RuntimeUtils.getValue(states, state)));
+        }
     }
 
 }
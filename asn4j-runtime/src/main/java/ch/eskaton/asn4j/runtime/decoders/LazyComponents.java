@@ -0,0 +1,191 @@
+/*
+ *  Copyright (c) 2015, Adrian Moser
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  * Redistributions of source code must retain the above copyright
+ *  notice, this list of conditions and the following disclaimer.
+ *  * Redistributions in binary form must reproduce the above copyright
+ *  notice, this list of conditions and the following disclaimer in the
+ *  documentation and/or other materials provided with the distribution.
+ *  * Neither the name of the author nor the
+ *  names of its contributors may be used to endorse or promote products
+ *  derived from this software without specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL AUTHOR BE LIABLE FOR ANY
+ *  DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *  ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package ch.eskaton.asn4j.runtime.decoders;
+
+import ch.eskaton.asn4j.runtime.Decoder;
+import ch.eskaton.asn4j.runtime.DecoderInput;
+import ch.eskaton.asn4j.runtime.DecoderState;
+import ch.eskaton.asn4j.runtime.DecoderStates;
+import ch.eskaton.asn4j.runtime.exceptions.DecodingException;
+import ch.eskaton.asn4j.runtime.types.ASN1Type;
+import ch.eskaton.asn4j.runtime.types.HasConstraint;
+import ch.eskaton.asn4j.runtime.utils.ToString;
+
+import java.io.IOException;
+
+/**
+ * The components of a SEQUENCE or SET whose decoding has been deferred. Only the headers of the components are
+ * parsed while decoding the collection. A component is decoded when it's first accessed. The input is retained
+ * until all components have been decoded or discarded. Components are identified by their index in
+ * {@link DecodingPlan#getComponents()}.
+ * <p>
+ * If the collection has been decoded with validation, its own constraint is checked when its last pending component
+ * is decoded, because checking it earlier would decode all components.
+ */
+public class LazyComponents {
+
+    private final Decoder decoder;
+
+    private final DecoderInput input;
+
+    private final boolean zeroCopy;
+
+    private final int parallelThreshold;
+
+    private final boolean validate;
+
+    private final DecodingPlan plan;
+
+    private final int[] positions;
+
+    private final int[] lengths;
+
+    private int pending;
+
+    private LazyComponents(Decoder decoder, DecoderStates states, DecodingPlan plan, int[] positions,
+            int[] lengths, int pending) {
+        this.decoder = decoder;
+        this.input = states.input;
+        this.zeroCopy = states.zeroCopy;
+        this.parallelThreshold = states.parallelThreshold;
+        this.validate = states.validate;
+        this.plan = plan;
+        this.positions = positions;
+        this.lengths = lengths;
+        this.pending = pending;
+    }
+
+    /**
+     * Assigns the headers in the current state to the components of {@code plan} and consumes them. Returns
+     * {@code null} without consuming anything if the components can't be determined from the headers alone, e.g.
+     * because of an unknown tag or a missing mandatory component. The collection has to be decoded eagerly in this
+     * case.
+     */
+    public static LazyComponents scan(Decoder decoder, DecoderStates states, DecodingPlan plan, boolean set) {
+        var state = states.peek();
+
+        if (state.length <= 0) {
+            return null;
+        }
+
+        var components = plan.getComponents();
+        var positions = new int[components.size()];
+        var lengths = new int[components.size()];
+        int pending;
+
+        try {
+            pending = ComponentScanner.scan(states.input, state.pos, state.pos + state.length, components, set,
+                    positions, lengths);
+        } catch (IOException e) {
+            return null;
+        }
+
+        if (pending == -1) {
+            return null;
+        }
+
+        state.pos += state.length;
+        state.length = 0;
+
+        return new LazyComponents(decoder, states, plan, positions, lengths, pending);
+    }
+
+    /**
+     * Decodes the component at {@code index} into {@code obj} if it's still pending. Returns true if no components
+     * are pending anymore.
+     */
+    public boolean resolve(ASN1Type obj, int index) {
+        if (positions[index] != -1) {
+            decode(obj, index);
+
+            if (pending == 0) {
+                checkConstraint(obj);
+            }
+        }
+
+        return pending == 0;
+    }
+
+    public void resolveAll(ASN1Type obj) {
+        for (var i = 0; i < positions.length; i++) {
+            if (positions[i] != -1) {
+                decode(obj, i);
+            }
+        }
+
+        checkConstraint(obj);
+    }
+
+    /**
+     * Drops the pending value of the component at {@code index}, e.g. because it has been set explicitly. Returns
+     * true if no components are pending anymore.
+     */
+    public boolean discard(int index) {
+        if (positions[index] != -1) {
+            positions[index] = -1;
+            pending--;
+        }
+
+        return pending == 0;
+    }
+
+    private void checkConstraint(ASN1Type obj) {
+        if (validate && obj instanceof HasConstraint) {
+            ((HasConstraint) obj).checkConstraint();
+        }
+    }
+
+    private void decode(ASN1Type obj, int index) {
+        var component = plan.getComponents().get(index);
+        var states = new DecoderStates();
+
+        states.input = input;
+        states.zeroCopy = zeroCopy;
+        states.lazy = true;
+        states.parallelThreshold = parallelThreshold;
+        states.validate = validate;
+        states.push(new DecoderState(positions[index], lengths[index]));
+
+        var result = decoder.decode(component.getType(), states, component.getTags(), false);
+
+        try {
+            component.getField().set(obj, result.getObj());
+        } catch (IllegalArgumentException | IllegalAccessException e) {
+            throw new DecodingException(e);
+        }
+
+        positions[index] = -1;
+        pending--;
+    }
+
+    @Override
+    public String toString() {
+        return ToString.get(this);
+    }
+
+}
@@ -36,7 +36,19 @@ public class OctetStringDecoder implements TypeDecoder<ASN1OctetString> {
 
     @Override
     public void decode(DecoderStates states, DecoderState state, ASN1OctetString obj) {
-        obj.setValue(RuntimeUtils.getValue(states, state));
+        if (state.tlv.constructed) {
+            var segments = StringSegments.ofOctetString(states, state);
+
+            if (states.zeroCopy && segments.getCount() <= 1) {
+                obj.setView(segments.getLastSegment());
+            } else {
+                obj.setValue(segments.copy());
+            }
+        } else if (states.zeroCopy) {
+            obj.setView(states.input.slice(state.tlv.pos, state.tlv.length));
+        } else {
+            obj.setValue(RuntimeUtils.getValue(states, state));
+        }
     }
 
 }
@@ -34,6 +34,8 @@ import ch.eskaton.asn4j.runtime.exceptions.DecodingException;
 import ch.eskaton.asn4j.runtime.types.ASN1OpenType;
 import ch.eskaton.asn4j.runtime.types.ASN1Type;
 
+import java.nio.ByteBuffer;
+
 public class OpenTypeDecoder {
 
     public <T extends ASN1Type> T decode(Decoder decoder, DecoderStates states, DecoderState state, boolean optional) {
@@ -47,20 +49,24 @@ public class OpenTypeDecoder {
             throw new DecodingException("Empty open type");
         }
 
+        if (states.zeroCopy) {
+            return (T) new DecodableASN1OpenType(decoder, states.input.slice(state.pos, state.length).asByteBuffer());
+        }
+
         byte[] buf = new byte[state.length];
 
-        System.arraycopy(states.buf, state.pos, buf, 0, state.length);
+        states.input.getBytes(state.pos, buf, 0, state.length);
 
-        return (T) new DecodableASN1OpenType(decoder, buf);
+        return (T) new DecodableASN1OpenType(decoder, ByteBuffer.wrap(buf));
     }
 
     private static class DecodableASN1OpenType extends ASN1OpenType {
 
         private final Decoder decoder;
 
-        private final byte[] bytes;
+        private final ByteBuffer bytes;
 
-        public DecodableASN1OpenType(Decoder decoder, byte[] bytes) {
+        public DecodableASN1OpenType(Decoder decoder, ByteBuffer bytes) {
             this.decoder = decoder;
             this.bytes = bytes;
         }
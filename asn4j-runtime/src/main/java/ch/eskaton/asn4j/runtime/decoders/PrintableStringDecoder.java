@@ -32,14 +32,15 @@ import ch.eskaton.asn4j.runtime.DecoderStates;
 import ch.eskaton.asn4j.runtime.exceptions.ASN1RuntimeException;
 import ch.eskaton.asn4j.runtime.exceptions.DecodingException;
 import ch.eskaton.asn4j.runtime.types.ASN1PrintableString;
-import ch.eskaton.asn4j.runtime.utils.RuntimeUtils;
+
+import java.nio.charset.StandardCharsets;
 
 public class PrintableStringDecoder implements TypeDecoder<ASN1PrintableString> {
 
     @Override
     public void decode(DecoderStates states, DecoderState state, ASN1PrintableString obj) {
         try {
-            obj.setValue(new String(RuntimeUtils.getValue(states, state)));
+            obj.setValue(StringSegments.getString(states, state, StandardCharsets.ISO_8859_1));
         } catch (ASN1RuntimeException e) {
             throw new DecodingException(e);
         }
@@ -48,7 +48,7 @@ public class RealDecoder implements TypeDecoder<ASN1Real> {
                 break;
 
             case 1:
-                switch (states.buf[state.tlv.pos]) {
+                switch (states.input.get(state.tlv.pos)) {
                     case 0x40:
                         obj.setType(Type.PLUS_INFINITY);
                         break outer;
@@ -65,14 +65,14 @@ public class RealDecoder implements TypeDecoder<ASN1Real> {
                         obj.setType(Type.MINUS_ZERO);
                         break outer;
                     default:
-                        throw new DecodingException("Invalid value 0x" + toHexString(states.buf[state.tlv.pos])
+                        throw new DecodingException("Invalid value 0x" + toHexString(states.input.get(state.tlv.pos))
                                 + " in an encoding of a REAL value");
                 }
 
             default:
-                if ((states.buf[state.tlv.pos] >> 6) == 0x00) {
+                if ((states.input.get(state.tlv.pos) >> 6) == 0x00) {
                     obj.setValue(new BigDecimal(new String(RuntimeUtils.getValue(states, state,
-                            1 + (states.buf[state.tlv.pos + 1] == 0x20 ? 1 : 0)))));
+                            1 + (states.input.get(state.tlv.pos + 1) == 0x20 ? 1 : 0)))));
                 } else {
                     throw new DecodingException("Binary encoding not yet supported");
                 }
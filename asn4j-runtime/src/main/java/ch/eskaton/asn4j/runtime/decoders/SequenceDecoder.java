@@ -29,46 +29,44 @@ package ch.eskaton.asn4j.runtime.decoders;
 
 import ch.eskaton.asn4j.runtime.Decoder;
 import ch.eskaton.asn4j.runtime.DecoderStates;
-import ch.eskaton.asn4j.runtime.annotations.ASN1Component;
-import ch.eskaton.asn4j.runtime.annotations.ASN1Tags;
 import ch.eskaton.asn4j.runtime.exceptions.DecodingException;
 import ch.eskaton.asn4j.runtime.types.ASN1Sequence;
-import ch.eskaton.asn4j.runtime.utils.RuntimeUtils;
 import ch.eskaton.commons.utils.StringUtils;
 
 import java.lang.reflect.Type;
-import java.util.Arrays;
 
 public class SequenceDecoder implements CollectionDecoder<ASN1Sequence> {
 
-    @SuppressWarnings("squid:S3011")
     public void decode(Decoder decoder, DecoderStates states, Type type, ASN1Sequence obj) {
-        var componentFields = RuntimeUtils.getComponents(obj);
+        var plan = DecodingPlan.of(obj.getClass());
 
-        for (var componentField : componentFields) {
-            var annotation = componentField.getAnnotation(ASN1Component.class);
+        if (states.lazy && plan.isLazy()) {
+            var lazyComponents = LazyComponents.scan(decoder, states, plan, false);
 
-            if (annotation != null) {
-                var tagsAnnotation = componentField.getAnnotation(ASN1Tags.class);
-                var tags = tagsAnnotation != null ? Arrays.asList(tagsAnnotation.tags()) : null;
-                var optional = annotation.optional() || annotation.hasDefault();
-                var result = decoder.decode(componentField.getType(), states, tags, optional);
+            if (lazyComponents != null) {
+                obj.setLazyComponents(lazyComponents);
+                return;
+            }
+        }
+
+        var components = plan.getComponents();
 
-                if (result != null) {
-                    var component = result.getObj();
+        for (var component : components) {
+            var optional = component.isOptional();
+            var result = decoder.decode(component.getType(), states, component.getTags(), optional);
 
-                    if (component != null) {
-                        componentField.setAccessible(true);
+            if (result != null) {
+                var value = result.getObj();
 
-                        try {
-                            componentField.set(obj, component);
-                        } catch (IllegalArgumentException | IllegalAccessException e) {
-                            throw new DecodingException(e);
-                        }
-                    } else if (!(optional)) {
-                        throw new DecodingException(StringUtils.concat("Invalid BER object ", obj.getClass()
-                                .getSimpleName(), ". Component ", componentField.getName(), " may not be null"));
+                if (value != null) {
+                    try {
+                        component.getField().set(obj, value);
+                    } catch (IllegalArgumentException | IllegalAccessException e) {
+                        throw new DecodingException(e);
                     }
+                } else if (!(optional)) {
+                    throw new DecodingException(StringUtils.concat("Invalid BER object ", obj.getClass()
+                            .getSimpleName(), ". Component ", component.getField().getName(), " may not be null"));
                 }
             }
         }
@@ -29,68 +29,100 @@ package ch.eskaton.asn4j.runtime.decoders;
 
 import ch.eskaton.asn4j.runtime.Decoder;
 import ch.eskaton.asn4j.runtime.DecoderStates;
-import ch.eskaton.asn4j.runtime.DecodingResult;
-import ch.eskaton.asn4j.runtime.annotations.ASN1Component;
-import ch.eskaton.asn4j.runtime.annotations.ASN1Tag;
 import ch.eskaton.asn4j.runtime.exceptions.DecodingException;
 import ch.eskaton.asn4j.runtime.types.ASN1OpenType;
 import ch.eskaton.asn4j.runtime.types.ASN1Set;
 import ch.eskaton.asn4j.runtime.types.ASN1Type;
-import ch.eskaton.commons.utils.StringUtils;
 
 import java.lang.reflect.Type;
-import java.util.List;
-import java.util.Map;
-import java.util.function.Consumer;
-import java.util.stream.Collectors;
+import java.util.BitSet;
+import java.util.function.BiConsumer;
 
 public class SetDecoder implements CollectionDecoder<ASN1Set> {
 
+    /**
+     * Decodes the components in any order. They are looked up by the key of their outermost tag and the components
+     * which have been decoded are tracked in a bit mask, so that the metadata of the plan isn't copied.
+     */
     @SuppressWarnings("squid:S3011")
     public void decode(Decoder decoder, DecoderStates states, Type type, ASN1Set obj) {
-        FieldMetaData metaData = new FieldMetaData(obj, ASN1Component.class);
-        Map<List<ASN1Tag>, Class<? extends ASN1Type>> tagsToTypes = metaData.getTagsToTypes();
-        DecodingResult<? extends ASN1Type> result;
-
-        if (tagsToTypes.size() == 1 &&
-                ASN1OpenType.class.isAssignableFrom(tagsToTypes.values().stream().findFirst().get())) {
-            var value = decoder.decodeOpenType(states, states.peek(), metaData.getMandatoryFields().isEmpty());
-
-            setValue(value, metaData.getTagData().get(0).getSetter());
-        } else {
-            do {
-                result = decoder.decode(states, tagsToTypes);
-
-                if (result == null) {
-                    checkMandatoryFields(metaData, tagsToTypes);
-                    return;
-                }
+        var plan = DecodingPlan.of(obj.getClass());
+
+        if (states.lazy && plan.isLazy()) {
+            var lazyComponents = LazyComponents.scan(decoder, states, plan, true);
+
+            if (lazyComponents != null) {
+                obj.setLazyComponents(lazyComponents);
+                return;
+            }
+        }
+
+        var metaData = plan.getFieldMetaData();
+        var tagData = metaData.getTagData();
 
-                setValue(result.getObj(), metaData.getSetter(result.getTags()));
-            } while (!tagsToTypes.isEmpty());
+        if (tagData.size() == 1 && ASN1OpenType.class.isAssignableFrom(tagData.get(0).getType())) {
+            var value = decoder.decodeOpenType(states, states.peek(), tagData.get(0).isOptional());
+
+            setValue(obj, value, tagData.get(0).getSetter());
+
+            return;
         }
+
+        var count = metaData.getKeyCount();
+        var decodedBits = count > Long.SIZE ? new BitSet(count) : null;
+        var decoded = 0L;
+
+        while (true) {
+            var index = metaData.indexOf(decoder.peekTag(states));
+
+            if (index < 0 || (decodedBits != null ? decodedBits.get(index) : (decoded & 1L << index) != 0)) {
+                break;
+            }
+
+            var data = metaData.getTagData(index);
+            var result = decoder.decodeTagged(data.getType(), states, data.getTags());
+
+            if (result == null) {
+                break;
+            }
+
+            setValue(obj, result.getObj(), data.getSetter());
+
+            if (decodedBits != null) {
+                decodedBits.set(index);
+            } else {
+                decoded |= 1L << index;
+            }
+        }
+
+        checkMandatoryFields(metaData, obj);
     }
 
-    private void setValue(ASN1Type value, Consumer<ASN1Type> setter) {
+    private void setValue(ASN1Type obj, ASN1Type value, BiConsumer<ASN1Type, ASN1Type> setter) {
         if (setter == null) {
             throw new DecodingException("Failed to decode a value of the type " + value.getClass().getSimpleName());
         }
 
-        setter.accept(value);
+        setter.accept(obj, value);
     }
 
-    protected void checkMandatoryFields(FieldMetaData metaData, Map<List<ASN1Tag>, Class<? extends ASN1Type>> tagsToTypes) {
-        var mandatoryFields = metaData.getMandatoryFields();
-        var missingFields = tagsToTypes.entrySet().stream()
-                .map(e -> metaData.getTagIds(e.getKey()))
-                .collect(Collectors.toSet());
+    protected void checkMandatoryFields(FieldMetaData metaData, ASN1Type obj) {
+        String missingFields = null;
+
+        for (var field : metaData.getMandatoryComponents()) {
+            try {
+                if (field.get(obj) == null) {
+                    var name = field.getDeclaringClass().getSimpleName() + "." + field.getName();
 
-        mandatoryFields.retainAll(missingFields);
+                    missingFields = missingFields == null ? name : missingFields + ", " + name;
+                }
+            } catch (IllegalAccessException e) {
+                throw new DecodingException(e);
+            }
+        }
 
-        if (!mandatoryFields.isEmpty()) {
-            throw new DecodingException("Mandatory fields missing: " + StringUtils.join(mandatoryFields.stream()
-                    .map(metaData::getFieldName)
-                    .collect(Collectors.toList()), ", "));
+        if (missingFields != null) {
+            throw new DecodingException("Mandatory fields missing: " + missingFields);
         }
     }
 
@@ -0,0 +1,214 @@
+/*
+ *  Copyright (c) 2015, Adrian Moser
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  * Redistributions of source code must retain the above copyright
+ *  notice, this list of conditions and the following disclaimer.
+ *  * Redistributions in binary form must reproduce the above copyright
+ *  notice, this list of conditions and the following disclaimer in the
+ *  documentation and/or other materials provided with the distribution.
+ *  * Neither the name of the author nor the
+ *  names of its contributors may be used to endorse or promote products
+ *  derived from this software without specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL AUTHOR BE LIABLE FOR ANY
+ *  DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *  ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package ch.eskaton.asn4j.runtime.decoders;
+
+import ch.eskaton.asn4j.runtime.Clazz;
+import ch.eskaton.asn4j.runtime.DecoderInput;
+import ch.eskaton.asn4j.runtime.DecoderState;
+import ch.eskaton.asn4j.runtime.DecoderStates;
+import ch.eskaton.asn4j.runtime.TLV;
+import ch.eskaton.asn4j.runtime.exceptions.DecodingException;
+import ch.eskaton.asn4j.runtime.utils.RuntimeUtils;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+
+/**
+ * Reassembles the contents of strings whose encoding is constructed from segments. The segments are scanned once to
+ * size the result, so that they are copied into a single buffer.
+ */
+final class StringSegments {
+
+    private static final int BIT_STRING_TAG = 3;
+
+    private static final int OCTET_STRING_TAG = 4;
+
+    private final DecoderInput input;
+
+    private final int tag;
+
+    private final int skip;
+
+    private final int pos;
+
+    private final int end;
+
+    private final TLV tlv = new TLV();
+
+    private int length;
+
+    private int count;
+
+    private int lastPos;
+
+    private int lastLength;
+
+    private StringSegments(DecoderInput input, TLV tlv, int tag, int skip) {
+        this.input = input;
+        this.tag = tag;
+        this.skip = skip;
+        this.pos = tlv.pos;
+        this.end = tlv.pos + tlv.length;
+    }
+
+    /**
+     * Returns the contents of an OCTET STRING or a character string, whose encoding may be primitive or constructed.
+     */
+    static byte[] getValue(DecoderStates states, DecoderState state) {
+        if (!state.tlv.constructed) {
+            return RuntimeUtils.getValue(states, state);
+        }
+
+        return ofOctetString(states, state).copy();
+    }
+
+    /**
+     * Returns the contents of a character string decoded with {@code charset}. The contents of a primitive encoding
+     * are decoded directly from the input.
+     */
+    static String getString(DecoderStates states, DecoderState state, Charset charset) {
+        if (!state.tlv.constructed) {
+            return states.input.getString(state.tlv.pos, state.tlv.length, charset);
+        }
+
+        return new String(ofOctetString(states, state).copy(), charset);
+    }
+
+    static StringSegments ofOctetString(DecoderStates states, DecoderState state) {
+        return of(states, state, OCTET_STRING_TAG, 0);
+    }
+
+    /**
+     * Returns the segments of a BIT STRING. The initial octet of a segment, which contains the number of its unused
+     * bits, isn't part of the contents. Only the last segment may have unused bits.
+     */
+    static StringSegments ofBitString(DecoderStates states, DecoderState state) {
+        return of(states, state, BIT_STRING_TAG, 1);
+    }
+
+    private static StringSegments of(DecoderStates states, DecoderState state, int tag, int skip) {
+        var segments = new StringSegments(states.input, state.tlv, tag, skip);
+
+        segments.scan(segments.pos, segments.end);
+
+        return segments;
+    }
+
+    /**
+     * Returns the number of primitive segments.
+     */
+    int getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the contents of the last segment without copying them.
+     */
+    DecoderInput getLastSegment() {
+        return count == 0 ? input.slice(pos, 0) : input.slice(lastPos + skip, lastLength - skip);
+    }
+
+    int getUnusedBits() {
+        return count == 0 ? 0 : input.get(lastPos);
+    }
+
+    /**
+     * Copies the contents of all segments into a buffer of the exact size.
+     */
+    byte[] copy() {
+        var value = new byte[length];
+
+        copy(pos, end, value, 0);
+
+        return value;
+    }
+
+    private void scan(int pos, int end) {
+        while (pos < end) {
+            var next = parse(pos, end);
+
+            if (tlv.constructed) {
+                scan(tlv.pos, tlv.pos + tlv.length);
+            } else {
+                if (tlv.length < skip) {
+                    throw new DecodingException("Empty segment of a constructed string");
+                }
+
+                if (skip > 0 && count > 0 && input.get(lastPos) != 0) {
+                    throw new DecodingException("Only the last segment of a constructed BIT STRING may have unused " +
+                            "bits");
+                }
+
+                length += tlv.length - skip;
+                count++;
+                lastPos = tlv.pos;
+                lastLength = tlv.length;
+            }
+
+            pos = next;
+        }
+    }
+
+    private int copy(int pos, int end, byte[] value, int offset) {
+        while (pos < end) {
+            var next = parse(pos, end);
+
+            if (tlv.constructed) {
+                offset = copy(tlv.pos, tlv.pos + tlv.length, value, offset);
+            } else {
+                input.getBytes(tlv.pos + skip, value, offset, tlv.length - skip);
+                offset += tlv.length - skip;
+            }
+
+            pos = next;
+        }
+
+        return offset;
+    }
+
+    private int parse(int pos, int end) {
+        try {
+            TLV.getTLV(input, pos, end - pos, tlv);
+        } catch (IOException e) {
+            throw new DecodingException(e);
+        }
+
+        if (tlv.clazz != Clazz.UNIVERSAL || tlv.tag != tag) {
+            throw new DecodingException("Invalid segment of a constructed string: tag=%d, class=%s", tlv.tag,
+                    tlv.clazz);
+        }
+
+        if (tlv.nextTlv == -1 || tlv.nextTlv > end) {
+            throw new DecodingException("Segment exceeds the constructed string");
+        }
+
+        return tlv.nextTlv;
+    }
+
+}
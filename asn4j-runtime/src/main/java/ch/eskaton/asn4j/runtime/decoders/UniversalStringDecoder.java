@@ -32,16 +32,17 @@ import ch.eskaton.asn4j.runtime.DecoderStates;
 import ch.eskaton.asn4j.runtime.exceptions.ASN1RuntimeException;
 import ch.eskaton.asn4j.runtime.exceptions.DecodingException;
 import ch.eskaton.asn4j.runtime.types.ASN1UniversalString;
-import ch.eskaton.asn4j.runtime.utils.RuntimeUtils;
 
 import java.nio.charset.Charset;
 
 public class UniversalStringDecoder implements TypeDecoder<ASN1UniversalString> {
 
+    private static final Charset UTF_32BE = Charset.forName("UTF-32BE");
+
     @Override
     public void decode(DecoderStates states, DecoderState state, ASN1UniversalString obj) {
         try {
-            obj.setValue(new String(RuntimeUtils.getValue(states, state), Charset.forName("UTF32")));
+            obj.setValue(StringSegments.getString(states, state, UTF_32BE));
         } catch (ASN1RuntimeException e) {
             throw new DecodingException(e);
         }
@@ -31,12 +31,20 @@ import ch.eskaton.asn4j.runtime.Encoder;
 import ch.eskaton.asn4j.runtime.EncodingResult;
 import ch.eskaton.asn4j.runtime.types.ASN1BMPString;
 
-import java.nio.charset.StandardCharsets;
-
 public class BMPStringEncoder implements TypeEncoder<ASN1BMPString> {
 
     @Override
     public EncodingResult encode(Encoder encoder, ASN1BMPString obj) {
-        return EncodingResult.of(obj.getValue().getBytes(StandardCharsets.UTF_16), false);
+        var value = obj.getValue();
+
+        return EncodingResult.of(value.length() * 2, sink -> {
+            for (var i = 0; i < value.length(); i++) {
+                var c = value.charAt(i);
+
+                sink.write((byte) (c >> 8));
+                sink.write((byte) c);
+            }
+        }, false);
     }
+
 }
@@ -0,0 +1,93 @@
+/*
+ *  Copyright (c) 2015, Adrian Moser
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  * Redistributions of source code must retain the above copyright
+ *  notice, this list of conditions and the following disclaimer.
+ *  * Redistributions in binary form must reproduce the above copyright
+ *  notice, this list of conditions and the following disclaimer in the
+ *  documentation and/or other materials provided with the distribution.
+ *  * Neither the name of the author nor the
+ *  names of its contributors may be used to endorse or promote products
+ *  derived from this software without specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL AUTHOR BE LIABLE FOR ANY
+ *  DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *  ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package ch.eskaton.asn4j.runtime.encoders;
+
+import ch.eskaton.asn4j.runtime.exceptions.EncodingException;
+
+import java.io.IOException;
+
+/**
+ * Base class for sinks which write to a stream or channel. Small writes are collected in a buffer, larger ones are
+ * passed through without copying.
+ */
+public abstract class BufferedSink implements EncodingSink {
+
+    private static final int MAX_BUFFER_SIZE = 8192;
+
+    private final byte[] buffer;
+
+    private int pos;
+
+    protected BufferedSink(int length) {
+        this.buffer = new byte[Math.max(1, Math.min(length, MAX_BUFFER_SIZE))];
+    }
+
+    @Override
+    public void write(byte b) {
+        if (pos == buffer.length) {
+            flush();
+        }
+
+        buffer[pos++] = b;
+    }
+
+    @Override
+    public void write(byte[] buf, int offset, int length) {
+        if (length > buffer.length - pos) {
+            flush();
+
+            if (length >= buffer.length) {
+                doWrite(buf, offset, length);
+
+                return;
+            }
+        }
+
+        System.arraycopy(buf, offset, buffer, pos, length);
+
+        pos += length;
+    }
+
+    public void flush() {
+        if (pos > 0) {
+            doWrite(buffer, 0, pos);
+
+            pos = 0;
+        }
+    }
+
+    private void doWrite(byte[] buf, int offset, int length) {
+        try {
+            writeOut(buf, offset, length);
+        } catch (IOException e) {
+            throw new EncodingException(e);
+        }
+    }
+
+    protected abstract void writeOut(byte[] buf, int offset, int length) throws IOException;
+
+}
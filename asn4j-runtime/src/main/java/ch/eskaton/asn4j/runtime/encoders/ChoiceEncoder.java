@@ -33,15 +33,16 @@ import ch.eskaton.asn4j.runtime.annotations.ASN1Alternative;
 import ch.eskaton.asn4j.runtime.annotations.ASN1Tags;
 import ch.eskaton.asn4j.runtime.exceptions.EncodingException;
 import ch.eskaton.asn4j.runtime.types.ASN1Choice;
+import ch.eskaton.asn4j.runtime.utils.TLVUtils;
 
-import java.io.ByteArrayOutputStream;
 import java.util.Arrays;
+import java.util.List;
 
 public class ChoiceEncoder implements TypeEncoder<ASN1Choice> {
 
     @Override
     public EncodingResult encode(Encoder encoder, ASN1Choice obj) {
-        var content = new ByteArrayOutputStream();
+        EncodingResult content;
         var value = obj.getValue();
         ASN1Tags tagsAnnotation = null;
 
@@ -58,9 +59,9 @@ public class ChoiceEncoder implements TypeEncoder<ASN1Choice> {
 
         try {
             if (tagsAnnotation != null) {
-                content.write(encoder.encode(value, Arrays.asList(tagsAnnotation.tags())));
+                content = encoder.encodeComponent(value, TLVUtils.getTags(Arrays.asList(tagsAnnotation.tags())));
             } else {
-                content.write(encoder.encode(value));
+                content = encoder.encodeComponent(value, null);
             }
         } catch (Exception e) {
             throw new EncodingException(e);
@@ -68,7 +69,7 @@ public class ChoiceEncoder implements TypeEncoder<ASN1Choice> {
 
         // Since the choice itself doesn't need to be encoded, we return its
         // value here
-        return EncodingResult.of(content.toByteArray(), false);
+        return EncodingResult.of(List.of(content), false);
     }
 
 }
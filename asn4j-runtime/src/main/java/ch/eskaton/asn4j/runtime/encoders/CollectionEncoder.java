@@ -33,9 +33,11 @@ import ch.eskaton.asn4j.runtime.annotations.ASN1Component;
 import ch.eskaton.asn4j.runtime.annotations.ASN1Tags;
 import ch.eskaton.asn4j.runtime.exceptions.EncodingException;
 import ch.eskaton.asn4j.runtime.types.ASN1Type;
+import ch.eskaton.asn4j.runtime.types.AbstractASN1Collection;
 import ch.eskaton.asn4j.runtime.utils.RuntimeUtils;
+import ch.eskaton.asn4j.runtime.utils.TLVUtils;
 
-import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
 import java.util.List;
 
 public abstract class CollectionEncoder<T extends ASN1Type> implements TypeEncoder<T> {
@@ -43,7 +45,11 @@ public abstract class CollectionEncoder<T extends ASN1Type> implements TypeEncod
     @Override
     @SuppressWarnings("squid:S3011")
     public EncodingResult encode(Encoder encoder, T obj) {
-        var content = new ByteArrayOutputStream();
+        if (obj instanceof AbstractASN1Collection) {
+            ((AbstractASN1Collection) obj).resolveComponents();
+        }
+
+        var components = new ArrayList<EncodingResult>();
         var compFields = RuntimeUtils.getComponents(obj);
 
         if (!compFields.isEmpty()) {
@@ -60,9 +66,10 @@ public abstract class CollectionEncoder<T extends ASN1Type> implements TypeEncod
                             var tags = compField.getDeclaredAnnotation(ASN1Tags.class);
 
                             if (tags != null) {
-                                content.write(encoder.encode((ASN1Type) value, List.of(tags.tags())));
+                                components.add(encoder.encodeComponent((ASN1Type) value,
+                                        TLVUtils.getTags(List.of(tags.tags()))));
                             } else {
-                                content.write(encoder.encode((ASN1Type) value));
+                                components.add(encoder.encodeComponent((ASN1Type) value, null));
                             }
                         } else if (!(annotation.optional() || annotation.hasDefault())) {
                             throw new EncodingException("Value for %s.%s missing", obj.getClass().getSimpleName(),
@@ -77,7 +84,7 @@ public abstract class CollectionEncoder<T extends ASN1Type> implements TypeEncod
                 }
             }
 
-            return EncodingResult.of(content.toByteArray(), true);
+            return EncodingResult.of(components, true);
         } else {
             return EncodingResult.of(new byte[0], true);
         }
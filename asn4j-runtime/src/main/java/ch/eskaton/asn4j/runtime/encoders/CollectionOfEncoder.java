@@ -33,7 +33,7 @@ import ch.eskaton.asn4j.runtime.exceptions.EncodingException;
 import ch.eskaton.asn4j.runtime.types.ASN1CollectionOf;
 import ch.eskaton.asn4j.runtime.types.ASN1Type;
 
-import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
 import java.util.Collection;
 
 public abstract class CollectionOfEncoder<O extends ASN1CollectionOf<C, T>, C extends Collection<T>,
@@ -41,20 +41,20 @@ public abstract class CollectionOfEncoder<O extends ASN1CollectionOf<C, T>, C ex
 
     @Override
     public EncodingResult encode(Encoder encoder, O obj) {
-        var content = new ByteArrayOutputStream();
+        var components = new ArrayList<EncodingResult>();
         var values = obj.getValues();
 
         if (values != null) {
             for (T value : values) {
                 try {
-                    content.write(encoder.encode(value));
+                    components.add(encoder.encodeComponent(value, null));
                 } catch (Exception e) {
                     throw new EncodingException(e);
                 }
             }
         }
 
-        return EncodingResult.of(content.toByteArray(), true);
+        return EncodingResult.of(components, true);
     }
 
 }
@@ -29,13 +29,135 @@ package ch.eskaton.asn4j.runtime.encoders;
 
 import ch.eskaton.asn4j.runtime.Encoder;
 import ch.eskaton.asn4j.runtime.EncodingResult;
+import ch.eskaton.asn4j.runtime.exceptions.EncodingException;
 import ch.eskaton.asn4j.runtime.types.AbstractASN1String;
 
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Encodes strings in a fixed character set. US-ASCII, ISO-8859-1 and UTF-8 are written directly to the output without
+ * an intermediate byte array.
+ */
 public class DefaultStringEncoder<T extends AbstractASN1String> implements TypeEncoder<T> {
 
+    private final Charset charset;
+
+    private final int maxChar;
+
+    public DefaultStringEncoder(Charset charset) {
+        this.charset = charset;
+
+        if (StandardCharsets.US_ASCII.equals(charset)) {
+            maxChar = 0x7f;
+        } else if (StandardCharsets.ISO_8859_1.equals(charset)) {
+            maxChar = 0xff;
+        } else {
+            maxChar = -1;
+        }
+    }
+
     @Override
     public EncodingResult encode(Encoder encoder, T obj) {
-        return EncodingResult.of(obj.getValue().getBytes(), false);
+        var value = obj.getValue();
+
+        if (maxChar != -1) {
+            return encodeSingleByte(value);
+        } else if (StandardCharsets.UTF_8.equals(charset)) {
+            return encodeUTF8(value);
+        }
+
+        return EncodingResult.of(value.getBytes(charset), false);
+    }
+
+    private EncodingResult encodeSingleByte(String value) {
+        for (var i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > maxChar) {
+                throw new EncodingException("Character U+%04X can't be encoded in %s", (int) value.charAt(i),
+                        charset);
+            }
+        }
+
+        return EncodingResult.of(value.length(), sink -> writeSingleByte(sink, value), false);
+    }
+
+    private static EncodingResult encodeUTF8(String value) {
+        if (isAscii(value)) {
+            return EncodingResult.of(value.length(), sink -> writeSingleByte(sink, value), false);
+        }
+
+        return EncodingResult.of(getUTF8Length(value), sink -> writeUTF8(sink, value), false);
+    }
+
+    private static boolean isAscii(String value) {
+        for (var i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > 0x7f) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static void writeSingleByte(EncodingSink sink, String value) {
+        for (var i = 0; i < value.length(); i++) {
+            sink.write((byte) value.charAt(i));
+        }
+    }
+
+    private static int getUTF8Length(String value) {
+        var length = 0;
+
+        for (var i = 0; i < value.length(); i++) {
+            var c = value.charAt(i);
+
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (isSurrogatePair(value, i)) {
+                length += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                length++;
+            } else {
+                length += 3;
+            }
+        }
+
+        return length;
+    }
+
+    private static void writeUTF8(EncodingSink sink, String value) {
+        for (var i = 0; i < value.length(); i++) {
+            var c = value.charAt(i);
+
+            if (c < 0x80) {
+                sink.write((byte) c);
+            } else if (c < 0x800) {
+                sink.write((byte) (0xc0 | c >> 6));
+                sink.write((byte) (0x80 | c & 0x3f));
+            } else if (isSurrogatePair(value, i)) {
+                var cp = Character.toCodePoint(c, value.charAt(++i));
+
+                sink.write((byte) (0xf0 | cp >> 18));
+                sink.write((byte) (0x80 | cp >> 12 & 0x3f));
+                sink.write((byte) (0x80 | cp >> 6 & 0x3f));
+                sink.write((byte) (0x80 | cp & 0x3f));
+            } else if (Character.isSurrogate(c)) {
+                // An unpaired surrogate is replaced, as String.getBytes() does
+                sink.write((byte) '?');
+            } else {
+                sink.write((byte) (0xe0 | c >> 12));
+                sink.write((byte) (0x80 | c >> 6 & 0x3f));
+                sink.write((byte) (0x80 | c & 0x3f));
+            }
+        }
+    }
+
+    private static boolean isSurrogatePair(String value, int i) {
+        return Character.isHighSurrogate(value.charAt(i)) && i + 1 < value.length() &&
+                Character.isLowSurrogate(value.charAt(i + 1));
     }
 
 }
@@ -0,0 +1,107 @@
+/*
+ *  Copyright (c) 2015, Adrian Moser
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  * Redistributions of source code must retain the above copyright
+ *  notice, this list of conditions and the following disclaimer.
+ *  * Redistributions in binary form must reproduce the above copyright
+ *  notice, this list of conditions and the following disclaimer in the
+ *  documentation and/or other materials provided with the distribution.
+ *  * Neither the name of the author nor the
+ *  names of its contributors may be used to endorse or promote products
+ *  derived from this software without specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL AUTHOR BE LIABLE FOR ANY
+ *  DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *  ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package ch.eskaton.asn4j.runtime.encoders;
+
+import ch.eskaton.asn4j.runtime.Encoder;
+import ch.eskaton.asn4j.runtime.EncodingResult;
+import ch.eskaton.asn4j.runtime.exceptions.EncodingException;
+import ch.eskaton.asn4j.runtime.types.ASN1Type;
+import ch.eskaton.asn4j.runtime.utils.RuntimeUtils;
+import ch.eskaton.asn4j.runtime.utils.TLVUtils;
+import ch.eskaton.asn4j.runtime.utils.ToString;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * Per-class encoding plan. It holds the precomputed tag bytes of the class and, if the class provides a
+ * compiler-generated {@code encodeBER} method, a handle to it which is used instead of the reflective encoders.
+ */
+public class EncodingPlan {
+
+    public static final String ENCODE_METHOD = "encodeBER";
+
+    private static final ClassValue<EncodingPlan> PLANS = new ClassValue<>() {
+
+        @Override
+        @SuppressWarnings("unchecked")
+        protected EncodingPlan computeValue(Class<?> type) {
+            return new EncodingPlan((Class<? extends ASN1Type>) type);
+        }
+
+    };
+
+    private final byte[][] tags;
+
+    private final MethodHandle encoder;
+
+    private EncodingPlan(Class<? extends ASN1Type> type) {
+        this.tags = TLVUtils.getTags(RuntimeUtils.getTags(type));
+        this.encoder = findEncoder(type);
+    }
+
+    public static EncodingPlan of(Class<? extends ASN1Type> type) {
+        return PLANS.get(type);
+    }
+
+    private static MethodHandle findEncoder(Class<? extends ASN1Type> type) {
+        var methodType = MethodType.methodType(EncodingResult.class, Encoder.class, type);
+
+        try {
+            return MethodHandles.publicLookup().findStatic(type, ENCODE_METHOD, methodType)
+                    .asType(methodType.changeParameterType(1, ASN1Type.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    public byte[][] getTags() {
+        return tags;
+    }
+
+    public boolean hasEncoder() {
+        return encoder != null;
+    }
+
+    public EncodingResult encode(Encoder encoder, ASN1Type obj) {
+        try {
+            return (EncodingResult) this.encoder.invokeExact(encoder, obj);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new EncodingException(e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return ToString.get(this);
+    }
+
+}
@@ -35,7 +35,27 @@ public class IntegerEncoder implements TypeEncoder<ASN1Integer> {
 
     @Override
     public EncodingResult encode(Encoder encoder, ASN1Integer obj) {
+        if (obj.isLong()) {
+            var longValue = obj.longValue();
+            var length = getLength(longValue);
+
+            return EncodingResult.of(length, sink -> {
+                for (var i = length - 1; i >= 0; i--) {
+                    sink.write((byte) (longValue >> (i * 8)));
+                }
+            }, false);
+        }
+
         return EncodingResult.of(obj.getValue().toByteArray(), false);
     }
 
+    /**
+     * Returns the minimal number of bytes of the two's complement representation of {@code value}.
+     */
+    static int getLength(long value) {
+        var bitLength = Long.SIZE - Long.numberOfLeadingZeros(value < 0 ? ~value : value);
+
+        return bitLength / 8 + 1;
+    }
+
 }
@@ -27,15 +27,47 @@
 
 package ch.eskaton.asn4j.runtime.encoders;
 
+import ch.eskaton.asn4j.runtime.BEREncoder;
+import ch.eskaton.asn4j.runtime.Clazz;
 import ch.eskaton.asn4j.runtime.Encoder;
 import ch.eskaton.asn4j.runtime.EncodingResult;
 import ch.eskaton.asn4j.runtime.types.ASN1OctetString;
+import ch.eskaton.asn4j.runtime.utils.TLVUtils;
+
+import java.util.ArrayList;
 
 public class OctetStringEncoder implements TypeEncoder<ASN1OctetString> {
 
+    /**
+     * Maximum length of a segment in the CER encoding of an OCTET STRING (X.690, 9.2).
+     */
+    public static final int SEGMENT_SIZE = 1000;
+
+    private static final byte[][] SEGMENT_TAGS = new byte[][] { TLVUtils.getTag(Clazz.UNIVERSAL, 4, false) };
+
     @Override
     public EncodingResult encode(Encoder encoder, ASN1OctetString obj) {
-        return EncodingResult.of(obj.getValue(), false);
+        var value = obj.getValue();
+
+        if (value.length > SEGMENT_SIZE && encoder instanceof BEREncoder && ((BEREncoder) encoder).isSegmented()) {
+            return encodeSegments(value);
+        }
+
+        return EncodingResult.of(value, false);
+    }
+
+    private EncodingResult encodeSegments(byte[] value) {
+        var segments = new ArrayList<EncodingResult>(value.length / SEGMENT_SIZE + 1);
+
+        for (var pos = 0; pos < value.length; pos += SEGMENT_SIZE) {
+            var offset = pos;
+            var length = Math.min(SEGMENT_SIZE, value.length - pos);
+            var content = EncodingResult.of(length, sink -> sink.write(value, offset, length), false);
+
+            segments.add(EncodingResult.of(TLVUtils.getTagLength(SEGMENT_TAGS, false, length), content));
+        }
+
+        return EncodingResult.indefinite(segments);
     }
 
 }
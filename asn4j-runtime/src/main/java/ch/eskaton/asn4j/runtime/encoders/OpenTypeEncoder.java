@@ -32,24 +32,24 @@ import ch.eskaton.asn4j.runtime.EncodingResult;
 import ch.eskaton.asn4j.runtime.exceptions.EncodingException;
 import ch.eskaton.asn4j.runtime.types.ASN1OpenType;
 
-import java.io.ByteArrayOutputStream;
+import java.util.List;
 
 public class OpenTypeEncoder implements TypeEncoder<ASN1OpenType> {
 
     @Override
     public EncodingResult encode(Encoder encoder, ASN1OpenType obj) {
-        var content = new ByteArrayOutputStream();
+        EncodingResult content;
         var value = obj.getValue();
 
         try {
-            content.write(encoder.encode(value));
+            content = encoder.encodeComponent(value, null);
         } catch (Exception e) {
             throw new EncodingException(e);
         }
 
         // Since the open type itself doesn't need to be encoded, we return its
         // value here
-        return EncodingResult.of(content.toByteArray(), false);
+        return EncodingResult.of(List.of(content), false);
     }
 
 }
@@ -31,13 +31,24 @@ import ch.eskaton.asn4j.runtime.Encoder;
 import ch.eskaton.asn4j.runtime.EncodingResult;
 import ch.eskaton.asn4j.runtime.types.ASN1UniversalString;
 
-import java.nio.charset.Charset;
-
 public class UniversalStringEncoder implements TypeEncoder<ASN1UniversalString> {
 
     @Override
     public EncodingResult encode(Encoder encoder, ASN1UniversalString obj) {
-        return EncodingResult.of(obj.getValue().getBytes(Charset.forName("UTF32")), false);
+        var value = obj.getValue();
+
+        return EncodingResult.of(value.codePointCount(0, value.length()) * 4, sink -> {
+            for (var i = 0; i < value.length(); ) {
+                var cp = value.codePointAt(i);
+
+                sink.write((byte) (cp >> 24));
+                sink.write((byte) (cp >> 16));
+                sink.write((byte) (cp >> 8));
+                sink.write((byte) cp);
+
+                i += Character.charCount(cp);
+            }
+        }, false);
     }
 
 }
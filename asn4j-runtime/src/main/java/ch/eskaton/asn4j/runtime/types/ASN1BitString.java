@@ -28,6 +28,7 @@
 package ch.eskaton.asn4j.runtime.types;
 
 import ch.eskaton.asn4j.runtime.Clazz;
+import ch.eskaton.asn4j.runtime.DecoderInput;
 import ch.eskaton.asn4j.runtime.annotations.ASN1Tag;
 import ch.eskaton.asn4j.runtime.annotations.ASN1Tags;
 import ch.eskaton.asn4j.runtime.exceptions.ASN1RuntimeException;
@@ -36,7 +37,8 @@ import ch.eskaton.asn4j.runtime.utils.ToString;
 import ch.eskaton.commons.utils.HexDump;
 import ch.eskaton.commons.utils.StreamsUtils;
 
-import java.util.Arrays;
+import java.nio.ByteBuffer;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @ASN1Tags(tags = @ASN1Tag(clazz = Clazz.UNIVERSAL, tag = 3))
@@ -46,6 +48,8 @@ public class ASN1BitString implements ASN1Type, HasConstraint {
 
     protected int unusedBits;
 
+    private DecoderInput view;
+
     public ASN1BitString() {
     }
 
@@ -63,6 +67,8 @@ public class ASN1BitString implements ASN1Type, HasConstraint {
     }
 
     public byte[] getValue() {
+        detach();
+
         return value;
     }
 
@@ -73,10 +79,42 @@ public class ASN1BitString implements ASN1Type, HasConstraint {
     public void setValue(byte[] value, int unusedBits) {
         this.unusedBits = unusedBits;
         this.value = new byte[value.length];
+        this.view = null;
 
         System.arraycopy(value, 0, this.value, 0, value.length);
     }
 
+    /**
+     * Sets the value to a view of the decoder input. The bytes are copied when the value is first requested as an
+     * array or modified.
+     */
+    public void setView(DecoderInput view, int unusedBits) {
+        this.unusedBits = unusedBits;
+        this.value = null;
+        this.view = view;
+    }
+
+    /**
+     * Returns a read-only buffer over the value without copying it.
+     */
+    public ByteBuffer asByteBuffer() {
+        if (view != null) {
+            return view.asByteBuffer();
+        }
+
+        return ByteBuffer.wrap(value).asReadOnlyBuffer();
+    }
+
+    /**
+     * Copies the bytes of a view, so that the value no longer depends on the decoder input.
+     */
+    public void detach() {
+        if (view != null) {
+            value = view.getBytes(0, view.length());
+            view = null;
+        }
+    }
+
     public ASN1BitString value(byte[] value) {
         setValue(value);
         return this;
@@ -106,6 +144,8 @@ public class ASN1BitString implements ASN1Type, HasConstraint {
     }
 
     private int getPos(int bit) {
+        detach();
+
         int pos = bit / 8;
 
         if (pos >= value.length) {
@@ -120,7 +160,7 @@ public class ASN1BitString implements ASN1Type, HasConstraint {
     }
 
     public long getSize() {
-        return getSize(value, unusedBits);
+        return (view != null ? view.length() : value.length) * 8L - unusedBits;
     }
 
     public static long getSize(byte[] value, int unusedBits) {
@@ -135,7 +175,7 @@ public class ASN1BitString implements ASN1Type, HasConstraint {
     public void checkConstraint() {
         if (Boolean.FALSE.equals(doCheckConstraint())) {
             throw new ConstraintViolatedException(String.format("'%s'B (%d unused bits) doesn't satisfy a constraint",
-                    StreamsUtils.toIntStream(value)
+                    StreamsUtils.toIntStream(getValue())
                             .mapToObj(b -> Integer.toBinaryString((b & 0xFF) + 0x100).substring(1 + unusedBits))
                             .collect(Collectors.joining()), unusedBits));
         }
@@ -144,13 +184,13 @@ public class ASN1BitString implements ASN1Type, HasConstraint {
     @Override
     public String toString() {
         return ToString.builder(this).addAll()
-                .map("value", v -> "0x" + HexDump.toHexString(value))
+                .map("value", v -> "0x" + HexDump.toHexString(view != null ? view.getBytes(0, view.length()) : value))
                 .build();
     }
 
     @Override
     public int hashCode() {
-        return Arrays.hashCode(value);
+        return Objects.hashCode(getBuffer());
     }
 
     @Override
@@ -165,7 +205,11 @@ public class ASN1BitString implements ASN1Type, HasConstraint {
 
         ASN1BitString other = (ASN1BitString) obj;
 
-        return unusedBits == other.unusedBits && Arrays.equals(value, other.value);
+        return unusedBits == other.unusedBits && Objects.equals(getBuffer(), other.getBuffer());
+    }
+
+    private ByteBuffer getBuffer() {
+        return view == null && value == null ? null : asByteBuffer();
     }
 
 }
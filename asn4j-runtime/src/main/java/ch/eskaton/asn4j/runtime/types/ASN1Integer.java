@@ -36,24 +36,63 @@ import ch.eskaton.asn4j.runtime.utils.ToString;
 import java.math.BigInteger;
 import java.util.Objects;
 
+/**
+ * An INTEGER value. Values which fit into a {@code long} are stored as such and are converted to a new
+ * {@link BigInteger} whenever {@link #getValue()} is called, so that reading the value doesn't modify the object.
+ */
 @ASN1Tags(tags = @ASN1Tag(clazz = Clazz.UNIVERSAL, tag = 2))
 public class ASN1Integer implements ASN1Type, HasConstraint {
 
     private BigInteger value;
 
+    private long longValue;
+
+    private boolean isLong;
+
     public ASN1Integer() {
     }
 
     public ASN1Integer(long value) {
-        this.value = BigInteger.valueOf(value);
+        setValue(value);
     }
 
     public BigInteger getValue() {
-        return value;
+        return isLong ? BigInteger.valueOf(longValue) : value;
     }
 
     public void setValue(BigInteger value) {
         this.value = value;
+        this.isLong = value != null && value.bitLength() < Long.SIZE;
+        this.longValue = isLong ? value.longValue() : 0;
+    }
+
+    public void setValue(long value) {
+        this.value = null;
+        this.longValue = value;
+        this.isLong = true;
+    }
+
+    /**
+     * Returns true if the value is set and fits into a {@code long}.
+     */
+    public boolean isLong() {
+        return isLong;
+    }
+
+    /**
+     * Returns the value as a {@code long}.
+     *
+     * @throws ArithmeticException if the value doesn't fit into a {@code long}
+     * @throws IllegalStateException if the value isn't set
+     */
+    public long longValue() {
+        if (isLong) {
+            return longValue;
+        } else if (value == null) {
+            throw new IllegalStateException("Value not set");
+        }
+
+        return value.longValueExact();
     }
 
     public static ASN1Integer valueOf(long value) {
@@ -63,18 +102,18 @@ public class ASN1Integer implements ASN1Type, HasConstraint {
     @Override
     public void checkConstraint() {
         if (Boolean.FALSE.equals(doCheckConstraint())) {
-            throw new ConstraintViolatedException(String.format("%d doesn't satisfy a constraint", value));
+            throw new ConstraintViolatedException(String.format("%d doesn't satisfy a constraint", getValue()));
         }
     }
 
     @Override
     public String toString() {
-        return ToString.get(this);
+        return ToString.builder(this).add("value", getValue()).build();
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(value);
+        return isLong ? Long.hashCode(longValue) : Objects.hashCode(value);
     }
 
     @Override
@@ -89,6 +128,10 @@ public class ASN1Integer implements ASN1Type, HasConstraint {
 
         ASN1Integer other = (ASN1Integer) obj;
 
+        if (isLong || other.isLong) {
+            return isLong == other.isLong && longValue == other.longValue;
+        }
+
         return Objects.equals(value, other.value);
     }
 
@@ -28,19 +28,23 @@
 package ch.eskaton.asn4j.runtime.types;
 
 import ch.eskaton.asn4j.runtime.Clazz;
+import ch.eskaton.asn4j.runtime.DecoderInput;
 import ch.eskaton.asn4j.runtime.annotations.ASN1Tag;
 import ch.eskaton.asn4j.runtime.annotations.ASN1Tags;
 import ch.eskaton.asn4j.runtime.exceptions.ConstraintViolatedException;
 import ch.eskaton.asn4j.runtime.utils.ToString;
 import ch.eskaton.commons.utils.HexDump;
 
-import java.util.Arrays;
+import java.nio.ByteBuffer;
+import java.util.Objects;
 
 @ASN1Tags(tags = @ASN1Tag(clazz = Clazz.UNIVERSAL, tag = 4))
 public class ASN1OctetString implements ASN1Type, HasConstraint {
 
     private byte[] value;
 
+    private DecoderInput view;
+
     public ASN1OctetString() {
         this.value = new byte[] {};
     }
@@ -54,11 +58,51 @@ public class ASN1OctetString implements ASN1Type, HasConstraint {
     }
 
     public byte[] getValue() {
+        detach();
+
         return value;
     }
 
     public void setValue(byte[] value) {
         this.value = value;
+        this.view = null;
+    }
+
+    /**
+     * Sets the value to a view of the decoder input. The bytes are copied when the value is first requested as an
+     * array.
+     */
+    public void setView(DecoderInput view) {
+        this.value = null;
+        this.view = view;
+    }
+
+    /**
+     * Returns the number of octets without copying a view.
+     */
+    public int getLength() {
+        return view != null ? view.length() : value.length;
+    }
+
+    /**
+     * Returns a read-only buffer over the value without copying it.
+     */
+    public ByteBuffer asByteBuffer() {
+        if (view != null) {
+            return view.asByteBuffer();
+        }
+
+        return ByteBuffer.wrap(value).asReadOnlyBuffer();
+    }
+
+    /**
+     * Copies the bytes of a view, so that the value no longer depends on the decoder input.
+     */
+    public void detach() {
+        if (view != null) {
+            value = view.getBytes(0, view.length());
+            view = null;
+        }
     }
 
     public ASN1OctetString value(byte[] value) {
@@ -71,7 +115,7 @@ public class ASN1OctetString implements ASN1Type, HasConstraint {
     public void checkConstraint() {
         if (Boolean.FALSE.equals(doCheckConstraint())) {
             throw new ConstraintViolatedException(String.format("%s doesn't satisfy a constraint",
-                    HexDump.toHexString(value)));
+                    HexDump.toHexString(getValue())));
         }
     }
 
@@ -82,7 +126,7 @@ public class ASN1OctetString implements ASN1Type, HasConstraint {
 
     @Override
     public int hashCode() {
-        return Arrays.hashCode(value);
+        return Objects.hashCode(getBuffer());
     }
 
     @Override
@@ -97,7 +141,11 @@ public class ASN1OctetString implements ASN1Type, HasConstraint {
 
         ASN1OctetString other = (ASN1OctetString) obj;
 
-        return Arrays.equals(value, other.value);
+        return Objects.equals(getBuffer(), other.getBuffer());
+    }
+
+    private ByteBuffer getBuffer() {
+        return view == null && value == null ? null : asByteBuffer();
     }
 
 }
@@ -33,7 +33,7 @@ import ch.eskaton.asn4j.runtime.annotations.ASN1Tags;
 import ch.eskaton.asn4j.runtime.exceptions.ConstraintViolatedException;
 
 @ASN1Tags(tags = @ASN1Tag(clazz = Clazz.UNIVERSAL, tag = 16))
-public abstract class ASN1Sequence implements ASN1Type, HasConstraint {
+public abstract class ASN1Sequence extends AbstractASN1Collection implements HasConstraint {
 
     @Override
     public void checkConstraint() {
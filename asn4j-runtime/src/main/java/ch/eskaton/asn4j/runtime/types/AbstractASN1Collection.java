@@ -0,0 +1,82 @@
+/*
+ *  Copyright (c) 2015, Adrian Moser
+ *  All rights reserved.
+ * 
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  * Redistributions of source code must retain the above copyright
+ *  notice, this list of conditions and the following disclaimer.
+ *  * Redistributions in binary form must reproduce the above copyright
+ *  notice, this list of conditions and the following disclaimer in the
+ *  documentation and/or other materials provided with the distribution.
+ *  * Neither the name of the author nor the
+ *  names of its contributors may be used to endorse or promote products
+ *  derived from this software without specific prior written permission.
+ * 
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL AUTHOR BE LIABLE FOR ANY
+ *  DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *  ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package ch.eskaton.asn4j.runtime.types;
+
+import ch.eskaton.asn4j.runtime.decoders.LazyComponents;
+
+/**
+ * Base class of SEQUENCE and SET types. Holds the components whose decoding has been deferred by a lazy decoder.
+ * <p>
+ * Getters decode such components on first access without synchronization, so a lazily decoded value must not be
+ * shared between threads before {@link #resolveComponents()} has been called.
+ */
+public abstract class AbstractASN1Collection implements ASN1Type {
+
+    private LazyComponents lazyComponents;
+
+    public void setLazyComponents(LazyComponents lazyComponents) {
+        this.lazyComponents = lazyComponents;
+    }
+
+    /**
+     * Returns true if the decoding of some components is still pending.
+     */
+    public boolean hasLazyComponents() {
+        return lazyComponents != null;
+    }
+
+    /**
+     * Decodes all deferred components. The source of a lazily decoded value is released afterwards.
+     */
+    public void resolveComponents() {
+        if (lazyComponents != null) {
+            lazyComponents.resolveAll(this);
+            lazyComponents = null;
+        }
+    }
+
+    /**
+     * Decodes the component at {@code index} in the order of the component fields if its decoding has been deferred.
+     * Called by generated getters.
+     */
+    protected void resolveComponent(int index) {
+        if (lazyComponents != null && lazyComponents.resolve(this, index)) {
+            lazyComponents = null;
+        }
+    }
+
+    /**
+     * Discards the deferred value of the component at {@code index}. Called by generated setters.
+     */
+    protected void discardComponent(int index) {
+        if (lazyComponents != null && lazyComponents.discard(index)) {
+            lazyComponents = null;
+        }
+    }
+
+}
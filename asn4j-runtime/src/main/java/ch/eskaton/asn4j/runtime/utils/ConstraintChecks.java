@@ -34,6 +34,8 @@ import java.util.Collection;
 
 public class ConstraintChecks {
 
+    private static final int MAX_LINEAR_ALPHABET = 16;
+
     private ConstraintChecks() {
     }
 
@@ -162,7 +164,7 @@ public class ConstraintChecks {
             return false;
         }
 
-        return value.compareTo(BigInteger.valueOf(min)) >= Integer.valueOf(0);
+        return value.bitLength() < Long.SIZE ? value.longValue() >= min : value.signum() > 0;
     }
 
     public static boolean checkUpperBound(BigInteger value, long max) {
@@ -170,7 +172,7 @@ public class ConstraintChecks {
             return false;
         }
 
-        return value.compareTo(BigInteger.valueOf(max)) <= Integer.valueOf(0);
+        return value.bitLength() < Long.SIZE ? value.longValue() <= max : value.signum() < 0;
     }
 
     public static boolean checkEquals(BigInteger value, long other) {
@@ -178,7 +180,77 @@ public class ConstraintChecks {
             return false;
         }
 
-        return value.compareTo(BigInteger.valueOf(other)) == Integer.valueOf(0);
+        return value.bitLength() < Long.SIZE && value.longValue() == other;
+    }
+
+    public static boolean checkLowerBound(long value, long min) {
+        return value >= min;
+    }
+
+    public static boolean checkUpperBound(long value, long max) {
+        return value <= max;
+    }
+
+    public static boolean checkEquals(long value, long other) {
+        return value == other;
+    }
+
+    /**
+     * Checks whether all characters of a string are in a permitted alphabet.
+     *
+     * @param value    a string
+     * @param alphabet sorted, disjoint code point ranges as pairs of inclusive lower and upper bounds
+     * @return true, if all characters are permitted
+     */
+    public static boolean checkAlphabet(String value, int[] alphabet) {
+        if (value == null) {
+            return false;
+        }
+
+        var length = value.length();
+
+        for (var i = 0; i < length; ) {
+            var cp = value.codePointAt(i);
+
+            if (!isInAlphabet(cp, alphabet)) {
+                return false;
+            }
+
+            i += Character.charCount(cp);
+        }
+
+        return true;
+    }
+
+    private static boolean isInAlphabet(int cp, int[] alphabet) {
+        if (alphabet.length <= MAX_LINEAR_ALPHABET) {
+            for (var i = 0; i < alphabet.length; i += 2) {
+                if (cp < alphabet[i]) {
+                    return false;
+                } else if (cp <= alphabet[i + 1]) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        var low = 0;
+        var high = alphabet.length / 2 - 1;
+
+        while (low <= high) {
+            var mid = (low + high) >>> 1;
+
+            if (cp < alphabet[2 * mid]) {
+                high = mid - 1;
+            } else if (cp > alphabet[2 * mid + 1]) {
+                low = mid + 1;
+            } else {
+                return true;
+            }
+        }
+
+        return false;
     }
 
 }
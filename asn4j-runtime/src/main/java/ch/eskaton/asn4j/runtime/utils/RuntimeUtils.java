@@ -71,7 +71,11 @@ public class RuntimeUtils {
     }
 
     public static List<Field> getComponents(ASN1Type type) {
-        return StreamsUtils.of(FieldIterator.of(type.getClass())).collect(toList());
+        return getComponents(type.getClass());
+    }
+
+    public static List<Field> getComponents(Class<? extends ASN1Type> type) {
+        return StreamsUtils.of(FieldIterator.of(type)).collect(toList());
     }
 
     public static Field getComponent(ASN1Type type, String name) {
@@ -84,9 +88,7 @@ public class RuntimeUtils {
     }
 
     public static byte[] getValue(DecoderStates states, DecoderState state, int offset) {
-        byte[] buf = new byte[state.tlv.length - offset];
-        System.arraycopy(states.buf, state.tlv.pos + offset, buf, 0, state.tlv.length - offset);
-        return buf;
+        return states.input.getBytes(state.tlv.pos + offset, state.tlv.length - offset);
     }
 
 }
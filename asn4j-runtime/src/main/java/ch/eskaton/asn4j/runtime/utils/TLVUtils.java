@@ -27,18 +27,15 @@
 
 package ch.eskaton.asn4j.runtime.utils;
 
+import ch.eskaton.asn4j.runtime.Clazz;
 import ch.eskaton.asn4j.runtime.annotations.ASN1Tag;
-import ch.eskaton.asn4j.runtime.exceptions.EncodingException;
 import ch.eskaton.asn4j.runtime.types.ASN1Type;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.util.ArrayDeque;
 import java.util.List;
 
 public class TLVUtils {
 
-    private static final double LOG10_2_DIV_8 = Math.log10(2) / 8;
+    private static final byte[] INDEFINITE_LENGTH = new byte[] { (byte) 0x80 };
 
     private TLVUtils() {
     }
@@ -48,37 +45,75 @@ public class TLVUtils {
     }
 
     public static byte[] getTagLength(List<ASN1Tag> tags, boolean constructed, int contentLen) {
-        var baos = new ByteArrayOutputStream();
-        var buffers = new ArrayDeque<byte[]>(2 * tags.size());
-        var lastIndex = tags.size() - 1;
+        return getTagLength(getTags(tags), constructed, contentLen);
+    }
+
+    /**
+     * Encodes the tags and lengths of a value from precomputed tag bytes as returned by {@link #getTags(List)}.
+     * The constructed bit of the innermost tag is set according to {@code constructed}.
+     */
+    public static byte[] getTagLength(byte[][] tags, boolean constructed, int contentLen) {
+        return getTagLength(tags, constructed, contentLen, false);
+    }
+
+    /**
+     * Encodes the tags and lengths of a value. If {@code indefinite} is set, the innermost length is encoded in the
+     * indefinite form and {@code contentLen} has to include the end-of-contents octets. The outer lengths are always
+     * definite.
+     */
+    public static byte[] getTagLength(byte[][] tags, boolean constructed, int contentLen, boolean indefinite) {
+        var lengths = new byte[tags.length][];
+        var size = 0;
 
-        for (var i = lastIndex; i >= 0; i--) {
-            var tag = tags.get(i);
-            var lenBuffer = getLength(contentLen);
-            var tagBuffer = getTag(tag, i != lastIndex || constructed);
+        for (var i = tags.length - 1; i >= 0; i--) {
+            lengths[i] = indefinite && i == tags.length - 1 ? INDEFINITE_LENGTH : getLength(contentLen);
 
-            buffers.push(lenBuffer);
-            buffers.push(tagBuffer);
+            var headerLen = tags[i].length + lengths[i].length;
 
-            contentLen += lenBuffer.length + tagBuffer.length;
+            contentLen += headerLen;
+            size += headerLen;
         }
 
-        try {
-            while (!buffers.isEmpty()) {
-                baos.write(buffers.pop());
+        var buf = new byte[size];
+        var pos = 0;
+
+        for (var i = 0; i < tags.length; i++) {
+            System.arraycopy(tags[i], 0, buf, pos, tags[i].length);
+
+            if (constructed && i == tags.length - 1) {
+                buf[pos] |= 0x20;
             }
-        } catch (IOException e) {
-            throw new EncodingException(e);
+
+            pos += tags[i].length;
+
+            System.arraycopy(lengths[i], 0, buf, pos, lengths[i].length);
+
+            pos += lengths[i].length;
         }
 
-        return baos.toByteArray();
+        return buf;
+    }
+
+    /**
+     * Encodes the tags of a value. All but the innermost tag are encoded as constructed, the constructed bit of the
+     * innermost tag is set by {@link #getTagLength(byte[][], boolean, int)}.
+     */
+    public static byte[][] getTags(List<ASN1Tag> tags) {
+        var buf = new byte[tags.size()][];
+        var lastIndex = tags.size() - 1;
+
+        for (var i = 0; i <= lastIndex; i++) {
+            buf[i] = getTag(tags.get(i), i != lastIndex);
+        }
+
+        return buf;
     }
 
     public static byte[] getLength(int contentLen) {
         byte[] buf;
 
         if (contentLen > 127) {
-            int len = (int) Math.ceil(Math.log10(contentLen + 1.0d) / LOG10_2_DIV_8);
+            int len = 4 - Integer.numberOfLeadingZeros(contentLen) / 8;
             buf = new byte[len + 1];
             buf[0] = (byte) (len & 0x7f | 0x80);
 
@@ -94,8 +129,11 @@ public class TLVUtils {
     }
 
     public static byte[] getTag(ASN1Tag tag, boolean constructed) {
+        return getTag(tag.clazz(), tag.tag(), constructed);
+    }
+
+    public static byte[] getTag(Clazz clazz, int tagNum, boolean constructed) {
         byte[] buf;
-        int tagNum = tag.tag();
 
         if (tagNum > 30) {
             int len = (int) Math.ceil(Math.log10(tagNum + 1.0d) / Math.log10(2) / 7.0d);
@@ -112,7 +150,7 @@ public class TLVUtils {
             buf = new byte[] { (byte) (tagNum & 0x1f) };
         }
 
-        buf[0] |= (byte) ((tag.clazz().ordinal() & 0x3) << 6) | (byte) ((constructed ? 1 : 0) << 5);
+        buf[0] |= (byte) ((clazz.ordinal() & 0x3) << 6) | (byte) ((constructed ? 1 : 0) << 5);
 
         return buf;
     }
@@ -0,0 +1,73 @@
+/*
+ *  Copyright (c) 2015, Adrian Moser
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  * Redistributions of source code must retain the above copyright
+ *  notice, this list of conditions and the following disclaimer.
+ *  * Redistributions in binary form must reproduce the above copyright
+ *  notice, this list of conditions and the following disclaimer in the
+ *  documentation and/or other materials provided with the distribution.
+ *  * Neither the name of the author nor the
+ *  names of its contributors may be used to endorse or promote products
+ *  derived from this software without specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL AUTHOR BE LIABLE FOR ANY
+ *  DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *  ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package ch.eskaton.asn4j.runtime.verifiers;
+
+import java.util.Optional;
+import java.util.function.IntPredicate;
+
+/**
+ * Base class for verifiers of character sets within the first 128 code points, which look up characters in a
+ * precomputed table. The strings of these types are decoded as ISO-8859-1, so that each char corresponds to an octet.
+ */
+public abstract class AbstractTableStringVerifier implements StringVerifier {
+
+    private static final int TABLE_SIZE = 128;
+
+    private final boolean[] table = new boolean[TABLE_SIZE];
+
+    protected AbstractTableStringVerifier(IntPredicate isValidCharacter) {
+        for (var c = 0; c < TABLE_SIZE; c++) {
+            table[c] = isValidCharacter.test(c);
+        }
+    }
+
+    /**
+     * Verifies the chars of a string. Any char outside the table, including surrogates, is invalid, so code points
+     * are only determined to report invalid characters.
+     */
+    @Override
+    public Optional<String> verify(String value) {
+        var length = value.length();
+
+        for (var i = 0; i < length; i++) {
+            var c = value.charAt(i);
+
+            if (c >= TABLE_SIZE || !table[c]) {
+                return StringVerifier.super.verify(value);
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    @Override
+    public final boolean isValidCharacter(int c) {
+        return c >= 0 && c < TABLE_SIZE && table[c];
+    }
+
+}
@@ -27,11 +27,10 @@
 
 package ch.eskaton.asn4j.runtime.verifiers;
 
-public class GeneralStringVerifier implements StringVerifier {
+public class GeneralStringVerifier extends AbstractTableStringVerifier {
 
-    @Override
-    public boolean isValidCharacter(int c) {
-        return c >= 0 && c <= 127;
+    public GeneralStringVerifier() {
+        super(c -> c >= 0 && c <= 127);
     }
 
 }
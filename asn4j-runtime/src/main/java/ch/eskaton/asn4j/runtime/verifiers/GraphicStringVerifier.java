@@ -27,11 +27,10 @@
 
 package ch.eskaton.asn4j.runtime.verifiers;
 
-public class GraphicStringVerifier implements StringVerifier {
+public class GraphicStringVerifier extends AbstractTableStringVerifier {
 
-    @Override
-    public boolean isValidCharacter(int c) {
-        return c >= 32 && c <= 126;
+    public GraphicStringVerifier() {
+        super(c -> c >= 32 && c <= 126);
     }
 
 }
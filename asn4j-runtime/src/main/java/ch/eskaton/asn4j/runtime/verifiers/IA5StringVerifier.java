@@ -27,11 +27,10 @@
 
 package ch.eskaton.asn4j.runtime.verifiers;
 
-public class IA5StringVerifier implements StringVerifier {
+public class IA5StringVerifier extends AbstractTableStringVerifier {
 
-    @Override
-    public boolean isValidCharacter(int c) {
-        return c >= 0 && c <= 127;
+    public IA5StringVerifier() {
+        super(c -> c >= 0 && c <= 127);
     }
 
 }
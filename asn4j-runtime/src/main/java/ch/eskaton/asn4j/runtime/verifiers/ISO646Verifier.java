@@ -27,11 +27,10 @@
 
 package ch.eskaton.asn4j.runtime.verifiers;
 
-public class ISO646Verifier implements StringVerifier {
+public class ISO646Verifier extends AbstractTableStringVerifier {
 
-    @Override
-    public boolean isValidCharacter(int c) {
-        return c >= 32 && c <= 126;
+    public ISO646Verifier() {
+        super(c -> c >= 32 && c <= 126);
     }
 
 }
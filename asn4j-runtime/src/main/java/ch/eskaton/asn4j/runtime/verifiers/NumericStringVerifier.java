@@ -27,11 +27,10 @@
 
 package ch.eskaton.asn4j.runtime.verifiers;
 
-public class NumericStringVerifier implements StringVerifier {
+public class NumericStringVerifier extends AbstractTableStringVerifier {
 
-    @Override
-    public boolean isValidCharacter(int c) {
-        return c == ' ' || c >= '0' && c <= '9';
+    public NumericStringVerifier() {
+        super(c -> c == ' ' || c >= '0' && c <= '9');
     }
 
 }
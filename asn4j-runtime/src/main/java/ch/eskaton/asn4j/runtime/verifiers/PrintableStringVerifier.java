@@ -27,11 +27,10 @@
 
 package ch.eskaton.asn4j.runtime.verifiers;
 
-public class PrintableStringVerifier implements StringVerifier {
+public class PrintableStringVerifier extends AbstractTableStringVerifier {
 
-    @Override
-    public boolean isValidCharacter(int c) {
-        return c >= 'a' && c <= 'z' ||
+    public PrintableStringVerifier() {
+        super(c -> c >= 'a' && c <= 'z' ||
                 c >= 'A' && c <= 'Z' ||
                 c >= '0' && c <= '9' ||
                 c == ' ' ||
@@ -45,7 +44,7 @@ public class PrintableStringVerifier implements StringVerifier {
                 c == '/' ||
                 c == ':' ||
                 c == '=' ||
-                c == '?';
+                c == '?');
     }
 
 }
@@ -28,18 +28,46 @@
 package ch.eskaton.asn4j.runtime.verifiers;
 
 import java.util.Optional;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 public interface StringVerifier {
 
+    /**
+     * Verifies the characters of a string. Nothing is allocated unless the string contains invalid characters.
+     *
+     * @param value a string
+     * @return the invalid characters, if there are any
+     */
     default Optional<String> verify(String value) {
-        return Optional.ofNullable(IntStream.range(0, value.length()).boxed()
-                .map(value::codePointAt)
-                .filter(c -> !isValidCharacter(c))
-                .map(i -> new String(Character.toChars(i)))
-                .collect(Collectors.joining()))
-                .filter(v -> !v.isEmpty());
+        var length = value.length();
+
+        for (var i = 0; i < length; ) {
+            var c = value.codePointAt(i);
+
+            if (!isValidCharacter(c)) {
+                return Optional.of(getInvalidCharacters(value, i));
+            }
+
+            i += Character.charCount(c);
+        }
+
+        return Optional.empty();
+    }
+
+    private String getInvalidCharacters(String value, int start) {
+        var invalid = new StringBuilder();
+        var length = value.length();
+
+        for (var i = start; i < length; ) {
+            var c = value.codePointAt(i);
+
+            if (!isValidCharacter(c)) {
+                invalid.appendCodePoint(c);
+            }
+
+            i += Character.charCount(c);
+        }
+
+        return invalid.toString();
     }
 
     boolean isValidCharacter(int c);
@@ -0,0 +1,116 @@
+/*
+ *  Copyright (c) 2015, Adrian Moser
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  * Redistributions of source code must retain the above copyright
+ *  notice, this list of conditions and the following disclaimer.
+ *  * Redistributions in binary form must reproduce the above copyright
+ *  notice, this list of conditions and the following disclaimer in the
+ *  documentation and/or other materials provided with the distribution.
+ *  * Neither the name of the author nor the
+ *  names of its contributors may be used to endorse or promote products
+ *  derived from this software without specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL AUTHOR BE LIABLE FOR ANY
+ *  DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *  ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package ch.eskaton.asn4j.runtime;
+
+import ch.eskaton.asn4j.runtime.exceptions.DecodingException;
+import ch.eskaton.asn4j.runtime.exceptions.PrematureEndOfInputException;
+import ch.eskaton.asn4j.runtime.types.ASN1Integer;
+import ch.eskaton.asn4j.runtime.types.ASN1OctetString;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BERBatchReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testParallelStream() throws IOException {
+        var file = write(10000);
+        var reader = new BERBatchReader<>(ASN1Integer.class, file);
+
+        assertThat(reader.size(), equalTo(10000));
+        assertThat(reader.parallelStream().map(value -> value.getValue().intValue()).collect(Collectors.toList()),
+                equalTo(IntStream.range(0, 10000).boxed().collect(Collectors.toList())));
+    }
+
+    @Test
+    void testMultipleRegions() throws IOException {
+        var file = write(1000);
+        var reader = new BERBatchReader<>(ASN1Integer.class, file, new BERDecoder(), 100);
+
+        assertThat(reader.stream().mapToLong(value -> value.getValue().longValue()).sum(), equalTo(499500L));
+    }
+
+    @Test
+    void testIndefiniteLength() throws IOException {
+        var file = Files.write(tempDir.resolve("indefinite.ber"), new byte[] { 0x24, (byte) 0x80, 0x04, 0x01, 0x01,
+                0x00, 0x00, 0x04, 0x01, 0x05 });
+        var reader = new BERBatchReader<>(ASN1OctetString.class, file);
+
+        assertThat(reader.stream().map(ASN1OctetString::getValue).collect(Collectors.toList()),
+                contains(new byte[] { 0x01 }, new byte[] { 0x05 }));
+    }
+
+    @Test
+    void testTruncatedFile() throws IOException {
+        var file = Files.write(tempDir.resolve("truncated.ber"), new byte[] { 0x02, 0x01, 0x01, 0x02, 0x02, 0x01 });
+
+        assertThrows(PrematureEndOfInputException.class, () -> new BERBatchReader<>(ASN1Integer.class, file));
+    }
+
+    @Test
+    void testValueExceedsRegion() throws IOException {
+        var file = Files.write(tempDir.resolve("large.ber"), new BEREncoder().encode(ASN1Integer.valueOf(1L << 40)));
+
+        assertThrows(DecodingException.class,
+                () -> new BERBatchReader<>(ASN1Integer.class, file, new BERDecoder(), 4));
+    }
+
+    @Test
+    void testCorruptFile() throws IOException {
+        var file = Files.write(tempDir.resolve("corrupt.ber"), new byte[] { 0x02, 0x01, 0x01, 0x24, (byte) 0x80, 0x04,
+                (byte) 0x84, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFA, 0x00, 0x00 });
+
+        assertThrows(DecodingException.class, () -> new BERBatchReader<>(ASN1Integer.class, file));
+    }
+
+    private Path write(int count) throws IOException {
+        var encoder = new BEREncoder();
+        var out = new ByteArrayOutputStream();
+
+        for (var i = 0; i < count; i++) {
+            encoder.encode(ASN1Integer.valueOf(i), out);
+        }
+
+        return Files.write(tempDir.resolve("values.ber"), out.toByteArray());
+    }
+
+}
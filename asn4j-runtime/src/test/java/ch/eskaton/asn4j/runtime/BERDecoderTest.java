@@ -0,0 +1,184 @@
+/*
+ *  Copyright (c) 2015, Adrian Moser
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  * Redistributions of source code must retain the above copyright
+ *  notice, this list of conditions and the following disclaimer.
+ *  * Redistributions in binary form must reproduce the above copyright
+ *  notice, this list of conditions and the following disclaimer in the
+ *  documentation and/or other materials provided with the distribution.
+ *  * Neither the name of the author nor the
+ *  names of its contributors may be used to endorse or promote products
+ *  derived from this software without specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL AUTHOR BE LIABLE FOR ANY
+ *  DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *  ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package ch.eskaton.asn4j.runtime;
+
+import ch.eskaton.asn4j.runtime.annotations.ASN1Tag;
+import ch.eskaton.asn4j.runtime.annotations.ASN1Tags;
+import ch.eskaton.asn4j.runtime.exceptions.DecodingException;
+import ch.eskaton.asn4j.runtime.types.ASN1BitString;
+import ch.eskaton.asn4j.runtime.types.ASN1Integer;
+import ch.eskaton.asn4j.runtime.types.ASN1OctetString;
+import ch.eskaton.asn4j.runtime.types.ASN1SequenceOf;
+import ch.eskaton.asn4j.runtime.types.ASN1VisibleString;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BERDecoderTest {
+
+    private final BERDecoder decoder = new BERDecoder();
+
+    @Test
+    void testDecodeInteger() {
+        assertThat(decoder.decode(ASN1Integer.class, new byte[] { 0x02, 0x02, (byte) 0xFF, 0x7F }).getValue(),
+                equalTo(BigInteger.valueOf(-129)));
+        assertThat(decoder.decode(ASN1Integer.class, new byte[] { 0x02, 0x09, 0x00, (byte) 0x80, 0x00, 0x00, 0x00,
+                0x00, 0x00, 0x00, 0x00 }).getValue(), equalTo(BigInteger.ONE.shiftLeft(63)));
+    }
+
+    @Test
+    void testDecodeFromByteBufferWindow() {
+        var encoded = new byte[] { 0x04, 0x03, 0x01, 0x02, 0x03 };
+
+        for (var buffer : new ByteBuffer[] { ByteBuffer.allocate(11), ByteBuffer.allocateDirect(11) }) {
+            buffer.put(new byte[] { 0x02, 0x01, 0x01 }).put(encoded).put(new byte[] { 0x02, 0x01, 0x02 });
+            buffer.position(3).limit(3 + encoded.length);
+
+            var value = decoder.decode(ASN1OctetString.class, buffer);
+
+            assertThat(value.getValue(), equalTo(new byte[] { 0x01, 0x02, 0x03 }));
+            assertThat(buffer.position(), equalTo(3));
+        }
+    }
+
+    @Test
+    void testDecodeFromSlice() {
+        var buffer = ByteBuffer.wrap(new byte[] { 0x00, 0x00, 0x02, 0x01, 0x2a }).position(2).slice();
+
+        assertThat(decoder.decode(ASN1Integer.class, buffer.asReadOnlyBuffer()).getValue(),
+                equalTo(BigInteger.valueOf(42)));
+    }
+
+    @Test
+    void testZeroCopyOctetString() {
+        var buf = new byte[] { 0x04, 0x03, 0x01, 0x02, 0x03 };
+        var value = BERDecoder.builder().zeroCopy(true).build().decode(ASN1OctetString.class, buf);
+
+        buf[2] = 0x07;
+
+        assertThat(value.asByteBuffer().remaining(), equalTo(3));
+        assertThat(value.asByteBuffer().get(0), equalTo((byte) 0x07));
+        assertThat(value.getValue(), equalTo(new byte[] { 0x07, 0x02, 0x03 }));
+
+        buf[2] = 0x01;
+
+        assertThat(value.getValue(), equalTo(new byte[] { 0x07, 0x02, 0x03 }));
+        assertThat(value.getValue(), sameInstance(value.getValue()));
+    }
+
+    @Test
+    void testZeroCopyBitString() {
+        var buffer = ByteBuffer.allocateDirect(4).put(new byte[] { 0x03, 0x02, 0x04, (byte) 0xF0 }).flip();
+        var value = BERDecoder.builder().zeroCopy(true).build().decode(ASN1BitString.class, buffer);
+
+        assertThat(value.getSize(), equalTo(4L));
+        assertThat(value.getUnusedBits(), equalTo(4));
+        assertThat(value.testBit(0), equalTo(true));
+        assertThat(value.testBit(4), equalTo(false));
+
+        buffer.put(3, (byte) 0x00);
+
+        assertThat(value.getValue(), equalTo(new byte[] { (byte) 0xF0 }));
+    }
+
+    @Test
+    void testZeroCopyEquals() {
+        var buf = new byte[] { 0x04, 0x02, 0x01, 0x02 };
+        var value = BERDecoder.builder().zeroCopy(true).build().decode(ASN1OctetString.class, buf);
+        var expected = ASN1OctetString.valueOf(new byte[] { 0x01, 0x02 });
+
+        assertThat(value.getLength(), equalTo(2));
+        assertThat(value, equalTo(expected));
+        assertThat(value.hashCode(), equalTo(expected.hashCode()));
+
+        buf[2] = 0x07;
+
+        assertThat(value.getValue(), equalTo(new byte[] { 0x07, 0x02 }));
+    }
+
+    @Test
+    void testCopyIsDefault() {
+        var buf = new byte[] { 0x04, 0x01, 0x01 };
+        var value = decoder.decode(ASN1OctetString.class, buf);
+
+        buf[2] = 0x07;
+
+        assertThat(value.getValue(), equalTo(new byte[] { 0x01 }));
+    }
+
+    @Test
+    void testZeroCopyConstructedOctetString() {
+        var buf = new byte[] { 0x24, (byte) 0x80, 0x04, 0x02, 0x01, 0x02, 0x00, 0x00 };
+        var value = BERDecoder.builder().zeroCopy(true).build().decode(ASN1OctetString.class, buf);
+
+        buf[4] = 0x07;
+
+        assertThat(value.getValue(), equalTo(new byte[] { 0x07, 0x02 }));
+    }
+
+    @Test
+    void testDecodeConstructedCharacterString() {
+        var value = decoder.decode(ASN1VisibleString.class, new byte[] { 0x3A, 0x08, 0x04, 0x02, 0x61, 0x62, 0x04,
+                0x02, 0x63, 0x64 });
+
+        assertThat(value.getValue(), equalTo("abcd"));
+    }
+
+    @Test
+    void testParallelSequenceOf() {
+        var values = new TestSequenceOf();
+
+        for (var i = 0; i < 1000; i++) {
+            values.getValues().add(ASN1Integer.valueOf(i));
+        }
+
+        var encoded = new BEREncoder().encode(values);
+        var value = BERDecoder.builder().parallelThreshold(1).build().decode(TestSequenceOf.class, encoded);
+
+        assertThat(value, equalTo(values));
+    }
+
+    @Test
+    void testParallelSequenceOfFailure() {
+        var encoded = new byte[] { 0x30, 0x06, 0x02, 0x01, 0x01, 0x04, 0x01, 0x02 };
+
+        assertThrows(DecodingException.class,
+                () -> BERDecoder.builder().parallelThreshold(1).build().decode(TestSequenceOf.class, encoded));
+    }
+
+    @ASN1Tags(tags = @ASN1Tag(clazz = Clazz.UNIVERSAL, tag = 16))
+    public static class TestSequenceOf extends ASN1SequenceOf<ASN1Integer> {
+    }
+
+}
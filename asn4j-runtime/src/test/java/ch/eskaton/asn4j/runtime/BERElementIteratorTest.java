@@ -0,0 +1,140 @@
+/*
+ *  Copyright (c) 2015, Adrian Moser
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  * Redistributions of source code must retain the above copyright
+ *  notice, this list of conditions and the following disclaimer.
+ *  * Redistributions in binary form must reproduce the above copyright
+ *  notice, this list of conditions and the following disclaimer in the
+ *  documentation and/or other materials provided with the distribution.
+ *  * Neither the name of the author nor the
+ *  names of its contributors may be used to endorse or promote products
+ *  derived from this software without specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL AUTHOR BE LIABLE FOR ANY
+ *  DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *  ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package ch.eskaton.asn4j.runtime;
+
+import ch.eskaton.asn4j.runtime.annotations.ASN1Component;
+import ch.eskaton.asn4j.runtime.annotations.ASN1Tag;
+import ch.eskaton.asn4j.runtime.annotations.ASN1Tags;
+import ch.eskaton.asn4j.runtime.exceptions.DecodingException;
+import ch.eskaton.asn4j.runtime.types.ASN1Integer;
+import ch.eskaton.asn4j.runtime.types.ASN1Sequence;
+import ch.eskaton.asn4j.runtime.types.ASN1SequenceOf;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BERElementIteratorTest {
+
+    @Test
+    void testIterateTopLevelCollection() {
+        var encoded = new BEREncoder().encode(new TestIntegers(ASN1Integer.valueOf(1), ASN1Integer.valueOf(2)));
+        var iterator = new BERElementIterator<ASN1Integer>(TestIntegers.class, encoded);
+
+        assertThat(iterator.next(), equalTo(ASN1Integer.valueOf(1)));
+        assertThat(iterator.next(), equalTo(ASN1Integer.valueOf(2)));
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    void testIterateComponent() {
+        var record = new TestRecord(ASN1Integer.valueOf(7),
+                new TestIntegers(ASN1Integer.valueOf(3), ASN1Integer.valueOf(4)), ASN1Integer.valueOf(5));
+        var encoded = ByteBuffer.wrap(new BEREncoder().encode(new TestFile(record)));
+        var iterator = new BERElementIterator<ASN1Integer>(TestFile.class, encoded, "record", "values");
+
+        assertThat(iterator.stream().collect(Collectors.toList()),
+                contains(ASN1Integer.valueOf(3), ASN1Integer.valueOf(4)));
+    }
+
+    @Test
+    void testIterateIndefiniteLength() {
+        var encoded = new byte[] { 0x30, (byte) 0x80, 0x02, 0x01, 0x01, (byte) 0xA0, (byte) 0x80, 0x30, (byte) 0x80,
+                0x02, 0x01, 0x08, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00 };
+        var iterator = new BERElementIterator<ASN1Integer>(TestRecord.class, encoded, "values");
+
+        assertThat(iterator.stream().collect(Collectors.toList()), contains(ASN1Integer.valueOf(8)));
+    }
+
+    @Test
+    void testAbsentComponent() {
+        var encoded = new BEREncoder().encode(new TestRecord(ASN1Integer.valueOf(7), new TestIntegers(), null));
+
+        assertThrows(DecodingException.class, () -> new BERElementIterator<>(TestRecord.class, encoded, "count"));
+        assertThrows(DecodingException.class, () -> new BERElementIterator<>(TestRecord.class, encoded, "unknown"));
+    }
+
+    @ASN1Tags(tags = @ASN1Tag(clazz = Clazz.UNIVERSAL, tag = 16))
+    public static class TestIntegers extends ASN1SequenceOf<ASN1Integer> {
+
+        public TestIntegers(ASN1Integer... values) {
+            super(values);
+        }
+
+    }
+
+    @ASN1Tags(tags = @ASN1Tag(clazz = Clazz.UNIVERSAL, tag = 16))
+    public static class TestRecord extends ASN1Sequence {
+
+        @ASN1Component
+        @ASN1Tags(tags = @ASN1Tag(clazz = Clazz.UNIVERSAL, tag = 2))
+        private ASN1Integer version;
+
+        @ASN1Component
+        @ASN1Tags(tags = { @ASN1Tag(clazz = Clazz.CONTEXT_SPECIFIC, tag = 0),
+                @ASN1Tag(clazz = Clazz.UNIVERSAL, tag = 16) })
+        private TestIntegers values;
+
+        @ASN1Component(optional = true)
+        @ASN1Tags(tags = @ASN1Tag(clazz = Clazz.UNIVERSAL, tag = 2))
+        private ASN1Integer count;
+
+        public TestRecord() {
+        }
+
+        public TestRecord(ASN1Integer version, TestIntegers values, ASN1Integer count) {
+            this.version = version;
+            this.values = values;
+            this.count = count;
+        }
+
+    }
+
+    @ASN1Tags(tags = @ASN1Tag(clazz = Clazz.UNIVERSAL, tag = 16))
+    public static class TestFile extends ASN1Sequence {
+
+        @ASN1Component
+        @ASN1Tags(tags = @ASN1Tag(clazz = Clazz.APPLICATION, tag = 1))
+        private TestRecord record;
+
+        public TestFile() {
+        }
+
+        public TestFile(TestRecord record) {
+            this.record = record;
+        }
+
+    }
+
+}
@@ -0,0 +1,125 @@
+/*
+ *  Copyright (c) 2015, Adrian Moser
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  * Redistributions of source code must retain the above copyright
+ *  notice, this list of conditions and the following disclaimer.
+ *  * Redistributions in binary form must reproduce the above copyright
+ *  notice, this list of conditions and the following disclaimer in the
+ *  documentation and/or other materials provided with the distribution.
+ *  * Neither the name of the author nor the
+ *  names of its contributors may be used to endorse or promote products
+ *  derived from this software without specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL AUTHOR BE LIABLE FOR ANY
+ *  DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *  ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package ch.eskaton.asn4j.runtime;
+
+import ch.eskaton.asn4j.runtime.annotations.ASN1Component;
+import ch.eskaton.asn4j.runtime.annotations.ASN1Tag;
+import ch.eskaton.asn4j.runtime.annotations.ASN1Tags;
+import ch.eskaton.asn4j.runtime.exceptions.EncodingException;
+import ch.eskaton.asn4j.runtime.types.ASN1IA5String;
+import ch.eskaton.asn4j.runtime.types.ASN1Integer;
+import ch.eskaton.asn4j.runtime.types.ASN1OctetString;
+import ch.eskaton.asn4j.runtime.types.ASN1Sequence;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.Arrays;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BEREncoderTest {
+
+    private final BEREncoder encoder = new BEREncoder();
+
+    @Test
+    void testEncodeToByteBuffer() {
+        var value = new TestSequence(1000);
+        var expected = encoder.encode(value);
+
+        for (var buffer : new ByteBuffer[] { ByteBuffer.allocate(2048), ByteBuffer.allocateDirect(2048) }) {
+            buffer.put((byte) 0x55);
+
+            assertThat(encoder.encode(value, buffer), equalTo(expected.length));
+            assertThat(buffer.position(), equalTo(expected.length + 1));
+
+            var encoded = new byte[expected.length];
+
+            buffer.flip().get();
+            buffer.get(encoded);
+
+            assertThat(encoded, equalTo(expected));
+        }
+    }
+
+    @Test
+    void testEncodeToTooSmallByteBuffer() {
+        var buffer = ByteBuffer.allocate(10);
+
+        assertThrows(EncodingException.class, () -> encoder.encode(new TestSequence(10), buffer));
+        assertThat(buffer.position(), equalTo(0));
+    }
+
+    @Test
+    void testEncodeToOutputStream() {
+        for (var size : new int[] { 0, 10, 10000 }) {
+            var value = new TestSequence(size);
+            var out = new ByteArrayOutputStream();
+
+            assertThat(encoder.encode(value, out), equalTo(out.size()));
+            assertThat(out.toByteArray(), equalTo(encoder.encode(value)));
+        }
+    }
+
+    @Test
+    void testEncodeToChannel() {
+        var value = new TestSequence(10000);
+        var out = new ByteArrayOutputStream();
+
+        assertThat(encoder.encode(value, Channels.newChannel(out)), equalTo(out.size()));
+        assertThat(out.toByteArray(), equalTo(encoder.encode(value)));
+    }
+
+    @ASN1Tags(tags = { @ASN1Tag(tag = 16, clazz = Clazz.UNIVERSAL) })
+    public static class TestSequence extends ASN1Sequence {
+
+        @ASN1Component
+        private ASN1Integer number = ASN1Integer.valueOf(-129);
+
+        @ASN1Component
+        private ASN1IA5String string = new ASN1IA5String("abc");
+
+        @ASN1Component
+        private ASN1OctetString octets;
+
+        public TestSequence() {
+        }
+
+        TestSequence(int size) {
+            var value = new byte[size];
+
+            Arrays.fill(value, (byte) 0x2a);
+
+            this.octets = new ASN1OctetString(value);
+        }
+
+    }
+
+}
@@ -0,0 +1,114 @@
+/*
+ *  Copyright (c) 2015, Adrian Moser
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  * Redistributions of source code must retain the above copyright
+ *  notice, this list of conditions and the following disclaimer.
+ *  * Redistributions in binary form must reproduce the above copyright
+ *  notice, this list of conditions and the following disclaimer in the
+ *  documentation and/or other materials provided with the distribution.
+ *  * Neither the name of the author nor the
+ *  names of its contributors may be used to endorse or promote products
+ *  derived from this software without specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL AUTHOR BE LIABLE FOR ANY
+ *  DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *  ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package ch.eskaton.asn4j.runtime;
+
+import ch.eskaton.asn4j.runtime.exceptions.DecodingException;
+import ch.eskaton.asn4j.runtime.types.ASN1Integer;
+import ch.eskaton.asn4j.runtime.types.ASN1OctetString;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BERFrameDecoderTest {
+
+    private static final byte[] VALUES = new byte[] { 0x02, 0x01, 0x01, 0x02, 0x02, 0x01, 0x00, 0x02, 0x01,
+            (byte) 0xFF };
+
+    @Test
+    void testFeedSingleBytes() {
+        var decoder = new BERFrameDecoder<>(ASN1Integer.class);
+        var values = new ArrayList<ASN1Integer>();
+
+        for (var b : VALUES) {
+            values.addAll(decoder.feed(ByteBuffer.wrap(new byte[] { b })));
+        }
+
+        assertThat(values, contains(ASN1Integer.valueOf(1), ASN1Integer.valueOf(256), ASN1Integer.valueOf(-1)));
+        assertThat(decoder.getPendingLength(), equalTo(0));
+    }
+
+    @Test
+    void testFeedFragments() {
+        var decoder = new BERFrameDecoder<>(ASN1Integer.class);
+        var buffer = ByteBuffer.allocateDirect(VALUES.length).put(VALUES).flip();
+
+        assertThat(decoder.feed(buffer.slice(0, 5)), contains(ASN1Integer.valueOf(1)));
+        assertThat(decoder.getPendingLength(), equalTo(2));
+        assertThat(decoder.feed(buffer.slice(5, 5)), contains(ASN1Integer.valueOf(256), ASN1Integer.valueOf(-1)));
+        assertThat(decoder.feed(ByteBuffer.allocate(0)), empty());
+    }
+
+    @Test
+    void testFeedFramesWithIndefiniteLength() {
+        var decoder = new BERFrameDecoder<>(ASN1OctetString.class);
+        var indefinite = new byte[] { 0x24, (byte) 0x80, 0x04, 0x01, 0x01, 0x24, (byte) 0x80, 0x04, 0x00, 0x00, 0x00,
+                0x00, 0x00 };
+        var definite = new byte[] { 0x24, 0x00 };
+
+        assertThat(decoder.feedFrames(ByteBuffer.wrap(indefinite, 0, 11)), empty());
+
+        var frames = decoder.feedFrames(ByteBuffer.wrap(new byte[] { 0x00, 0x00, 0x24, 0x00 }));
+
+        assertThat(frames.size(), equalTo(2));
+        assertThat(frames.get(0), equalTo(ByteBuffer.wrap(indefinite)));
+        assertThat(frames.get(1), equalTo(ByteBuffer.wrap(definite)));
+    }
+
+    @Test
+    void testFeedFramesWithNegativeLength() {
+        var decoder = new BERFrameDecoder<>(ASN1OctetString.class);
+        var data = new byte[] { 0x24, (byte) 0x80, 0x04, (byte) 0x84, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF,
+                (byte) 0xFA };
+
+        assertThrows(DecodingException.class, () -> decoder.feedFrames(ByteBuffer.wrap(data)));
+    }
+
+    @Test
+    void testFeedFramesWithLeadingZeroLengthOctets() {
+        var decoder = new BERFrameDecoder<>(ASN1OctetString.class);
+        var data = new byte[] { 0x04, (byte) 0x85, 0x00, 0x00, 0x00, 0x00, 0x01, 0x00 };
+
+        assertThat(decoder.feedFrames(ByteBuffer.wrap(data)), contains(ByteBuffer.wrap(data)));
+    }
+
+    @Test
+    void testFeedFramesWithTooLargeLength() {
+        var decoder = new BERFrameDecoder<>(ASN1OctetString.class);
+        var data = new byte[] { 0x04, (byte) 0x85, 0x01, 0x00, 0x00, 0x00, 0x00, 0x00 };
+
+        assertThrows(DecodingException.class, () -> decoder.feedFrames(ByteBuffer.wrap(data)));
+    }
+
+}
@@ -0,0 +1,124 @@
+/*
+ *  Copyright (c) 2015, Adrian Moser
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  * Redistributions of source code must retain the above copyright
+ *  notice, this list of conditions and the following disclaimer.
+ *  * Redistributions in binary form must reproduce the above copyright
+ *  notice, this list of conditions and the following disclaimer in the
+ *  documentation and/or other materials provided with the distribution.
+ *  * Neither the name of the author nor the
+ *  names of its contributors may be used to endorse or promote products
+ *  derived from this software without specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL AUTHOR BE LIABLE FOR ANY
+ *  DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *  ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package ch.eskaton.asn4j.runtime;
+
+import ch.eskaton.asn4j.runtime.exceptions.DecodingException;
+import ch.eskaton.asn4j.runtime.exceptions.PrematureEndOfInputException;
+import ch.eskaton.asn4j.runtime.types.ASN1Integer;
+import ch.eskaton.asn4j.runtime.types.ASN1OctetString;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BERStreamDecoderTest {
+
+    @Test
+    void testDecodeConcatenatedValues() {
+        var input = new ByteArrayInputStream(new byte[] { 0x02, 0x01, 0x01, 0x02, 0x02, 0x01, 0x00, 0x02, 0x01,
+                (byte) 0xFF });
+
+        try (var values = new BERStreamDecoder<>(ASN1Integer.class, input).stream()) {
+            assertThat(values.collect(Collectors.toList()), contains(ASN1Integer.valueOf(1),
+                    ASN1Integer.valueOf(256), ASN1Integer.valueOf(-1)));
+        }
+    }
+
+    @Test
+    void testDecodeFromChannel() {
+        var out = new ByteArrayOutputStream();
+        var encoder = new BEREncoder();
+
+        for (var i = 0; i < 3; i++) {
+            out.writeBytes(encoder.encode(new ASN1OctetString(new byte[300 * i])));
+        }
+
+        var channel = Channels.newChannel(new ByteArrayInputStream(out.toByteArray()));
+        var decoder = new BERStreamDecoder<>(ASN1OctetString.class, channel);
+
+        for (var i = 0; i < 3; i++) {
+            assertThat(decoder.next().getValue().length, equalTo(300 * i));
+        }
+
+        assertFalse(decoder.hasNext());
+    }
+
+    @Test
+    void testBufferIsNotSharedWithZeroCopyValues() {
+        var input = new ByteArrayInputStream(new byte[] { 0x04, 0x01, 0x01, 0x04, 0x01, 0x02 });
+        var decoder = new BERStreamDecoder<>(ASN1OctetString.class, input, BERDecoder.builder().zeroCopy(true).build());
+        var first = decoder.next();
+        var second = decoder.next();
+
+        assertThat(first.getValue(), equalTo(new byte[] { 0x01 }));
+        assertThat(second.getValue(), equalTo(new byte[] { 0x02 }));
+    }
+
+    @Test
+    void testDecodeIndefiniteLength() {
+        var input = new ByteArrayInputStream(new byte[] { 0x24, (byte) 0x80, 0x04, 0x01, 0x01, 0x24, (byte) 0x80,
+                0x04, 0x01, 0x02, 0x00, 0x00, 0x00, 0x00, 0x04, 0x01, 0x03 });
+
+        try (var values = new BERStreamDecoder<>(ASN1OctetString.class, input).stream()) {
+            assertThat(values.map(ASN1OctetString::getValue).collect(Collectors.toList()),
+                    contains(new byte[] { 0x01, 0x02 }, new byte[] { 0x03 }));
+        }
+    }
+
+    @Test
+    void testDeeplyNestedIndefiniteLength() {
+        var buf = new byte[100_000];
+
+        for (int i = 0; i < buf.length; i += 2) {
+            buf[i] = 0x30;
+            buf[i + 1] = (byte) 0x80;
+        }
+
+        var decoder = new BERStreamDecoder<>(ASN1OctetString.class, new ByteArrayInputStream(buf));
+
+        assertThrows(DecodingException.class, decoder::hasNext);
+    }
+
+    @Test
+    void testPrematureEndOfInput() {
+        var input = new ByteArrayInputStream(new byte[] { 0x02, 0x01, 0x01, 0x04, 0x03, 0x01 });
+        var decoder = new BERStreamDecoder<>(ASN1Integer.class, input);
+
+        assertThat(decoder.next(), equalTo(ASN1Integer.valueOf(1)));
+        assertThrows(PrematureEndOfInputException.class, decoder::hasNext);
+    }
+
+}
@@ -0,0 +1,110 @@
+/*
+ *  Copyright (c) 2015, Adrian Moser
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  * Redistributions of source code must retain the above copyright
+ *  notice, this list of conditions and the following disclaimer.
+ *  * Redistributions in binary form must reproduce the above copyright
+ *  notice, this list of conditions and the following disclaimer in the
+ *  documentation and/or other materials provided with the distribution.
+ *  * Neither the name of the author nor the
+ *  names of its contributors may be used to endorse or promote products
+ *  derived from this software without specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL AUTHOR BE LIABLE FOR ANY
+ *  DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *  ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package ch.eskaton.asn4j.runtime;
+
+import ch.eskaton.asn4j.runtime.annotations.ASN1Tag;
+import ch.eskaton.asn4j.runtime.annotations.ASN1Tags;
+import ch.eskaton.asn4j.runtime.exceptions.EncodingException;
+import ch.eskaton.asn4j.runtime.types.ASN1Integer;
+import ch.eskaton.asn4j.runtime.types.ASN1OctetString;
+import ch.eskaton.asn4j.runtime.types.ASN1SequenceOf;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.Pipe;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BERStreamEncoderTest {
+
+    @Test
+    void testWriteSequenceOf() throws IOException {
+        var out = new ByteArrayOutputStream();
+
+        try (var encoder = new BERStreamEncoder(out)) {
+            var length = encoder.write(TestSequenceOf.class, IntStream.range(1, 4).mapToObj(ASN1Integer::valueOf));
+
+            assertThat(length, equalTo(13L));
+        }
+
+        assertThat(out.toByteArray(), equalTo(new byte[] { 0x30, (byte) 0x80, 0x02, 0x01, 0x01, 0x02, 0x01, 0x02,
+                0x02, 0x01, 0x03, 0x00, 0x00 }));
+        assertThat(new BERDecoder().decode(TestSequenceOf.class, out.toByteArray()).getValues(), hasSize(3));
+    }
+
+    @Test
+    void testWriteSegmentedOctetString() throws IOException {
+        var value = new byte[2500];
+        var out = new ByteArrayOutputStream();
+
+        Arrays.fill(value, (byte) 0x55);
+
+        try (var encoder = new BERStreamEncoder(Channels.newChannel(out))) {
+            assertThat(encoder.write(new ASN1OctetString(value)), equalTo(2516L));
+        }
+
+        var encoded = out.toByteArray();
+
+        assertThat(encoded.length, equalTo(2516));
+        assertThat(Arrays.copyOfRange(encoded, 0, 6), equalTo(new byte[] { 0x24, (byte) 0x80, 0x04, (byte) 0x82,
+                0x03, (byte) 0xE8 }));
+        assertThat(new BERDecoder().decode(ASN1OctetString.class, encoded).getValue(), equalTo(value));
+    }
+
+    @Test
+    void testRejectNonBlockingChannel() throws IOException {
+        var pipe = Pipe.open();
+
+        try (var sink = pipe.sink(); var source = pipe.source()) {
+            sink.configureBlocking(false);
+
+            assertThrows(EncodingException.class, () -> new BERStreamEncoder(sink));
+            assertThrows(EncodingException.class, () -> new BEREncoder().encode(ASN1Integer.valueOf(1), sink));
+        }
+    }
+
+    @Test
+    void testShortOctetStringIsNotSegmented() {
+        var encoded = BEREncoder.builder().segmented(true).build().encode(new ASN1OctetString(new byte[1000]));
+
+        assertThat(encoded.length, equalTo(1004));
+        assertThat(encoded[0], equalTo((byte) 0x04));
+    }
+
+    @ASN1Tags(tags = @ASN1Tag(clazz = Clazz.UNIVERSAL, tag = 16))
+    public static class TestSequenceOf extends ASN1SequenceOf<ASN1Integer> {
+    }
+
+}
@@ -0,0 +1,107 @@
+/*
+ *  Copyright (c) 2015, Adrian Moser
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  * Redistributions of source code must retain the above copyright
+ *  notice, this list of conditions and the following disclaimer.
+ *  * Redistributions in binary form must reproduce the above copyright
+ *  notice, this list of conditions and the following disclaimer in the
+ *  documentation and/or other materials provided with the distribution.
+ *  * Neither the name of the author nor the
+ *  names of its contributors may be used to endorse or promote products
+ *  derived from this software without specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL AUTHOR BE LIABLE FOR ANY
+ *  DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *  ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package ch.eskaton.asn4j.runtime;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+class DecoderStatesTest {
+
+    @Test
+    void testFramesAreReused() throws IOException {
+        var states = statesOf(new byte[] { 0x30, 0x06, 0x02, 0x01, 0x01, 0x02, 0x01, 0x02 });
+        var first = states.push(states.getTLV(2, 6), 4, 1);
+
+        states.back();
+
+        var second = states.push(states.getTLV(5, 3), 7, 1);
+
+        assertThat(second, sameInstance(first));
+        assertThat(second.pos, equalTo(7));
+        assertThat(second.tlv.pos, equalTo(7));
+        assertThat(second.getTagIds(), nullValue());
+    }
+
+    @Test
+    void testPushedStateIsIndependentOfLookahead() throws IOException {
+        var states = statesOf(new byte[] { 0x02, 0x01, 0x01, 0x04, 0x00 });
+        var state = states.push(states.getTLV(0, 5), 2, 1);
+
+        states.getTLV(3, 2);
+
+        assertThat(state.tlv, not(sameInstance(states.getTLV(3, 2))));
+        assertThat(state.tlv.tag, equalTo(2));
+        assertThat(state.tlv.nextTlv, equalTo(3));
+    }
+
+    @Test
+    void testLookaheadIsCached() throws IOException {
+        var states = statesOf(new byte[] { (byte) 0xA0, 0x03, 0x02, 0x01, 0x01 });
+        var tlv = states.getTLV(0, 5);
+
+        assertThat(tlv.clazz, equalTo(Clazz.CONTEXT_SPECIFIC));
+        assertThat(tlv.constructed, equalTo(true));
+        assertThat(states.getTLV(0, 5), sameInstance(tlv));
+        assertThat(states.getTLV(2, 3).tag, equalTo(2));
+        assertThat(states.getTLV(0, 5).tag, equalTo(0));
+    }
+
+    @Test
+    void testDeepNesting() throws IOException {
+        var states = statesOf(new byte[] { 0x05, 0x00 });
+
+        for (var i = 0; i < 100; i++) {
+            states.push(states.getTLV(0, 2), 2, 0);
+        }
+
+        assertThat(states.size(), equalTo(101));
+
+        for (var i = 0; i < 100; i++) {
+            states.back();
+        }
+
+        assertThat(states.size(), equalTo(1));
+    }
+
+    private DecoderStates statesOf(byte[] buf) {
+        var states = new DecoderStates();
+
+        states.input = DecoderInput.of(buf);
+        states.push(new DecoderState(0, buf.length));
+
+        return states;
+    }
+
+}
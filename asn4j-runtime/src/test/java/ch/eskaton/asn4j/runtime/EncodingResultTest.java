@@ -0,0 +1,60 @@
+/*
+ *  Copyright (c) 2015, Adrian Moser
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  * Redistributions of source code must retain the above copyright
+ *  notice, this list of conditions and the following disclaimer.
+ *  * Redistributions in binary form must reproduce the above copyright
+ *  notice, this list of conditions and the following disclaimer in the
+ *  documentation and/or other materials provided with the distribution.
+ *  * Neither the name of the author nor the
+ *  names of its contributors may be used to endorse or promote products
+ *  derived from this software without specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL AUTHOR BE LIABLE FOR ANY
+ *  DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *  ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package ch.eskaton.asn4j.runtime;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+class EncodingResultTest {
+
+    @Test
+    void testComposedResult() {
+        var inner = EncodingResult.of(new byte[] { 0x04, 0x01 }, EncodingResult.of(new byte[] { 0x2a }, false));
+        var content = EncodingResult.of(List.of(inner, inner), true);
+        var result = EncodingResult.of(new byte[] { 0x30, 0x06 }, content);
+
+        assertThat(result.getLength(), equalTo(8));
+        assertThat(result.isConstructed(), is(true));
+        assertThat(result.getBuffer(), equalTo(new byte[] { 0x30, 0x06, 0x04, 0x01, 0x2a, 0x04, 0x01, 0x2a }));
+    }
+
+    @Test
+    void testWrite() {
+        var result = EncodingResult.of(List.of(EncodingResult.of(new byte[] { 0x01, 0x02 }, false)), false);
+        var buf = new byte[4];
+
+        assertThat(result.write(buf, 1), equalTo(3));
+        assertThat(buf, equalTo(new byte[] { 0x00, 0x01, 0x02, 0x00 }));
+    }
+
+}
@@ -0,0 +1,107 @@
+/*
+ *  Copyright (c) 2015, Adrian Moser
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  * Redistributions of source code must retain the above copyright
+ *  notice, this list of conditions and the following disclaimer.
+ *  * Redistributions in binary form must reproduce the above copyright
+ *  notice, this list of conditions and the following disclaimer in the
+ *  documentation and/or other materials provided with the distribution.
+ *  * Neither the name of the author nor the
+ *  names of its contributors may be used to endorse or promote products
+ *  derived from this software without specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL AUTHOR BE LIABLE FOR ANY
+ *  DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *  ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package ch.eskaton.asn4j.runtime;
+
+import ch.eskaton.asn4j.runtime.exceptions.DecodingException;
+import ch.eskaton.asn4j.runtime.types.ASN1OctetString;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TLVTest {
+
+    @Test
+    void testNestedIndefiniteLength() throws IOException {
+        var input = DecoderInput.of(new byte[] { 0x24, (byte) 0x80, 0x24, (byte) 0x80, 0x04, 0x01, 0x01, 0x00, 0x00,
+                0x04, 0x00, 0x00, 0x00 });
+        var tlv = TLV.getTLV(input, 0, input.length(), new TLV());
+
+        assertThat(tlv.pos, equalTo(2));
+        assertThat(tlv.length, equalTo(9));
+        assertThat(tlv.nextTlv, equalTo(13));
+        assertThat(input.getEndOfContents(4), equalTo(7));
+
+        TLV.getTLV(input, 2, 9, tlv);
+
+        assertThat(tlv.pos, equalTo(4));
+        assertThat(tlv.length, equalTo(3));
+        assertThat(tlv.nextTlv, equalTo(9));
+    }
+
+    @Test
+    void testMissingEndOfContents() {
+        var input = DecoderInput.of(new byte[] { 0x24, (byte) 0x80, 0x04, 0x01, 0x01, 0x00 });
+
+        assertThrows(IOException.class, () -> TLV.getTLV(input, 0, input.length(), new TLV()));
+    }
+
+    @Test
+    void testLeadingZeroLengthOctets() throws IOException {
+        var input = DecoderInput.of(new byte[] { 0x04, (byte) 0x85, 0x00, 0x00, 0x00, 0x00, 0x01, 0x2A });
+        var tlv = TLV.getTLV(input, 0, input.length(), new TLV());
+
+        assertThat(tlv.pos, equalTo(7));
+        assertThat(tlv.length, equalTo(1));
+        assertThat(tlv.nextTlv, equalTo(8));
+    }
+
+    @Test
+    void testLengthExceedingInput() {
+        var input = DecoderInput.of(new byte[] { 0x04, (byte) 0x84, 0x7F, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF,
+                0x00 });
+
+        assertThrows(IOException.class, () -> TLV.getHeader(input, 0, new TLV()));
+    }
+
+    @Test
+    void testDeeplyNestedIndefiniteLength() {
+        var buf = new byte[100_000];
+
+        for (int i = 0; i < buf.length; i += 2) {
+            buf[i] = 0x30;
+            buf[i + 1] = (byte) 0x80;
+        }
+
+        var input = DecoderInput.of(buf);
+
+        assertThrows(DecodingException.class, () -> TLV.getTLV(input, 0, input.length(), new TLV()));
+        assertThrows(DecodingException.class, () -> new BERDecoder().decode(ASN1OctetString.class, buf));
+    }
+
+    @Test
+    void testIndefiniteLengthExceedingParent() {
+        var input = DecoderInput.of(new byte[] { 0x24, (byte) 0x80, 0x04, 0x01, 0x01, 0x00, 0x00 });
+
+        assertThrows(DecodingException.class, () -> TLV.getTLV(input, 0, 4, new TLV()));
+    }
+
+}
@@ -0,0 +1,186 @@
+/*
+ *  Copyright (c) 2015, Adrian Moser
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  * Redistributions of source code must retain the above copyright
+ *  notice, this list of conditions and the following disclaimer.
+ *  * Redistributions in binary form must reproduce the above copyright
+ *  notice, this list of conditions and the following disclaimer in the
+ *  documentation and/or other materials provided with the distribution.
+ *  * Neither the name of the author nor the
+ *  names of its contributors may be used to endorse or promote products
+ *  derived from this software without specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL AUTHOR BE LIABLE FOR ANY
+ *  DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *  ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package ch.eskaton.asn4j.runtime;
+
+import ch.eskaton.asn4j.runtime.annotations.ASN1Component;
+import ch.eskaton.asn4j.runtime.annotations.ASN1Tag;
+import ch.eskaton.asn4j.runtime.annotations.ASN1Tags;
+import ch.eskaton.asn4j.runtime.exceptions.ConstraintViolatedException;
+import ch.eskaton.asn4j.runtime.exceptions.DecodingException;
+import ch.eskaton.asn4j.runtime.exceptions.EncodingException;
+import ch.eskaton.asn4j.runtime.types.ASN1Integer;
+import ch.eskaton.asn4j.runtime.types.ASN1Sequence;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ValidationPolicyTest {
+
+    private static int checks;
+
+    @BeforeEach
+    void setUp() {
+        checks = 0;
+    }
+
+    @Test
+    void testEncodeEager() {
+        var encoder = new BEREncoder();
+
+        encoder.encode(new TestSequence(1, 2));
+
+        assertThat(checks, equalTo(2));
+        assertThrows(EncodingException.class, () -> encoder.encode(new TestSequence(1, -2)));
+    }
+
+    @Test
+    void testEncodeOnce() {
+        var encoder = BEREncoder.builder().validationPolicy(ValidationPolicy.ONCE).build();
+
+        assertThat(encoder.encode(new TestSequence(1, 2)), equalTo(new BEREncoder().encode(new TestSequence(1, 2))));
+        assertThat(checks, equalTo(4));
+
+        var exception = assertThrows(EncodingException.class, () -> encoder.encode(new TestSequence(-1, 2)));
+
+        assertThat(exception.getCause(), instanceOf(ConstraintViolatedException.class));
+    }
+
+    @Test
+    void testEncodeNone() {
+        var encoder = BEREncoder.builder().validationPolicy(ValidationPolicy.NONE).build();
+
+        assertDoesNotThrow(() -> encoder.encode(new TestSequence(-1, -2)));
+        assertThat(checks, equalTo(0));
+    }
+
+    @Test
+    void testEncodeSampled() {
+        var encoder = BEREncoder.builder().validationPolicy(ValidationPolicy.sampled(2)).build();
+        var value = new TestSequence(-1, 2);
+
+        assertThrows(EncodingException.class, () -> encoder.encode(value));
+        assertDoesNotThrow(() -> encoder.encode(value));
+        assertThrows(EncodingException.class, () -> encoder.encode(value));
+    }
+
+    @Test
+    void testStreamEncodeOnce() {
+        var encoder = new BERStreamEncoder(new ByteArrayOutputStream(),
+                BEREncoder.builder().validationPolicy(ValidationPolicy.ONCE).build());
+
+        assertThrows(EncodingException.class, () -> encoder.write(new TestSequence(1, -2)));
+    }
+
+    @Test
+    void testDecode() {
+        var encoder = BEREncoder.builder().validationPolicy(ValidationPolicy.NONE).build();
+        var encoded = encoder.encode(new TestSequence(1, -2));
+
+        assertThrows(DecodingException.class, () -> new BERDecoder().decode(TestSequence.class, encoded));
+
+        var onceDecoder = BERDecoder.builder().validationPolicy(ValidationPolicy.ONCE).build();
+        var exception = assertThrows(DecodingException.class, () -> onceDecoder.decode(TestSequence.class, encoded));
+
+        assertThat(exception.getCause(), instanceOf(ConstraintViolatedException.class));
+
+        checks = 0;
+
+        var noneDecoder = BERDecoder.builder().validationPolicy(ValidationPolicy.NONE).build();
+        var decoded = noneDecoder.decode(TestSequence.class, encoded);
+
+        assertThat(decoded.second.longValue(), equalTo(-2L));
+        assertThat(checks, equalTo(0));
+    }
+
+    @Test
+    void testNullPolicy() {
+        assertThrows(NullPointerException.class, () -> BEREncoder.builder().validationPolicy(null));
+        assertThrows(NullPointerException.class, () -> BERDecoder.builder().validationPolicy(null));
+    }
+
+    @Test
+    void testSampledInvalidInterval() {
+        assertThrows(IllegalArgumentException.class, () -> ValidationPolicy.sampled(0));
+    }
+
+    @Test
+    void testValidate() {
+        ConstraintValidator.validate(new TestSequence(1, 2));
+
+        assertThat(checks, equalTo(2));
+        assertThrows(ConstraintViolatedException.class, () -> ConstraintValidator.validate(new TestSequence(1, -2)));
+        assertDoesNotThrow(() -> ConstraintValidator.validate(null));
+    }
+
+    @ASN1Tags(tags = @ASN1Tag(clazz = Clazz.UNIVERSAL, tag = 2))
+    public static class PositiveInteger extends ASN1Integer {
+
+        public PositiveInteger() {
+        }
+
+        PositiveInteger(long value) {
+            super(value);
+        }
+
+        @Override
+        public Boolean doCheckConstraint() {
+            checks++;
+
+            return getValue().signum() > 0;
+        }
+
+    }
+
+    @ASN1Tags(tags = @ASN1Tag(clazz = Clazz.UNIVERSAL, tag = 16))
+    public static class TestSequence extends ASN1Sequence {
+
+        @ASN1Component
+        @ASN1Tags(tags = @ASN1Tag(clazz = Clazz.UNIVERSAL, tag = 2))
+        private PositiveInteger first;
+
+        @ASN1Component
+        @ASN1Tags(tags = @ASN1Tag(clazz = Clazz.UNIVERSAL, tag = 2))
+        private PositiveInteger second;
+
+        public TestSequence() {
+        }
+
+        TestSequence(long first, long second) {
+            this.first = new PositiveInteger(first);
+            this.second = new PositiveInteger(second);
+        }
+
+    }
+
+}
@@ -0,0 +1,86 @@
+/*
+ *  Copyright (c) 2015, Adrian Moser
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  * Redistributions of source code must retain the above copyright
+ *  notice, this list of conditions and the following disclaimer.
+ *  * Redistributions in binary form must reproduce the above copyright
+ *  notice, this list of conditions and the following disclaimer in the
+ *  documentation and/or other materials provided with the distribution.
+ *  * Neither the name of the author nor the
+ *  names of its contributors may be used to endorse or promote products
+ *  derived from this software without specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL AUTHOR BE LIABLE FOR ANY
+ *  DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *  ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package ch.eskaton.asn4j.runtime.decoders;
+
+import ch.eskaton.asn4j.runtime.objects.TestSetA;
+import ch.eskaton.asn4j.runtime.exceptions.DecodingException;
+import ch.eskaton.asn4j.runtime.types.ASN1Choice;
+import ch.eskaton.asn4j.runtime.types.ASN1Integer;
+import ch.eskaton.asn4j.runtime.types.ASN1OpenType;
+import ch.eskaton.asn4j.runtime.types.ASN1SequenceOf;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DecodingPlanTest {
+
+    @Test
+    void testPlanIsCached() {
+        var plan = DecodingPlan.of(TestSetA.class);
+
+        assertThat(DecodingPlan.of(TestSetA.class), sameInstance(plan));
+        assertThat(plan.getFieldMetaData(), notNullValue());
+        assertThat(plan.getFieldMetaData().getTagData(), hasSize(2));
+    }
+
+    @Test
+    void testGetElementType() {
+        assertThat(DecodingPlan.getElementType(TestSequenceOf.class), equalTo(ASN1Integer.class));
+    }
+
+    @Test
+    void testNewInstance() {
+        assertThat(DecodingPlan.of(TestSetA.class).newInstance(), instanceOf(TestSetA.class));
+        assertThat(DecodingPlan.of(TestSequenceOf.class).newInstance(), instanceOf(TestSequenceOf.class));
+    }
+
+    @Test
+    void testNewInstanceOfAbstractClass() {
+        var plan = DecodingPlan.of(ASN1Choice.class);
+
+        assertThrows(DecodingException.class, plan::newInstance);
+    }
+
+    @Test
+    void testTypeFlags() {
+        assertThat(DecodingPlan.of(ASN1Choice.class).isChoice(), equalTo(true));
+        assertThat(DecodingPlan.of(ASN1OpenType.class).isOpenType(), equalTo(true));
+        assertThat(DecodingPlan.of(TestSetA.class).isChoice(), equalTo(false));
+        assertThat(DecodingPlan.of(TestSetA.class).isOpenType(), equalTo(false));
+    }
+
+    public static class TestSequenceOf extends ASN1SequenceOf<ASN1Integer> {
+    }
+
+}
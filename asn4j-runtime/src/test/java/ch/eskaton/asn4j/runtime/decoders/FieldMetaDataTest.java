@@ -31,9 +31,12 @@ import ch.eskaton.asn4j.runtime.Clazz;
 import ch.eskaton.asn4j.runtime.TagId;
 import ch.eskaton.asn4j.runtime.annotations.ASN1Component;
 import ch.eskaton.asn4j.runtime.annotations.ASN1Tag;
+import ch.eskaton.asn4j.runtime.annotations.ASN1Tags;
+import ch.eskaton.asn4j.runtime.exceptions.DecodingException;
 import ch.eskaton.asn4j.runtime.objects.TestSetA;
 import ch.eskaton.asn4j.runtime.types.ASN1Integer;
 import ch.eskaton.asn4j.runtime.types.ASN1OctetString;
+import ch.eskaton.asn4j.runtime.types.ASN1Set;
 import ch.eskaton.asn4j.runtime.types.ASN1Type;
 import ch.eskaton.commons.utils.ReflectionUtils;
 import org.junit.jupiter.api.Disabled;
@@ -46,6 +49,8 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class FieldMetaDataTest {
@@ -111,6 +116,21 @@ class FieldMetaDataTest {
         checkTagsToFieldKey(tags, 1, 2, Clazz.UNIVERSAL);
     }
 
+    @Test
+    void testGetSetterByKey() {
+        var fieldMetaData = new FieldMetaData(TestSetB.class, ASN1Component.class);
+        var obj = new TestSetB();
+        var a = new ASN1Integer(1);
+        var b = new ASN1Integer(2);
+
+        fieldMetaData.getSetter(TagId.toKey(Clazz.CONTEXT_SPECIFIC, 0)).accept(obj, a);
+        fieldMetaData.getSetter(TagId.toKey(Clazz.APPLICATION, 5)).accept(obj, b);
+
+        assertSame(a, obj.a);
+        assertSame(b, obj.b);
+        assertThrows(DecodingException.class, () -> fieldMetaData.getSetter(TagId.toKey(Clazz.CONTEXT_SPECIFIC, 1)));
+    }
+
     private Map.Entry<List<ASN1Tag>, Class<? extends ASN1Type>> getTagsToType(Map<List<ASN1Tag>,
             Class<? extends ASN1Type>> tagsToTypes, Class<? extends ASN1Type> type) {
         return tagsToTypes.entrySet().stream().filter(e -> e.getValue().isAssignableFrom(type)).findFirst().get();
@@ -137,4 +157,24 @@ class FieldMetaDataTest {
         assertEquals(clazz, tags.get(key).getClazz());
     }
 
+    public static class TestSetB extends ASN1Set {
+
+        @ASN1Tags(tags = { @ASN1Tag(tag = 0, clazz = Clazz.CONTEXT_SPECIFIC) })
+        @ASN1Component
+        private ASN1Integer a;
+
+        @ASN1Tags(tags = { @ASN1Tag(tag = 5, clazz = Clazz.APPLICATION) })
+        @ASN1Component
+        private ASN1Integer b;
+
+        private void setA(ASN1Integer a) {
+            this.a = a;
+        }
+
+        public void setB(ASN1Integer b) {
+            this.b = b;
+        }
+
+    }
+
 }
@@ -0,0 +1,97 @@
+/*
+ *  Copyright (c) 2015, Adrian Moser
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  * Redistributions of source code must retain the above copyright
+ *  notice, this list of conditions and the following disclaimer.
+ *  * Redistributions in binary form must reproduce the above copyright
+ *  notice, this list of conditions and the following disclaimer in the
+ *  documentation and/or other materials provided with the distribution.
+ *  * Neither the name of the author nor the
+ *  names of its contributors may be used to endorse or promote products
+ *  derived from this software without specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL AUTHOR BE LIABLE FOR ANY
+ *  DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *  ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package ch.eskaton.asn4j.runtime.encoders;
+
+import ch.eskaton.asn4j.runtime.exceptions.EncodingException;
+import ch.eskaton.asn4j.runtime.types.ASN1BMPString;
+import ch.eskaton.asn4j.runtime.types.ASN1IA5String;
+import ch.eskaton.asn4j.runtime.types.ASN1TeletexString;
+import ch.eskaton.asn4j.runtime.types.ASN1UTF8String;
+import ch.eskaton.asn4j.runtime.types.ASN1UniversalString;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DefaultStringEncoderTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = { "", "abc", "äöü", "€", "a\uD83D\uDE00b", "\uD83D", "a\uDE00" })
+    void testEncodeUTF8(String value) {
+        var result = new DefaultStringEncoder<ASN1UTF8String>(StandardCharsets.UTF_8)
+                .encode(null, new ASN1UTF8String(value));
+
+        assertThat(result.getLength(), equalTo(value.getBytes(StandardCharsets.UTF_8).length));
+        assertThat(result.getBuffer(), equalTo(value.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void testEncodeLatin1() {
+        var result = new DefaultStringEncoder<ASN1TeletexString>(StandardCharsets.ISO_8859_1)
+                .encode(null, new ASN1TeletexString("ab12ö"));
+
+        assertThat(result.getBuffer(), equalTo(new byte[] { 'a', 'b', '1', '2', (byte) 0xf6 }));
+    }
+
+    @Test
+    void testEncodeUnmappableCharacter() {
+        var encoder = new DefaultStringEncoder<ASN1TeletexString>(StandardCharsets.ISO_8859_1);
+
+        assertThrows(EncodingException.class, () -> encoder.encode(null, new ASN1TeletexString("€")));
+    }
+
+    @Test
+    void testEncodeASCII() {
+        var result = new DefaultStringEncoder<ASN1IA5String>(StandardCharsets.US_ASCII)
+                .encode(null, new ASN1IA5String("abc"));
+
+        assertThat(result.getBuffer(), equalTo(new byte[] { 'a', 'b', 'c' }));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "", "abc", "ä€" })
+    void testEncodeBMPString(String value) {
+        var result = new BMPStringEncoder().encode(null, new ASN1BMPString(value));
+
+        assertThat(result.getBuffer(), equalTo(value.getBytes(StandardCharsets.UTF_16BE)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "", "abc", "ä€", "a\uD83D\uDE00" })
+    void testEncodeUniversalString(String value) {
+        var result = new UniversalStringEncoder().encode(null, new ASN1UniversalString(value));
+
+        assertThat(result.getBuffer(), equalTo(value.getBytes(Charset.forName("UTF-32BE"))));
+    }
+
+}
@@ -0,0 +1,76 @@
+/*
+ *  Copyright (c) 2015, Adrian Moser
+ *  All rights reserved.
+ * 
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  * Redistributions of source code must retain the above copyright
+ *  notice, this list of conditions and the following disclaimer.
+ *  * Redistributions in binary form must reproduce the above copyright
+ *  notice, this list of conditions and the following disclaimer in the
+ *  documentation and/or other materials provided with the distribution.
+ *  * Neither the name of the author nor the
+ *  names of its contributors may be used to endorse or promote products
+ *  derived from this software without specific prior written permission.
+ * 
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL AUTHOR BE LIABLE FOR ANY
+ *  DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *  ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package ch.eskaton.asn4j.runtime.types;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ASN1IntegerTest {
+
+    @Test
+    void testLongValue() {
+        var value = new ASN1Integer();
+
+        value.setValue(BigInteger.valueOf(Long.MIN_VALUE));
+
+        assertTrue(value.isLong());
+        assertThat(value.longValue(), equalTo(Long.MIN_VALUE));
+        assertThat(value, equalTo(ASN1Integer.valueOf(Long.MIN_VALUE)));
+        assertThat(value.hashCode(), equalTo(ASN1Integer.valueOf(Long.MIN_VALUE).hashCode()));
+    }
+
+    @Test
+    void testBigValue() {
+        var bigValue = BigInteger.valueOf(Long.MAX_VALUE).add(BigInteger.ONE);
+        var value = new ASN1Integer();
+
+        value.setValue(bigValue);
+
+        assertFalse(value.isLong());
+        assertThat(value.getValue(), equalTo(bigValue));
+        assertThat(value, not(equalTo(ASN1Integer.valueOf(Long.MAX_VALUE))));
+        assertThrows(ArithmeticException.class, value::longValue);
+    }
+
+    @Test
+    void testGetValue() {
+        assertThat(ASN1Integer.valueOf(4711).getValue(), equalTo(BigInteger.valueOf(4711)));
+        assertThat(new ASN1Integer().getValue(), nullValue());
+        assertThat(new ASN1Integer(), equalTo(new ASN1Integer()));
+    }
+
+}
@@ -0,0 +1,70 @@
+/*
+ *  Copyright (c) 2015, Adrian Moser
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ *  * Redistributions of source code must retain the above copyright
+ *  notice, this list of conditions and the following disclaimer.
+ *  * Redistributions in binary form must reproduce the above copyright
+ *  notice, this list of conditions and the following disclaimer in the
+ *  documentation and/or other materials provided with the distribution.
+ *  * Neither the name of the author nor the
+ *  names of its contributors may be used to endorse or promote products
+ *  derived from this software without specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ *  ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *  WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *  DISCLAIMED. IN NO EVENT SHALL AUTHOR BE LIABLE FOR ANY
+ *  DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *  (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *  LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *  ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *  (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package ch.eskaton.asn4j.runtime.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static ch.eskaton.asn4j.runtime.utils.ConstraintChecks.checkAlphabet;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConstraintChecksTest {
+
+    @Test
+    void testCheckAlphabet() {
+        var alphabet = new int[] { 'a', 'd', 'x', 'z' };
+
+        assertTrue(checkAlphabet("", alphabet));
+        assertTrue(checkAlphabet("abxz", alphabet));
+        assertFalse(checkAlphabet("abe", alphabet));
+        assertFalse(checkAlphabet("A", alphabet));
+        assertFalse(checkAlphabet(null, alphabet));
+        assertFalse(checkAlphabet("a", new int[0]));
+    }
+
+    @Test
+    void testCheckAlphabetSupplementaryCharacters() {
+        var alphabet = new int[] { 'a', 'a', 0x1F600, 0x1F64F };
+
+        assertTrue(checkAlphabet("a\uD83D\uDE00", alphabet));
+        assertFalse(checkAlphabet("\uD83D\uDE80", alphabet));
+    }
+
+    @Test
+    void testCheckAlphabetManyRanges() {
+        var alphabet = IntStream.range(0, 20).flatMap(i -> IntStream.of(i * 10, i * 10 + 4)).toArray();
+
+        assertTrue(checkAlphabet("\u0000\u0004P\u00b4", alphabet));
+        assertFalse(checkAlphabet("\u0005", alphabet));
+        assertFalse(checkAlphabet("\u00bd", alphabet));
+        assertFalse(checkAlphabet("\u0100", alphabet));
+    }
+
+}
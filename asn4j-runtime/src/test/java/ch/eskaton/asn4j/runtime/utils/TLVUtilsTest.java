@@ -31,6 +31,8 @@ import ch.eskaton.asn4j.runtime.Clazz;
 import ch.eskaton.asn4j.runtime.annotations.ASN1Tag;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 
 class TLVUtilsTest {
@@ -80,6 +82,31 @@ class TLVUtilsTest {
                 .getTag(PrivatePrimitive16384Test.class.getAnnotation(ASN1Tag.class), false));
     }
 
+    @Test
+    void testGetLength() {
+        assertArrayEquals(new byte[] { 0x7F }, TLVUtils.getLength(127));
+        assertArrayEquals(new byte[] { (byte) 0x81, (byte) 0x80 }, TLVUtils.getLength(128));
+        assertArrayEquals(new byte[] { (byte) 0x81, (byte) 0xFF }, TLVUtils.getLength(255));
+        assertArrayEquals(new byte[] { (byte) 0x82, 0x01, 0x00 }, TLVUtils.getLength(256));
+        assertArrayEquals(new byte[] { (byte) 0x83, 0x01, 0x00, 0x00 }, TLVUtils.getLength(65536));
+    }
+
+    @Test
+    void testGetTagLengthWithPrecomputedTags() {
+        var tags = TLVUtils.getTags(List.of(ContextSpecificPrimitiveTest.class.getAnnotation(ASN1Tag.class),
+                PrivatePrimitive31Test.class.getAnnotation(ASN1Tag.class)));
+
+        assertArrayEquals(new byte[] { (byte) 0xA1 }, tags[0]);
+        assertArrayEquals(new byte[] { (byte) 0xDF, 0x1F }, tags[1]);
+
+        assertArrayEquals(new byte[] { (byte) 0xA1, 0x04, (byte) 0xDF, 0x1F, 0x01 },
+                TLVUtils.getTagLength(tags, false, 1));
+        assertArrayEquals(new byte[] { (byte) 0xA1, 0x04, (byte) 0xFF, 0x1F, 0x01 },
+                TLVUtils.getTagLength(tags, true, 1));
+        assertArrayEquals(new byte[] { (byte) 0xA1, (byte) 0x81, (byte) 0x84, (byte) 0xDF, 0x1F, (byte) 0x81,
+                (byte) 0x80 }, TLVUtils.getTagLength(tags, false, 128));
+    }
+
     @ASN1Tag(clazz = Clazz.UNIVERSAL, tag = 1)
     private static class UniversalPrimitiveTest {
 
@@ -29,6 +29,7 @@ package ch.eskaton.asn4j.runtime.verifiers;
 
 import org.junit.jupiter.api.Test;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Optional;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -50,4 +51,13 @@ class PrintableStringVerifierTest {
         assertThat(verifier.verify("aböüäé;12"), equalTo(Optional.of("öüäé;")));
     }
 
+    @Test
+    void testLatin1Strings() {
+        assertThat(verifier.verify(new String(ALLOWED_CHARACTERS.getBytes(StandardCharsets.US_ASCII),
+                StandardCharsets.ISO_8859_1)), equalTo(Optional.empty()));
+        assertThat(verifier.verify(new String(new byte[] { 'a', 'b', (byte) 0xf6, ';', '1', (byte) 0x80 },
+                StandardCharsets.ISO_8859_1)), equalTo(Optional.of("\u00f6;\u0080")));
+        assertThat(verifier.verify("ab\ud83d\ude00"), equalTo(Optional.of("\ud83d\ude00")));
+    }
+
 }
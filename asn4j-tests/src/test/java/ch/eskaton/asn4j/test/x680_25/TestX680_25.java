@@ -27,6 +27,10 @@
 
 package ch.eskaton.asn4j.test.x680_25;
 
+import ch.eskaton.asn4j.runtime.BERDecoder;
+import ch.eskaton.asn4j.runtime.BEREncoder;
+import ch.eskaton.asn4j.runtime.ValidationPolicy;
+import ch.eskaton.asn4j.runtime.exceptions.ConstraintViolatedException;
 import ch.eskaton.asn4j.runtime.types.ASN1BMPString;
 import ch.eskaton.asn4j.runtime.types.ASN1Boolean;
 import ch.eskaton.asn4j.runtime.types.ASN1GeneralString;
@@ -52,6 +56,7 @@ import ch.eskaton.asn4j.runtime.types.ASN1VisibleString;
 import ch.eskaton.asn4j.test.modules.x680_25.TestBMPString1;
 import ch.eskaton.asn4j.test.modules.x680_25.TestBoolean;
 import ch.eskaton.asn4j.test.modules.x680_25.TestChoice1;
+import ch.eskaton.asn4j.test.modules.x680_25.TestChoice2;
 import ch.eskaton.asn4j.test.modules.x680_25.TestEnumeration;
 import ch.eskaton.asn4j.test.modules.x680_25.TestGeneralString1;
 import ch.eskaton.asn4j.test.modules.x680_25.TestGeneralizedTime1;
@@ -66,6 +71,7 @@ import ch.eskaton.asn4j.test.modules.x680_25.TestSequence1;
 import ch.eskaton.asn4j.test.modules.x680_25.TestSequence10;
 import ch.eskaton.asn4j.test.modules.x680_25.TestSequence11;
 import ch.eskaton.asn4j.test.modules.x680_25.TestSequence12;
+import ch.eskaton.asn4j.test.modules.x680_25.TestSequence13;
 import ch.eskaton.asn4j.test.modules.x680_25.TestSequence2;
 import ch.eskaton.asn4j.test.modules.x680_25.TestSequence3;
 import ch.eskaton.asn4j.test.modules.x680_25.TestSequence4;
@@ -97,6 +103,7 @@ import ch.eskaton.asn4j.test.modules.x680_25.TestSequenceDefaults27;
 import ch.eskaton.asn4j.test.modules.x680_25.TestSequenceDefaults28;
 import ch.eskaton.asn4j.test.modules.x680_25.TestSequenceDefaults29;
 import ch.eskaton.asn4j.test.modules.x680_25.TestSequenceDefaults3;
+import ch.eskaton.asn4j.test.modules.x680_25.TestSequenceDefaults30;
 import ch.eskaton.asn4j.test.modules.x680_25.TestSequenceDefaults4;
 import ch.eskaton.asn4j.test.modules.x680_25.TestSequenceDefaults5;
 import ch.eskaton.asn4j.test.modules.x680_25.TestSequenceDefaults6;
@@ -104,6 +111,7 @@ import ch.eskaton.asn4j.test.modules.x680_25.TestSequenceDefaults7;
 import ch.eskaton.asn4j.test.modules.x680_25.TestSequenceDefaults8;
 import ch.eskaton.asn4j.test.modules.x680_25.TestSequenceDefaults9;
 import ch.eskaton.asn4j.test.modules.x680_25.TestSequenceOf1;
+import ch.eskaton.asn4j.test.modules.x680_25.TestSet1;
 import ch.eskaton.asn4j.test.modules.x680_25.TestSetOf1;
 import ch.eskaton.asn4j.test.modules.x680_25.TestT61String1;
 import ch.eskaton.asn4j.test.modules.x680_25.TestTeletexString1;
@@ -124,7 +132,10 @@ import static ch.eskaton.asn4j.test.TestHelper.createOID;
 import static ch.eskaton.asn4j.test.TestHelper.toBooleans;
 import static ch.eskaton.asn4j.test.TestHelper.toInts;
 import static ch.eskaton.commons.utils.Utils.with;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @DisplayName("X.680 25 - SEQUENCE tests")
 class TestX680_25 {
@@ -579,4 +590,80 @@ class TestX680_25 {
         });
     }
 
+    @Test
+    @DisplayName("Test defaults for CHOICE with hyphenated alternatives")
+    void testSequenceDefaults30() {
+        assertDecodableVerifyAfter(TestSequenceDefaults30.class,
+                value -> value.setOctetsComponent(ASN1OctetString.valueOf(new byte[] { 0x01 })),
+                value -> assertEquals(with(new TestChoice2(), v -> v.setSecondAlternative(ASN1Integer.valueOf(23))),
+                        value.getChoiceComponent()));
+        assertDecodable(TestSequenceDefaults30.class, value -> {
+            value.setChoiceComponent(with(new TestChoice2(), v -> v.setFirstAlternative(ASN1Boolean.TRUE)));
+            value.setOctetsComponent(ASN1OctetString.valueOf(new byte[] { 0x01 }));
+        });
+    }
+
+    @Test
+    @DisplayName("Lazily decoded components")
+    void testSequenceLazy() {
+        var value = new TestSequence2();
+
+        value.setA(ASN1Integer.valueOf(4711));
+        value.setC(ASN1OctetString.valueOf(new byte[] { (byte) 0xff, (byte) 0x56 }));
+
+        var encoded = new BEREncoder().encode(value);
+        var decoded = BERDecoder.builder().lazy(true).build().decode(TestSequence2.class, encoded);
+
+        assertEquals(ASN1Integer.valueOf(4711), decoded.getA());
+        assertNull(decoded.getB());
+
+        decoded.setC(ASN1OctetString.valueOf(new byte[] { (byte) 0x12 }));
+
+        assertEquals(ASN1OctetString.valueOf(new byte[] { (byte) 0x12 }), decoded.getC());
+
+        decoded = BERDecoder.builder().lazy(true).build().decode(TestSequence2.class, encoded);
+
+        assertEquals(value, decoded);
+        assertArrayEquals(encoded, new BEREncoder().encode(BERDecoder.builder().lazy(true).build()
+                .decode(TestSequence2.class, encoded)));
+    }
+
+    @Test
+    @DisplayName("Lazily decoded SET components")
+    void testSetLazy() {
+        var value = new TestSet1();
+
+        value.setA(ASN1Boolean.TRUE);
+        value.setB(ASN1Integer.valueOf(-3));
+
+        var encoded = new BEREncoder().encode(value);
+        var decoded = BERDecoder.builder().lazy(true).build().decode(TestSet1.class, encoded);
+
+        assertEquals(ASN1Integer.valueOf(-3), decoded.getB());
+        assertEquals(ASN1Boolean.TRUE, decoded.getA());
+        assertEquals(value, decoded);
+    }
+
+    @Test
+    @DisplayName("Constraint of a lazily decoded value is checked when its last component is decoded")
+    void testSequenceLazyConstraint() {
+        var value = new TestSequence13();
+
+        value.setA(ASN1Integer.valueOf(11));
+        value.setB(ASN1Boolean.TRUE);
+
+        var encoded = BEREncoder.builder().validationPolicy(ValidationPolicy.NONE).build().encode(value);
+        var decoded = BERDecoder.builder().lazy(true).build().decode(TestSequence13.class, encoded);
+
+        assertEquals(ASN1Integer.valueOf(11), decoded.getA());
+        assertThrows(ConstraintViolatedException.class, decoded::getB);
+
+        value.setA(ASN1Integer.valueOf(10));
+
+        decoded = BERDecoder.builder().lazy(true).build().decode(TestSequence13.class, new BEREncoder().encode(value));
+
+        assertEquals(ASN1Boolean.TRUE, decoded.getB());
+        assertEquals(ASN1Integer.valueOf(10), decoded.getA());
+    }
+
 }
@@ -33,6 +33,7 @@ import ch.eskaton.asn4j.runtime.types.ASN1OctetString;
 import ch.eskaton.asn4j.test.modules.x680_27.TestSet1;
 import ch.eskaton.asn4j.test.modules.x680_27.TestSet2;
 import ch.eskaton.asn4j.test.modules.x680_27.TestSet3;
+import ch.eskaton.asn4j.test.modules.x680_27.TestSet4;
 import org.junit.jupiter.api.Test;
 
 import static ch.eskaton.asn4j.test.TestHelper.assertDecodable;
@@ -64,4 +65,16 @@ class TestX680_27 {
         assertNull(new TestSet3().getB().getC());
     }
 
+    @Test
+    void testSet4() {
+        assertDecodable(TestSet4.class, value -> {
+            var choice = new TestSet4.ChoiceComponent();
+
+            choice.setSecondAlternative(ASN1Boolean.TRUE);
+
+            value.setChoiceComponent(choice);
+            value.setIntegerComponent(ASN1Integer.valueOf(23));
+        });
+    }
+
 }
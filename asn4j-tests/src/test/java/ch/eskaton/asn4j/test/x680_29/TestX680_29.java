@@ -27,8 +27,11 @@
 
 package ch.eskaton.asn4j.test.x680_29;
 
+import ch.eskaton.asn4j.runtime.types.ASN1Boolean;
+import ch.eskaton.asn4j.runtime.types.ASN1Integer;
 import ch.eskaton.asn4j.runtime.types.ASN1OctetString;
 import ch.eskaton.asn4j.test.modules.x680_29.TestChoice1;
+import ch.eskaton.asn4j.test.modules.x680_29.TestChoice2;
 import org.junit.jupiter.api.Test;
 
 import static ch.eskaton.asn4j.test.TestHelper.assertDecodable;
@@ -41,4 +44,13 @@ class TestX680_29 {
                 value -> value.setB(ASN1OctetString.valueOf(new byte[] { (byte) 0xff, (byte) 0x65 })));
     }
 
+    @Test
+    void testChoice2() {
+        assertDecodable(TestChoice2.class, value -> value.setFirstAlternative(ASN1Integer.valueOf(4711)));
+        assertDecodable(TestChoice2.class,
+                value -> value.setSecondAlternative(ASN1OctetString.valueOf(new byte[] { 0x74, 0x65 })));
+        assertDecodable(TestChoice2.class,
+                value -> value.setThirdAlternative(new TestChoice2.ThirdAlternative(ASN1Boolean.TRUE)));
+    }
+
 }
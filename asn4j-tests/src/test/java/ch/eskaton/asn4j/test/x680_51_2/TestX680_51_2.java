@@ -27,6 +27,7 @@
 
 package ch.eskaton.asn4j.test.x680_51_2;
 
+import ch.eskaton.asn4j.runtime.exceptions.ConstraintViolatedException;
 import ch.eskaton.asn4j.runtime.types.ASN1BitString;
 import ch.eskaton.asn4j.runtime.types.ASN1Boolean;
 import ch.eskaton.asn4j.runtime.types.ASN1IRI;
@@ -52,6 +53,7 @@ import ch.eskaton.asn4j.test.modules.x680_51_2.TestBoolean6;
 import ch.eskaton.asn4j.test.modules.x680_51_2.TestChoice1;
 import ch.eskaton.asn4j.test.modules.x680_51_2.TestChoice2;
 import ch.eskaton.asn4j.test.modules.x680_51_2.TestChoice3;
+import ch.eskaton.asn4j.test.modules.x680_51_2.TestChoice4;
 import ch.eskaton.asn4j.test.modules.x680_51_2.TestEnumeration1;
 import ch.eskaton.asn4j.test.modules.x680_51_2.TestEnumeration2;
 import ch.eskaton.asn4j.test.modules.x680_51_2.TestEnumeration3;
@@ -96,8 +98,10 @@ import ch.eskaton.asn4j.test.modules.x680_51_2.TestRelativeOidIri5;
 import ch.eskaton.asn4j.test.modules.x680_51_2.TestSequence1;
 import ch.eskaton.asn4j.test.modules.x680_51_2.TestSequence2;
 import ch.eskaton.asn4j.test.modules.x680_51_2.TestSequence3;
+import ch.eskaton.asn4j.test.modules.x680_51_2.TestSequence4;
 import ch.eskaton.asn4j.test.modules.x680_51_2.TestSequenceOfEnumeration1;
 import ch.eskaton.asn4j.test.modules.x680_51_2.TestSequenceOfEnumeration2;
+import ch.eskaton.asn4j.test.modules.x680_51_2.TestSet1;
 import ch.eskaton.asn4j.test.modules.x680_51_2.TestSetOf1;
 import ch.eskaton.asn4j.test.modules.x680_51_2.TestSetOf2;
 import ch.eskaton.asn4j.test.modules.x680_51_2.TestSetOf3;
@@ -168,6 +172,8 @@ import static ch.eskaton.asn4j.test.TestHelper.testSequenceFailure;
 import static ch.eskaton.asn4j.test.TestHelper.testSequenceOfFailure;
 import static ch.eskaton.asn4j.test.TestHelper.testSequenceOfSuccess;
 import static ch.eskaton.asn4j.test.TestHelper.testSequenceSuccess;
+import static ch.eskaton.asn4j.test.TestHelper.testSetFailure;
+import static ch.eskaton.asn4j.test.TestHelper.testSetSuccess;
 import static ch.eskaton.asn4j.test.TestHelper.testSetOfFailure;
 import static ch.eskaton.asn4j.test.TestHelper.testSetOfSuccess;
 import static ch.eskaton.asn4j.test.TestHelper.testTeletexStringFailure;
@@ -181,6 +187,8 @@ import static ch.eskaton.asn4j.test.TestHelper.testVideotexStringSuccess;
 import static ch.eskaton.asn4j.test.TestHelper.testVisibleStringFailure;
 import static ch.eskaton.asn4j.test.TestHelper.testVisibleStringSuccess;
 import static ch.eskaton.commons.utils.Utils.with;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class TestX680_51_2 {
 
@@ -320,6 +328,17 @@ class TestX680_51_2 {
 
         testIntegerFailure(TestInteger1.class, new TestInteger1(), 0);
         testIntegerFailure(TestInteger1.class, new TestInteger1(), 3);
+
+        var value = new TestInteger1();
+
+        value.setValue(2);
+
+        assertEquals(2, value.intValue());
+
+        value.checkConstraint();
+        value.setValue(BigInteger.ONE.shiftLeft(64).add(BigInteger.ONE));
+
+        assertThrows(ConstraintViolatedException.class, value::checkConstraint);
     }
 
     @Test
@@ -790,6 +809,57 @@ class TestX680_51_2 {
         });
     }
 
+    @Test
+    void testSequence4() {
+        testSequenceSuccess(TestSequence4.class, new TestSequence4(), s -> s.setA(ASN1Integer.valueOf(1L)));
+        testSequenceSuccess(TestSequence4.class, new TestSequence4(), s -> {
+            s.setA(ASN1Integer.valueOf(1L));
+            s.setDefaultComponent(ASN1Integer.valueOf(5L));
+        });
+        testSequenceSuccess(TestSequence4.class, new TestSequence4(), s -> {
+            s.setA(ASN1Integer.valueOf(2L));
+            s.setB(ASN1Boolean.TRUE);
+        });
+        testSequenceSuccess(TestSequence4.class, new TestSequence4(), s -> {
+            s.setA(ASN1Integer.valueOf(3L));
+            s.setDefaultComponent(ASN1Integer.valueOf(7L));
+        });
+
+        testSequenceFailure(TestSequence4.class, new TestSequence4(), s -> {
+            s.setA(ASN1Integer.valueOf(1L));
+            s.setB(ASN1Boolean.TRUE);
+        });
+        testSequenceFailure(TestSequence4.class, new TestSequence4(), s -> {
+            s.setA(ASN1Integer.valueOf(1L));
+            s.setDefaultComponent(ASN1Integer.valueOf(7L));
+        });
+        testSequenceFailure(TestSequence4.class, new TestSequence4(), s -> s.setA(ASN1Integer.valueOf(2L)));
+        testSequenceFailure(TestSequence4.class, new TestSequence4(), s -> s.setA(ASN1Integer.valueOf(3L)));
+    }
+
+    @Test
+    void testSet1() {
+        testSetSuccess(TestSet1.class, new TestSet1(), s -> s.setA(ASN1Integer.valueOf(1L)));
+        testSetSuccess(TestSet1.class, new TestSet1(), s -> {
+            s.setA(ASN1Integer.valueOf(2L));
+            s.setOptionalComponent(ASN1Boolean.TRUE);
+        });
+        testSetSuccess(TestSet1.class, new TestSet1(), s -> {
+            s.setA(ASN1Integer.valueOf(3L));
+            s.setC(ASN1Integer.valueOf(7L));
+        });
+
+        testSetFailure(TestSet1.class, new TestSet1(), s -> {
+            s.setA(ASN1Integer.valueOf(1L));
+            s.setOptionalComponent(ASN1Boolean.FALSE);
+        });
+        testSetFailure(TestSet1.class, new TestSet1(), s -> s.setA(ASN1Integer.valueOf(2L)));
+        testSetFailure(TestSet1.class, new TestSet1(), s -> {
+            s.setA(ASN1Integer.valueOf(3L));
+            s.setC(ASN1Integer.valueOf(5L));
+        });
+    }
+
     @Test
     void testChoice1() {
         testChoiceSuccess(TestChoice1.class, new TestChoice1(), c -> c.setA(ASN1Integer.valueOf(12L)));
@@ -823,6 +893,18 @@ class TestX680_51_2 {
                 c -> c.setD(new ASN1OctetString(new byte[] { (byte) 0xbe, (byte) 0xee })));
     }
 
+    @Test
+    void testChoice4() {
+        testChoiceSuccess(TestChoice4.class, new TestChoice4(), c -> c.setA(ASN1Integer.valueOf(1L)));
+        testChoiceSuccess(TestChoice4.class, new TestChoice4(),
+                c -> c.setOctetsAlternative(new ASN1OctetString(new byte[] { (byte) 0xbe, (byte) 0xef })));
+
+        testChoiceFailure(TestChoice4.class, new TestChoice4(), c -> c.setA(ASN1Integer.valueOf(2L)));
+        testChoiceFailure(TestChoice4.class, new TestChoice4(), c -> c.setB(ASN1Boolean.TRUE));
+        testChoiceFailure(TestChoice4.class, new TestChoice4(),
+                c -> c.setOctetsAlternative(new ASN1OctetString(new byte[] { (byte) 0xbe, (byte) 0xee })));
+    }
+
     @Test
     void testVisibleString1() {
         testVisibleStringSuccess(TestVisibleString1.class, new TestVisibleString1("abc"));
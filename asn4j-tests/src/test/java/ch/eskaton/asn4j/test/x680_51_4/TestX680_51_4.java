@@ -27,6 +27,7 @@
 
 package ch.eskaton.asn4j.test.x680_51_4;
 
+import ch.eskaton.asn4j.runtime.exceptions.ConstraintViolatedException;
 import ch.eskaton.asn4j.test.modules.x680_51_4.TestInteger1;
 import ch.eskaton.asn4j.test.modules.x680_51_4.TestInteger2;
 import ch.eskaton.asn4j.test.modules.x680_51_4.TestInteger3;
@@ -37,8 +38,12 @@ import ch.eskaton.asn4j.test.modules.x680_51_4.TestInteger7;
 import ch.eskaton.asn4j.test.modules.x680_51_4.TestInteger8;
 import org.junit.jupiter.api.Test;
 
+import java.math.BigInteger;
+
+import static ch.eskaton.asn4j.test.TestHelper.assertValueDecodable;
 import static ch.eskaton.asn4j.test.TestHelper.testIntegerFailure;
 import static ch.eskaton.asn4j.test.TestHelper.testIntegerSuccess;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class TestX680_51_4 {
 
@@ -70,6 +75,16 @@ class TestX680_51_4 {
     void testInteger5() throws InstantiationException, IllegalAccessException {
         testIntegerSuccess(TestInteger5.class, 0, Long.MAX_VALUE);
         testIntegerFailure(TestInteger5.class, -1);
+
+        var large = new TestInteger5();
+
+        large.setValue(BigInteger.TWO.pow(Long.SIZE));
+
+        assertValueDecodable(TestInteger5.class, large);
+
+        large.setValue(BigInteger.TWO.pow(Long.SIZE).negate());
+
+        assertThrows(ConstraintViolatedException.class, large::checkConstraint);
     }
 
     @Test
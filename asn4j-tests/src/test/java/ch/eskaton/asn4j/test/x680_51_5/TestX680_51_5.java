@@ -27,6 +27,8 @@
 
 package ch.eskaton.asn4j.test.x680_51_5;
 
+import ch.eskaton.asn4j.runtime.BERDecoder;
+import ch.eskaton.asn4j.runtime.BEREncoder;
 import ch.eskaton.asn4j.runtime.types.ASN1Integer;
 import ch.eskaton.asn4j.test.modules.x680_51_5.TestBMPString1;
 import ch.eskaton.asn4j.test.modules.x680_51_5.TestBitString1;
@@ -104,6 +106,8 @@ import static ch.eskaton.asn4j.test.TestHelper.testVideotexStringFailure;
 import static ch.eskaton.asn4j.test.TestHelper.testVideotexStringSuccess;
 import static ch.eskaton.asn4j.test.TestHelper.testVisibleStringFailure;
 import static ch.eskaton.asn4j.test.TestHelper.testVisibleStringSuccess;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
 
 class TestX680_51_5 {
 
@@ -272,6 +276,16 @@ class TestX680_51_5 {
         testOctetStringFailure(TestOctetString6.class, new TestOctetString6(), randomBytes(9));
     }
 
+    @Test
+    void testOctetString6ZeroCopy() {
+        var encoded = new BEREncoder().encode(new TestOctetString6().value(new byte[] { 1, 2, 3, 4 }));
+        var decoded = BERDecoder.builder().zeroCopy(true).build().decode(TestOctetString6.class, encoded);
+
+        encoded[2] = 7;
+
+        assertThat(decoded.getValue(), equalTo(new byte[] { 7, 2, 3, 4 }));
+    }
+
     @Test
     void testOctetString7() {
         testOctetStringSuccess(TestOctetString7.class, new TestOctetString7(), randomBytes(4));
@@ -53,6 +53,7 @@ import ch.eskaton.asn4j.test.modules.x680_51_8.TestSequence112;
 import ch.eskaton.asn4j.test.modules.x680_51_8.TestSequence113;
 import ch.eskaton.asn4j.test.modules.x680_51_8.TestSequence114;
 import ch.eskaton.asn4j.test.modules.x680_51_8.TestSequence115;
+import ch.eskaton.asn4j.test.modules.x680_51_8.TestSequence116;
 import ch.eskaton.asn4j.test.modules.x680_51_8.TestSequence2;
 import ch.eskaton.asn4j.test.modules.x680_51_8.TestSequence3;
 import ch.eskaton.asn4j.test.modules.x680_51_8.TestSequence4;
@@ -554,6 +555,23 @@ class TestX680_51_8 {
                 s -> s.setA(with(new TestSequence115.A(), c -> c.setB(ASN1Integer.valueOf(12L)))));
     }
 
+    @Test
+    void testSequence116() {
+        testSequenceSuccess(TestSequence116.class, new TestSequence116(), s -> {
+            s.setFirstComponent(ASN1Integer.valueOf(2L));
+            s.setSecondComponent(ASN1Boolean.TRUE);
+        });
+
+        testSequenceFailure(TestSequence116.class, new TestSequence116(), s -> {
+            s.setFirstComponent(ASN1Integer.valueOf(4L));
+            s.setSecondComponent(ASN1Boolean.TRUE);
+        });
+        testSequenceFailure(TestSequence116.class, new TestSequence116(), s -> {
+            s.setFirstComponent(ASN1Integer.valueOf(2L));
+            s.setSecondComponent(ASN1Boolean.FALSE);
+        });
+    }
+
     @Test
     void testSet1() {
         testSetSuccess(TestSet1.class, new TestSet1(), s -> {
@@ -80,4 +80,25 @@ class TestX690_8_6 {
                 () -> decoder.decode(ASN1BitString.class, new byte[] { 0x03, 0x02, 0x00 }));
     }
 
+    @Test
+    void testDecodeConstructed() {
+        BERDecoder decoder = new BERDecoder();
+
+        assertEquals(ASN1BitString.of(new byte[] { 0x0A, 0x3B, 0x5F, 0x29, 0x1C, (byte) 0xD0 }, 4),
+                decoder.decode(ASN1BitString.class, new byte[] { 0x23, (byte) 0x80, 0x03, 0x03, 0x00, 0x0A, 0x3B,
+                        0x03, 0x05, 0x04, 0x5F, 0x29, 0x1C, (byte) 0xD0, 0x00, 0x00 }));
+        assertEquals(ASN1BitString.of(new byte[] { 0x0A, 0x3B, 0x5F, 0x29, 0x1C, (byte) 0xD0 }, 4),
+                decoder.decode(ASN1BitString.class, new byte[] { 0x23, 0x0C, 0x03, 0x03, 0x00, 0x0A, 0x3B,
+                        0x03, 0x05, 0x04, 0x5F, 0x29, 0x1C, (byte) 0xD0 }));
+    }
+
+    @Test
+    void testDecodeConstructedUnusedBitsFailure() {
+        BERDecoder decoder = new BERDecoder();
+
+        assertThrows(DecodingException.class,
+                () -> decoder.decode(ASN1BitString.class, new byte[] { 0x23, 0x08, 0x03, 0x02, 0x04, 0x0A,
+                        0x03, 0x02, 0x00, 0x5F }));
+    }
+
 }
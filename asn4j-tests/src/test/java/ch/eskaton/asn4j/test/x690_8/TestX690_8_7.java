@@ -29,11 +29,13 @@ package ch.eskaton.asn4j.test.x690_8;
 
 import ch.eskaton.asn4j.runtime.BERDecoder;
 import ch.eskaton.asn4j.runtime.BEREncoder;
+import ch.eskaton.asn4j.runtime.exceptions.DecodingException;
 import ch.eskaton.asn4j.runtime.types.ASN1OctetString;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class TestX690_8_7 {
 
@@ -57,4 +59,28 @@ class TestX690_8_7 {
                 decoder.decode(ASN1OctetString.class, new byte[] { 0x04, 0x03, 0x31, 0x32, 0x33 }));
     }
 
+    @Test
+    void testDecodeConstructed() {
+        BERDecoder decoder = new BERDecoder();
+
+        assertEquals(ASN1OctetString.valueOf(new byte[] { 0x31, 0x32, 0x33 }),
+                decoder.decode(ASN1OctetString.class, new byte[] { 0x24, 0x07, 0x04, 0x02, 0x31, 0x32, 0x04, 0x01,
+                        0x33 }));
+        assertEquals(ASN1OctetString.valueOf(new byte[] { 0x31, 0x32, 0x33 }),
+                decoder.decode(ASN1OctetString.class, new byte[] { 0x24, (byte) 0x80, 0x04, 0x02, 0x31, 0x32, 0x24,
+                        (byte) 0x80, 0x04, 0x01, 0x33, 0x00, 0x00, 0x00, 0x00 }));
+        assertEquals(ASN1OctetString.valueOf(new byte[] {}),
+                decoder.decode(ASN1OctetString.class, new byte[] { 0x24, (byte) 0x80, 0x00, 0x00 }));
+    }
+
+    @Test
+    void testDecodeConstructedFailure() {
+        BERDecoder decoder = new BERDecoder();
+
+        assertThrows(DecodingException.class, () -> decoder.decode(ASN1OctetString.class,
+                new byte[] { 0x24, 0x03, 0x02, 0x01, 0x33 }));
+        assertThrows(DecodingException.class, () -> decoder.decode(ASN1OctetString.class,
+                new byte[] { 0x04, (byte) 0x80, 0x31, 0x00, 0x00 }));
+    }
+
 }
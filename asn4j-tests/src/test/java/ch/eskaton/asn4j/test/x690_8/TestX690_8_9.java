@@ -94,4 +94,31 @@ class TestX690_8_9 {
                 new byte[] { 0x30, 0x0a, 0x02, 0x02, 0x12, 0x67, 0x04, 0x04, 0x74, 0x65, 0x73, 0x74 }));
     }
 
+    @Test
+    void testDecodeTestSequenceIndefiniteLength() {
+        BERDecoder decoder = new BERDecoder();
+
+        TestSequence a = new TestSequence();
+
+        a.setA(new ASN1VisibleString("test"));
+
+        assertEquals(a, decoder.decode(TestSequence.class, new byte[] { 0x30, (byte) 0x80, (byte) 0xe3,
+                (byte) 0x80, (byte) 0xa2, (byte) 0x80, 0x1a, 0x04, 0x74, 0x65, 0x73, 0x74, 0x00, 0x00, 0x00, 0x00,
+                0x00, 0x00 }));
+    }
+
+    @Test
+    void testDecodeTestSequence2IndefiniteLength() {
+        TestSequence2 a = new TestSequence2();
+
+        a.setA(ASN1Integer.valueOf(4711));
+        a.setC(ASN1OctetString.valueOf(new byte[] { 0x74, 0x65, 0x73, 0x74 }));
+
+        var encoded = new byte[] { 0x30, (byte) 0x80, 0x02, 0x02, 0x12, 0x67, 0x24, (byte) 0x80, 0x04, 0x02, 0x74,
+                0x65, 0x04, 0x02, 0x73, 0x74, 0x00, 0x00, 0x00, 0x00 };
+
+        assertEquals(a, new BERDecoder().decode(TestSequence2.class, encoded));
+        assertEquals(a, BERDecoder.builder().lazy(true).build().decode(TestSequence2.class, encoded));
+    }
+
 }